@@ -1,6 +1,7 @@
 package com.flourish.controller;
 
 import com.flourish.domain.PlantDetails;
+import com.flourish.service.PlantDetailsCache;
 import com.flourish.service.PlantDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +13,8 @@ import org.springframework.web.bind.annotation.*;
  * <p>This controller provides a GET endpoint that returns detailed plant data in JSON format,
  * which can be used for searching, displaying plant care details, etc.</p>
  *
- * Example: GET /api/plants/123 returns the plant details for plant ID 123.
+ * Example: GET /api/plants/123 returns the plant details for plant ID 123, and GET /api/plants/cache/stats
+ * returns the counters of the details cache.
  *
  * @author
  *   Joar Eliasson
@@ -44,4 +46,14 @@ public class PlantDetailsController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Returns the hit rate, eviction, load latency and size counters of the plant details cache.
+     *
+     * @return the cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    public PlantDetailsCache.Stats getCacheStats() {
+        return plantDetailsService.getDetailsCacheStats();
+    }
 }
@@ -0,0 +1,92 @@
+package com.flourish.controller;
+
+import com.flourish.domain.PlantIndex;
+import com.flourish.search.MonthIndex;
+import com.flourish.search.PlantNameTrie;
+import com.flourish.service.PlantSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller that exposes endpoints for searching the plant index.
+ *
+ * <p>This controller provides a GET endpoint that returns name completions for a prefix in JSON format,
+ * which can be used to drive autocompletion in search fields, one that searches plant names and
+ * descriptions together, and one that lists the plants pruned, in flower or harvested in a month.</p>
+ *
+ * Example: GET /api/search/suggest?prefix=ros&amp;k=5 returns up to five plant names starting with "ros".
+ * Example: GET /api/search/text?q=shade+tolerant+groundcover returns the best plants for that description.
+ * Example: GET /api/search/season?activity=FLOWERING&amp;month=5 returns plants that flower in May.
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@RestController
+@RequestMapping("/api/search")
+public class PlantSearchController {
+
+    /**
+     * The maximum number of results of a full-text search.
+     */
+    static final int MAX_TEXT_RESULTS = 100;
+
+    private final PlantSearchService plantSearchService;
+
+    @Autowired
+    public PlantSearchController(PlantSearchService plantSearchService) {
+        this.plantSearchService = plantSearchService;
+    }
+
+    /**
+     * Retrieves name completions for a given prefix.
+     *
+     * @param prefix the prefix to complete.
+     * @param k the maximum number of completions; capped at {@link PlantNameTrie#MAX_SUGGESTIONS}.
+     * @return a ResponseEntity containing the completions, best first.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(plantSearchService.suggest(prefix, k));
+    }
+
+    /**
+     * Searches plant names and descriptions for a query.
+     *
+     * @param q the query.
+     * @param limit the maximum number of results; capped at {@link #MAX_TEXT_RESULTS}.
+     * @return a ResponseEntity containing the matching plant index records, best first.
+     */
+    @GetMapping("/text")
+    public ResponseEntity<List<PlantIndex>> searchText(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(plantSearchService.searchFullText(q, Map.of(), Math.min(limit, MAX_TEXT_RESULTS)));
+    }
+
+    /**
+     * Lists the plants whose pruning, flowering or harvest falls in a month.
+     *
+     * @param activity the seasonal activity: PRUNING, FLOWERING or HARVEST.
+     * @param month the month from 1 (January) to 12 (December).
+     * @param limit the maximum number of results.
+     * @return a ResponseEntity containing the plant index records in season, or 400 for an invalid month.
+     */
+    @GetMapping("/season")
+    public ResponseEntity<List<PlantIndex>> searchSeason(@RequestParam MonthIndex.Activity activity,
+                                                         @RequestParam int month,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        if (month < 1 || month > 12) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(plantSearchService.findInSeason(activity, Month.of(month), Map.of(), limit));
+    }
+}
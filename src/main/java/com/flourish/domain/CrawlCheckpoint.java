@@ -0,0 +1,158 @@
+package com.flourish.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the progress of one range of a Perenual crawl, so a crawl can resume where it stopped.
+ *
+ * <p>A crawl is split into consecutive ranges of positions: pages for the species-list crawl and plant
+ * ids for the details crawl. A worker claims a range by writing its name and a lease expiry into the row,
+ * records the next position to process as it goes, and releases the range when it stops. A range whose
+ * worker crashed is claimable again once its lease has expired, and is resumed at {@code nextPosition}.
+ * The range that reached the end of the crawl is marked as final, so no further ranges are created.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Entity
+@Table(name = "crawl_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"crawl", "range_start"}))
+public class CrawlCheckpoint {
+
+    /**
+     * The crawls that keep checkpoints.
+     */
+    public enum Crawl {
+        /**
+         * The species-list crawl; positions are page numbers.
+         */
+        PLANT_LIST,
+        /**
+         * The species details crawl; positions are plant ids.
+         */
+        PLANT_DETAILS
+    }
+
+    /**
+     * The primary key.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The crawl this range belongs to.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Crawl crawl;
+
+    /**
+     * The first position of the range.
+     */
+    @Column(name = "range_start", nullable = false)
+    private long rangeStart;
+
+    /**
+     * The last position of the range (inclusive).
+     */
+    @Column(nullable = false)
+    private long rangeEnd;
+
+    /**
+     * The next position to process; the range is done once it is past {@code rangeEnd}.
+     */
+    @Column(nullable = false)
+    private long nextPosition;
+
+    /**
+     * Whether the end of the crawl was reached in this range.
+     */
+    @Column(nullable = false)
+    private boolean finalRange;
+
+    /**
+     * The worker that has claimed the range, or null if it is free.
+     */
+    private String owner;
+
+    /**
+     * The time at which the claim expires unless the owner records progress.
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * The time at which progress was last recorded.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected CrawlCheckpoint() {}
+
+    /**
+     * Constructs a new, unclaimed range whose processing starts at its first position.
+     *
+     * @param crawl the crawl.
+     * @param rangeStart the first position.
+     * @param rangeEnd the last position (inclusive).
+     */
+    public CrawlCheckpoint(Crawl crawl, long rangeStart, long rangeEnd) {
+        this.crawl = crawl;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.nextPosition = rangeStart;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Tells whether every position of the range has been processed.
+     *
+     * @return true if the next position is past the end of the range.
+     */
+    public boolean isDone() {
+        return nextPosition > rangeEnd;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Crawl getCrawl() {
+        return crawl;
+    }
+
+    public long getRangeStart() {
+        return rangeStart;
+    }
+
+    public long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    public long getNextPosition() {
+        return nextPosition;
+    }
+
+    public boolean isFinalRange() {
+        return finalRange;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.flourish.domain;
+
+/**
+ * Parses and formats USDA hardiness zones as numeric half-zone codes.
+ *
+ * <p>Zones run from 1 to 13 and each is split into a colder "a" and a warmer "b" half, so there are 26
+ * half-zones, coded from {@link #MIN} (1a) to {@link #MAX} (13b) in order of temperature. A zone without a
+ * half, as most records give it, covers both halves: as the lower bound of a range it is read as its "a"
+ * half and as the upper bound as its "b" half, so the range "5" to "7" covers 5a to 7b. Zones outside 1 to
+ * 13 are clamped.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class HardinessZone {
+
+    /**
+     * The code of zone 1a.
+     */
+    public static final int MIN = 0;
+
+    /**
+     * The code of zone 13b.
+     */
+    public static final int MAX = 25;
+
+    private HardinessZone() {
+    }
+
+    /**
+     * Parses a zone as the lower bound of a range.
+     *
+     * @param value the zone, such as "5" or "7b"; may be null.
+     * @return the half-zone code, or null if the value has no zone number.
+     */
+    public static Integer lowerBound(String value) {
+        return parse(value, false);
+    }
+
+    /**
+     * Parses a zone as the upper bound of a range.
+     *
+     * @param value the zone, such as "5" or "7b"; may be null.
+     * @return the half-zone code, or null if the value has no zone number.
+     */
+    public static Integer upperBound(String value) {
+        return parse(value, true);
+    }
+
+    /**
+     * Formats a half-zone code.
+     *
+     * @param code the code from {@link #MIN} to {@link #MAX}.
+     * @return the zone, such as "7b".
+     */
+    public static String format(int code) {
+        if (code < MIN || code > MAX) {
+            throw new IllegalArgumentException("Not a hardiness zone code: " + code);
+        }
+        return (code / 2 + 1) + (code % 2 == 0 ? "a" : "b");
+    }
+
+    private static Integer parse(String value, boolean upper) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.strip();
+        int end = 0;
+        while (end < text.length() && end < 2 && Character.isDigit(text.charAt(end))) {
+            end++;
+        }
+        if (end == 0) {
+            return null;
+        }
+        int zone = Math.max(1, Math.min(13, Integer.parseInt(text.substring(0, end))));
+        String half = text.substring(end).strip();
+        boolean warm = half.isEmpty() ? upper : Character.toLowerCase(half.charAt(0)) == 'b';
+        return (zone - 1) * 2 + (warm ? 1 : 0);
+    }
+}
@@ -1,21 +1,25 @@
 package com.flourish.domain;
 
-import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.UserPlantLibrary;
 
 import java.time.LocalDateTime;
 
+/**
+ * A plant in a user's library: the library entry together with the {@link PlantCard} of the plant. The full
+ * {@link PlantDetails} are not part of an entry and are loaded separately when needed.
+ */
 public class LibraryEntry {
-    private final PlantDetails plantDetails;
+    private final PlantCard plantCard;
     private final UserPlantLibrary userPlantLibrary;
 
-    public LibraryEntry(PlantDetails plantDetails, UserPlantLibrary userPlantLibrary) {
-        this.plantDetails = plantDetails;
+    public LibraryEntry(PlantCard plantCard, UserPlantLibrary userPlantLibrary) {
+        this.plantCard = plantCard;
         this.userPlantLibrary = userPlantLibrary;
     }
 
-    public PlantDetails getPlantDetails() {
-        return plantDetails;
+    public PlantCard getPlantCard() {
+        return plantCard;
     }
 
     public UserPlantLibrary getUserPlantLibrary() {
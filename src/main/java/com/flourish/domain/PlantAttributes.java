@@ -0,0 +1,208 @@
+package com.flourish.domain;
+
+/**
+ * Read-only projection of the attributes of a {@link PlantDetails} row that plants are filtered and
+ * compared by.
+ *
+ * <p>Instances are created directly by a JPQL constructor expression, so loading the attributes of the
+ * whole catalog reads only these narrow columns and never the wide text columns (description, images,
+ * hardiness iframe) of plant_details. Fields have the same meaning and format as in
+ * {@link PlantDetails}; sunlight is the JSON array stored in the sunlight column.</p>
+ *
+ * <p>The hardiness range is also held as {@link HardinessZone} codes. They are read from the zone columns
+ * filled in when the details are stored, and only parsed from the zone text for rows stored before those
+ * columns existed.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public class PlantAttributes {
+
+    private final Long id;
+    private final String watering;
+    private final String sunlight;
+    private final String cycle;
+    private final String careLevel;
+    private final Boolean indoor;
+    private final Boolean droughtTolerant;
+    private final Boolean tropical;
+    private final Boolean flowers;
+    private final Boolean edibleFruit;
+    private final Boolean edibleLeaf;
+    private final Boolean medicinal;
+    private final Boolean poisonousToPets;
+    private final Boolean poisonousToHumans;
+    private final String hardinessMin;
+    private final String hardinessMax;
+    private final Integer hardinessMinZone;
+    private final Integer hardinessMaxZone;
+    private final String growthRate;
+    private final String maintenance;
+    private final String family;
+    private final String genus;
+
+    /**
+     * Constructs a new PlantAttributes projection.
+     *
+     * @param id the plant ID.
+     * @param watering the watering level.
+     * @param sunlight the sunlight requirements as a JSON array.
+     * @param cycle the growth cycle.
+     * @param careLevel the care level.
+     * @param indoor whether the plant is indoor.
+     * @param droughtTolerant whether the plant is drought tolerant.
+     * @param tropical whether the plant is tropical.
+     * @param flowers whether the plant flowers.
+     * @param edibleFruit whether the fruit is edible.
+     * @param edibleLeaf whether the leaves are edible.
+     * @param medicinal whether the plant is medicinal.
+     * @param poisonousToPets whether the plant is poisonous to pets.
+     * @param poisonousToHumans whether the plant is poisonous to humans.
+     * @param hardinessMin the minimum hardiness zone.
+     * @param hardinessMax the maximum hardiness zone.
+     * @param hardinessMinZone the code of the minimum hardiness zone, or null if it was not parsed.
+     * @param hardinessMaxZone the code of the maximum hardiness zone, or null if it was not parsed.
+     * @param growthRate the growth rate.
+     * @param maintenance the maintenance level.
+     * @param family the plant family.
+     * @param genus the plant genus.
+     */
+    public PlantAttributes(Long id, String watering, String sunlight, String cycle, String careLevel,
+                           Boolean indoor, Boolean droughtTolerant, Boolean tropical, Boolean flowers,
+                           Boolean edibleFruit, Boolean edibleLeaf, Boolean medicinal,
+                           Boolean poisonousToPets, Boolean poisonousToHumans,
+                           String hardinessMin, String hardinessMax, Integer hardinessMinZone,
+                           Integer hardinessMaxZone, String growthRate, String maintenance,
+                           String family, String genus) {
+        this.id = id;
+        this.watering = watering;
+        this.sunlight = sunlight;
+        this.cycle = cycle;
+        this.careLevel = careLevel;
+        this.indoor = indoor;
+        this.droughtTolerant = droughtTolerant;
+        this.tropical = tropical;
+        this.flowers = flowers;
+        this.edibleFruit = edibleFruit;
+        this.edibleLeaf = edibleLeaf;
+        this.medicinal = medicinal;
+        this.poisonousToPets = poisonousToPets;
+        this.poisonousToHumans = poisonousToHumans;
+        this.hardinessMin = hardinessMin;
+        this.hardinessMax = hardinessMax;
+        this.hardinessMinZone = hardinessMinZone != null ? hardinessMinZone : HardinessZone.lowerBound(hardinessMin);
+        this.hardinessMaxZone = hardinessMaxZone != null ? hardinessMaxZone : HardinessZone.upperBound(hardinessMax);
+        this.growthRate = growthRate;
+        this.maintenance = maintenance;
+        this.family = family;
+        this.genus = genus;
+    }
+
+    /**
+     * Creates the projection of a loaded PlantDetails entity, for details that were just saved.
+     *
+     * @param details the plant details.
+     * @return the attributes of the plant.
+     */
+    public static PlantAttributes of(PlantDetails details) {
+        return new PlantAttributes(details.getId(), details.getWatering(), details.getSunlight(),
+                details.getCycle(), details.getCareLevel(), details.getIndoor(), details.getDroughtTolerant(),
+                details.getTropical(), details.getFlowers(), details.getEdibleFruit(), details.getEdibleLeaf(),
+                details.getMedicinal(), details.getPoisonousToPets(), details.getPoisonousToHumans(),
+                details.getHardinessMin(), details.getHardinessMax(), details.getHardinessMinZone(),
+                details.getHardinessMaxZone(), details.getGrowthRate(),
+                details.getMaintenance(), details.getFamily(), details.getGenus());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getWatering() {
+        return watering;
+    }
+
+    public String getSunlight() {
+        return sunlight;
+    }
+
+    public String getCycle() {
+        return cycle;
+    }
+
+    public String getCareLevel() {
+        return careLevel;
+    }
+
+    public Boolean getIndoor() {
+        return indoor;
+    }
+
+    public Boolean getDroughtTolerant() {
+        return droughtTolerant;
+    }
+
+    public Boolean getTropical() {
+        return tropical;
+    }
+
+    public Boolean getFlowers() {
+        return flowers;
+    }
+
+    public Boolean getEdibleFruit() {
+        return edibleFruit;
+    }
+
+    public Boolean getEdibleLeaf() {
+        return edibleLeaf;
+    }
+
+    public Boolean getMedicinal() {
+        return medicinal;
+    }
+
+    public Boolean getPoisonousToPets() {
+        return poisonousToPets;
+    }
+
+    public Boolean getPoisonousToHumans() {
+        return poisonousToHumans;
+    }
+
+    public String getHardinessMin() {
+        return hardinessMin;
+    }
+
+    public String getHardinessMax() {
+        return hardinessMax;
+    }
+
+    public Integer getHardinessMinZone() {
+        return hardinessMinZone;
+    }
+
+    public Integer getHardinessMaxZone() {
+        return hardinessMaxZone;
+    }
+
+    public String getGrowthRate() {
+        return growthRate;
+    }
+
+    public String getMaintenance() {
+        return maintenance;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public String getGenus() {
+        return genus;
+    }
+}
@@ -0,0 +1,111 @@
+package com.flourish.domain;
+
+/**
+ * Read-only projection of the {@link PlantDetails} columns shown on a plant card.
+ *
+ * <p>Instances are created by a JPQL constructor expression, so a list of plant cards can be shown without
+ * loading whole PlantDetails entities and their large text columns, or from details already in memory
+ * through {@link #of(PlantDetails)}. Fields have the same format as in {@link PlantDetails}; the full
+ * details, such as the description, are loaded only when a plant is opened.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public class PlantCard {
+
+    private final Long id;
+    private final String commonName;
+    private final String type;
+    private final String imageUrl;
+    private final String watering;
+    private final String sunlight;
+    private final Boolean edibleFruit;
+    private final Boolean poisonousToHumans;
+    private final Boolean poisonousToPets;
+    private final Boolean medicinal;
+
+    /**
+     * Constructs a new PlantCard projection.
+     *
+     * @param id the plant ID.
+     * @param commonName the common name.
+     * @param type the plant type.
+     * @param imageUrl the URL of the original default image.
+     * @param watering the watering frequency.
+     * @param sunlight the sunlight requirements as a JSON array.
+     * @param edibleFruit whether the plant has edible fruit.
+     * @param poisonousToHumans whether the plant is poisonous to humans.
+     * @param poisonousToPets whether the plant is poisonous to pets.
+     * @param medicinal whether the plant is medicinal.
+     */
+    public PlantCard(Long id, String commonName, String type, String imageUrl, String watering, String sunlight,
+                     Boolean edibleFruit, Boolean poisonousToHumans, Boolean poisonousToPets, Boolean medicinal) {
+        this.id = id;
+        this.commonName = commonName;
+        this.type = type;
+        this.imageUrl = imageUrl;
+        this.watering = watering;
+        this.sunlight = sunlight;
+        this.edibleFruit = edibleFruit;
+        this.poisonousToHumans = poisonousToHumans;
+        this.poisonousToPets = poisonousToPets;
+        this.medicinal = medicinal;
+    }
+
+    /**
+     * Creates the card of loaded plant details.
+     *
+     * @param details the plant details.
+     * @return the card.
+     */
+    public static PlantCard of(PlantDetails details) {
+        return new PlantCard(details.getId(), details.getCommonName(), details.getType(),
+                details.getDefaultImageOriginalUrl(), details.getWatering(), details.getSunlight(),
+                details.getEdibleFruit(), details.getPoisonousToHumans(), details.getPoisonousToPets(),
+                details.getMedicinal());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCommonName() {
+        return commonName;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getWatering() {
+        return watering;
+    }
+
+    public String getSunlight() {
+        return sunlight;
+    }
+
+    public Boolean getEdibleFruit() {
+        return edibleFruit;
+    }
+
+    public Boolean getPoisonousToHumans() {
+        return poisonousToHumans;
+    }
+
+    public Boolean getPoisonousToPets() {
+        return poisonousToPets;
+    }
+
+    public Boolean getMedicinal() {
+        return medicinal;
+    }
+}
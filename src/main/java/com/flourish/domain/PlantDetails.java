@@ -54,7 +54,7 @@ import jakarta.persistence.Table;
  *   <li>plantAnatomy (as JSON)</li>
  *   <li>leaf</li>
  *   <li>pruningMonth (as JSON)</li>
- *   <li>hardinessMin, hardinessMax</li>
+ *   <li>hardinessMin, hardinessMax (also parsed into the half-zone codes of {@link HardinessZone})</li>
  *   <li>tropical</li>
  *   <li>sunlight (as JSON)</li>
  *   <li>watering</li>
@@ -218,6 +218,12 @@ public class PlantDetails {
     @Column(name = "hardiness_max")
     private String hardinessMax;
 
+    @Column(name = "hardiness_min_zone")
+    private Integer hardinessMinZone;
+
+    @Column(name = "hardiness_max_zone")
+    private Integer hardinessMaxZone;
+
     @Column(name = "tropical")
     private Boolean tropical;
 
@@ -247,7 +253,10 @@ public class PlantDetails {
     @Column(name = "dimensions", columnDefinition = "TEXT")
     private String dimensions;
 
-    protected PlantDetails() { }
+    /**
+     * Constructs an empty PlantDetails entity, for JPA and for mappers that set the fields one by one.
+     */
+    public PlantDetails() { }
 
     /**
      * Constructs a new PlantDetails entity with the provided values.
@@ -362,8 +371,8 @@ public class PlantDetails {
         this.plantAnatomy = plantAnatomy;
         this.leaf = leaf;
         this.pruningMonth = pruningMonth;
-        this.hardinessMin = hardinessMin;
-        this.hardinessMax = hardinessMax;
+        setHardinessMin(hardinessMin);
+        setHardinessMax(hardinessMax);
         this.tropical = tropical;
         this.sunlight = sunlight;
         this.watering = watering;
@@ -717,6 +726,7 @@ public class PlantDetails {
 
     public void setHardinessMin(String hardinessMin) {
         this.hardinessMin = hardinessMin;
+        this.hardinessMinZone = HardinessZone.lowerBound(hardinessMin);
     }
 
     public String getHardinessMax() {
@@ -725,6 +735,25 @@ public class PlantDetails {
 
     public void setHardinessMax(String hardinessMax) {
         this.hardinessMax = hardinessMax;
+        this.hardinessMaxZone = HardinessZone.upperBound(hardinessMax);
+    }
+
+    /**
+     * Returns the minimum hardiness zone as parsed when it was set.
+     *
+     * @return the half-zone code, or null if there is no minimum zone.
+     */
+    public Integer getHardinessMinZone() {
+        return hardinessMinZone;
+    }
+
+    /**
+     * Returns the maximum hardiness zone as parsed when it was set.
+     *
+     * @return the half-zone code, or null if there is no maximum zone.
+     */
+    public Integer getHardinessMaxZone() {
+        return hardinessMaxZone;
     }
 
     public Boolean getTropical() {
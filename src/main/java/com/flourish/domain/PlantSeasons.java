@@ -0,0 +1,55 @@
+package com.flourish.domain;
+
+/**
+ * Read-only projection of the pruning months, flowering season and harvest season of a
+ * {@link PlantDetails} row.
+ *
+ * <p>Instances are created by a JPQL constructor expression, so the seasonal index can be built without
+ * loading whole PlantDetails entities. Fields have the same format as in {@link PlantDetails}: the pruning
+ * months are a JSON array, the seasons free text.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public class PlantSeasons {
+
+    private final Long id;
+    private final String pruningMonth;
+    private final String floweringSeason;
+    private final String harvestSeason;
+
+    /**
+     * Constructs a new PlantSeasons projection.
+     *
+     * @param id the plant ID.
+     * @param pruningMonth the pruning months as a JSON array.
+     * @param floweringSeason the flowering season.
+     * @param harvestSeason the harvest season.
+     */
+    public PlantSeasons(Long id, String pruningMonth, String floweringSeason, String harvestSeason) {
+        this.id = id;
+        this.pruningMonth = pruningMonth;
+        this.floweringSeason = floweringSeason;
+        this.harvestSeason = harvestSeason;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPruningMonth() {
+        return pruningMonth;
+    }
+
+    public String getFloweringSeason() {
+        return floweringSeason;
+    }
+
+    public String getHarvestSeason() {
+        return harvestSeason;
+    }
+}
@@ -0,0 +1,39 @@
+package com.flourish.domain;
+
+/**
+ * Read-only projection of the id and description of a {@link PlantDetails} row.
+ *
+ * <p>Instances are created by a JPQL constructor expression and read page by page, so building the
+ * full-text index never loads whole PlantDetails entities or all descriptions at once.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public class PlantText {
+
+    private final Long id;
+    private final String description;
+
+    /**
+     * Constructs a new PlantText projection.
+     *
+     * @param id the plant ID.
+     * @param description the description.
+     */
+    public PlantText(Long id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
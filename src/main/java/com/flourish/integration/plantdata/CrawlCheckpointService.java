@@ -0,0 +1,158 @@
+package com.flourish.integration.plantdata;
+
+import com.flourish.domain.CrawlCheckpoint;
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import com.flourish.repository.CrawlCheckpointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service that hands out ranges of the Perenual crawls to workers and records their progress.
+ *
+ * <p>A worker calls {@link #claim(Crawl, long)} to get a range to work on: the first range that is free or
+ * whose worker's lease has expired, or else a new range after the last one. It records progress with
+ * {@link #advance(CrawlCheckpoint, long)}, which also extends its lease, and gives the range back with
+ * {@link #release(CrawlCheckpoint)} when it stops, for example because the daily quota is used up. A later
+ * run, or another worker, resumes the range at its recorded position. Every change is a conditional update
+ * in the database, so several application instances can crawl at once without processing a range
+ * twice.</p>
+ *
+ * @see CrawlCheckpoint
+ * @see CrawlCheckpointRepository
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Service
+public class CrawlCheckpointService {
+
+    private static final int MAX_CLAIM_ATTEMPTS = 5;
+
+    private final CrawlCheckpointRepository repository;
+
+    @Value("${perenual.crawl.worker-id:}")
+    String workerId = "";
+
+    @Value("${perenual.crawl.lease-minutes:30}")
+    long leaseMinutes = 30;
+
+    @Value("${perenual.crawl.list-range-size:20}")
+    int listRangeSize = 20;
+
+    @Value("${perenual.crawl.details-range-size:500}")
+    int detailsRangeSize = 500;
+
+    /**
+     * Constructs a new CrawlCheckpointService.
+     *
+     * @param repository the repository for CrawlCheckpoint entities.
+     */
+    public CrawlCheckpointService(CrawlCheckpointRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Returns the name under which this instance claims ranges: {@code perenual.crawl.worker-id} if set,
+     * otherwise the process id and host name.
+     *
+     * @return the worker name.
+     */
+    public String getWorkerId() {
+        return workerId == null || workerId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : workerId;
+    }
+
+    /**
+     * Claims a range of a crawl for this worker.
+     *
+     * <p>Existing ranges with positions left are tried first, in position order. If none can be claimed, a
+     * new range is created after the last one, unless the crawl has reached its end or the new range would
+     * start after {@code maxPosition}. Another worker may claim or create the same range at the same time;
+     * the loser tries again with the next one.</p>
+     *
+     * @param crawl the crawl.
+     * @param maxPosition the highest position to crawl; ranges are not created beyond it.
+     * @return the claimed range, or empty if the crawl has no positions left.
+     */
+    public Optional<CrawlCheckpoint> claim(Crawl crawl, long maxPosition) {
+        String owner = getWorkerId();
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Long finalEnd = repository.findFinalEnd(crawl);
+            long limit = finalEnd != null ? Math.min(maxPosition, finalEnd) : maxPosition;
+            LocalDateTime now = LocalDateTime.now();
+            for (CrawlCheckpoint checkpoint : repository.findClaimable(crawl, now)) {
+                if (checkpoint.getNextPosition() <= limit
+                        && repository.claim(checkpoint.getId(), owner, leaseUntil(now), now) == 1) {
+                    return repository.findById(checkpoint.getId());
+                }
+            }
+            long start = repository.findTopByCrawlOrderByRangeStartDesc(crawl)
+                    .map(last -> last.getRangeEnd() + 1)
+                    .orElse(1L);
+            if (start > limit) {
+                return Optional.empty();
+            }
+            long end = Math.min(limit, start + rangeSize(crawl) - 1);
+            try {
+                CrawlCheckpoint created = repository.saveAndFlush(new CrawlCheckpoint(crawl, start, end));
+                if (repository.claim(created.getId(), owner, leaseUntil(now), now) == 1) {
+                    System.out.println("Created crawl range " + crawl + " [" + start + ", " + end + "] for " + owner);
+                    return repository.findById(created.getId());
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Another worker created the range first; look again.
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records the next position to process in a claimed range and extends the lease.
+     *
+     * @param checkpoint the claimed range.
+     * @param nextPosition the next position to process; past the end of the range when it is done.
+     * @return true if recorded, false if the lease expired and another worker has taken the range over.
+     */
+    public boolean advance(CrawlCheckpoint checkpoint, long nextPosition) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.advance(checkpoint.getId(), getWorkerId(), nextPosition, leaseUntil(now), now) == 1;
+    }
+
+    /**
+     * Records that the end of the crawl was reached in a claimed range and frees it. No ranges are claimed
+     * or created after the given position from then on.
+     *
+     * @param checkpoint the claimed range.
+     * @param lastPosition the last position of the crawl.
+     * @return true if recorded, false if the lease expired and another worker has taken the range over.
+     */
+    public boolean finish(CrawlCheckpoint checkpoint, long lastPosition) {
+        return repository.finish(checkpoint.getId(), getWorkerId(), lastPosition, lastPosition + 1,
+                LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Frees a claimed range so that it can be resumed later at its recorded position.
+     *
+     * @param checkpoint the claimed range.
+     */
+    public void release(CrawlCheckpoint checkpoint) {
+        repository.release(checkpoint.getId(), getWorkerId());
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plusMinutes(leaseMinutes);
+    }
+
+    private int rangeSize(Crawl crawl) {
+        return Math.max(1, crawl == Crawl.PLANT_LIST ? listRangeSize : detailsRangeSize);
+    }
+}
@@ -0,0 +1,242 @@
+package com.flourish.integration.plantdata;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one run of the plant details ingestion pipeline, per stage.
+ *
+ * <ul>
+ *   <li>Fetch: ids skipped because their details are stored, requests made, retries, responses that were
+ *       not JSON, requests that failed after their retries, and the time spent on HTTP calls. Time spent
+ *       waiting for the rate limiter is not part of the fetch time.</li>
+ *   <li>Map: responses mapped to PlantDetails and responses that could not be mapped.</li>
+ *   <li>Write: details saved, batches written, details lost in failed batches, and the time spent
+ *       writing.</li>
+ * </ul>
+ *
+ * <p>The counters are updated concurrently while the run is in progress and can be read at any time;
+ * the throughput of each stage is its count over the time since the run started, or until it finished.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class IngestionStats {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong endNanos = new AtomicLong();
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong firstUnstoredId = new AtomicLong(Long.MAX_VALUE);
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder emptyResponses = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder mapped = new LongAdder();
+    private final LongAdder mappingFailures = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+
+    void skipped() {
+        skipped.increment();
+    }
+
+    void requested(long id) {
+        requests.increment();
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    void retried() {
+        retries.increment();
+    }
+
+    void attempted(long nanos) {
+        fetchNanos.add(nanos);
+    }
+
+    void emptyResponse() {
+        emptyResponses.increment();
+    }
+
+    void fetchFailed() {
+        failedRequests.increment();
+    }
+
+    void mapped(boolean success) {
+        (success ? mapped : mappingFailures).increment();
+    }
+
+    void written(int count, long nanos) {
+        saved.add(count);
+        batches.increment();
+        writeNanos.add(nanos);
+    }
+
+    void writeFailed(int count, long nanos) {
+        writeFailures.add(count);
+        failedBatches.increment();
+        writeNanos.add(nanos);
+    }
+
+    void unstored(long id) {
+        firstUnstoredId.accumulateAndGet(id, Math::min);
+    }
+
+    void finish(long next) {
+        nextId.set(next);
+        endNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getEmptyResponses() {
+        return emptyResponses.sum();
+    }
+
+    public long getFailedRequests() {
+        return failedRequests.sum();
+    }
+
+    public long getMapped() {
+        return mapped.sum();
+    }
+
+    public long getMappingFailures() {
+        return mappingFailures.sum();
+    }
+
+    public long getSaved() {
+        return saved.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getWriteFailures() {
+        return writeFailures.sum();
+    }
+
+    /**
+     * Returns the highest id requested so far.
+     *
+     * @return the id, or 0 if nothing was requested.
+     */
+    public long getLastId() {
+        return lastId.get();
+    }
+
+    /**
+     * Returns the lowest id whose details could not be stored because the request failed for another reason
+     * than a missing plant, or because its batch could not be written.
+     *
+     * @return the id, or 0 if every requested id was stored or does not exist.
+     */
+    public long getFirstUnstoredId() {
+        long id = firstUnstoredId.get();
+        return id == Long.MAX_VALUE ? 0 : id;
+    }
+
+    /**
+     * Returns the id at which a following run should continue: the first id that could not be stored, if
+     * any; otherwise after the last requested id if the run stopped at its request limit, or after the end
+     * of its range.
+     *
+     * @return the next id, or 0 while the run is in progress.
+     */
+    public long getNextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Returns the time since the run started, or the duration of the run once it finished.
+     *
+     * @return the elapsed time in seconds.
+     */
+    public double getElapsedSeconds() {
+        long end = endNanos.get();
+        return ((end == 0 ? System.nanoTime() : end) - startNanos) / 1e9;
+    }
+
+    /**
+     * Returns the number of requests made per second of the run.
+     *
+     * @return the fetch throughput.
+     */
+    public double getRequestsPerSecond() {
+        return perSecond(getRequests());
+    }
+
+    /**
+     * Returns the number of details mapped per second of the run.
+     *
+     * @return the mapping throughput.
+     */
+    public double getMappedPerSecond() {
+        return perSecond(getMapped());
+    }
+
+    /**
+     * Returns the number of details saved per second of the run.
+     *
+     * @return the write throughput.
+     */
+    public double getSavedPerSecond() {
+        return perSecond(getSaved());
+    }
+
+    /**
+     * Returns the mean time of an HTTP call, counting every retry as a call of its own.
+     *
+     * @return the mean fetch latency in milliseconds, or 0 if nothing was fetched.
+     */
+    public double getAverageFetchMillis() {
+        long fetches = getRequests() + getRetries();
+        return fetches == 0 ? 0 : fetchNanos.sum() / 1e6 / fetches;
+    }
+
+    /**
+     * Returns the mean time of writing a batch, failed batches included.
+     *
+     * @return the mean write time in milliseconds, or 0 if nothing was written.
+     */
+    public double getAverageWriteMillis() {
+        long writes = getBatches() + failedBatches.sum();
+        return writes == 0 ? 0 : writeNanos.sum() / 1e6 / writes;
+    }
+
+    private double perSecond(long count) {
+        double seconds = getElapsedSeconds();
+        return seconds <= 0 ? 0 : count / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("fetch: %d requests (%d skipped as stored, %d retries, %d not JSON, %d failed, "
+                        + "%.1f/s, %.0f ms avg); map: %d mapped (%d failed, %.1f/s); write: %d saved in %d batches "
+                        + "(%d lost, %.1f/s, %.0f ms avg); %.1f s in all",
+                getRequests(), getSkipped(), getRetries(), getEmptyResponses(), getFailedRequests(),
+                getRequestsPerSecond(), getAverageFetchMillis(), getMapped(), getMappingFailures(),
+                getMappedPerSecond(), getSaved(), getBatches(), getWriteFailures(), getSavedPerSecond(),
+                getAverageWriteMillis(), getElapsedSeconds());
+    }
+}
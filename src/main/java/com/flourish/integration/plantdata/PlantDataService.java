@@ -1,24 +1,42 @@
 package com.flourish.integration.plantdata;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.CrawlCheckpoint;
+import com.flourish.domain.CrawlCheckpoint.Crawl;
 import com.flourish.domain.PlantDetails;
-import com.flourish.repository.PlantDetailsRepository;
+import com.flourish.repository.CatalogUpsertRepository;
 import com.flourish.domain.PlantIndex;
 import com.flourish.repository.PlantIndexRepository;
+import com.flourish.service.PlantDetailsService;
+import com.flourish.service.SimilarPlantsService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
-import java.util.Map;
 
 /**
  * Service for fetching and storing plant data from the Perenual API.
  *
+ * <p>Every response received is appended to the {@link ResponseArchive}, from which
+ * {@link #replayArchive()} can rebuild the plant index and plant details without calling the API.</p>
+ *
  * @see PlantIndex
  * @see PlantIndexRepository
  * @see PlantListResponseDto
@@ -34,11 +52,20 @@ import java.util.Map;
 @Service
 public class PlantDataService {
 
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration BATCH_MAX_WAIT = Duration.ofSeconds(1);
+    private static final int MAX_RETRIES = 3;
+
     private final WebClient webClient;
+    private final PlantDetailsReader plantDetailsReader;
+    private final ResponseArchive responseArchive;
     private final ObjectMapper objectMapper;
 
     private final PlantIndexRepository plantIndexRepository;
-    private final PlantDetailsRepository plantDetailsRepository;
+    private final SimilarPlantsService similarPlantsService;
+    private final PlantDetailsService plantDetailsService;
+    private final CrawlCheckpointService crawlCheckpointService;
+    private final CatalogUpsertRepository catalogUpsertRepository;
 
     @Value("${perenual.api.key}")
     private String perenualApiKey;
@@ -49,295 +76,555 @@ public class PlantDataService {
     @Value("${perenual.api.plantDetailsUrl:https://perenual.com/api/v2/species/details}")
     private String plantDetailsUrl;
 
+    @Value("${perenual.ingest.concurrency:4}")
+    int concurrency = 4;
+
+    @Value("${perenual.ingest.requests-per-second:2}")
+    double requestsPerSecond = 2;
+
+    @Value("${perenual.ingest.burst:4}")
+    int burst = 4;
+
+    @Value("${perenual.ingest.batch-size:50}")
+    int batchSize = 50;
+
+    @Value("${perenual.ingest.max-requests:99}")
+    int maxRequests = 99;
+
+    @Value("${perenual.ingest.retry-backoff-ms:1000}")
+    long retryBackoffMs = 1000;
+
+    @Value("${perenual.archive.replay-batch-size:500}")
+    int replayBatchSize = 500;
+
     /**
      * Constructs a new PlantDataService.
      *
      * @param webClient the WebClient used to make HTTP calls.
      * @param plantIndexRepository the repository for PlantIndex entities.
-     * @param plantDetailsRepository the repository for PlantDetailsJson entities.
+     * @param similarPlantsService the service whose similar plants are updated with saved details.
+     * @param plantDetailsService the service whose in-memory catalog and cache are updated with saved details.
+     * @param crawlCheckpointService the service that records where the crawls stopped.
+     * @param catalogUpsertRepository the repository that writes plant index and details rows in batches.
+     * @param plantDetailsReader the mapper of details responses to PlantDetails entities.
+     * @param responseArchive the archive of the raw API responses.
+     * @param objectMapper the shared ObjectMapper that parses species-list pages.
      */
-    public PlantDataService(WebClient webClient, PlantIndexRepository plantIndexRepository, PlantDetailsRepository plantDetailsRepository) {
+    public PlantDataService(WebClient webClient, PlantIndexRepository plantIndexRepository,
+                            SimilarPlantsService similarPlantsService, PlantDetailsService plantDetailsService,
+                            CrawlCheckpointService crawlCheckpointService,
+                            CatalogUpsertRepository catalogUpsertRepository, PlantDetailsReader plantDetailsReader,
+                            ResponseArchive responseArchive, ObjectMapper objectMapper) {
         this.webClient = webClient;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = objectMapper;
+        this.plantDetailsReader = plantDetailsReader;
+        this.responseArchive = responseArchive;
         this.plantIndexRepository = plantIndexRepository;
-        this.plantDetailsRepository = plantDetailsRepository;
+        this.similarPlantsService = similarPlantsService;
+        this.plantDetailsService = plantDetailsService;
+        this.crawlCheckpointService = crawlCheckpointService;
+        this.catalogUpsertRepository = catalogUpsertRepository;
     }
 
     /**
-     * Retrieves plant data from the Perenual API species-list endpoint for plant IDs between startId and endId.
-     * The method iterates through pages of results, making at most 99 API requests.
-     * After 99 API calls, it prints the last plant ID processed and exits.
+     * Retrieves plant data from the Perenual API species-list endpoint and stores every plant on the pages
+     * it crawls.
      *
-     * @param startId the starting plant ID (inclusive).
-     * @param endId the ending plant ID (inclusive).
+     * <p>Pages are crawled in ranges claimed from {@link CrawlCheckpointService}, starting at the page where
+     * the previous run stopped. The next page is recorded as the checkpoint after every stored page, so a run
+     * that crashes or uses up its requests is resumed at the right page by the next run, on this or another
+     * instance. Since a recorded page is never crawled again, all plants of a page are stored. The method
+     * makes at most {@code perenual.ingest.max-requests} API requests, and marks the crawl as complete when
+     * the API reports its last page.</p>
+     * <p>Requests that time out or get a 429 or 5xx response are retried with exponential backoff. A page
+     * that still cannot be fetched or parsed ends the run, and its range is released at that page, so the
+     * next run starts with it.</p>
      */
-    public void fetchAndStorePlantListLimited(int startId, int endId) {
-        int currentPage = 99;
+    public void fetchAndStorePlantListLimited() {
         int apiRequestCount = 0;
         boolean morePages = true;
         long lastIdProcessed = 0;
 
-        while (morePages && apiRequestCount < 99) {
-            apiRequestCount++;
-            String url = speciesListUrl + "?key=" + perenualApiKey + "&page=" + currentPage;
-            PlantListResponseDto response = webClient.get()
+        while (morePages && apiRequestCount < maxRequests) {
+            Optional<CrawlCheckpoint> claimed = crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE);
+            if (claimed.isEmpty()) {
+                System.out.println("The species list has been crawled up to its last page.");
+                break;
+            }
+            CrawlCheckpoint checkpoint = claimed.get();
+            long currentPage = checkpoint.getNextPosition();
+            boolean released = false;
+            try {
+                while (currentPage <= checkpoint.getRangeEnd() && apiRequestCount < maxRequests) {
+                    apiRequestCount++;
+                    byte[] body = fetchPlantListPage(currentPage);
+                    if (body != null && body.length > 0) {
+                        responseArchive.append(Crawl.PLANT_LIST, currentPage, body);
+                        responseArchive.flush();
+                    }
+                    PlantListResponseDto response = readPlantList(body);
+
+                    if (response == null || response.getData() == null) {
+                        System.out.println("No response received for page " + currentPage
+                                + "; the next run starts with it.");
+                        morePages = false;
+                        break;
+                    }
+
+                    List<PlantIndex> plantsToSave = response.getData().stream()
+                            .filter(dto -> dto.getId() != null)
+                            .map(this::mapToPlantIndex)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+
+                    if (!plantsToSave.isEmpty()) {
+                        catalogUpsertRepository.upsertPlantIndex(plantsToSave);
+                        lastIdProcessed = plantsToSave.stream().mapToLong(PlantIndex::getId).max().orElse(lastIdProcessed);
+                        System.out.println("Saved " + plantsToSave.size() + " plants from page " + currentPage);
+                    } else {
+                        System.out.println("No plants found on page " + currentPage);
+                    }
+
+                    if (response.getCurrentPage() >= response.getLastPage()) {
+                        crawlCheckpointService.finish(checkpoint, currentPage);
+                        released = true;
+                        morePages = false;
+                        break;
+                    }
+                    currentPage++;
+                    if (!crawlCheckpointService.advance(checkpoint, currentPage)) {
+                        System.out.println("Pages from " + currentPage + " were taken over by another worker.");
+                        released = true;
+                        break;
+                    }
+                }
+            } finally {
+                if (!released) {
+                    crawlCheckpointService.release(checkpoint);
+                }
+            }
+        }
+        System.out.println("After " + apiRequestCount + " API requests, last plant ID processed: " + lastIdProcessed);
+    }
+
+    /**
+     * Fetches one species-list page, retrying requests that time out or get a 429 or 5xx response.
+     *
+     * @param page the page number.
+     * @return the page as received, or null if it could not be fetched.
+     */
+    private byte[] fetchPlantListPage(long page) {
+        String url = speciesListUrl + "?key=" + perenualApiKey + "&page=" + page;
+        try {
+            return webClient.get()
                     .uri(url)
                     .retrieve()
-                    .bodyToMono(PlantListResponseDto.class)
+                    .bodyToMono(byte[].class)
+                    .timeout(REQUEST_TIMEOUT)
+                    .retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofMillis(retryBackoffMs))
+                            .filter(PlantDataService::isTransient))
                     .block();
-
-            if (response == null || response.getData() == null) {
-                System.out.println("No response received for page " + currentPage);
-                break;
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (Exceptions.isRetryExhausted(cause)) {
+                cause = cause.getCause();
             }
+            System.out.println("Error retrieving species list page " + page + ": " + cause.getMessage());
+            return null;
+        }
+    }
 
-            List<PlantIndex> plantsToSave = response.getData().stream()
-                    .filter(dto -> dto.getId() != null && dto.getId() >= startId && dto.getId() <= endId)
-                    .map(dto -> {
-                        try {
-                            String scientificName = (dto.getScientificName() != null)
-                                    ? String.join(", ", dto.getScientificName())
-                                    : "";
-                            String otherName = (dto.getOtherName() != null)
-                                    ? String.join(", ", dto.getOtherName())
-                                    : "";
-                            System.out.printf("Plant ID: %d, Common Name: %s, Scientific Name: %s, Other Name: %s%n",
-                                    dto.getId(), dto.getCommonName(), scientificName, otherName);
-
-                            return new PlantIndex(
-                                    dto.getId(),
-                                    dto.getCommonName() != null ? dto.getCommonName() : "",
-                                    scientificName,
-                                    otherName
-                            );
-                        } catch (Exception e) {
-                            System.out.println("Error mapping plant data: " + e.getMessage());
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+    /**
+     * Parses a species-list page.
+     *
+     * @param body the page as received.
+     * @return the parsed page, or null if there is no body or it cannot be parsed.
+     */
+    private PlantListResponseDto readPlantList(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, PlantListResponseDto.class);
+        } catch (IOException e) {
+            System.out.println("Error parsing species list page: " + e.getMessage());
+            return null;
+        }
+    }
 
-            if (!plantsToSave.isEmpty()) {
-                plantIndexRepository.saveAll(plantsToSave);
-                lastIdProcessed = plantsToSave.stream().mapToLong(PlantIndex::getId).max().orElse(lastIdProcessed);
-                System.out.println("Saved " + plantsToSave.size() + " plants from page " + currentPage);
-            } else {
-                System.out.println("No plants in the specified ID range found on page " + currentPage);
-            }
+    /**
+     * Maps a species-list entry to a PlantIndex entity.
+     *
+     * @param dto the species-list entry.
+     * @return the PlantIndex entity, or null if mapping fails.
+     */
+    private PlantIndex mapToPlantIndex(PlantListDto dto) {
+        try {
+            String scientificName = (dto.getScientificName() != null)
+                    ? String.join(", ", dto.getScientificName())
+                    : "";
+            String otherName = (dto.getOtherName() != null)
+                    ? String.join(", ", dto.getOtherName())
+                    : "";
+            System.out.printf("Plant ID: %d, Common Name: %s, Scientific Name: %s, Other Name: %s%n",
+                    dto.getId(), dto.getCommonName(), scientificName, otherName);
 
-            if (response.getCurrentPage() >= response.getLastPage()) {
-                morePages = false;
-            } else {
-                currentPage++;
+            return new PlantIndex(
+                    dto.getId(),
+                    dto.getCommonName() != null ? dto.getCommonName() : "",
+                    scientificName,
+                    otherName
+            );
+        } catch (Exception e) {
+            System.out.println("Error mapping plant data: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves detailed plant data for the plant IDs of the plant index that have not been crawled yet.
+     *
+     * <p>ID ranges up to the highest ID in the plant index are claimed from {@link CrawlCheckpointService}
+     * and ingested with {@link #ingestPlantDetails(int, int)} from their recorded position, until
+     * {@code perenual.ingest.max-requests} API requests have been made or no range is left. After each
+     * range, the ID at which to continue is recorded and the range is released, so the next run resumes
+     * there, and other instances work on other ranges meanwhile. If a plant ID could not be stored, the
+     * range is released at that ID and the run stops, so the next run requests it again. If the lease on the
+     * range expired and
+     * another worker took it over, nothing is recorded and the run stops without releasing it. If the
+     * ingestion fails with an exception, the range is released at its last recorded ID and can be claimed
+     * again at once; if the process dies, the range is claimable again when its lease expires. Either way,
+     * the details that were stored are skipped by the next run.</p>
+     *
+     * @return the counters of the ingestion of each range.
+     */
+    public List<IngestionStats> fetchAndStorePlantDetailsFromCheckpoint() {
+        Long maxId = plantIndexRepository.findMaxId();
+        List<IngestionStats> runs = new ArrayList<>();
+        int remaining = maxRequests;
+        while (maxId != null && remaining > 0) {
+            Optional<CrawlCheckpoint> claimed = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, maxId);
+            if (claimed.isEmpty()) {
+                System.out.println("Plant details have been crawled up to plant ID " + maxId + ".");
+                break;
+            }
+            CrawlCheckpoint checkpoint = claimed.get();
+            boolean held = true;
+            try {
+                long end = Math.min(checkpoint.getRangeEnd(), maxId);
+                IngestionStats stats = ingestPlantDetails((int) checkpoint.getNextPosition(), (int) end, remaining)
+                        .block();
+                runs.add(stats);
+                remaining -= (int) stats.getRequests();
+                if (!crawlCheckpointService.advance(checkpoint, stats.getNextId())) {
+                    System.out.println("Plant IDs from " + checkpoint.getNextPosition()
+                            + " were taken over by another worker.");
+                    held = false;
+                    break;
+                }
+                if (stats.getFirstUnstoredId() != 0) {
+                    break;
+                }
+            } finally {
+                if (held) {
+                    crawlCheckpointService.release(checkpoint);
+                }
             }
         }
-        System.out.println("After " + apiRequestCount + " API requests, last plant ID processed: " + lastIdProcessed);
+        return runs;
+    }
+
+    /**
+     * Retrieves detailed plant data for plant IDs between startId and endId and blocks until it is stored.
+     *
+     * <p>See {@link #ingestPlantDetails(int, int)}.</p>
+     *
+     * @param startId the starting plant ID (inclusive)
+     * @param endId the ending plant ID (inclusive)
+     * @return the counters of the run.
+     */
+    public IngestionStats fetchAndStorePlantDetailsLimited(int startId, int endId) {
+        return ingestPlantDetails(startId, endId).block();
     }
 
     /**
      * Retrieves detailed plant data for plant IDs between startId and endId by sending individual API requests.
-     * <p>The process stops after making 99 API requests.
-     * For each request, the API response is first retrieved as a String.</p>
+     *
+     * <p>The process stops after making {@code perenual.ingest.max-requests} API requests.
+     * IDs whose details are already stored, as known to {@link PlantDetailsService#isStoredPlantId(long)},
+     * are skipped without a request, so the requests go to IDs that are still missing.</p>
+     * <p>Up to {@code perenual.ingest.concurrency} requests are in flight at once, and every request,
+     * retries included, first takes a token from a {@link TokenBucket} that allows
+     * {@code perenual.ingest.requests-per-second} with bursts of {@code perenual.ingest.burst}. Requests that
+     * time out or get a 429 or 5xx response are retried with exponential backoff. A 404 response or a
+     * response that is not JSON skips the ID. Any other failure, such as a request that still fails after
+     * its retries because the daily quota is used up, leaves the ID unstored and stops the run: no further
+     * IDs are requested, and the requests in flight are completed. JSON responses are appended to the {@link ResponseArchive}
+     * before they are mapped. Mapped details are saved in batches of
+     * {@code perenual.ingest.batch-size}, or whatever has arrived after a second, by one writer on a
+     * worker thread. The writer asks for the next batch only when it is done, so a slow database holds back
+     * the requests instead of piling up responses in memory. Each saved record is invalidated in the details
+     * cache of {@link PlantDetailsService} right away. A batch that cannot be written leaves its IDs unstored
+     * and stops the run as well.</p>
+     * <p>The run continues with the first unstored ID, if there is one, so that IDs are never skipped for
+     * good; IDs after it that were stored are skipped by the next run. See
+     * {@link IngestionStats#getNextId()}.</p>
+     * <p>The saved details are then published in the in-memory catalog of {@link PlantDetailsService} and
+     * passed to {@link SimilarPlantsService#update(List)}, so the similar plants of new and changed plants
+     * are recomputed in the background.</p>
      *
      * @param startId the starting plant ID (inclusive)
      * @param endId the ending plant ID (inclusive)
+     * @return a Mono that runs the ingestion when subscribed and emits its counters.
      */
-    public void fetchAndStorePlantDetailsLimited(int startId, int endId) {
-        int apiRequestCount = 0;
-        int currentId = startId;
-        while (currentId <= endId && apiRequestCount < 99) {
-            apiRequestCount++;
-            String url = plantDetailsUrl + "/" + currentId + "?key=" + perenualApiKey;
-            String responseBody = null;
-            try {
-                responseBody = webClient.get()
-                        .uri(url)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .timeout(Duration.ofSeconds(10))
-                        .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(5)))
-                        .block();
-            } catch (Exception e) {
-                System.out.println("Error retrieving details for plant ID " + currentId + ": " + e.getMessage());
-            }
-            if (responseBody == null || !responseBody.trim().startsWith("{")) {
-                System.out.println("Skipping plant ID " + currentId + " due to unsupported content type or empty response.");
+    public Mono<IngestionStats> ingestPlantDetails(int startId, int endId) {
+        return ingestPlantDetails(startId, endId, maxRequests);
+    }
+
+    private Mono<IngestionStats> ingestPlantDetails(int startId, int endId, int requestLimit) {
+        return Mono.defer(() -> {
+            IngestionStats stats = new IngestionStats();
+            TokenBucket limiter = new TokenBucket(requestsPerSecond, burst);
+            return Flux.range(startId, Math.max(0, endId - startId + 1))
+                    .filter(id -> {
+                        if (plantDetailsService.isStoredPlantId(id)) {
+                            stats.skipped();
+                            return false;
+                        }
+                        return true;
+                    })
+                    .takeWhile(id -> stats.getFirstUnstoredId() == 0)
+                    .take(requestLimit)
+                    .flatMap(id -> fetchPlantDetails(id, limiter, stats), concurrency)
+                    .bufferTimeout(batchSize, BATCH_MAX_WAIT, true)
+                    .concatMap(batch -> Mono.fromCallable(() -> saveBatch(batch, stats))
+                            .subscribeOn(Schedulers.boundedElastic()), 1)
+                    .reduceWith(ArrayList<PlantDetails>::new, (all, saved) -> {
+                        all.addAll(saved);
+                        return all;
+                    })
+                    .map(saved -> {
+                        long lastIdProcessed = stats.getRequests() < requestLimit ? endId : stats.getLastId();
+                        long firstUnstoredId = stats.getFirstUnstoredId();
+                        long nextId = firstUnstoredId != 0 ? firstUnstoredId : lastIdProcessed + 1;
+                        stats.finish(nextId);
+                        System.out.println("\nAfter [" + stats.getRequests() + "] API requests, last plant ID processed: [" + lastIdProcessed + "]");
+                        if (firstUnstoredId != 0) {
+                            System.out.println("\nStopped because plant ID [" + firstUnstoredId + "] could not be stored.");
+                        }
+                        System.out.println("\nNext plant ID to process: [" + nextId + "]\n");
+                        System.out.println("Plant details ingestion " + stats);
+                        if (!saved.isEmpty()) {
+                            plantDetailsService.update(saved);
+                            similarPlantsService.update(saved);
+                        }
+                        return stats;
+                    });
+        });
+    }
+
+    /**
+     * Rebuilds the plant index and plant details from the {@link ResponseArchive} without calling the API.
+     *
+     * <p>The archived responses are read in the order they were received and mapped with the current
+     * mappers: the entries of every species-list page to plant index rows, and every details response to
+     * plant details. Rows are written with batched upserts of {@code perenual.archive.replay-batch-size}
+     * rows, so a plant that was fetched more than once ends up with its newest response, and rows that are
+     * not in the archive are left untouched. Saved details are published to {@link PlantDetailsService} and
+     * {@link SimilarPlantsService} batch by batch; the search index picks up the plant index on its next
+     * database check.</p>
+     *
+     * @return the counters of the replay of each crawl; they count no API requests.
+     * @throws IOException if the archive cannot be read.
+     */
+    public Map<Crawl, IngestionStats> replayArchive() throws IOException {
+        IngestionStats listStats = new IngestionStats();
+        IngestionStats detailsStats = new IngestionStats();
+        List<PlantIndex> plants = new ArrayList<>();
+        List<PlantDetails> details = new ArrayList<>();
+        long records = responseArchive.forEach((crawl, key, fetchedAt, body) -> {
+            if (crawl == Crawl.PLANT_LIST) {
+                PlantListResponseDto response = readPlantList(body);
+                if (response == null || response.getData() == null) {
+                    listStats.emptyResponse();
+                    return;
+                }
+                for (PlantListDto dto : response.getData()) {
+                    PlantIndex plant = dto.getId() != null ? mapToPlantIndex(dto) : null;
+                    listStats.mapped(plant != null);
+                    if (plant != null) {
+                        plants.add(plant);
+                    }
+                }
+                if (plants.size() >= replayBatchSize) {
+                    replayPlantIndex(plants, listStats);
+                }
             } else {
-                PlantDetails details = mapToPlantDetails(responseBody);
-                if (details != null) {
-                    plantDetailsRepository.save(details);
-                    System.out.println("Saved details for plant ID: " + currentId);
-                } else {
-                    System.out.println("Mapping failed for plant ID: " + currentId);
+                if (!PlantDetailsReader.isJsonObject(body)) {
+                    detailsStats.emptyResponse();
+                    return;
+                }
+                PlantDetails plant = plantDetailsReader.read(body);
+                detailsStats.mapped(plant != null);
+                if (plant != null) {
+                    details.add(plant);
+                }
+                if (details.size() >= replayBatchSize) {
+                    replayPlantDetails(details, detailsStats);
                 }
             }
-            currentId++;
+        });
+        replayPlantIndex(plants, listStats);
+        replayPlantDetails(details, detailsStats);
+        listStats.finish(0);
+        detailsStats.finish(0);
+        System.out.println("Replayed " + records + " archived responses.");
+        System.out.println("Plant index replay " + listStats);
+        System.out.println("Plant details replay " + detailsStats);
+        Map<Crawl, IngestionStats> stats = new EnumMap<>(Crawl.class);
+        stats.put(Crawl.PLANT_LIST, listStats);
+        stats.put(Crawl.PLANT_DETAILS, detailsStats);
+        return stats;
+    }
+
+    /**
+     * Writes the plant index rows collected during a replay and clears the list.
+     */
+    private void replayPlantIndex(List<PlantIndex> plants, IngestionStats stats) {
+        if (plants.isEmpty()) {
+            return;
+        }
+        List<PlantIndex> batch = new ArrayList<>(plants);
+        plants.clear();
+        long start = System.nanoTime();
+        try {
+            catalogUpsertRepository.upsertPlantIndex(batch);
+            stats.written(batch.size(), System.nanoTime() - start);
+        } catch (Exception e) {
+            stats.writeFailed(batch.size(), System.nanoTime() - start);
+            System.out.println("Error saving " + batch.size() + " plants: " + e.getMessage());
         }
-        System.out.println("\nAfter [" + apiRequestCount + "] API requests, last plant ID processed: [" + (currentId - 1) + "]");
-        System.out.println("\nNext plant ID to process: [" + currentId + "]\n");
     }
 
     /**
-     * Maps the JSON response (as a String) to a PlantDetails entity.
+     * Writes the details collected during a replay, publishes them, and clears the list.
+     */
+    private void replayPlantDetails(List<PlantDetails> details, IngestionStats stats) {
+        if (details.isEmpty()) {
+            return;
+        }
+        List<PlantDetails> saved = saveBatch(new ArrayList<>(details), stats);
+        details.clear();
+        if (!saved.isEmpty()) {
+            plantDetailsService.update(saved);
+            similarPlantsService.update(saved);
+        }
+    }
+
+    /**
+     * Fetches and maps the details of one plant.
      *
-     * <p>The method deserializes the response into a Map, then extracts available fields.
-     * For fields that are arrays or nested objects, the values are re-serialized to JSON strings.</p>
+     * @param id the plant ID.
+     * @param limiter the rate limiter that every attempt takes a token from.
+     * @param stats the counters of the run.
+     * @return a Mono of the details, or an empty Mono if they could not be fetched or mapped.
+     */
+    private Mono<PlantDetails> fetchPlantDetails(int id, TokenBucket limiter, IngestionStats stats) {
+        String url = plantDetailsUrl + "/" + id + "?key=" + perenualApiKey;
+        Mono<byte[]> attempt = limiter.acquire().then(Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .bodyToMono(byte[].class)
+                    .timeout(REQUEST_TIMEOUT)
+                    .doFinally(signal -> stats.attempted(System.nanoTime() - start));
+        }));
+        return Mono.defer(() -> {
+            stats.requested(id);
+            return attempt
+                    .retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofMillis(retryBackoffMs))
+                            .filter(PlantDataService::isTransient)
+                            .doBeforeRetry(signal -> stats.retried()))
+                    .defaultIfEmpty(new byte[0])
+                    .onErrorResume(e -> {
+                        stats.fetchFailed();
+                        Throwable cause = Exceptions.isRetryExhausted(e) ? e.getCause() : e;
+                        if (!isNotFound(cause)) {
+                            stats.unstored(id);
+                        }
+                        System.out.println("Error retrieving details for plant ID " + id + ": " + cause.getMessage());
+                        return Mono.empty();
+                    })
+                    .flatMap(body -> {
+                        if (!PlantDetailsReader.isJsonObject(body)) {
+                            stats.emptyResponse();
+                            System.out.println("Skipping plant ID " + id + " due to unsupported content type or empty response.");
+                            return Mono.empty();
+                        }
+                        responseArchive.append(Crawl.PLANT_DETAILS, id, body);
+                        PlantDetails details = plantDetailsReader.read(body);
+                        stats.mapped(details != null);
+                        if (details == null) {
+                            System.out.println("Mapping failed for plant ID: " + id);
+                        }
+                        return Mono.justOrEmpty(details);
+                    });
+        });
+    }
+
+    /**
+     * Tells whether a failed request may succeed when sent again: it timed out, could not be sent,
+     * or was answered with 429 Too Many Requests or a server error.
      *
-     * @param json the JSON response as a String.
-     * @return a PlantDetails entity representing the API response, or null if mapping fails.
+     * @param e the failure.
+     * @return true if the request should be retried.
      */
-    private PlantDetails mapToPlantDetails(String json) {
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+
+    /**
+     * Tells whether a request failed because the plant does not exist.
+     *
+     * @param e the failure.
+     * @return true if the request was answered with 404 Not Found.
+     */
+    private static boolean isNotFound(Throwable e) {
+        return e instanceof WebClientResponseException response
+                && response.getStatusCode().value() == HttpStatus.NOT_FOUND.value();
+    }
+
+    /**
+     * Saves a batch of details with one batched upsert and invalidates them in the details cache.
+     *
+     * @param batch the details to save.
+     * @param stats the counters of the run.
+     * @return the saved details, or an empty list if the batch could not be saved; its IDs are then recorded
+     *         as unstored.
+     */
+    private List<PlantDetails> saveBatch(List<PlantDetails> batch, IngestionStats stats) {
+        long start = System.nanoTime();
+        responseArchive.flush();
         try {
-            Map<String, Object> map = objectMapper.readValue(json, new TypeReference<>() {
-            });
-
-            Long id = map.get("id") != null ? ((Number) map.get("id")).longValue() : null;
-            String commonName = map.get("common_name") != null ? map.get("common_name").toString() : null;
-            String type = map.get("type") != null ? map.get("type").toString() : null;
-            String pruningCount = map.get("pruning_count") != null ? objectMapper.writeValueAsString(map.get("pruning_count")) : null;
-            Boolean saltTolerant = map.get("salt_tolerant") != null ? Boolean.valueOf(map.get("salt_tolerant").toString()) : null;
-            String careGuides = map.get("care_guides") != null ? map.get("care_guides").toString() : null;
-            String growthRate = map.get("growth_rate") != null ? map.get("growth_rate").toString() : null;
-            String harvestSeason = map.get("harvest_season") != null ? map.get("harvest_season").toString() : null;
-            Boolean cones = map.get("cones") != null ? Boolean.valueOf(map.get("cones").toString()) : null;
-            String attracts = map.get("attracts") != null ? objectMapper.writeValueAsString(map.get("attracts")) : null;
-            String pestSusceptibility = map.get("pest_susceptibility") != null ? objectMapper.writeValueAsString(map.get("pest_susceptibility")) : null;
-            Boolean flowers = map.get("flowers") != null ? Boolean.valueOf(map.get("flowers").toString()) : null;
-            Boolean invasive = map.get("invasive") != null ? Boolean.valueOf(map.get("invasive").toString()) : null;
-            Boolean seeds = map.get("seeds") != null ? Boolean.valueOf(map.get("seeds").toString()) : null;
-            Boolean poisonousToHumans = map.get("poisonous_to_humans") != null ? Boolean.valueOf(map.get("poisonous_to_humans").toString()) : null;
-            String propagation = map.get("propagation") != null ? objectMapper.writeValueAsString(map.get("propagation")) : null;
-            String genus = map.get("genus") != null ? map.get("genus").toString() : null;
-            Boolean indoor = map.get("indoor") != null ? Boolean.valueOf(map.get("indoor").toString()) : null;
-            String speciesEpithet = map.get("species_epithet") != null ? map.get("species_epithet").toString() : null;
-            String defaultImageLicenseName = null;
-            String defaultImageLicenseUrl = null;
-            String defaultImageOriginalUrl = null;
-            String defaultImageRegularUrl = null;
-            String defaultImageMediumUrl = null;
-            String defaultImageSmallUrl = null;
-            String defaultImageThumbnail = null;
-            if (map.get("default_image") != null) {
-                try {
-                    Map<String, Object> defImg = (Map<String, Object>) map.get("default_image");
-                    defaultImageLicenseName = defImg.get("license_name") != null ? defImg.get("license_name").toString() : null;
-                    defaultImageLicenseUrl = defImg.get("license_url") != null ? defImg.get("license_url").toString() : null;
-                    defaultImageOriginalUrl = defImg.get("original_url") != null ? defImg.get("original_url").toString() : null;
-                    defaultImageRegularUrl = defImg.get("regular_url") != null ? defImg.get("regular_url").toString() : null;
-                    defaultImageMediumUrl = defImg.get("medium_url") != null ? defImg.get("medium_url").toString() : null;
-                    defaultImageSmallUrl = defImg.get("small_url") != null ? defImg.get("small_url").toString() : null;
-                    defaultImageThumbnail = defImg.get("thumbnail") != null ? defImg.get("thumbnail").toString() : null;
-                } catch (Exception e) {
-                    System.out.println("Error extracting default image: " + e.getMessage());
-                }
-            }
-            Boolean thorny = map.get("thorny") != null ? Boolean.valueOf(map.get("thorny").toString()) : null;
-            String floweringSeason = map.get("flowering_season") != null ? map.get("flowering_season").toString() : null;
-            String origin = map.get("origin") != null ? objectMapper.writeValueAsString(map.get("origin")) : null;
-            Boolean edibleFruit = map.get("edible_fruit") != null ? Boolean.valueOf(map.get("edible_fruit").toString()) : null;
-            String description = map.get("description") != null ? map.get("description").toString() : null;
-            String soil = map.get("soil") != null ? objectMapper.writeValueAsString(map.get("soil")) : null;
-            Boolean medicinal = map.get("medicinal") != null ? Boolean.valueOf(map.get("medicinal").toString()) : null;
-            String cycle = map.get("cycle") != null ? map.get("cycle").toString() : null;
-            Boolean fruits = map.get("fruits") != null ? Boolean.valueOf(map.get("fruits").toString()) : null;
-            // Removed: variety
-            Boolean droughtTolerant = map.get("drought_tolerant") != null ? Boolean.valueOf(map.get("drought_tolerant").toString()) : null;
-            Boolean cuisine = map.get("cuisine") != null ? Boolean.valueOf(map.get("cuisine").toString()) : null;
-            String hardinessLocationFullUrl = null;
-            String hardinessLocationFullIframe = null;
-            if (map.get("hardiness_location") != null) {
-                try {
-                    Map<String, Object> hl = (Map<String, Object>) map.get("hardiness_location");
-                    hardinessLocationFullUrl = hl.get("full_url") != null ? hl.get("full_url").toString() : null;
-                    hardinessLocationFullIframe = hl.get("full_iframe") != null ? hl.get("full_iframe").toString() : null;
-                } catch (Exception e) {
-                    System.out.println(e.getMessage());
-                }
-            }
-            String plantAnatomy = map.get("plant_anatomy") != null ? objectMapper.writeValueAsString(map.get("plant_anatomy")) : null;
-            Boolean leaf = map.get("leaf") != null ? Boolean.valueOf(map.get("leaf").toString()) : null;
-            String pruningMonth = map.get("pruning_month") != null ? objectMapper.writeValueAsString(map.get("pruning_month")) : null;
-            String hardinessMin = null;
-            String hardinessMax = null;
-            if (map.get("hardiness") != null) {
-                try {
-                    Map<String, Object> h = (Map<String, Object>) map.get("hardiness");
-                    hardinessMin = h.get("min") != null ? h.get("min").toString() : null;
-                    hardinessMax = h.get("max") != null ? h.get("max").toString() : null;
-                } catch (Exception e) {
-                    System.out.println(e.getMessage());
-                }
+            catalogUpsertRepository.upsertPlantDetails(batch);
+            for (PlantDetails details : batch) {
+                plantDetailsService.invalidate(details.getId());
             }
-            Boolean tropical = map.get("tropical") != null ? Boolean.valueOf(map.get("tropical").toString()) : null;
-            String sunlight = map.get("sunlight") != null ? objectMapper.writeValueAsString(map.get("sunlight")) : null;
-            String watering = map.get("watering") != null ? map.get("watering").toString() : null;
-            Boolean poisonousToPets = map.get("poisonous_to_pets") != null ? Boolean.valueOf(map.get("poisonous_to_pets").toString()) : null;
-            String careLevel = map.get("care_level") != null ? map.get("care_level").toString() : null;
-            Boolean edibleLeaf = map.get("edible_leaf") != null ? Boolean.valueOf(map.get("edible_leaf").toString()) : null;
-            String family = map.get("family") != null ? map.get("family").toString() : null;
-            String maintenance = map.get("maintenance") != null ? map.get("maintenance").toString() : null;
-            String dimensions = map.get("dimensions") != null ? objectMapper.writeValueAsString(map.get("dimensions")) : null;
-
-            System.out.println("Mapped plant details for ID: " + id);
-            return new PlantDetails(
-                    id,
-                    commonName,
-                    type,
-                    pruningCount,
-                    saltTolerant,
-                    careGuides,
-                    growthRate,
-                    harvestSeason,
-                    cones,
-                    attracts,
-                    pestSusceptibility,
-                    flowers,
-                    invasive,
-                    seeds,
-                    poisonousToHumans,
-                    propagation,
-                    genus,
-                    indoor,
-                    speciesEpithet,
-                    defaultImageLicenseName,
-                    defaultImageLicenseUrl,
-                    defaultImageOriginalUrl,
-                    defaultImageRegularUrl,
-                    defaultImageMediumUrl,
-                    defaultImageSmallUrl,
-                    defaultImageThumbnail,
-                    thorny,
-                    floweringSeason,
-                    origin,
-                    edibleFruit,
-                    description,
-                    soil,
-                    medicinal,
-                    cycle,
-                    fruits,
-                    droughtTolerant,
-                    cuisine,
-                    hardinessLocationFullUrl,
-                    hardinessLocationFullIframe,
-                    plantAnatomy,
-                    leaf,
-                    pruningMonth,
-                    hardinessMin,
-                    hardinessMax,
-                    tropical,
-                    sunlight,
-                    watering,
-                    poisonousToPets,
-                    careLevel,
-                    edibleLeaf,
-                    family,
-                    maintenance,
-                    dimensions
-            );
+            stats.written(batch.size(), System.nanoTime() - start);
+            System.out.println("Saved details for " + batch.size() + " plants");
+            return batch;
         } catch (Exception e) {
-            System.out.println("Error mapping plant details: " + e.getMessage());
-            return null;
+            stats.writeFailed(batch.size(), System.nanoTime() - start);
+            for (PlantDetails details : batch) {
+                stats.unstored(details.getId());
+            }
+            System.out.println("Error saving details for " + batch.size() + " plants: " + e.getMessage());
+            return List.of();
         }
     }
 }
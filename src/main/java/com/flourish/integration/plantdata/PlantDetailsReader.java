@@ -0,0 +1,274 @@
+package com.flourish.integration.plantdata;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantDetails;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Maps a Perenual species details response to a PlantDetails entity in a single pass over the JSON.
+ *
+ * <p>The response is read token by token with a {@link JsonParser} from the factory of the application's
+ * shared {@link ObjectMapper}, and each field is written straight into the entity. Nothing is parsed into
+ * an intermediate {@code Map}: fields stored as JSON, such as {@code sunlight} or {@code dimensions}, are
+ * copied from the parser to a generator as they are read, and unknown fields are skipped without being
+ * parsed into values.</p>
+ *
+ * <p>Values are stored in the same format as before: text fields hold the value as text, boolean fields
+ * are true only for {@code true} or {@code "true"}, and JSON fields hold the compact JSON of the value. A
+ * text field that unexpectedly holds an object or array now keeps its JSON instead of the Java
+ * {@code toString()} of the parsed value.</p>
+ *
+ * @see PlantDataService
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Component
+public class PlantDetailsReader {
+
+    /**
+     * Reads the value at the parser's current token into a field of the entity.
+     */
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(PlantDetailsReader reader, JsonParser parser, PlantDetails details) throws IOException;
+    }
+
+    private static final Map<String, FieldReader> FIELDS = new HashMap<>();
+    private static final Map<String, FieldReader> DEFAULT_IMAGE_FIELDS = new HashMap<>();
+    private static final Map<String, FieldReader> HARDINESS_LOCATION_FIELDS = new HashMap<>();
+    private static final Map<String, FieldReader> HARDINESS_FIELDS = new HashMap<>();
+
+    static {
+        FIELDS.put("id", (r, p, d) -> d.setId(p.currentToken() == JsonToken.VALUE_NULL ? null : p.getLongValue()));
+        text(FIELDS, "common_name", PlantDetails::setCommonName);
+        text(FIELDS, "type", PlantDetails::setType);
+        json(FIELDS, "pruning_count", PlantDetails::setPruningCount);
+        bool(FIELDS, "salt_tolerant", PlantDetails::setSaltTolerant);
+        text(FIELDS, "care_guides", PlantDetails::setCareGuides);
+        text(FIELDS, "growth_rate", PlantDetails::setGrowthRate);
+        text(FIELDS, "harvest_season", PlantDetails::setHarvestSeason);
+        bool(FIELDS, "cones", PlantDetails::setCones);
+        json(FIELDS, "attracts", PlantDetails::setAttracts);
+        json(FIELDS, "pest_susceptibility", PlantDetails::setPestSusceptibility);
+        bool(FIELDS, "flowers", PlantDetails::setFlowers);
+        bool(FIELDS, "invasive", PlantDetails::setInvasive);
+        bool(FIELDS, "seeds", PlantDetails::setSeeds);
+        bool(FIELDS, "poisonous_to_humans", PlantDetails::setPoisonousToHumans);
+        json(FIELDS, "propagation", PlantDetails::setPropagation);
+        text(FIELDS, "genus", PlantDetails::setGenus);
+        bool(FIELDS, "indoor", PlantDetails::setIndoor);
+        text(FIELDS, "species_epithet", PlantDetails::setSpeciesEpithet);
+        FIELDS.put("default_image", (r, p, d) -> r.readObject(p, d, DEFAULT_IMAGE_FIELDS));
+        bool(FIELDS, "thorny", PlantDetails::setThorny);
+        text(FIELDS, "flowering_season", PlantDetails::setFloweringSeason);
+        json(FIELDS, "origin", PlantDetails::setOrigin);
+        bool(FIELDS, "edible_fruit", PlantDetails::setEdibleFruit);
+        text(FIELDS, "description", PlantDetails::setDescription);
+        json(FIELDS, "soil", PlantDetails::setSoil);
+        bool(FIELDS, "medicinal", PlantDetails::setMedicinal);
+        text(FIELDS, "cycle", PlantDetails::setCycle);
+        bool(FIELDS, "fruits", PlantDetails::setFruits);
+        bool(FIELDS, "drought_tolerant", PlantDetails::setDroughtTolerant);
+        bool(FIELDS, "cuisine", PlantDetails::setCuisine);
+        FIELDS.put("hardiness_location", (r, p, d) -> r.readObject(p, d, HARDINESS_LOCATION_FIELDS));
+        json(FIELDS, "plant_anatomy", PlantDetails::setPlantAnatomy);
+        bool(FIELDS, "leaf", PlantDetails::setLeaf);
+        json(FIELDS, "pruning_month", PlantDetails::setPruningMonth);
+        FIELDS.put("hardiness", (r, p, d) -> r.readObject(p, d, HARDINESS_FIELDS));
+        bool(FIELDS, "tropical", PlantDetails::setTropical);
+        json(FIELDS, "sunlight", PlantDetails::setSunlight);
+        text(FIELDS, "watering", PlantDetails::setWatering);
+        bool(FIELDS, "poisonous_to_pets", PlantDetails::setPoisonousToPets);
+        text(FIELDS, "care_level", PlantDetails::setCareLevel);
+        bool(FIELDS, "edible_leaf", PlantDetails::setEdibleLeaf);
+        text(FIELDS, "family", PlantDetails::setFamily);
+        text(FIELDS, "maintenance", PlantDetails::setMaintenance);
+        json(FIELDS, "dimensions", PlantDetails::setDimensions);
+
+        text(DEFAULT_IMAGE_FIELDS, "license_name", PlantDetails::setDefaultImageLicenseName);
+        text(DEFAULT_IMAGE_FIELDS, "license_url", PlantDetails::setDefaultImageLicenseUrl);
+        text(DEFAULT_IMAGE_FIELDS, "original_url", PlantDetails::setDefaultImageOriginalUrl);
+        text(DEFAULT_IMAGE_FIELDS, "regular_url", PlantDetails::setDefaultImageRegularUrl);
+        text(DEFAULT_IMAGE_FIELDS, "medium_url", PlantDetails::setDefaultImageMediumUrl);
+        text(DEFAULT_IMAGE_FIELDS, "small_url", PlantDetails::setDefaultImageSmallUrl);
+        text(DEFAULT_IMAGE_FIELDS, "thumbnail", PlantDetails::setDefaultImageThumbnail);
+
+        text(HARDINESS_LOCATION_FIELDS, "full_url", PlantDetails::setHardinessLocationFullUrl);
+        text(HARDINESS_LOCATION_FIELDS, "full_iframe", PlantDetails::setHardinessLocationFullIframe);
+
+        text(HARDINESS_FIELDS, "min", PlantDetails::setHardinessMin);
+        text(HARDINESS_FIELDS, "max", PlantDetails::setHardinessMax);
+    }
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs a new PlantDetailsReader.
+     *
+     * @param objectMapper the shared ObjectMapper whose factory creates the parsers and generators.
+     */
+    public PlantDetailsReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Maps a details response to a PlantDetails entity.
+     *
+     * @param json the JSON response as a String.
+     * @return a PlantDetails entity representing the response, or null if the response is not a JSON
+     *         object or mapping fails.
+     */
+    public PlantDetails read(String json) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return read(parser);
+        } catch (Exception e) {
+            System.out.println("Error mapping plant details: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Maps a details response, as received in UTF-8, to a PlantDetails entity without decoding it to a
+     * String first.
+     *
+     * @param json the JSON response as UTF-8 bytes.
+     * @return a PlantDetails entity representing the response, or null if the response is not a JSON
+     *         object or mapping fails.
+     */
+    public PlantDetails read(byte[] json) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return read(parser);
+        } catch (Exception e) {
+            System.out.println("Error mapping plant details: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether a response looks like a JSON object, that is, starts with '{' after any whitespace.
+     *
+     * @param json the response as UTF-8 bytes.
+     * @return true if the response may be a details object.
+     */
+    public static boolean isJsonObject(byte[] json) {
+        for (byte b : json) {
+            if (b == '{') {
+                return true;
+            }
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private PlantDetails read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            System.out.println("Error mapping plant details: response is not a JSON object");
+            return null;
+        }
+        PlantDetails details = new PlantDetails();
+        readFields(parser, details, FIELDS);
+        System.out.println("Mapped plant details for ID: " + details.getId());
+        return details;
+    }
+
+    /**
+     * Reads the fields of the object whose START_OBJECT is the current token, up to its END_OBJECT.
+     */
+    private void readFields(JsonParser parser, PlantDetails details, Map<String, FieldReader> fields)
+            throws IOException {
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            FieldReader field = fields.get(name);
+            parser.nextToken();
+            if (field != null) {
+                field.read(this, parser, details);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads a nested object into the entity, or skips the value if it is not an object.
+     */
+    private void readObject(JsonParser parser, PlantDetails details, Map<String, FieldReader> fields)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            readFields(parser, details, fields);
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Returns the current value as text: strings as they are, numbers and booleans as written, and objects
+     * and arrays as compact JSON.
+     */
+    private String readText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            return readJson(parser);
+        }
+        if (token.isNumeric()) {
+            return parser.getNumberValue().toString();
+        }
+        return parser.getText();
+    }
+
+    private Boolean readBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isBoolean()) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        return Boolean.valueOf(readText(parser));
+    }
+
+    /**
+     * Copies the current value, with all its children, to a compact JSON string.
+     */
+    private String readJson(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        StringWriter writer = new StringWriter(64);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    private static void text(Map<String, FieldReader> fields, String name, BiConsumer<PlantDetails, String> setter) {
+        fields.put(name, (r, p, d) -> setter.accept(d, r.readText(p)));
+    }
+
+    private static void bool(Map<String, FieldReader> fields, String name, BiConsumer<PlantDetails, Boolean> setter) {
+        fields.put(name, (r, p, d) -> setter.accept(d, r.readBoolean(p)));
+    }
+
+    private static void json(Map<String, FieldReader> fields, String name, BiConsumer<PlantDetails, String> setter) {
+        fields.put(name, (r, p, d) -> setter.accept(d, r.readJson(p)));
+    }
+}
@@ -0,0 +1,395 @@
+package com.flourish.integration.plantdata;
+
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Append-only, compressed archive of the raw responses of the Perenual API.
+ *
+ * <p>Every species-list page and species details response that the crawls receive is appended as it
+ * arrives, so the catalog can be rebuilt from the archive, for example after a mapping or schema change,
+ * without spending API requests. The archive is a directory of segment files named
+ * {@code responses-000001.seg}, {@code responses-000002.seg} and so on; a new segment is started when the
+ * current one would grow beyond {@code perenual.archive.segment-max-bytes}. All numbers are big-endian:</p>
+ * <ul>
+ *   <li>a segment header of the magic number {@code "FLRA"} and the format version,</li>
+ *   <li>then one record per response: the crawl ({@code 1} for a list page, {@code 2} for details), the
+ *       key ({@code long}, the page number or plant ID), the fetch time ({@code long}, epoch milliseconds),
+ *       the length of the response and of its compressed form ({@code int}s), the CRC-32 of the compressed
+ *       form ({@code int}), and the response compressed with deflate.</li>
+ * </ul>
+ *
+ * <p>Records are only ever appended, in the order they arrive, so a later record for the same key is the
+ * newer response. Appends go through a buffer that {@link #flush()} writes out; the ingestion flushes
+ * before it writes to the database. A record torn by a crash is detected by its length or checksum: it
+ * ends the segment when reading, and is cut off before the next append.</p>
+ *
+ * <p>Failing to archive a response never fails the crawl: the error is logged, and the archive is
+ * reopened on the next append. Appends and reads can be called from any thread.</p>
+ *
+ * @see PlantDataService#replayArchive()
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Component
+public class ResponseArchive {
+
+    /**
+     * The magic number at the start of every segment, {@code "FLRA"} in ASCII.
+     */
+    public static final int MAGIC = 0x464C5241;
+
+    /**
+     * The format version written by {@link #append(Crawl, long, byte[])}.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 1 + 8 + 8 + 4 + 4 + 4;
+    private static final int MAX_RESPONSE_BYTES = 64 << 20;
+    private static final int BUFFER_BYTES = 64 << 10;
+    private static final String SEGMENT_PREFIX = "responses-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * Receives the records of the archive, oldest first.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Handles one archived response.
+         *
+         * @param crawl the crawl that fetched the response.
+         * @param key the page number of a list page, or the plant ID of a details response.
+         * @param fetchedAt the time the response was archived, in epoch milliseconds.
+         * @param body the response as received.
+         * @throws IOException to stop reading the archive.
+         */
+        void visit(Crawl crawl, long key, long fetchedAt, byte[] body) throws IOException;
+    }
+
+    private final Object lock = new Object();
+    private DataOutputStream out;
+    private int segmentNumber;
+    private long segmentSize;
+
+    @Value("${perenual.archive.enabled:true}")
+    boolean enabled = true;
+
+    @Value("${perenual.archive.dir:var/app/archive}")
+    String directory = "var/app/archive";
+
+    @Value("${perenual.archive.segment-max-bytes:67108864}")
+    long segmentMaxBytes = 64L << 20;
+
+    /**
+     * Appends a response to the archive, with the current time as its fetch time.
+     *
+     * <p>The response is compressed on the calling thread and written to the buffer of the current segment.
+     * Does nothing if the archive is disabled.</p>
+     *
+     * @param crawl the crawl that fetched the response.
+     * @param key the page number of a list page, or the plant ID of a details response.
+     * @param body the response as received.
+     */
+    public void append(Crawl crawl, long key, byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        byte[] compressed = deflate(body);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        long fetchedAt = System.currentTimeMillis();
+        synchronized (lock) {
+            try {
+                DataOutputStream segment = output(RECORD_HEADER_BYTES + compressed.length);
+                segment.writeByte(code(crawl));
+                segment.writeLong(key);
+                segment.writeLong(fetchedAt);
+                segment.writeInt(body.length);
+                segment.writeInt(compressed.length);
+                segment.writeInt((int) crc.getValue());
+                segment.write(compressed);
+                segmentSize += RECORD_HEADER_BYTES + compressed.length;
+            } catch (IOException e) {
+                System.out.println("Error archiving " + crawl + " response " + key + ": " + e.getMessage());
+                closeSegment();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered records to the current segment.
+     */
+    public void flush() {
+        synchronized (lock) {
+            if (out != null) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    System.out.println("Error flushing the response archive: " + e.getMessage());
+                    closeSegment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads all records of the archive, oldest first, and passes them to the visitor.
+     *
+     * <p>Buffered records are flushed first, and records appended while reading may or may not be read.
+     * A segment that ends in a torn or corrupt record is read up to that record.</p>
+     *
+     * @param visitor the receiver of the records.
+     * @return the number of records read.
+     * @throws IOException if a segment cannot be read, or the visitor throws.
+     */
+    public long forEach(Visitor visitor) throws IOException {
+        flush();
+        long count = 0;
+        for (Path segment : segments()) {
+            count += scan(segment, visitor, new long[1]);
+        }
+        return count;
+    }
+
+    /**
+     * Closes the current segment. The next append opens it again.
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (lock) {
+            closeSegment();
+        }
+    }
+
+    /**
+     * Returns the output of the segment to write the next record to: the current one, or a new one if the
+     * record would make it too big. After a restart or an error, the last segment is checked first and a
+     * torn record at its end is cut off. Must be called holding the lock.
+     */
+    private DataOutputStream output(int recordBytes) throws IOException {
+        if (out == null) {
+            List<Path> segments = segments();
+            if (segments.isEmpty()) {
+                openSegment(1);
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                long valid = validLength(last);
+                segmentNumber = number(last);
+                if (Files.size(last) < HEADER_BYTES) {
+                    Files.delete(last);
+                    openSegment(segmentNumber);
+                } else if (valid < HEADER_BYTES) {
+                    openSegment(segmentNumber + 1);
+                } else {
+                    if (valid < Files.size(last)) {
+                        System.out.println("Cutting off a torn record at byte " + valid + " of " + last);
+                        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+                            channel.truncate(valid);
+                        }
+                    }
+                    out = new DataOutputStream(new BufferedOutputStream(
+                            Files.newOutputStream(last, StandardOpenOption.APPEND), BUFFER_BYTES));
+                    segmentSize = valid;
+                }
+            }
+        }
+        if (segmentSize > HEADER_BYTES && segmentSize + recordBytes > segmentMaxBytes) {
+            closeSegment();
+            openSegment(segmentNumber + 1);
+        }
+        return out;
+    }
+
+    private void openSegment(int number) throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        Path file = dir.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER_BYTES));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        segmentNumber = number;
+        segmentSize = HEADER_BYTES;
+    }
+
+    private void closeSegment() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.out.println("Error closing the response archive: " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * Returns the segments of the archive in the order they were written.
+     */
+    private List<Path> segments() throws IOException {
+        Path dir = Path.of(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> number(file) > 0)
+                    .sorted(Comparator.comparingInt(ResponseArchive::number))
+                    .toList();
+        }
+    }
+
+    /**
+     * Returns the number of a segment file, or 0 if the file is not a segment.
+     */
+    private static int number(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the length of the segment up to the end of its last intact record.
+     */
+    private static long validLength(Path segment) throws IOException {
+        long[] length = {0};
+        scan(segment, null, length);
+        return length[0];
+    }
+
+    /**
+     * Reads a segment record by record, checking the header and every record, until its end or the first
+     * torn or corrupt record. Passes the records to the visitor, if any, and stores the length up to the
+     * end of the last intact record in {@code validLength[0]}.
+     *
+     * @return the number of intact records.
+     */
+    private static long scan(Path segment, Visitor visitor, long[] validLength) throws IOException {
+        long count = 0;
+        try (InputStream stream = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, BUFFER_BYTES))) {
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    System.out.println("Skipping " + segment + ": not a response archive segment of version " + VERSION);
+                    return 0;
+                }
+            } catch (EOFException e) {
+                return 0;
+            }
+            long position = HEADER_BYTES;
+            validLength[0] = position;
+            while (true) {
+                int code = in.read();
+                if (code < 0) {
+                    return count;
+                }
+                try {
+                    long key = in.readLong();
+                    long fetchedAt = in.readLong();
+                    int length = in.readInt();
+                    int compressedLength = in.readInt();
+                    int checksum = in.readInt();
+                    Crawl crawl = crawl(code);
+                    if (crawl == null || length < 0 || length > MAX_RESPONSE_BYTES
+                            || compressedLength < 0 || compressedLength > MAX_RESPONSE_BYTES) {
+                        System.out.println("Corrupt record at byte " + position + " of " + segment);
+                        return count;
+                    }
+                    byte[] compressed = new byte[compressedLength];
+                    in.readFully(compressed);
+                    CRC32 crc = new CRC32();
+                    crc.update(compressed);
+                    if ((int) crc.getValue() != checksum) {
+                        System.out.println("Corrupt record at byte " + position + " of " + segment);
+                        return count;
+                    }
+                    if (visitor != null) {
+                        visitor.visit(crawl, key, fetchedAt, inflate(compressed, length));
+                    }
+                    count++;
+                    position += RECORD_HEADER_BYTES + compressedLength;
+                    validLength[0] = position;
+                } catch (EOFException e) {
+                    System.out.println("Torn record at byte " + position + " of " + segment);
+                    return count;
+                }
+            }
+        }
+    }
+
+    private static int code(Crawl crawl) {
+        return crawl == Crawl.PLANT_LIST ? 1 : 2;
+    }
+
+    private static Crawl crawl(int code) {
+        return switch (code) {
+            case 1 -> Crawl.PLANT_LIST;
+            case 2 -> Crawl.PLANT_DETAILS;
+            default -> null;
+        };
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressed), inflater)) {
+            byte[] body = in.readNBytes(length);
+            if (body.length != length || in.read() >= 0) {
+                throw new IOException("Archived response does not have its recorded length.");
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+}
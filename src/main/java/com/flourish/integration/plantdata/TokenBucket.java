@@ -0,0 +1,79 @@
+package com.flourish.integration.plantdata;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter for requests to the Perenual API.
+ *
+ * <p>The bucket holds up to {@code burst} tokens and is refilled at {@code permitsPerSecond}. Every request
+ * takes one token. A request that finds the bucket empty is not refused but reserves the next token: the
+ * bucket goes into debt and the request is told how long to wait, so concurrent callers are spaced evenly
+ * without a scheduler thread or a queue. {@link #acquire()} turns the wait into a non-blocking delay.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final LongSupplier clock;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param permitsPerSecond the sustained rate.
+     * @param burst the number of requests that may be made at once after a pause.
+     * @throws IllegalArgumentException if the rate is not positive or the burst is less than 1.
+     */
+    TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = burst;
+        this.clock = clock;
+        this.tokens = burst;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token, reserving a future one if the bucket is empty.
+     *
+     * @return how long to wait before making the request, in nanoseconds; 0 to make it now.
+     */
+    synchronized long reserve() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+        tokens--;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerSecond * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Returns a Mono that takes a token when subscribed and completes once the request may be made.
+     *
+     * @return an empty Mono, delayed if the bucket is empty.
+     */
+    Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long wait = reserve();
+            return wait == 0 ? Mono.<Void>empty() : Mono.delay(Duration.ofNanos(wait)).then();
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.flourish.repository;
+
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.UpsertStatement.Dialect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository that writes catalog rows with batched JDBC upserts instead of JPA.
+ *
+ * <p>{@link PlantIndex} and {@link PlantDetails} have assigned ids, so saving them through
+ * {@link PlantIndexRepository#saveAll(Iterable)} makes Hibernate select every row before inserting or
+ * updating it, one statement per row. Here each row is a single {@code INSERT ... ON DUPLICATE KEY UPDATE}
+ * ({@code MERGE} on the H2 test database), sent to the database in JDBC batches of
+ * {@code plant.catalog.upsert.batch-size} rows, all in one transaction. The written rows bypass the JPA
+ * persistence context, so callers update any in-memory copies themselves.</p>
+ *
+ * @see UpsertStatement
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Repository
+public class CatalogUpsertRepository {
+
+    private static final UpsertStatement<PlantIndex> PLANT_INDEX = new UpsertStatement<>(PlantIndex.class);
+    private static final UpsertStatement<PlantDetails> PLANT_DETAILS = new UpsertStatement<>(PlantDetails.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dialect dialect;
+
+    @Value("${plant.catalog.upsert.batch-size:500}")
+    int batchSize = 500;
+
+    /**
+     * Constructs a new CatalogUpsertRepository.
+     *
+     * @param jdbcTemplate the JdbcTemplate of the application's data source.
+     */
+    public CatalogUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts or updates plant index rows.
+     *
+     * @param plants the rows to write.
+     * @return the number of rows written.
+     */
+    @Transactional
+    public int upsertPlantIndex(List<PlantIndex> plants) {
+        return upsert(PLANT_INDEX, plants);
+    }
+
+    /**
+     * Inserts or updates plant details rows.
+     *
+     * @param details the rows to write.
+     * @return the number of rows written.
+     */
+    @Transactional
+    public int upsertPlantDetails(List<PlantDetails> details) {
+        return upsert(PLANT_DETAILS, details);
+    }
+
+    private <T> int upsert(UpsertStatement<T> statement, List<T> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = statement.sql(dialect());
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < rows.size(); from += size) {
+            List<T> batch = rows.subList(from, Math.min(rows.size(), from + size));
+            List<Object[]> values = new ArrayList<>(batch.size());
+            for (T row : batch) {
+                values.add(statement.values(row));
+            }
+            jdbcTemplate.batchUpdate(sql, values);
+        }
+        return rows.size();
+    }
+
+    private Dialect dialect() {
+        Dialect current = dialect;
+        if (current == null) {
+            current = Dialect.of(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+            dialect = current;
+        }
+        return current;
+    }
+}
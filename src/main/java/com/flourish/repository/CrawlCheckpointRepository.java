@@ -0,0 +1,126 @@
+package com.flourish.repository;
+
+import com.flourish.domain.CrawlCheckpoint;
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing CrawlCheckpoint entities.
+ *
+ * <p>Claims and progress are written with conditional updates that name the worker, so two workers can
+ * never hold the same range and a worker whose lease was taken over cannot overwrite the progress of the
+ * new owner. Each update returns the number of rows changed: 1 if it applied, 0 if the claim was lost.</p>
+ *
+ * @see CrawlCheckpoint
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Repository
+public interface CrawlCheckpointRepository extends JpaRepository<CrawlCheckpoint, Long> {
+
+    /**
+     * Finds the ranges of a crawl that have positions left and are free or whose lease has expired.
+     *
+     * @param crawl the crawl.
+     * @param now the current time.
+     * @return the claimable ranges, in position order.
+     */
+    @Query("SELECT c FROM CrawlCheckpoint c WHERE c.crawl = :crawl AND c.nextPosition <= c.rangeEnd "
+            + "AND (c.owner IS NULL OR c.leaseExpiresAt < :now) ORDER BY c.rangeStart")
+    List<CrawlCheckpoint> findClaimable(@Param("crawl") Crawl crawl, @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the range of a crawl with the highest positions.
+     *
+     * @param crawl the crawl.
+     * @return the last range, or empty if the crawl has no ranges.
+     */
+    Optional<CrawlCheckpoint> findTopByCrawlOrderByRangeStartDesc(Crawl crawl);
+
+    /**
+     * Claims a range if it is still free or its lease has expired.
+     *
+     * @param id the range id.
+     * @param owner the claiming worker.
+     * @param until the lease expiry.
+     * @param now the current time.
+     * @return 1 if the range was claimed, 0 if another worker holds it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE CrawlCheckpoint c SET c.owner = :owner, c.leaseExpiresAt = :until "
+            + "WHERE c.id = :id AND (c.owner IS NULL OR c.leaseExpiresAt < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Records the next position of a claimed range and extends the lease.
+     *
+     * @param id the range id.
+     * @param owner the worker holding the range.
+     * @param nextPosition the next position to process.
+     * @param until the new lease expiry.
+     * @param now the current time.
+     * @return 1 if the progress was recorded, 0 if the worker no longer holds the range.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE CrawlCheckpoint c SET c.nextPosition = :nextPosition, c.leaseExpiresAt = :until, "
+            + "c.updatedAt = :now WHERE c.id = :id AND c.owner = :owner")
+    int advance(@Param("id") Long id, @Param("owner") String owner, @Param("nextPosition") long nextPosition,
+                @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    /**
+     * Marks a claimed range as the end of its crawl, ending it at the given position, and frees it.
+     *
+     * @param id the range id.
+     * @param owner the worker holding the range.
+     * @param rangeEnd the last position of the crawl.
+     * @param nextPosition the position after it.
+     * @param now the current time.
+     * @return 1 if the range was ended, 0 if the worker no longer holds the range.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE CrawlCheckpoint c SET c.rangeEnd = :rangeEnd, c.nextPosition = :nextPosition, "
+            + "c.finalRange = true, c.owner = NULL, c.leaseExpiresAt = NULL, c.updatedAt = :now "
+            + "WHERE c.id = :id AND c.owner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("rangeEnd") long rangeEnd,
+               @Param("nextPosition") long nextPosition, @Param("now") LocalDateTime now);
+
+    /**
+     * Frees a claimed range so that another worker, or a later run, can resume it.
+     *
+     * @param id the range id.
+     * @param owner the worker holding the range.
+     * @return 1 if the range was freed, 0 if the worker no longer holds the range.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE CrawlCheckpoint c SET c.owner = NULL, c.leaseExpiresAt = NULL "
+            + "WHERE c.id = :id AND c.owner = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Finds the last position of a crawl, as recorded by the range in which its end was reached.
+     *
+     * @param crawl the crawl.
+     * @return the last position, or null if the end of the crawl has not been reached.
+     */
+    @Query("SELECT MIN(c.rangeEnd) FROM CrawlCheckpoint c WHERE c.crawl = :crawl AND c.finalRange = true")
+    Long findFinalEnd(@Param("crawl") Crawl crawl);
+}
@@ -1,9 +1,19 @@
 package com.flourish.repository;
 
+import com.flourish.domain.PlantAttributes;
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantSeasons;
+import com.flourish.domain.PlantText;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for managing PlantDetails entities.
  *
@@ -30,4 +40,75 @@ public interface PlantDetailsRepository extends JpaRepository<PlantDetails, Long
      */
     PlantDetails findByCommonName(String commonName);
 
+    /**
+     * Loads the attributes plants are filtered and compared by, reading only the columns they need.
+     *
+     * @return the attributes of every PlantDetails entry.
+     */
+    @Query("SELECT new com.flourish.domain.PlantAttributes(p.id, p.watering, p.sunlight, p.cycle, p.careLevel, "
+            + "p.indoor, p.droughtTolerant, p.tropical, p.flowers, p.edibleFruit, p.edibleLeaf, p.medicinal, "
+            + "p.poisonousToPets, p.poisonousToHumans, p.hardinessMin, p.hardinessMax, p.hardinessMinZone, "
+            + "p.hardinessMaxZone, p.growthRate, p.maintenance, p.family, p.genus) FROM PlantDetails p")
+    List<PlantAttributes> findAllAttributes();
+
+    /**
+     * Loads the next page of descriptions in id order, starting after the given id. Reading page by page
+     * with the last id of the previous page keeps every query cheap, however far the read has progressed.
+     *
+     * @param afterId the last id of the previous page, or 0 for the first page.
+     * @param page the page size; the page number should be 0.
+     * @return the ids and descriptions of up to one page of PlantDetails entries with a description.
+     */
+    @Query("SELECT new com.flourish.domain.PlantText(p.id, p.description) FROM PlantDetails p "
+            + "WHERE p.id > :afterId AND p.description IS NOT NULL ORDER BY p.id")
+    List<PlantText> findTextsAfter(@Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Loads the next page of whole PlantDetails entries in id order, starting after the given id, in the same
+     * way as {@link #findTextsAfter(long, Pageable)}.
+     *
+     * @param afterId the last id of the previous page, or 0 for the first page.
+     * @param page the page size; the page number should be 0.
+     * @return up to one page of PlantDetails entries.
+     */
+    @Query("SELECT p FROM PlantDetails p WHERE p.id > :afterId ORDER BY p.id")
+    List<PlantDetails> findDetailsAfter(@Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Loads the ids of all PlantDetails entries.
+     *
+     * @return the ids, in no particular order.
+     */
+    @Query("SELECT p.id FROM PlantDetails p")
+    List<Long> findAllIds();
+
+    /**
+     * Finds the highest id among all PlantDetails entries.
+     *
+     * @return the highest id, or null if the table is empty.
+     */
+    @Query("SELECT MAX(p.id) FROM PlantDetails p")
+    Long findMaxId();
+
+    /**
+     * Loads the pruning months and the flowering and harvest seasons of the plants that have any of them.
+     *
+     * @return the seasons of every PlantDetails entry with seasonal data.
+     */
+    @Query("SELECT new com.flourish.domain.PlantSeasons(p.id, p.pruningMonth, p.floweringSeason, "
+            + "p.harvestSeason) FROM PlantDetails p WHERE p.pruningMonth IS NOT NULL "
+            + "OR p.floweringSeason IS NOT NULL OR p.harvestSeason IS NOT NULL")
+    List<PlantSeasons> findAllSeasons();
+
+    /**
+     * Loads the card columns of the given plants in one query, without their large text columns.
+     *
+     * @param ids the plant ids.
+     * @return the cards of the plants that exist, in no particular order.
+     */
+    @Query("SELECT new com.flourish.domain.PlantCard(p.id, p.commonName, p.type, p.defaultImageOriginalUrl, "
+            + "p.watering, p.sunlight, p.edibleFruit, p.poisonousToHumans, p.poisonousToPets, p.medicinal) "
+            + "FROM PlantDetails p WHERE p.id IN :ids")
+    List<PlantCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
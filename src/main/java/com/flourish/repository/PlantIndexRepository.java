@@ -2,6 +2,7 @@ package com.flourish.repository;
 
 import com.flourish.domain.PlantIndex;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -29,4 +30,12 @@ public interface PlantIndexRepository extends JpaRepository<PlantIndex, Long> {
      * @return the matching PlantIndex entity, or null if none found.
      */
     PlantIndex findByCommonName(String commonName);
+
+    /**
+     * Finds the highest id in the plant index table.
+     *
+     * @return the highest id, or null if the table is empty.
+     */
+    @Query("SELECT MAX(p.id) FROM PlantIndex p")
+    Long findMaxId();
 }
@@ -0,0 +1,159 @@
+package com.flourish.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Insert-or-update statement for the rows of one entity class, with the columns read from its JPA mapping.
+ *
+ * <p>The table comes from {@link Table}, the key from the {@link Id} field, and the other columns from the
+ * remaining persistent fields, named by {@link Column} or else in snake case. Only entities with simple
+ * column fields and an assigned id are supported, which covers the catalog tables.</p>
+ *
+ * @param <T> the entity type.
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+final class UpsertStatement<T> {
+
+    /**
+     * The SQL dialects that have a single-statement upsert.
+     */
+    enum Dialect {
+        /**
+         * MariaDB and MySQL: {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+         */
+        MARIADB,
+        /**
+         * H2, used in tests: {@code MERGE INTO ... KEY}.
+         */
+        H2;
+
+        /**
+         * Finds the dialect of a database.
+         *
+         * @param productName the database product name reported by the JDBC driver.
+         * @return the dialect.
+         * @throws IllegalStateException if the database has no supported upsert statement.
+         */
+        static Dialect of(String productName) {
+            String name = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+            if (name.contains("mariadb") || name.contains("mysql")) {
+                return MARIADB;
+            }
+            if (name.contains("h2")) {
+                return H2;
+            }
+            throw new IllegalStateException("No upsert statement for database: " + productName);
+        }
+    }
+
+    private final String table;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Field> fields = new ArrayList<>();
+
+    /**
+     * Reads the mapping of an entity class.
+     *
+     * @param type the entity class.
+     * @throws IllegalArgumentException if the class has no table or id.
+     */
+    UpsertStatement(Class<T> type) {
+        Table tableAnnotation = type.getAnnotation(Table.class);
+        if (tableAnnotation == null || tableAnnotation.name().isEmpty()) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no table name.");
+        }
+        table = tableAnnotation.name();
+        Field idField = null;
+        List<Field> others = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isAnnotationPresent(Transient.class)) {
+                continue;
+            }
+            field.setAccessible(true);
+            if (field.isAnnotationPresent(Id.class)) {
+                idField = field;
+            } else {
+                others.add(field);
+            }
+        }
+        if (idField == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no id field.");
+        }
+        fields.add(idField);
+        fields.addAll(others);
+        for (Field field : fields) {
+            columns.add(columnName(field));
+        }
+    }
+
+    /**
+     * Returns the SQL of the statement, with one parameter per column in {@link #values(Object)} order.
+     *
+     * @param dialect the SQL dialect.
+     * @return the SQL.
+     */
+    String sql(Dialect dialect) {
+        String columnList = String.join(", ", columns);
+        String parameters = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        if (dialect == Dialect.H2) {
+            return "MERGE INTO " + table + " (" + columnList + ") KEY (" + columns.get(0) + ") VALUES ("
+                    + parameters + ")";
+        }
+        String updates = columns.stream().skip(1)
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + parameters + ") "
+                + "ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    /**
+     * Returns the parameter values of one row.
+     *
+     * @param entity the entity.
+     * @return the values of its columns, the id first.
+     */
+    Object[] values(T entity) {
+        Object[] values = new Object[fields.size()];
+        try {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = fields.get(i).get(entity);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read " + table + " row.", e);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the column names, the id first.
+     *
+     * @return the column names.
+     */
+    List<String> columns() {
+        return List.copyOf(columns);
+    }
+
+    private static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name();
+        }
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
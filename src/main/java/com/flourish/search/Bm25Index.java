@@ -0,0 +1,238 @@
+package com.flourish.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over free text of the plants in a {@link PlantCatalog}, ranked with Okapi BM25.
+ *
+ * <p>Text is split into terms by {@link TextAnalyzer}. Every term has a posting list with one {@code int} per
+ * plant that contains it, holding the catalog ordinal in the upper 24 bits and the term frequency, capped at
+ * 255, in the lower 8 bits. A query adds up, for each of its distinct terms and each plant in the posting
+ * list,</p>
+ *
+ * <pre>
+ *   idf(term) * tf * (k1 + 1) / (tf + k1 * (1 - b + b * length / averageLength))
+ * </pre>
+ *
+ * <p>with {@code idf(term) = ln(1 + (n - df + 0.5) / (df + 0.5))}, where {@code n} is the number of indexed
+ * plants, {@code df} the length of the posting list and {@code length} the number of terms of the plant.
+ * The length factor is computed once per plant at build time. A query therefore only touches the postings
+ * of its own terms.</p>
+ *
+ * <p>The text is added through a {@link Builder} keyed by plant id, so it can be streamed from the database
+ * before the catalog of the snapshot exists, and only the postings are kept, never the text itself.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class Bm25Index {
+
+    /**
+     * Term frequency saturation parameter.
+     */
+    public static final float K1 = 1.2f;
+
+    /**
+     * Document length normalization parameter.
+     */
+    public static final float B = 0.75f;
+
+    /**
+     * The largest catalog the packed postings can address.
+     */
+    public static final int MAX_SIZE = 1 << 24;
+
+    private static final int FREQUENCY_BITS = 8;
+    private static final int MAX_FREQUENCY = (1 << FREQUENCY_BITS) - 1;
+
+    private final int size;
+    private final int documentCount;
+    private final Map<String, int[]> postings;
+    private final float[] lengthFactors;
+
+    private Bm25Index(int size, int documentCount, Map<String, int[]> postings, float[] lengthFactors) {
+        this.size = size;
+        this.documentCount = documentCount;
+        this.postings = postings;
+        this.lengthFactors = lengthFactors;
+    }
+
+    /**
+     * Returns the number of records the ordinals range over.
+     *
+     * @return the catalog size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of plants with indexed text.
+     *
+     * @return the number of documents.
+     */
+    public int documentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     *
+     * @return the vocabulary size.
+     */
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Returns the ordinals of the plants whose text matches at least one term of the query, best first.
+     * Plants with equal scores are ordered by ordinal.
+     *
+     * @param query the query text.
+     * @param limit the maximum number of ordinals to return; the selection never holds more than the number
+     *              of matching plants.
+     * @param filter a bitmap of the ordinals that may be returned, or null for all.
+     * @return up to {@code limit} ordinals.
+     */
+    public int[] search(String query, int limit, long[] filter) {
+        float[] scores = scores(query);
+        if (scores == null || limit <= 0) {
+            return new int[0];
+        }
+        int scored = 0;
+        for (float score : scores) {
+            if (score > 0) {
+                scored++;
+            }
+        }
+        TopK top = new TopK(Math.min(limit, scored));
+        for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+            if (scores[ordinal] > 0 && FacetIndex.matches(filter, ordinal)) {
+                top.offer(Integer.MAX_VALUE - Float.floatToIntBits(scores[ordinal]), ordinal);
+            }
+        }
+        return top.toSortedOrdinals(0);
+    }
+
+    /**
+     * Computes the BM25 score of every ordinal for the given query.
+     *
+     * @param query the query text.
+     * @return the scores by ordinal, zero for plants without a matching term; null if no query term occurs.
+     */
+    public float[] scores(String query) {
+        float[] scores = null;
+        for (String term : new LinkedHashSet<>(TextAnalyzer.terms(query))) {
+            int[] list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            if (scores == null) {
+                scores = new float[size];
+            }
+            float idf = (float) Math.log(1 + (documentCount - list.length + 0.5) / (list.length + 0.5));
+            for (int posting : list) {
+                int ordinal = posting >>> FREQUENCY_BITS;
+                int frequency = posting & MAX_FREQUENCY;
+                scores[ordinal] += idf * frequency * (K1 + 1) / (frequency + lengthFactors[ordinal]);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Collects the text of plants by id and builds a {@link Bm25Index} once the catalog is known.
+     * <p>Instances are not thread-safe and build a single index.</p>
+     */
+    public static final class Builder {
+
+        private final Map<String, IntList> documentsByTerm = new HashMap<>();
+        private final Map<String, IntList> frequenciesByTerm = new HashMap<>();
+        private final List<long[]> documents = new ArrayList<>();
+
+        /**
+         * Adds the text of one plant. Text without terms is ignored.
+         *
+         * @param id the plant id.
+         * @param text the text; may be null.
+         * @return this builder.
+         */
+        public Builder add(long id, String text) {
+            List<String> terms = TextAnalyzer.terms(text);
+            if (terms.isEmpty()) {
+                return this;
+            }
+            int document = documents.size();
+            documents.add(new long[]{id, terms.size()});
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : terms) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            frequencies.forEach((term, frequency) -> {
+                documentsByTerm.computeIfAbsent(term, key -> new IntList()).add(document);
+                frequenciesByTerm.computeIfAbsent(term, key -> new IntList()).add(frequency);
+            });
+            return this;
+        }
+
+        /**
+         * Builds the index over the ordinals of the given catalog. Text of ids that are not in the catalog
+         * is left out.
+         *
+         * @param catalog the catalog whose ordinals the postings refer to.
+         * @return a new immutable index.
+         */
+        public Bm25Index build(PlantCatalog catalog) {
+            if (catalog.size() > MAX_SIZE) {
+                throw new IllegalArgumentException("Catalog too large for the text index: " + catalog.size());
+            }
+            int[] ordinals = new int[documents.size()];
+            int[] lengths = new int[catalog.size()];
+            long totalLength = 0;
+            int documentCount = 0;
+            for (int document = 0; document < ordinals.length; document++) {
+                long[] entry = documents.get(document);
+                ordinals[document] = catalog.ordinalOf(entry[0]);
+                if (ordinals[document] != PlantCatalog.NO_MATCH && lengths[ordinals[document]] == 0) {
+                    lengths[ordinals[document]] = (int) entry[1];
+                    totalLength += entry[1];
+                    documentCount++;
+                } else {
+                    ordinals[document] = PlantCatalog.NO_MATCH;
+                }
+            }
+
+            float averageLength = documentCount == 0 ? 1 : (float) totalLength / documentCount;
+            float[] lengthFactors = new float[catalog.size()];
+            for (int ordinal = 0; ordinal < lengths.length; ordinal++) {
+                lengthFactors[ordinal] = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+            }
+
+            Map<String, int[]> postings = new HashMap<>(documentsByTerm.size() * 4 / 3 + 1);
+            documentsByTerm.forEach((term, documentList) -> {
+                IntList frequencyList = frequenciesByTerm.get(term);
+                int[] list = new int[documentList.size()];
+                int count = 0;
+                for (int i = 0; i < documentList.size(); i++) {
+                    int ordinal = ordinals[documentList.get(i)];
+                    if (ordinal != PlantCatalog.NO_MATCH) {
+                        list[count++] = ordinal << FREQUENCY_BITS | Math.min(frequencyList.get(i), MAX_FREQUENCY);
+                    }
+                }
+                if (count > 0) {
+                    postings.put(term, Arrays.copyOf(list, count));
+                }
+            });
+            return new Bm25Index(catalog.size(), documentCount, postings, lengthFactors);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory facet index over the catalog ordinals of a {@link SearchSnapshot}.
+ *
+ * <p>For every {@link PlantFacet} and every value that occurs in it, the index holds the set of ordinals
+ * of the plants with that value as an {@link OrdinalSet}. Plants without plant details, or without the
+ * attribute, are in no set of the facet.</p>
+ *
+ * <strong>Filtering and counting</strong>
+ * <ul>
+ *   <li>A selection maps facets to the values chosen for them. Values of one facet are combined with OR,
+ *       and facets with AND, into a bitmap over all ordinals.</li>
+ *   <li>The count of a value is the number of plants that would match if that value were added to the
+ *       selection of its facet: the popcount of its set ANDed with the filter of all other facets and
+ *       with the base set, usually the matches of the text query. Selecting one value of a facet
+ *       therefore does not hide the counts of its alternatives.</li>
+ * </ul>
+ *
+ * <p>The index is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class FacetIndex {
+
+    private final int size;
+    private final Map<PlantFacet, String[]> values;
+    private final Map<PlantFacet, OrdinalSet[]> sets;
+
+    private FacetIndex(int size, Map<PlantFacet, String[]> values, Map<PlantFacet, OrdinalSet[]> sets) {
+        this.size = size;
+        this.values = values;
+        this.sets = sets;
+    }
+
+    /**
+     * Builds the index from the attributes of the plants in the catalog. Attributes of ids that are not
+     * in the catalog are ignored.
+     *
+     * @param catalog the catalog whose ordinals the sets refer to.
+     * @param attributes the attributes of the plants, in any order.
+     * @param objectMapper the shared ObjectMapper that reads attributes stored as JSON.
+     * @return a new immutable index.
+     */
+    public static FacetIndex build(PlantCatalog catalog, List<PlantAttributes> attributes,
+                                   ObjectMapper objectMapper) {
+        Map<PlantFacet, Map<String, IntList>> building = new EnumMap<>(PlantFacet.class);
+        for (PlantFacet facet : PlantFacet.values()) {
+            building.put(facet, new HashMap<>());
+        }
+        for (PlantAttributes plant : attributes) {
+            int ordinal = plant.getId() == null ? PlantCatalog.NO_MATCH : catalog.ordinalOf(plant.getId());
+            if (ordinal == PlantCatalog.NO_MATCH) {
+                continue;
+            }
+            for (PlantFacet facet : PlantFacet.values()) {
+                for (String value : facet.values(plant, objectMapper)) {
+                    building.get(facet).computeIfAbsent(value, key -> new IntList()).add(ordinal);
+                }
+            }
+        }
+
+        Map<PlantFacet, String[]> values = new EnumMap<>(PlantFacet.class);
+        Map<PlantFacet, OrdinalSet[]> sets = new EnumMap<>(PlantFacet.class);
+        building.forEach((facet, byValue) -> {
+            String[] facetValues = byValue.keySet().toArray(new String[0]);
+            Arrays.sort(facetValues, facet.order());
+            values.put(facet, facetValues);
+            sets.put(facet, Arrays.stream(facetValues)
+                    .map(value -> toSet(byValue.get(value).toArray(), catalog.size()))
+                    .toArray(OrdinalSet[]::new));
+        });
+        return new FacetIndex(catalog.size(), values, sets);
+    }
+
+    /**
+     * Returns an index without any facet values over the given number of records.
+     *
+     * @param size the number of records.
+     * @return an empty index.
+     */
+    public static FacetIndex empty(int size) {
+        Map<PlantFacet, String[]> values = new EnumMap<>(PlantFacet.class);
+        Map<PlantFacet, OrdinalSet[]> sets = new EnumMap<>(PlantFacet.class);
+        for (PlantFacet facet : PlantFacet.values()) {
+            values.put(facet, new String[0]);
+            sets.put(facet, new OrdinalSet[0]);
+        }
+        return new FacetIndex(size, values, sets);
+    }
+
+    private static OrdinalSet toSet(int[] ordinals, int universe) {
+        Arrays.sort(ordinals);
+        int count = 0;
+        for (int i = 0; i < ordinals.length; i++) {
+            if (i == 0 || ordinals[i] != ordinals[i - 1]) {
+                ordinals[count++] = ordinals[i];
+            }
+        }
+        return OrdinalSet.of(ordinals, count, universe);
+    }
+
+    /**
+     * Returns the number of records the ordinals range over.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the values that occur in the given facet, in the {@link PlantFacet#order() order} of the facet.
+     *
+     * @param facet the facet.
+     * @return the values.
+     */
+    public List<String> values(PlantFacet facet) {
+        return List.of(values.get(facet));
+    }
+
+    /**
+     * Returns the ordinals of the plants with the given value.
+     *
+     * @param facet the facet.
+     * @param value the normalized value.
+     * @return the set, or null if the value does not occur.
+     */
+    public OrdinalSet set(PlantFacet facet, String value) {
+        int position = Arrays.binarySearch(values.get(facet), value, facet.order());
+        return position < 0 ? null : sets.get(facet)[position];
+    }
+
+    /**
+     * Combines the selection into a bitmap of the matching ordinals.
+     *
+     * @param selection the chosen values per facet; facets without values do not filter.
+     * @return the bitmap, or null if the selection does not filter at all.
+     */
+    public long[] filter(Map<PlantFacet, ? extends Collection<String>> selection) {
+        return filterExcept(selection, null);
+    }
+
+    /**
+     * Counts, for every value of every facet, the matching plants within the base set if the value were
+     * added to the selection of its facet.
+     *
+     * @param selection the chosen values per facet.
+     * @param base a bitmap limiting the counted plants, such as the text query matches, or null for all.
+     * @return the counts per value, by facet, with values in the order of their facet.
+     */
+    public Map<PlantFacet, Map<String, Integer>> counts(Map<PlantFacet, ? extends Collection<String>> selection,
+                                                        long[] base) {
+        Map<PlantFacet, Map<String, Integer>> counts = new EnumMap<>(PlantFacet.class);
+        for (PlantFacet facet : PlantFacet.values()) {
+            long[] filter = and(filterExcept(selection, facet), base);
+            Map<String, Integer> facetCounts = new LinkedHashMap<>();
+            String[] facetValues = values.get(facet);
+            OrdinalSet[] facetSets = sets.get(facet);
+            for (int i = 0; i < facetValues.length; i++) {
+                facetCounts.put(facetValues[i], facetSets[i].countIn(filter));
+            }
+            counts.put(facet, facetCounts);
+        }
+        return counts;
+    }
+
+    /**
+     * Converts ordinals to a bitmap over the records of this index.
+     *
+     * @param ordinals the ordinals, in any order.
+     * @return the bitmap.
+     */
+    public long[] bitmapOf(int[] ordinals) {
+        long[] bitmap = new long[OrdinalSet.wordCount(size)];
+        for (int ordinal : ordinals) {
+            bitmap[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Tests whether a bitmap returned by {@link #filter(Map)} contains the given ordinal.
+     *
+     * @param bitmap the bitmap, or null for a filter that matches everything.
+     * @param ordinal the ordinal.
+     * @return true if the ordinal passes the filter.
+     */
+    public static boolean matches(long[] bitmap, int ordinal) {
+        return bitmap == null || (bitmap[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private long[] filterExcept(Map<PlantFacet, ? extends Collection<String>> selection, PlantFacet excluded) {
+        long[] result = null;
+        for (Map.Entry<PlantFacet, ? extends Collection<String>> entry : selection.entrySet()) {
+            if (entry.getKey() == excluded || entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            long[] union = new long[OrdinalSet.wordCount(size)];
+            for (String value : entry.getValue()) {
+                OrdinalSet set = set(entry.getKey(), value);
+                if (set != null) {
+                    set.orInto(union);
+                }
+            }
+            result = and(result, union);
+        }
+        return result;
+    }
+
+    /**
+     * Intersects two bitmaps, where null stands for all ordinals. Neither bitmap is modified.
+     */
+    private static long[] and(long[] a, long[] b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        long[] result = a.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] &= b[i];
+        }
+        return result;
+    }
+}
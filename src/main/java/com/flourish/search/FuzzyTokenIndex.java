@@ -0,0 +1,345 @@
+package com.flourish.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant token index over the names held by a {@link PlantCatalog}.
+ *
+ * <p>The normalized names of every record are split into tokens on any character that is not a letter or digit. Every distinct token gets a posting list of the ordinals
+ * containing it, and the vocabulary is stored in a prefix trie frozen into flat arrays, laid out like
+ * {@link PlantNameTrie}.</p>
+ *
+ * <p>A query token is matched by walking the trie depth-first while extending one row of the Levenshtein
+ * matrix per character. Tokens sharing a prefix share the rows computed for it, and a subtree is skipped as
+ * soon as the smallest value in its row exceeds the tolerance, since no extension can get closer. This
+ * simulates a Levenshtein automaton over the trie and keeps the number of visited nodes small and
+ * independent of the vocabulary size for tolerances of one or two edits.</p>
+ *
+ * <p>The tolerance depends on the length of the query token (see {@link #maxDistanceFor(int)}), so short
+ * tokens must match exactly and long Latin names tolerate up to {@link #MAX_DISTANCE} edits. A record
+ * matches when every query token is within tolerance of at least one of its tokens. Matches are ranked by
+ * the sum of the smallest distance per query token, then by ordinal.</p>
+ *
+ * <p>The index is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class FuzzyTokenIndex {
+
+    /**
+     * The largest edit distance tolerated for any query token.
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] tokens;
+    private final int[][] postings;
+    private final int maxLength;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] terminal;
+
+    private FuzzyTokenIndex(String[] tokens, int[][] postings, int maxLength,
+                            char[] labels, int[] firstChild, int[] childCount, int[] terminal) {
+        this.tokens = tokens;
+        this.postings = postings;
+        this.maxLength = maxLength;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.terminal = terminal;
+    }
+
+    /**
+     * Builds a fuzzy token index over the names of the given catalog.
+     *
+     * @param catalog the catalog to index.
+     * @return a new immutable index.
+     */
+    public static FuzzyTokenIndex build(PlantCatalog catalog) {
+        Map<String, IntList> building = new HashMap<>();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            for (int name = catalog.firstName(ordinal); name < catalog.firstName(ordinal + 1); name++) {
+                for (String token : tokenize(catalog.name(name))) {
+                    building.computeIfAbsent(token, t -> new IntList()).addIfAbsent(ordinal);
+                }
+            }
+        }
+
+        String[] tokens = building.keySet().toArray(new String[0]);
+        Arrays.sort(tokens);
+        int[][] postings = new int[tokens.length][];
+        int maxLength = 0;
+        for (int id = 0; id < tokens.length; id++) {
+            postings[id] = building.get(tokens[id]).toArray();
+            maxLength = Math.max(maxLength, tokens[id].length());
+        }
+        return freeze(tokens, postings, maxLength);
+    }
+
+    /**
+     * Lays the trie of the sorted tokens out breadth-first, so that the children of every node are
+     * contiguous and sorted by label. A node is the range of tokens sharing its prefix, and its children
+     * are found by splitting that range on the next character; no per-node objects are created.
+     */
+    private static FuzzyTokenIndex freeze(String[] tokens, int[][] postings, int maxLength) {
+        IntList rangeStart = new IntList();
+        IntList rangeEnd = new IntList();
+        IntList depths = new IntList();
+        StringBuilder labels = new StringBuilder();
+        IntList firstChild = new IntList();
+        IntList childCount = new IntList();
+        IntList terminal = new IntList();
+        rangeStart.add(0);
+        rangeEnd.add(tokens.length);
+        depths.add(0);
+        labels.append('\0');
+
+        for (int node = 0; node < rangeStart.size(); node++) {
+            int from = rangeStart.get(node);
+            int to = rangeEnd.get(node);
+            int depth = depths.get(node);
+            if (from < to && tokens[from].length() == depth) {
+                terminal.add(from++);
+            } else {
+                terminal.add(-1);
+            }
+            firstChild.add(rangeStart.size());
+            int children = 0;
+            while (from < to) {
+                char label = tokens[from].charAt(depth);
+                int end = from + 1;
+                while (end < to && tokens[end].charAt(depth) == label) {
+                    end++;
+                }
+                rangeStart.add(from);
+                rangeEnd.add(end);
+                depths.add(depth + 1);
+                labels.append(label);
+                children++;
+                from = end;
+            }
+            childCount.add(children);
+        }
+        return new FuzzyTokenIndex(tokens, postings, maxLength, labels.toString().toCharArray(),
+                firstChild.toArray(), childCount.toArray(), terminal.toArray());
+    }
+
+    /**
+     * Returns the number of distinct tokens in the index.
+     *
+     * @return the vocabulary size.
+     */
+    public int vocabularySize() {
+        return tokens.length;
+    }
+
+    /**
+     * Returns the edit distance tolerated for a query token of the given length: none for up to three
+     * characters, one for up to seven characters and {@link #MAX_DISTANCE} for longer tokens.
+     *
+     * @param tokenLength the length of the query token.
+     * @return the tolerated edit distance.
+     */
+    public static int maxDistanceFor(int tokenLength) {
+        if (tokenLength <= 3) {
+            return 0;
+        }
+        return tokenLength <= 7 ? 1 : MAX_DISTANCE;
+    }
+
+    /**
+     * Splits a normalized string into tokens on every character that is not a letter or digit.
+     *
+     * @param text the normalized string.
+     * @return the non-empty tokens, in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                result.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} ordinals of the records matching every token of the normalized query
+     * within tolerance, ranked by total edit distance and then by ordinal.
+     *
+     * @param query the query, normalized with {@link PlantCatalog#normalize(String)}.
+     * @param limit the maximum number of ordinals to return.
+     * @return the ranked ordinals.
+     */
+    public int[] search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return EMPTY;
+        }
+        long[] matches = null;
+        for (String queryToken : queryTokens) {
+            long[] tokenMatches = matchToken(queryToken);
+            matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+            if (matches.length == 0) {
+                return EMPTY;
+            }
+        }
+
+        TopK topK = new TopK(Math.min(limit, matches.length));
+        for (long match : matches) {
+            topK.offer((int) (match & 0xFF), (int) (match >>> 8));
+        }
+        return topK.toSortedOrdinals(0);
+    }
+
+    /**
+     * Finds every ordinal containing a token within tolerance of the query token, packed as
+     * {@code (ordinal << 8) | distance}, sorted by ordinal and keeping only the smallest distance.
+     */
+    private long[] matchToken(String queryToken) {
+        int tolerance = maxDistanceFor(queryToken.length());
+        int width = queryToken.length() + 1;
+        int[][] rows = new int[Math.min(maxLength, queryToken.length() + tolerance) + 1][width];
+        for (int j = 0; j < width; j++) {
+            rows[0][j] = j;
+        }
+
+        List<long[]> hits = new ArrayList<>();
+        int total = 0;
+        int[] stack = new int[Math.max(16, childCount[0])];
+        int[] stackDepth = new int[stack.length];
+        int top = 0;
+        for (int child = firstChild[0]; child < firstChild[0] + childCount[0]; child++) {
+            stack[top] = child;
+            stackDepth[top++] = 1;
+        }
+        while (top > 0) {
+            int node = stack[--top];
+            int depth = stackDepth[top];
+            int[] previous = rows[depth - 1];
+            int[] row = rows[depth];
+            char label = labels[node];
+            row[0] = depth;
+            int best = depth;
+            for (int j = 1; j < width; j++) {
+                int cost = label == queryToken.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                best = Math.min(best, row[j]);
+            }
+            if (best > tolerance) {
+                continue;
+            }
+            int distance = row[width - 1];
+            if (terminal[node] >= 0 && distance <= tolerance) {
+                int[] list = postings[terminal[node]];
+                long[] packed = new long[list.length];
+                for (int i = 0; i < list.length; i++) {
+                    packed[i] = ((long) list[i] << 8) | distance;
+                }
+                hits.add(packed);
+                total += packed.length;
+            }
+            if (depth + 1 >= rows.length) {
+                continue;
+            }
+            int children = childCount[node];
+            if (top + children > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children));
+                stackDepth = Arrays.copyOf(stackDepth, stack.length);
+            }
+            for (int child = firstChild[node]; child < firstChild[node] + children; child++) {
+                stack[top] = child;
+                stackDepth[top++] = depth + 1;
+            }
+        }
+
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] packed : hits) {
+            System.arraycopy(packed, 0, all, offset, packed.length);
+            offset += packed.length;
+        }
+        Arrays.sort(all);
+        int unique = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (unique == 0 || (all[unique - 1] >>> 8) != (all[i] >>> 8)) {
+                all[unique++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, unique);
+    }
+
+    /**
+     * Intersects two packed match lists by ordinal, summing their distances.
+     */
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            long ordinalA = a[i] >>> 8;
+            long ordinalB = b[j] >>> 8;
+            if (ordinalA < ordinalB) {
+                i++;
+            } else if (ordinalA > ordinalB) {
+                j++;
+            } else {
+                out[n++] = (ordinalA << 8) | Math.min(0xFF, (a[i] & 0xFF) + (b[j] & 0xFF));
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Computes the Levenshtein distance of two strings using two reusable rows. The trie walk computes the
+     * same matrix incrementally; this method is kept as the reference implementation.
+     *
+     * @param a the first string.
+     * @param b the second string; its length must fit the scratch rows.
+     * @param scratch two rows of at least {@code b.length() + 1} entries.
+     * @return the edit distance.
+     */
+    static int distance(String a, String b, int[][] scratch) {
+        int[] previous = scratch[0];
+        int[] current = scratch[1];
+        if (previous.length <= b.length()) {
+            previous = new int[b.length() + 1];
+            current = new int[b.length() + 1];
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,72 @@
+package com.flourish.search;
+
+import java.util.Arrays;
+
+/**
+ * Minimal growable list of {@code int} values used while building posting lists and other
+ * primitive structures, avoiding boxed {@code Integer} collections.
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+final class IntList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    /**
+     * Appends a value.
+     *
+     * @param value the value to append.
+     */
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Appends a value unless it equals the last value, which de-duplicates ascending input.
+     *
+     * @param value the value to append.
+     */
+    void addIfAbsent(int value) {
+        if (size > 0 && values[size - 1] == value) {
+            return;
+        }
+        add(value);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param index the position.
+     * @return the value.
+     */
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a trimmed copy of the values.
+     *
+     * @return the values.
+     */
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,293 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantSeasons;
+
+import java.time.Month;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable index of the months in which the plants of a {@link PlantCatalog} are pruned, flower and are
+ * harvested.
+ *
+ * <p>The pruning months, flowering season and harvest season of every plant are decoded once, when the
+ * index is built, into 12-bit month masks with bit {@code m - 1} for month {@code m}. The masks of each
+ * {@link Activity} are held in a {@code short[]} indexed by catalog ordinal, so finding the plants that are,
+ * say, in flower in May is a single scan that tests one bit per plant, and looking up one plant is an
+ * array read.</p>
+ *
+ * <strong>Decoding</strong>
+ * <ul>
+ *   <li>Month names, full or abbreviated to three letters, stand for their month; "to", "through" or a
+ *       hyphen between two months stands for the months in between, across the new year if need be.
+ *       In free text, an abbreviation, or "May", only stands for a month if it is the only word or next to
+ *       another month or a range word, so "may need pruning" names no month. In JSON arrays every month
+ *       name counts.</li>
+ *   <li>Seasons stand for their three months on the northern hemisphere: spring for March to May, summer
+ *       for June to August, fall or autumn for September to November and winter for December to February.
+ *       "Early", "mid" and "late" before a season narrow it to its first, middle or last month.</li>
+ *   <li>"Year round" and "all year" stand for every month. Anything else is ignored, so JSON arrays such
+ *       as {@code ["February","March"]} and free text such as "Late Summer" decode the same way.</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class MonthIndex {
+
+    /**
+     * The mask of all twelve months.
+     */
+    public static final int ALL_MONTHS = (1 << 12) - 1;
+
+    /**
+     * The seasonal activities the index holds months for.
+     */
+    public enum Activity {
+        PRUNING("Pruning", PlantSeasons::getPruningMonth),
+        FLOWERING("Flowering", PlantSeasons::getFloweringSeason),
+        HARVEST("Harvest", PlantSeasons::getHarvestSeason);
+
+        private final String label;
+        private final Function<PlantSeasons, String> extractor;
+
+        Activity(String label, Function<PlantSeasons, String> extractor) {
+            this.label = label;
+            this.extractor = extractor;
+        }
+
+        /**
+         * Returns the name of the activity as shown to users.
+         *
+         * @return the label.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Map<String, Integer> SEASON_START = Map.of(
+            "spring", 3, "summer", 6, "fall", 9, "autumn", 9, "winter", 12);
+
+    private static final Set<String> RANGE_WORDS = Set.of("to", "through", "-");
+
+    private static final Map<String, Integer> MONTHS = new HashMap<>();
+
+    /**
+     * The abbreviated month names, which include "may", that are also common words in free text.
+     */
+    private static final Set<String> AMBIGUOUS_MONTHS = new HashSet<>();
+
+    static {
+        for (Month month : Month.values()) {
+            String name = month.name().toLowerCase(Locale.ROOT);
+            MONTHS.put(name, month.getValue());
+            MONTHS.put(name.substring(0, 3), month.getValue());
+            AMBIGUOUS_MONTHS.add(name.substring(0, 3));
+        }
+        MONTHS.put("sept", Month.SEPTEMBER.getValue());
+        AMBIGUOUS_MONTHS.add("sept");
+    }
+
+    private final short[][] masks;
+
+    private MonthIndex(short[][] masks) {
+        this.masks = masks;
+    }
+
+    /**
+     * Decodes the seasons of the plants in the catalog. Seasons of ids that are not in the catalog are
+     * ignored.
+     *
+     * @param catalog the catalog whose ordinals the masks refer to.
+     * @param seasons the seasons of the plants, in any order.
+     * @return a new immutable index.
+     */
+    public static MonthIndex build(PlantCatalog catalog, Iterable<PlantSeasons> seasons) {
+        short[][] masks = new short[Activity.values().length][catalog.size()];
+        for (PlantSeasons plant : seasons) {
+            int ordinal = plant.getId() == null ? PlantCatalog.NO_MATCH : catalog.ordinalOf(plant.getId());
+            if (ordinal == PlantCatalog.NO_MATCH) {
+                continue;
+            }
+            for (Activity activity : Activity.values()) {
+                masks[activity.ordinal()][ordinal] = (short) decode(activity.extractor.apply(plant));
+            }
+        }
+        return new MonthIndex(masks);
+    }
+
+    /**
+     * Returns an index without any months over the given number of records.
+     *
+     * @param size the number of records.
+     * @return an empty index.
+     */
+    public static MonthIndex empty(int size) {
+        return new MonthIndex(new short[Activity.values().length][size]);
+    }
+
+    /**
+     * Returns the mask of a single month.
+     *
+     * @param month the month.
+     * @return the mask with only that month set.
+     */
+    public static int maskOf(Month month) {
+        return 1 << (month.getValue() - 1);
+    }
+
+    /**
+     * Decodes month names and seasons in free text or a JSON array into a month mask.
+     *
+     * @param text the text; may be null.
+     * @return the mask; 0 if the text names no month.
+     */
+    public static int decode(String text) {
+        if (text == null) {
+            return 0;
+        }
+        boolean list = text.strip().startsWith("[");
+        String[] words = text.toLowerCase(Locale.ROOT).replace("-", " - ").split("[^a-z-]+");
+        int mask = 0;
+        int previousMonth = 0;
+        boolean range = false;
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            int month = list || !AMBIGUOUS_MONTHS.contains(word) || inMonthContext(words, i) ? month(word) : 0;
+            if (month > 0) {
+                mask |= range && previousMonth > 0 ? span(previousMonth, month) : 1 << (month - 1);
+                previousMonth = month;
+                range = false;
+            } else if (previousMonth > 0 && RANGE_WORDS.contains(word)) {
+                range = true;
+            } else if (SEASON_START.containsKey(word)) {
+                mask |= season(SEASON_START.get(word), previousWord(words, i));
+                previousMonth = 0;
+            } else if ((word.equals("round") && previousWord(words, i).equals("year"))
+                    || (word.equals("year") && previousWord(words, i).equals("all"))) {
+                mask = ALL_MONTHS;
+            } else if (!word.isEmpty()) {
+                range = false;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the number of records the ordinals range over.
+     *
+     * @return the catalog size.
+     */
+    public int size() {
+        return masks[0].length;
+    }
+
+    /**
+     * Returns the months of an activity for one plant.
+     *
+     * @param activity the activity.
+     * @param ordinal the catalog ordinal of the plant.
+     * @return the month mask; 0 if unknown.
+     */
+    public int months(Activity activity, int ordinal) {
+        return masks[activity.ordinal()][ordinal];
+    }
+
+    /**
+     * Returns the ordinals, in ascending order, of the plants whose activity falls in any of the given
+     * months and that pass the filter.
+     *
+     * @param activity the activity.
+     * @param months the month mask.
+     * @param filter a bitmap of the ordinals that may be returned, or null for all.
+     * @return the matching ordinals.
+     */
+    public int[] ordinals(Activity activity, int months, long[] filter) {
+        short[] activityMasks = masks[activity.ordinal()];
+        IntList matches = new IntList();
+        for (int ordinal = 0; ordinal < activityMasks.length; ordinal++) {
+            if ((activityMasks[ordinal] & months) != 0 && FacetIndex.matches(filter, ordinal)) {
+                matches.add(ordinal);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private static int month(String word) {
+        return MONTHS.getOrDefault(word, 0);
+    }
+
+    /**
+     * Returns whether an ambiguous month name in free text stands for a month: it is the only word, or the
+     * word before or after it is a month or a range word.
+     */
+    private static boolean inMonthContext(String[] words, int index) {
+        String previous = neighbour(words, index, -1);
+        String next = neighbour(words, index, 1);
+        return (previous.isEmpty() && next.isEmpty()) || isMonthOrRange(previous) || isMonthOrRange(next);
+    }
+
+    private static boolean isMonthOrRange(String word) {
+        return MONTHS.containsKey(word) || RANGE_WORDS.contains(word);
+    }
+
+    /**
+     * Returns the nearest non-empty word before ({@code step} -1) or after ({@code step} 1) the given one.
+     */
+    private static String neighbour(String[] words, int index, int step) {
+        for (int i = index + step; i >= 0 && i < words.length; i += step) {
+            if (!words[i].isEmpty()) {
+                return words[i];
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns the word before the given one, skipping a hyphen, so "year-round" reads like "year round".
+     */
+    private static String previousWord(String[] words, int index) {
+        int previous = index - 1;
+        if (previous >= 0 && words[previous].equals("-")) {
+            previous--;
+        }
+        return previous >= 0 ? words[previous] : "";
+    }
+
+    /**
+     * Returns the months from {@code from} to {@code to}, both included, across the new year if
+     * {@code to} comes before {@code from}.
+     */
+    private static int span(int from, int to) {
+        int mask = 0;
+        for (int month = from; ; month = month % 12 + 1) {
+            mask |= 1 << (month - 1);
+            if (month == to) {
+                return mask;
+            }
+        }
+    }
+
+    /**
+     * Returns the three months of the season starting at the given month, or the one month the qualifier
+     * before it selects.
+     */
+    private static int season(int start, String qualifier) {
+        int offset = switch (qualifier) {
+            case "early" -> 0;
+            case "mid" -> 1;
+            case "late" -> 2;
+            default -> -1;
+        };
+        return offset < 0 ? span(start, (start + 1) % 12 + 1) : 1 << ((start - 1 + offset) % 12);
+    }
+}
@@ -0,0 +1,138 @@
+package com.flourish.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, compressed set of catalog ordinals.
+ *
+ * <p>A set is stored in whichever of two forms is smaller for its density:</p>
+ * <ul>
+ *   <li>sparse: the sorted ordinals as an {@code int[]}, four bytes per member,</li>
+ *   <li>dense: a bitmap of {@code long} words over the whole ordinal range, one bit per record.</li>
+ * </ul>
+ *
+ * <p>A set with fewer members than one in 32 records is stored sparse. Sets are combined into a mutable
+ * bitmap with {@link #orInto(long[])}, and counted against one with {@link #countIn(long[])}, which uses
+ * {@link Long#bitCount(long)} on dense sets and bit tests on sparse ones.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class OrdinalSet {
+
+    private final int[] members;
+    private final long[] words;
+    private final int cardinality;
+
+    private OrdinalSet(int[] members, long[] words, int cardinality) {
+        this.members = members;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Creates a set from ordinals in ascending order.
+     *
+     * @param ordinals the sorted, distinct ordinals.
+     * @param count the number of ordinals to take from the array.
+     * @param universe the number of records, which bounds every ordinal.
+     * @return a new set in its smaller form.
+     */
+    public static OrdinalSet of(int[] ordinals, int count, int universe) {
+        if ((long) count * Integer.SIZE < universe) {
+            return new OrdinalSet(Arrays.copyOf(ordinals, count), null, count);
+        }
+        long[] words = new long[wordCount(universe)];
+        for (int i = 0; i < count; i++) {
+            words[ordinals[i] >>> 6] |= 1L << ordinals[i];
+        }
+        return new OrdinalSet(null, words, count);
+    }
+
+    /**
+     * Returns the number of {@code long} words of a bitmap over the given number of records.
+     *
+     * @param universe the number of records.
+     * @return the word count.
+     */
+    public static int wordCount(int universe) {
+        return (universe + 63) >>> 6;
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the cardinality.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns whether the set is stored as a bitmap.
+     *
+     * @return true for the dense form.
+     */
+    public boolean isDense() {
+        return words != null;
+    }
+
+    /**
+     * Tests whether the given ordinal is a member.
+     *
+     * @param ordinal the ordinal.
+     * @return true if the ordinal is in the set.
+     */
+    public boolean contains(int ordinal) {
+        if (words != null) {
+            return ordinal >>> 6 < words.length && (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+        return Arrays.binarySearch(members, ordinal) >= 0;
+    }
+
+    /**
+     * Adds all members to the given bitmap.
+     *
+     * @param target a bitmap of at least {@link #wordCount(int)} words.
+     */
+    public void orInto(long[] target) {
+        if (words != null) {
+            for (int i = 0; i < words.length; i++) {
+                target[i] |= words[i];
+            }
+        } else {
+            for (int ordinal : members) {
+                target[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+    }
+
+    /**
+     * Counts the members that are also set in the given bitmap.
+     *
+     * @param filter a bitmap of at least {@link #wordCount(int)} words, or null to count all members.
+     * @return the size of the intersection.
+     */
+    public int countIn(long[] filter) {
+        if (filter == null) {
+            return cardinality;
+        }
+        int count = 0;
+        if (words != null) {
+            for (int i = 0; i < words.length; i++) {
+                count += Long.bitCount(words[i] & filter[i]);
+            }
+        } else {
+            for (int ordinal : members) {
+                if ((filter[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,378 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only, column-oriented catalog of the searchable names of {@link PlantIndex} records.
+ *
+ * <p>Instead of one object per record, the catalog holds a handful of flat arrays:</p>
+ * <ul>
+ *   <li>{@code ids}: the record ids, by ordinal (the position of the record in the source list),</li>
+ *   <li>{@code arena}: the normalized names of all records, UTF-8 encoded and stored back to back,</li>
+ *   <li>{@code nameStart} and {@code nameKind}: where each name starts in the arena and whether it is a
+ *       common name, a scientific name or an alias,</li>
+ *   <li>{@code recordStart}: the range of names belonging to each record.</li>
+ * </ul>
+ *
+ * <p>Names are normalized once at build time with {@link #normalize(String)}: accents are folded, the
+ * text is lower-cased and surrounding whitespace is removed. The comma-separated parts of otherName are
+ * stored as separate aliases, so a query matching the start of an alias counts as a prefix match.
+ * Queries are normalized the same way and matched against the arena bytes directly, so scoring a record
+ * allocates nothing and scanning the catalog reads memory sequentially.</p>
+ *
+ * <p>{@link #ordinalOf(long)} maps a record id back to its ordinal with a binary search, so data keyed by
+ * plant id, such as the attributes of plant_details, can be aligned with the catalog.</p>
+ *
+ * <p>The catalog is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class PlantCatalog {
+
+    /**
+     * Score returned by {@link #matchScore(int, byte[])} when no name of the record contains the query.
+     */
+    public static final int NO_MATCH = -1;
+
+    /**
+     * Kind of a name taken from commonName.
+     */
+    public static final byte COMMON_NAME = 0;
+
+    /**
+     * Kind of a name taken from scientificName.
+     */
+    public static final byte SCIENTIFIC_NAME = 1;
+
+    /**
+     * Kind of a name taken from one of the comma-separated parts of otherName.
+     */
+    public static final byte ALIAS = 2;
+
+    private final long[] ids;
+    private final byte[] arena;
+    private final int[] nameStart;
+    private final byte[] nameKind;
+    private final int[] recordStart;
+    private final int[] ordinalsById;
+
+    private PlantCatalog(long[] ids, byte[] arena, int[] nameStart, byte[] nameKind, int[] recordStart) {
+        this.ids = ids;
+        this.arena = arena;
+        this.nameStart = nameStart;
+        this.nameKind = nameKind;
+        this.recordStart = recordStart;
+        this.ordinalsById = sortedById(ids);
+    }
+
+    /**
+     * Returns the ordinals sorted by id, or null if the ids are already in ascending order.
+     */
+    private static int[] sortedById(long[] ids) {
+        boolean ascending = true;
+        for (int i = 1; i < ids.length && ascending; i++) {
+            ascending = ids[i - 1] < ids[i];
+        }
+        if (ascending) {
+            return null;
+        }
+        return IntStream.range(0, ids.length).boxed()
+                .sorted((a, b) -> Long.compare(ids[a], ids[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Builds a catalog over the given records. The ordinal of a record is its position in the list.
+     *
+     * @param plants the records to store.
+     * @return a new immutable catalog.
+     */
+    public static PlantCatalog build(List<PlantIndex> plants) {
+        int size = plants.size();
+        long[] ids = new long[size];
+        int[] recordStart = new int[size + 1];
+        IntList nameStart = new IntList();
+        ByteArrayOutputStream kinds = new ByteArrayOutputStream();
+        ByteArrayOutputStream arena = new ByteArrayOutputStream();
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            PlantIndex plant = plants.get(ordinal);
+            ids[ordinal] = plant.getId();
+            recordStart[ordinal] = nameStart.size();
+            forEachName(plant, (kind, name) -> {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                nameStart.add(arena.size());
+                kinds.write(kind);
+                arena.write(bytes, 0, bytes.length);
+            });
+        }
+        recordStart[size] = nameStart.size();
+        nameStart.add(arena.size());
+        return new PlantCatalog(ids, arena.toByteArray(), nameStart.toArray(), kinds.toByteArray(), recordStart);
+    }
+
+    /**
+     * Returns the number of records in the catalog.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the id of the record with the given ordinal.
+     *
+     * @param ordinal the ordinal of the record.
+     * @return the record id.
+     */
+    public long id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of the record with the given id.
+     *
+     * @param id the record id.
+     * @return the ordinal, or {@link #NO_MATCH} if no record has this id. If several records share the id,
+     *         any one of them.
+     */
+    public int ordinalOf(long id) {
+        int low = 0;
+        int high = ids.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int ordinal = ordinalsById == null ? middle : ordinalsById[middle];
+            if (ids[ordinal] < id) {
+                low = middle + 1;
+            } else if (ids[ordinal] > id) {
+                high = middle - 1;
+            } else {
+                return ordinal;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Returns the position of the first name of the record with the given ordinal. The names of a record
+     * are the positions from {@code firstName(ordinal)} up to, but not including, {@code firstName(ordinal + 1)}.
+     *
+     * @param ordinal the ordinal of the record, or {@link #size()} for the end of the last record.
+     * @return the position of the first name.
+     */
+    public int firstName(int ordinal) {
+        return recordStart[ordinal];
+    }
+
+    /**
+     * Returns the kind of the name at the given position.
+     *
+     * @param name the position of the name.
+     * @return {@link #COMMON_NAME}, {@link #SCIENTIFIC_NAME} or {@link #ALIAS}.
+     */
+    public byte nameKind(int name) {
+        return nameKind[name];
+    }
+
+    /**
+     * Returns the total number of names in the catalog.
+     *
+     * @return the number of names.
+     */
+    public int nameCount() {
+        return nameKind.length;
+    }
+
+    /**
+     * Decodes the normalized name at the given position.
+     *
+     * @param name the position of the name.
+     * @return the normalized name.
+     */
+    public String name(int name) {
+        return new String(arena, nameStart[name], nameStart[name + 1] - nameStart[name], StandardCharsets.UTF_8);
+    }
+
+    byte[] arena() {
+        return arena;
+    }
+
+    int nameStart(int name) {
+        return nameStart[name];
+    }
+
+    /**
+     * Scores the record with the given ordinal against a query encoded with {@link #encodeQuery(String)}.
+     *
+     * <ul>
+     *   <li>If the query appears as a prefix (position = 0) of any name, returns 0.</li>
+     *   <li>If only mid-substring matches occur, returns the smallest positive position found.</li>
+     *   <li>If no name contains the query, returns {@link #NO_MATCH}.</li>
+     * </ul>
+     *
+     * @param ordinal the ordinal of the record.
+     * @param query the encoded, normalized query.
+     * @return the match score, where 0 is best.
+     */
+    public int matchScore(int ordinal, byte[] query) {
+        int score = Integer.MAX_VALUE;
+        for (int name = recordStart[ordinal]; name < recordStart[ordinal + 1]; name++) {
+            int pos = indexOf(nameStart[name], nameStart[name + 1], query, score);
+            if (pos == 0) {
+                return 0;
+            }
+            if (pos > 0) {
+                score = pos;
+            }
+        }
+        return score == Integer.MAX_VALUE ? NO_MATCH : score;
+    }
+
+    /**
+     * Finds the first position of the query in the arena range, returning -1 if it does not occur
+     * before {@code limit}, since later positions cannot improve the score.
+     */
+    private int indexOf(int from, int to, byte[] query, int limit) {
+        int last = to - query.length;
+        if (limit - 1 < last - from) {
+            last = from + limit - 1;
+        }
+        if (query.length == 0) {
+            return from <= last ? 0 : -1;
+        }
+        byte first = query[0];
+        for (int i = from; i <= last; i++) {
+            if (arena[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < query.length && arena[i + j] == query[j]) {
+                j++;
+            }
+            if (j == query.length) {
+                return i - from;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the match score of a list of normalized names against a normalized query, with the same
+     * rules as {@link #matchScore(int, byte[])}.
+     *
+     * @param names the normalized names of a record, as returned by {@link #searchNames(PlantIndex)}.
+     * @param query the normalized query.
+     * @return the match score, where 0 is best, or {@link #NO_MATCH}.
+     */
+    public static int matchScore(List<String> names, String query) {
+        int score = Integer.MAX_VALUE;
+        byte[] encoded = query.getBytes(StandardCharsets.UTF_8);
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            for (int pos = 0; pos + encoded.length <= bytes.length && pos < score; pos++) {
+                if (Arrays.equals(bytes, pos, pos + encoded.length, encoded, 0, encoded.length)) {
+                    if (pos == 0) {
+                        return 0;
+                    }
+                    score = pos;
+                }
+            }
+        }
+        return score == Integer.MAX_VALUE ? NO_MATCH : score;
+    }
+
+    /**
+     * Returns the normalized names of a record in catalog order: commonName, scientificName, then the
+     * comma-separated parts of otherName. Null and blank names are skipped.
+     *
+     * @param plant the record.
+     * @return the normalized names.
+     */
+    public static List<String> searchNames(PlantIndex plant) {
+        List<String> names = new ArrayList<>(4);
+        forEachName(plant, (kind, name) -> names.add(name));
+        return names;
+    }
+
+    /**
+     * Folds accents, lower-cases and strips surrounding whitespace, so that for example
+     * "Königin" and "KONIGIN " both become "konigin".
+     *
+     * @param text the text to normalize.
+     * @return the normalized text.
+     */
+    public static String normalize(String text) {
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+            StringBuilder folded = new StringBuilder(decomposed.length());
+            for (int i = 0; i < decomposed.length(); i++) {
+                char c = decomposed.charAt(i);
+                int type = Character.getType(c);
+                if (type != Character.NON_SPACING_MARK && type != Character.ENCLOSING_MARK
+                        && type != Character.COMBINING_SPACING_MARK) {
+                    folded.append(c);
+                }
+            }
+            text = folded.toString();
+        }
+        return text.toLowerCase(Locale.ROOT).strip();
+    }
+
+    /**
+     * Normalizes a query with {@link #normalize(String)} and encodes it for {@link #matchScore(int, byte[])}.
+     *
+     * @param query the raw query.
+     * @return the UTF-8 bytes of the normalized query.
+     */
+    public static byte[] encodeQuery(String query) {
+        return normalize(query).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void forEachName(PlantIndex plant, NameConsumer consumer) {
+        addName(consumer, COMMON_NAME, plant.getCommonName());
+        addName(consumer, SCIENTIFIC_NAME, plant.getScientificName());
+        if (plant.getOtherName() != null) {
+            for (String alias : plant.getOtherName().split(",")) {
+                addName(consumer, ALIAS, alias);
+            }
+        }
+    }
+
+    private static void addName(NameConsumer consumer, byte kind, String name) {
+        if (name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        if (!normalized.isEmpty()) {
+            consumer.accept(kind, normalized);
+        }
+    }
+
+    /**
+     * Receives the normalized names of a record.
+     */
+    @FunctionalInterface
+    private interface NameConsumer {
+        void accept(byte kind, String name);
+    }
+}
@@ -0,0 +1,158 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.HardinessZone;
+import com.flourish.domain.PlantAttributes;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * The plant attributes the catalog can be filtered by.
+ *
+ * <p>Each facet extracts zero or more values from the {@link PlantAttributes} of a plant. Values are
+ * stripped and lower-cased, so "Full sun" and "full sun" are the same value. Sunlight holds a JSON array,
+ * read with the shared {@link ObjectMapper} of the application, and yields one value per element. Boolean
+ * attributes are flags with the values {@link #YES} and {@link #NO}; a missing attribute yields no
+ * value.</p>
+ *
+ * <p>The hardiness zone facet yields every half-zone, such as "6b", within the hardiness range of a plant,
+ * taken from the {@link HardinessZone} codes parsed when the plant was stored. Its value set for a zone is
+ * therefore the set of plants that survive in that zone, and selecting a zone is a stabbing query over the
+ * hardiness ranges. A range with only one known end covers both halves of that zone. Its values are
+ * ordered from cold to warm rather than alphabetically.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public enum PlantFacet {
+
+    WATERING("Watering", false, (attributes, mapper) -> value(attributes.getWatering())),
+    SUNLIGHT("Sunlight", false, (attributes, mapper) -> jsonValues(attributes.getSunlight(), mapper)),
+    CYCLE("Cycle", false, (attributes, mapper) -> value(attributes.getCycle())),
+    CARE_LEVEL("Care level", false, (attributes, mapper) -> value(attributes.getCareLevel())),
+    HARDINESS_ZONE("Hardiness zone", false,
+            (attributes, mapper) -> zones(attributes.getHardinessMinZone(), attributes.getHardinessMaxZone())),
+    INDOOR("Indoor", true, (attributes, mapper) -> flag(attributes.getIndoor())),
+    DROUGHT_TOLERANT("Drought tolerant", true, (attributes, mapper) -> flag(attributes.getDroughtTolerant())),
+    TROPICAL("Tropical", true, (attributes, mapper) -> flag(attributes.getTropical())),
+    FLOWERS("Flowering", true, (attributes, mapper) -> flag(attributes.getFlowers())),
+    EDIBLE_FRUIT("Edible fruit", true, (attributes, mapper) -> flag(attributes.getEdibleFruit())),
+    EDIBLE_LEAF("Edible leaves", true, (attributes, mapper) -> flag(attributes.getEdibleLeaf())),
+    MEDICINAL("Medicinal", true, (attributes, mapper) -> flag(attributes.getMedicinal())),
+    POISONOUS_TO_PETS("Poisonous to pets", true, (attributes, mapper) -> flag(attributes.getPoisonousToPets())),
+    POISONOUS_TO_HUMANS("Poisonous to humans", true, (attributes, mapper) -> flag(attributes.getPoisonousToHumans()));
+
+    /**
+     * The value of a flag facet whose attribute is true.
+     */
+    public static final String YES = "yes";
+
+    /**
+     * The value of a flag facet whose attribute is false.
+     */
+    public static final String NO = "no";
+
+    private static final List<String> ZONES = IntStream
+            .rangeClosed(HardinessZone.MIN, HardinessZone.MAX).mapToObj(HardinessZone::format).toList();
+
+    private static final Comparator<String> ZONE_ORDER =
+            Comparator.comparing(HardinessZone::lowerBound, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String label;
+    private final boolean flag;
+    private final BiFunction<PlantAttributes, ObjectMapper, List<String>> extractor;
+
+    PlantFacet(String label, boolean flag, BiFunction<PlantAttributes, ObjectMapper, List<String>> extractor) {
+        this.label = label;
+        this.flag = flag;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Returns the name of the facet as shown to users.
+     *
+     * @return the label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns whether the facet is a boolean flag with the values {@link #YES} and {@link #NO}.
+     *
+     * @return true for flag facets.
+     */
+    public boolean isFlag() {
+        return flag;
+    }
+
+    /**
+     * Returns the order in which the values of this facet are listed and looked up: by zone for the
+     * hardiness zone facet and alphabetical for all others.
+     *
+     * @return the value order.
+     */
+    public Comparator<String> order() {
+        return this == HARDINESS_ZONE ? ZONE_ORDER : Comparator.naturalOrder();
+    }
+
+    /**
+     * Extracts the normalized values of this facet from the attributes of a plant.
+     *
+     * @param attributes the attributes of the plant.
+     * @param objectMapper the shared ObjectMapper that reads attributes stored as JSON.
+     * @return the values; empty if the attribute is missing.
+     */
+    public List<String> values(PlantAttributes attributes, ObjectMapper objectMapper) {
+        return extractor.apply(attributes, objectMapper);
+    }
+
+    private static List<String> value(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return List.of(value.strip().toLowerCase(Locale.ROOT));
+    }
+
+    private static List<String> flag(Boolean value) {
+        return value == null ? List.of() : List.of(value ? YES : NO);
+    }
+
+    private static List<String> zones(Integer min, Integer max) {
+        if (min == null && max == null) {
+            return List.of();
+        }
+        int from = min != null ? min : max & ~1;
+        int to = max != null ? max : min | 1;
+        return ZONES.subList(Math.min(from, to), Math.max(from, to) + 1);
+    }
+
+    private static List<String> jsonValues(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        if (!json.strip().startsWith("[")) {
+            return value(json);
+        }
+        try {
+            List<String> values = new ArrayList<>();
+            for (String element : objectMapper.readValue(json, new TypeReference<List<String>>() {})) {
+                values.addAll(value(element));
+            }
+            return values;
+        } catch (JsonProcessingException e) {
+            return List.of();
+        }
+    }
+}
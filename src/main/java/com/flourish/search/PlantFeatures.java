@@ -0,0 +1,190 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.HardinessZone;
+import com.flourish.domain.PlantAttributes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact, columnar feature vectors of plants, compared with a Gower dissimilarity.
+ *
+ * <p>Each plant is encoded once into</p>
+ * <ul>
+ *   <li>five numeric features scaled to [0, 1]: watering (none to frequent), the minimum and maximum
+ *       hardiness zone (1a to 13b), growth rate and maintenance (low to high),</li>
+ *   <li>three categorical features: cycle, family and genus, as codes of a dictionary built while encoding,</li>
+ *   <li>the set of sunlight values as a 64-bit mask over the same dictionary,</li>
+ *   <li>nine boolean traits (the flag facets of {@link PlantFacet}) as two bitmasks, one for the traits that
+ *       are known and one for those that are true.</li>
+ * </ul>
+ *
+ * <p>The dissimilarity of two plants is the weighted mean of the per-feature dissimilarities over the
+ * features both plants have: the absolute difference for numeric features, 0 or 1 for categories, one minus
+ * the Jaccard index for sunlight and 0 or 1 per trait. Genus weighs twice and each trait half as much as
+ * the other features. Missing values are simply left out, so sparse records can still be compared, but a
+ * pair that shares less than {@link #MIN_COMPARABLE_WEIGHT} of weight is not comparable. Comparing two
+ * plants only compares numbers and masks.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+final class PlantFeatures {
+
+    /**
+     * The least total weight of the features two plants must share to be compared.
+     */
+    static final float MIN_COMPARABLE_WEIGHT = 3;
+
+    private static final int NUMERIC = 5;
+    private static final float GENUS_WEIGHT = 2;
+    private static final float TRAIT_WEIGHT = 0.5f;
+    private static final List<String> WATERING = List.of("none", "minimum", "average", "frequent");
+    private static final List<String> LEVELS = List.of("low", "moderate", "high");
+    private static final List<PlantFacet> TRAITS =
+            List.of(PlantFacet.values()).stream().filter(PlantFacet::isFlag).toList();
+
+    private static final int MISSING = -1;
+
+    private final float[] numeric;
+    private final int[] cycle;
+    private final int[] family;
+    private final int[] genus;
+    private final long[] sunlight;
+    private final int[] traitsKnown;
+    private final int[] traitsTrue;
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private PlantFeatures(int size) {
+        numeric = new float[size * NUMERIC];
+        cycle = new int[size];
+        family = new int[size];
+        genus = new int[size];
+        sunlight = new long[size];
+        traitsKnown = new int[size];
+        traitsTrue = new int[size];
+    }
+
+    /**
+     * Encodes the given plants; the position of a plant in the list becomes its position in the table.
+     *
+     * @param plants the plant attributes.
+     * @param objectMapper the mapper that reads the JSON-encoded attributes.
+     * @return the feature table.
+     */
+    static PlantFeatures encode(List<PlantAttributes> plants, ObjectMapper objectMapper) {
+        PlantFeatures features = new PlantFeatures(plants.size());
+        for (int position = 0; position < plants.size(); position++) {
+            features.set(position, plants.get(position), objectMapper);
+        }
+        return features;
+    }
+
+    private void set(int position, PlantAttributes plant, ObjectMapper objectMapper) {
+        int base = position * NUMERIC;
+        numeric[base] = level(PlantFacet.WATERING.values(plant, objectMapper), WATERING);
+        numeric[base + 1] = zone(plant.getHardinessMinZone());
+        numeric[base + 2] = zone(plant.getHardinessMaxZone());
+        numeric[base + 3] = level(normalized(plant.getGrowthRate()), LEVELS);
+        numeric[base + 4] = level(normalized(plant.getMaintenance()), LEVELS);
+        cycle[position] = code(PlantFacet.CYCLE.values(plant, objectMapper));
+        family[position] = code(normalized(plant.getFamily()));
+        genus[position] = code(normalized(plant.getGenus()));
+        for (String light : PlantFacet.SUNLIGHT.values(plant, objectMapper)) {
+            sunlight[position] |= 1L << code(List.of(light));
+        }
+        for (int trait = 0; trait < TRAITS.size(); trait++) {
+            List<String> value = TRAITS.get(trait).values(plant, objectMapper);
+            if (!value.isEmpty()) {
+                traitsKnown[position] |= 1 << trait;
+                if (value.get(0).equals(PlantFacet.YES)) {
+                    traitsTrue[position] |= 1 << trait;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of plants.
+     *
+     * @return the size.
+     */
+    int size() {
+        return cycle.length;
+    }
+
+    /**
+     * Computes the dissimilarity of two plants.
+     *
+     * @param a the position of the first plant.
+     * @param b the position of the second plant.
+     * @return the dissimilarity from 0 (alike) to 1, or {@link Float#NaN} if the plants are not comparable.
+     */
+    float distance(int a, int b) {
+        float sum = 0;
+        float weight = 0;
+        for (int i = 0; i < NUMERIC; i++) {
+            float x = numeric[a * NUMERIC + i];
+            float y = numeric[b * NUMERIC + i];
+            if (!Float.isNaN(x) && !Float.isNaN(y)) {
+                sum += Math.abs(x - y);
+                weight++;
+            }
+        }
+        if (cycle[a] != MISSING && cycle[b] != MISSING) {
+            sum += cycle[a] == cycle[b] ? 0 : 1;
+            weight++;
+        }
+        if (family[a] != MISSING && family[b] != MISSING) {
+            sum += family[a] == family[b] ? 0 : 1;
+            weight++;
+        }
+        if (genus[a] != MISSING && genus[b] != MISSING) {
+            sum += genus[a] == genus[b] ? 0 : GENUS_WEIGHT;
+            weight += GENUS_WEIGHT;
+        }
+        if (sunlight[a] != 0 && sunlight[b] != 0) {
+            sum += 1 - (float) Long.bitCount(sunlight[a] & sunlight[b]) / Long.bitCount(sunlight[a] | sunlight[b]);
+            weight++;
+        }
+        int shared = traitsKnown[a] & traitsKnown[b];
+        sum += TRAIT_WEIGHT * Integer.bitCount(shared & (traitsTrue[a] ^ traitsTrue[b]));
+        weight += TRAIT_WEIGHT * Integer.bitCount(shared);
+        return weight < MIN_COMPARABLE_WEIGHT ? Float.NaN : sum / weight;
+    }
+
+    private static List<String> normalized(String value) {
+        return value == null || value.isBlank() ? List.of() : List.of(value.strip().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the dictionary code of the first value, or {@link #MISSING} if there is none. Sunlight masks
+     * use the code modulo 64, which can only make distinct values look alike once there are more than 64
+     * distinct values in all.
+     */
+    private int code(List<String> values) {
+        return values.isEmpty() ? MISSING : codes.computeIfAbsent(values.get(0), key -> codes.size());
+    }
+
+    /**
+     * Scales the position of a value on an ordered scale to [0, 1], or returns NaN for unknown values.
+     */
+    private static float level(List<String> values, List<String> scale) {
+        int level = values.isEmpty() ? -1 : scale.indexOf(values.get(0));
+        return level < 0 ? Float.NaN : (float) level / (scale.size() - 1);
+    }
+
+    /**
+     * Scales a {@link HardinessZone} code to [0, 1], or returns NaN if there is none.
+     */
+    private static float zone(Integer code) {
+        return code == null ? Float.NaN : (float) (code - HardinessZone.MIN) / (HardinessZone.MAX - HardinessZone.MIN);
+    }
+}
@@ -0,0 +1,242 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Read-only, memory-mapped view of a binary plant index file.
+ *
+ * <p>The file is a compact alternative to the pretty-printed JSON backup. All numbers are big-endian:</p>
+ * <ul>
+ *   <li>a header of the magic number {@code "FLPI"}, the format version and the record count,</li>
+ *   <li>the record ids as {@code long}s,</li>
+ *   <li>an offset index with one {@code int} per record and name field (commonName, scientificName,
+ *       otherName), pointing into the string table,</li>
+ *   <li>the string table: length-prefixed UTF-8 strings, with a length of -1 for null. Equal strings
+ *       are stored once.</li>
+ * </ul>
+ *
+ * <p>Opening a file only maps it and validates the header, so the cost does not depend on the catalog
+ * size and the name data stays off-heap. Strings are decoded when a record is read through
+ * {@link #get(int)} or one of the field accessors, and every call returns a new {@link PlantIndex}.</p>
+ *
+ * <p>The view is immutable and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class PlantIndexFile extends AbstractList<PlantIndex> implements RandomAccess {
+
+    /**
+     * The magic number at the start of every binary plant index file, {@code "FLPI"} in ASCII.
+     */
+    public static final int MAGIC = 0x464C5049;
+
+    /**
+     * The format version written by {@link #write(Path, List)}.
+     */
+    public static final int VERSION = 1;
+
+    private static final int FIELDS = 3;
+    private static final int HEADER_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int offsetsStart;
+    private final int stringsStart;
+
+    private PlantIndexFile(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+        this.offsetsStart = HEADER_BYTES + count * Long.BYTES;
+        this.stringsStart = offsetsStart + count * FIELDS * Integer.BYTES;
+    }
+
+    /**
+     * Memory-maps the given binary plant index file.
+     *
+     * @param file the file written by {@link #write(Path, List)}.
+     * @return a read-only view of the records in the file.
+     * @throws IOException if the file cannot be mapped or is not a binary plant index file of this version.
+     */
+    public static PlantIndexFile open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary plant index file: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported plant index file version " + buffer.getInt(4) + ": " + file);
+        }
+        int count = buffer.getInt(8);
+        long stringsStart = HEADER_BYTES + (long) count * (Long.BYTES + FIELDS * Integer.BYTES);
+        if (count < 0 || stringsStart > buffer.capacity()) {
+            throw new IOException("Truncated plant index file: " + file);
+        }
+        return new PlantIndexFile(buffer, count);
+    }
+
+    /**
+     * Writes the given records to a binary plant index file. The file is written next to the target and
+     * then moved into place, so readers never map a partially written file.
+     *
+     * @param file the file to write.
+     * @param plants the records to write, in the order they should be read back.
+     * @throws IOException if an error occurs while writing the file.
+     */
+    public static void write(Path file, List<PlantIndex> plants) throws IOException {
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        DataOutputStream stringOut = new DataOutputStream(strings);
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        int[] offsets = new int[plants.size() * FIELDS];
+        for (int i = 0; i < plants.size(); i++) {
+            PlantIndex plant = plants.get(i);
+            offsets[i * FIELDS] = appendString(stringOut, stringOffsets, plant.getCommonName());
+            offsets[i * FIELDS + 1] = appendString(stringOut, stringOffsets, plant.getScientificName());
+            offsets[i * FIELDS + 2] = appendString(stringOut, stringOffsets, plant.getOtherName());
+        }
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(plants.size());
+                for (PlantIndex plant : plants) {
+                    out.writeLong(plant.getId());
+                }
+                for (int offset : offsets) {
+                    out.writeInt(offset);
+                }
+                strings.writeTo(out);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int appendString(DataOutputStream out, Map<String, Integer> stringOffsets, String value)
+            throws IOException {
+        Integer existing = stringOffsets.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int offset = out.size();
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        stringOffsets.put(value, offset);
+        return offset;
+    }
+
+    /**
+     * Returns the number of records in the file.
+     *
+     * @return the record count.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Decodes the record at the given position.
+     *
+     * @param index the position of the record.
+     * @return a new PlantIndex holding the decoded record.
+     */
+    @Override
+    public PlantIndex get(int index) {
+        return new PlantIndex(id(index), commonName(index), scientificName(index), otherName(index));
+    }
+
+    /**
+     * Returns the id of the record at the given position without decoding its names.
+     *
+     * @param index the position of the record.
+     * @return the record id.
+     */
+    public long id(int index) {
+        checkIndex(index);
+        return buffer.getLong(HEADER_BYTES + index * Long.BYTES);
+    }
+
+    /**
+     * Returns the common name of the record at the given position.
+     *
+     * @param index the position of the record.
+     * @return the common name, or null if not set.
+     */
+    public String commonName(int index) {
+        return field(index, 0);
+    }
+
+    /**
+     * Returns the scientific name of the record at the given position.
+     *
+     * @param index the position of the record.
+     * @return the scientific name, or null if not set.
+     */
+    public String scientificName(int index) {
+        return field(index, 1);
+    }
+
+    /**
+     * Returns the other names of the record at the given position.
+     *
+     * @param index the position of the record.
+     * @return the other names, or null if not set.
+     */
+    public String otherName(int index) {
+        return field(index, 2);
+    }
+
+    private String field(int index, int field) {
+        checkIndex(index);
+        int position = stringsStart + buffer.getInt(offsetsStart + (index * FIELDS + field) * Integer.BYTES);
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact prefix trie over plant names with precomputed top-k completions per node.
+ *
+ * <p>Every common name, scientific name and alias (the comma-separated parts of otherName) becomes a
+ * term. Terms are keyed by {@link PlantCatalog#normalize(String)}, de-duplicated on that key and ranked
+ * once at build time:</p>
+ * <ul>
+ *   <li>common names before scientific names before aliases,</li>
+ *   <li>then shorter terms before longer ones,</li>
+ *   <li>then alphabetically.</li>
+ * </ul>
+ *
+ * <p>After construction the trie is frozen into flat arrays: the children of a node are stored
+ * contiguously and sorted by label, so a lookup walks the prefix with one binary search per character.
+ * Each node carries the ranks of the best {@link #MAX_SUGGESTIONS} terms in its subtree, so a lookup
+ * costs {@code O(|prefix| log σ + k)} regardless of the size of the catalog.</p>
+ *
+ * <p>The trie is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class PlantNameTrie {
+
+    /**
+     * The maximum number of completions precomputed per node, and thus returned by a lookup.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int[] NO_TERMS = new int[0];
+
+    private final String[] terms;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topLength;
+    private final int[] topPool;
+
+    private PlantNameTrie(String[] terms, char[] labels, int[] firstChild, int[] childCount,
+                          int[] topStart, int[] topLength, int[] topPool) {
+        this.terms = terms;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topLength = topLength;
+        this.topPool = topPool;
+    }
+
+    /**
+     * Builds a trie over the names of the given records.
+     *
+     * @param plants the records whose names are indexed.
+     * @return a new immutable trie.
+     */
+    public static PlantNameTrie build(List<PlantIndex> plants) {
+        Map<String, Term> unique = new HashMap<>();
+        for (PlantIndex plant : plants) {
+            addTerm(unique, plant.getCommonName(), 0);
+            addTerm(unique, plant.getScientificName(), 1);
+            if (plant.getOtherName() != null) {
+                for (String alias : plant.getOtherName().split(",")) {
+                    addTerm(unique, alias, 2);
+                }
+            }
+        }
+
+        List<Term> ranked = new ArrayList<>(unique.values());
+        ranked.sort(Comparator.comparingInt((Term t) -> t.priority)
+                .thenComparingInt(t -> t.key.length())
+                .thenComparing(t -> t.key));
+        String[] terms = new String[ranked.size()];
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            ranked.get(rank).rank = rank;
+            terms[rank] = ranked.get(rank).display;
+        }
+
+        List<Term> sorted = new ArrayList<>(ranked);
+        sorted.sort(Comparator.comparing(t -> t.key));
+        BuildNode root = new BuildNode('\0');
+        for (Term term : sorted) {
+            root.insert(term.key, term.rank);
+        }
+        root.computeTop();
+        return freeze(root, terms);
+    }
+
+    /**
+     * Returns the number of distinct terms in the trie.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Returns up to {@code k} completions of the given prefix, best first.
+     *
+     * @param prefix the prefix to complete; matched ignoring case and accents.
+     * @param k the maximum number of completions, capped at {@link #MAX_SUGGESTIONS}.
+     * @return the completions, in their original casing.
+     */
+    public List<String> suggest(String prefix, int k) {
+        int node = find(PlantCatalog.normalize(prefix));
+        if (node < 0 || k <= 0) {
+            return List.of();
+        }
+        int count = Math.min(k, topLength[node]);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(terms[topPool[topStart[node] + i]]);
+        }
+        return result;
+    }
+
+    private int find(String lowerPrefix) {
+        int node = 0;
+        for (int i = 0; i < lowerPrefix.length(); i++) {
+            int from = firstChild[node];
+            int to = from + childCount[node];
+            int found = Arrays.binarySearch(labels, from, to, lowerPrefix.charAt(i));
+            if (found < 0) {
+                return -1;
+            }
+            node = found;
+        }
+        return node;
+    }
+
+    private static void addTerm(Map<String, Term> unique, String name, int priority) {
+        if (name == null) {
+            return;
+        }
+        String display = name.strip();
+        if (display.isEmpty()) {
+            return;
+        }
+        String key = PlantCatalog.normalize(display);
+        Term existing = unique.get(key);
+        if (existing == null || priority < existing.priority) {
+            unique.put(key, new Term(key, display, priority));
+        }
+    }
+
+    /**
+     * Lays the build nodes out breadth-first so that the children of every node are contiguous.
+     */
+    private static PlantNameTrie freeze(BuildNode root, String[] terms) {
+        List<BuildNode> order = new ArrayList<>();
+        ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            order.add(node);
+            queue.addAll(node.children);
+        }
+
+        int size = order.size();
+        char[] labels = new char[size];
+        int[] firstChild = new int[size];
+        int[] childCount = new int[size];
+        int[] topStart = new int[size];
+        int[] topLength = new int[size];
+        int poolSize = 0;
+        for (BuildNode node : order) {
+            poolSize += node.top.length;
+        }
+        int[] topPool = new int[poolSize];
+
+        int nextChild = 1;
+        int poolOffset = 0;
+        for (int i = 0; i < size; i++) {
+            BuildNode node = order.get(i);
+            labels[i] = node.label;
+            firstChild[i] = nextChild;
+            childCount[i] = node.children.size();
+            nextChild += node.children.size();
+            topStart[i] = poolOffset;
+            topLength[i] = node.top.length;
+            System.arraycopy(node.top, 0, topPool, poolOffset, node.top.length);
+            poolOffset += node.top.length;
+        }
+        return new PlantNameTrie(terms, labels, firstChild, childCount, topStart, topLength, topPool);
+    }
+
+    /**
+     * A distinct, case-insensitive term and its best source field.
+     */
+    private static final class Term {
+        final String key;
+        final String display;
+        final int priority;
+        int rank;
+
+        Term(String key, String display, int priority) {
+            this.key = key;
+            this.display = display;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Temporary pointer-based node used only while building. Keys are inserted in sorted order,
+     * so children are appended in label order and only the last child needs to be checked.
+     */
+    private static final class BuildNode {
+        final char label;
+        final List<BuildNode> children = new ArrayList<>(1);
+        int terminalRank = -1;
+        int[] top = NO_TERMS;
+
+        BuildNode(char label) {
+            this.label = label;
+        }
+
+        void insert(String key, int rank) {
+            BuildNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                BuildNode last = node.children.isEmpty() ? null : node.children.get(node.children.size() - 1);
+                if (last == null || last.label != c) {
+                    last = new BuildNode(c);
+                    node.children.add(last);
+                }
+                node = last;
+            }
+            node.terminalRank = rank;
+        }
+
+        /**
+         * Computes the best ranks of every subtree iteratively in post-order, merging the sorted
+         * lists of the children with the node's own term.
+         */
+        void computeTop() {
+            ArrayDeque<BuildNode> stack = new ArrayDeque<>();
+            List<BuildNode> postOrder = new ArrayList<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                BuildNode node = stack.pop();
+                postOrder.add(node);
+                node.children.forEach(stack::push);
+            }
+            for (int i = postOrder.size() - 1; i >= 0; i--) {
+                BuildNode node = postOrder.get(i);
+                int[] merged = node.terminalRank >= 0 ? new int[]{node.terminalRank} : NO_TERMS;
+                for (BuildNode child : node.children) {
+                    merged = mergeBest(merged, child.top);
+                }
+                node.top = merged;
+            }
+        }
+
+        private static int[] mergeBest(int[] a, int[] b) {
+            int[] out = new int[Math.min(MAX_SUGGESTIONS, a.length + b.length)];
+            int i = 0;
+            int j = 0;
+            for (int n = 0; n < out.length; n++) {
+                out[n] = (j >= b.length || (i < a.length && a[i] < b[j])) ? a[i++] : b[j++];
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.flourish.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Remembers the last ranked result of one user's search so that the next, more specific query can be
+ * answered by filtering that result instead of searching the whole index.
+ *
+ * <p>Matching is by substring, so every record matching a query also matches any query it is part of:
+ * the matches of "mon" are a subset of the matches of "mo". When a user types "m", "mo", "mon", "mons",
+ * each query after the first only re-scores the records matched by the one before, and the work per
+ * keystroke shrinks as the result set does.</p>
+ *
+ * <p>{@link #narrow(SearchSnapshot, String)} returns null, and the caller searches the index as usual,
+ * when the new query does not contain the previous one (for example after deleting characters), when
+ * the index has been reloaded, or when the previous result is larger than the shortest posting list the
+ * index would read for the new query. The last case is common for the first few characters, where the
+ * index narrows faster than a scan of a large previous result.</p>
+ *
+ * <p>A cursor belongs to a single user interface and is not thread-safe.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class SearchCursor {
+
+    private long version = Long.MIN_VALUE;
+    private String query;
+    private int[] ordinals;
+
+    /**
+     * Ranks a query by filtering the remembered result, if that result is from the same snapshot and the
+     * query contains the remembered query.
+     *
+     * @param snapshot the snapshot to search.
+     * @param normalizedQuery the query, normalized with {@link PlantCatalog#normalize(String)}.
+     * @return the ranked ordinals of all matching records, or null if the query cannot be narrowed.
+     */
+    public int[] narrow(SearchSnapshot snapshot, String normalizedQuery) {
+        if (ordinals == null || snapshot.getVersion() != version || query.isEmpty()
+                || !normalizedQuery.contains(query)) {
+            return null;
+        }
+        if (normalizedQuery.equals(query)) {
+            return ordinals;
+        }
+        byte[] encoded = normalizedQuery.getBytes(StandardCharsets.UTF_8);
+        if (ordinals.length > snapshot.getSearchIndex().candidateBound(encoded)) {
+            return null;
+        }
+        PlantCatalog catalog = snapshot.getCatalog();
+        long[] ranked = new long[ordinals.length];
+        int count = 0;
+        for (int ordinal : ordinals) {
+            int score = catalog.matchScore(ordinal, encoded);
+            if (score != PlantCatalog.NO_MATCH) {
+                ranked[count++] = TopK.pack(score, ordinal);
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = TopK.ordinal(ranked[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Remembers the ranked result of a query, to be narrowed by the next one.
+     *
+     * @param snapshot the snapshot the result was computed from.
+     * @param normalizedQuery the normalized query.
+     * @param ordinals the ranked ordinals of all matching records; they must not be modified afterwards.
+     */
+    public void update(SearchSnapshot snapshot, String normalizedQuery, int[] ordinals) {
+        this.version = snapshot.getVersion();
+        this.query = normalizedQuery;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Forgets the remembered result, so the next query is searched in the index.
+     */
+    public void reset() {
+        query = null;
+        ordinals = null;
+    }
+}
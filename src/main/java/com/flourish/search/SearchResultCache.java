@@ -0,0 +1,221 @@
+package com.flourish.search;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded least-recently-used cache of ranked search results, keyed by normalized query and index version.
+ *
+ * <p>An entry holds the complete ranking of one query as an {@code int[]} of ordinals into the
+ * {@link SearchSnapshot} it was computed from, so a cached result costs four bytes per match and can be
+ * sliced into pages or counted without touching the index again.</p>
+ *
+ * <p>The cache only ever holds results of a single index version. A lookup or insert with a newer version
+ * empties the cache and moves it to that version, so results of a replaced snapshot are dropped as soon as
+ * the new snapshot is used. Requests that still carry an older version bypass the cache.</p>
+ *
+ * <p>Two limits bound the cache, and the least recently used entries are evicted until both hold:</p>
+ * <ul>
+ *   <li>{@code maxEntries}: the number of cached queries,</li>
+ *   <li>{@code maxWeight}: the total number of ordinals over all entries. A single result heavier than
+ *       this is not cached at all.</li>
+ * </ul>
+ *
+ * <p>The cache is thread-safe. Lookups and inserts hold a lock only for a few map operations; the result
+ * arrays are shared and must not be modified by callers.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class SearchResultCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long version = Long.MIN_VALUE;
+    private long weight;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of cached queries; 0 disables caching.
+     * @param maxWeight the maximum total number of cached ordinals.
+     * @throws IllegalArgumentException if a limit is negative.
+     */
+    public SearchResultCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException("Cache limits must not be negative.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached ranking of a query, counting a hit or a miss.
+     *
+     * @param version the version of the snapshot the caller searches.
+     * @param query the normalized query.
+     * @return the cached ordinals, or null if the query is not cached for this version.
+     */
+    public int[] get(long version, String query) {
+        int[] result;
+        synchronized (entries) {
+            advanceTo(version);
+            result = this.version == version ? entries.get(query) : null;
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the ranking of a query, evicting least recently used entries as needed. Results of an older
+     * version than the cache currently holds, and results heavier than the weight limit, are ignored.
+     *
+     * @param version the version of the snapshot the result was computed from.
+     * @param query the normalized query.
+     * @param ordinals the complete ranking; it must not be modified afterwards.
+     */
+    public void put(long version, String query, int[] ordinals) {
+        if (maxEntries == 0 || ordinals.length > maxWeight) {
+            return;
+        }
+        synchronized (entries) {
+            advanceTo(version);
+            if (this.version != version) {
+                return;
+            }
+            int[] previous = entries.put(query, ordinals);
+            weight += ordinals.length - (previous == null ? 0 : previous.length);
+            Iterator<int[]> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || weight > maxWeight) {
+                weight -= eldest.next().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. The hit, miss and eviction counters are kept.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current statistics.
+     */
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight);
+        }
+    }
+
+    private void advanceTo(long version) {
+        if (version > this.version) {
+            entries.clear();
+            weight = 0;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Point-in-time statistics of a {@link SearchResultCache}.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final long weight;
+
+        Stats(long hits, long misses, long evictions, int size, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the number of lookups that found a cached result.
+         *
+         * @return the hit count.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Returns the number of lookups that found no cached result.
+         *
+         * @return the miss count.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Returns the number of entries evicted to respect the limits. Entries dropped because the index
+         * version changed are not counted.
+         *
+         * @return the eviction count.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Returns the number of cached queries.
+         *
+         * @return the entry count.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the total number of cached ordinals.
+         *
+         * @return the weight.
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the share of lookups that were hits.
+         *
+         * @return the hit rate between 0 and 1, or 0 if there were no lookups.
+         */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", size=" + size + ", weight=" + weight;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+import com.flourish.domain.PlantIndex;
+import com.flourish.domain.PlantSeasons;
+
+import java.util.List;
+
+/**
+ * Immutable, versioned bundle of a plant index list and every search structure built over it.
+ *
+ * <p>A snapshot is built completely before it is published, and the list, catalog and indexes it holds
+ * always describe the same records with the same ordinals. Readers that take one snapshot and use only
+ * that snapshot for the duration of a request therefore never see a mix of old and new data, however
+ * often a newer snapshot is published in the meantime.</p>
+ *
+ * <p>Versions are assigned by the publisher and increase with every publication, so they can be used to
+ * detect that the data behind a cached result has changed.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class SearchSnapshot {
+
+    private final long version;
+    private final List<PlantIndex> plants;
+    private final PlantCatalog catalog;
+    private final ShardedTrigramIndex searchIndex;
+    private final PlantNameTrie nameTrie;
+    private final FuzzyTokenIndex fuzzyIndex;
+    private final FacetIndex facetIndex;
+    private final Bm25Index textIndex;
+    private final MonthIndex monthIndex;
+
+    private SearchSnapshot(long version, List<PlantIndex> plants, PlantCatalog catalog,
+                           ShardedTrigramIndex searchIndex, PlantNameTrie nameTrie, FuzzyTokenIndex fuzzyIndex,
+                           FacetIndex facetIndex, Bm25Index textIndex, MonthIndex monthIndex) {
+        this.version = version;
+        this.plants = plants;
+        this.catalog = catalog;
+        this.searchIndex = searchIndex;
+        this.nameTrie = nameTrie;
+        this.fuzzyIndex = fuzzyIndex;
+        this.facetIndex = facetIndex;
+        this.textIndex = textIndex;
+        this.monthIndex = monthIndex;
+    }
+
+    /**
+     * Builds the catalog and all indexes over the given records, without facet values, text or seasons.
+     *
+     * @param version the version of the new snapshot.
+     * @param plants the records; the list must not be modified afterwards.
+     * @return a new immutable snapshot.
+     */
+    public static SearchSnapshot build(long version, List<PlantIndex> plants) {
+        return build(version, plants, List.of(), null, new Bm25Index.Builder(), List.of());
+    }
+
+    /**
+     * Builds the catalog and all indexes over the given records, with facets from the given attributes, a
+     * text index over the text collected by the given builder and the months of the given seasons.
+     *
+     * @param version the version of the new snapshot.
+     * @param plants the records; the list must not be modified afterwards.
+     * @param attributes the filterable attributes of the records, in any order.
+     * @param objectMapper the shared ObjectMapper that reads attributes stored as JSON; may be null without
+     *                     attributes.
+     * @param texts the text of the records by id; it must not be used afterwards.
+     * @param seasons the pruning, flowering and harvest seasons of the records, in any order.
+     * @return a new immutable snapshot.
+     */
+    public static SearchSnapshot build(long version, List<PlantIndex> plants, List<PlantAttributes> attributes,
+                                       ObjectMapper objectMapper, Bm25Index.Builder texts,
+                                       List<PlantSeasons> seasons) {
+        PlantCatalog catalog = PlantCatalog.build(plants);
+        FacetIndex facetIndex = attributes.isEmpty()
+                ? FacetIndex.empty(catalog.size())
+                : FacetIndex.build(catalog, attributes, objectMapper);
+        MonthIndex monthIndex = seasons.isEmpty()
+                ? MonthIndex.empty(catalog.size())
+                : MonthIndex.build(catalog, seasons);
+        return new SearchSnapshot(version, plants, catalog, ShardedTrigramIndex.build(catalog),
+                PlantNameTrie.build(plants), FuzzyTokenIndex.build(catalog), facetIndex, texts.build(catalog),
+                monthIndex);
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the records of this snapshot; the position of a record is its ordinal.
+     *
+     * @return the records.
+     */
+    public List<PlantIndex> getPlants() {
+        return plants;
+    }
+
+    /**
+     * Returns the columnar catalog of the records.
+     *
+     * @return the catalog.
+     */
+    public PlantCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns the substring search index.
+     *
+     * @return the sharded trigram index.
+     */
+    public ShardedTrigramIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Returns the autocompletion trie.
+     *
+     * @return the name trie.
+     */
+    public PlantNameTrie getNameTrie() {
+        return nameTrie;
+    }
+
+    /**
+     * Returns the typo-tolerant token index.
+     *
+     * @return the fuzzy index.
+     */
+    public FuzzyTokenIndex getFuzzyIndex() {
+        return fuzzyIndex;
+    }
+
+    /**
+     * Returns the facet index.
+     *
+     * @return the facet index; empty if no attributes were supplied.
+     */
+    public FacetIndex getFacetIndex() {
+        return facetIndex;
+    }
+
+    /**
+     * Returns the full-text index over the plant descriptions.
+     *
+     * @return the text index; empty if no text was supplied.
+     */
+    public Bm25Index getTextIndex() {
+        return textIndex;
+    }
+
+    /**
+     * Returns the pruning, flowering and harvest months of the records.
+     *
+     * @return the month index; empty if no seasons were supplied.
+     */
+    public MonthIndex getMonthIndex() {
+        return monthIndex;
+    }
+}
@@ -0,0 +1,279 @@
+package com.flourish.search;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Substring search index over a {@link PlantCatalog}, split into shards that are built and searched in
+ * parallel on the common {@link ForkJoinPool}.
+ *
+ * <p>Each shard is a {@link TrigramIndex} over a contiguous range of catalog ordinals. All shards share
+ * the catalog, so sharding adds no copy of the name data, and every shard reports catalog ordinals. A
+ * query ranks the best {@code k} matches of every shard and merges the sorted shard results pairwise,
+ * keeping the best {@code k}. Since ranks order by score and then by ordinal, the merged result is
+ * identical to that of a single {@link TrigramIndex} over the whole catalog.</p>
+ *
+ * <strong>Sequential or parallel</strong>
+ * <ul>
+ *   <li>Catalogs smaller than two shards of {@link #MIN_SHARD_SIZE} records, or a common pool with a
+ *       parallelism of one, get a single shard and are searched on the calling thread.</li>
+ *   <li>Larger catalogs are split into at most four shards per worker of the common pool, and into
+ *       shards of at least {@link #MIN_SHARD_SIZE} records.</li>
+ *   <li>Queries whose candidates fit in one shard's worth of records are evaluated shard by shard on the
+ *       calling thread, since forking would cost more than it saves.</li>
+ * </ul>
+ *
+ * <p>The index is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class ShardedTrigramIndex {
+
+    /**
+     * The smallest number of records per shard when the catalog is split.
+     */
+    public static final int MIN_SHARD_SIZE = 50_000;
+
+    private static final int SHARDS_PER_WORKER = 4;
+
+    private final PlantCatalog catalog;
+    private final TrigramIndex[] shards;
+    private final int parallelThreshold;
+
+    private ShardedTrigramIndex(PlantCatalog catalog, TrigramIndex[] shards, int parallelThreshold) {
+        this.catalog = catalog;
+        this.shards = shards;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Builds an index over the given catalog, choosing the number of shards from the catalog size and
+     * the parallelism of the common pool.
+     *
+     * @param catalog the catalog to index.
+     * @return a new immutable index.
+     */
+    public static ShardedTrigramIndex build(PlantCatalog catalog) {
+        int workers = ForkJoinPool.getCommonPoolParallelism();
+        if (workers <= 1 || catalog.size() < 2 * MIN_SHARD_SIZE) {
+            return build(catalog, Math.max(1, catalog.size()), MIN_SHARD_SIZE);
+        }
+        int shardSize = (int) Math.max(MIN_SHARD_SIZE,
+                ((long) catalog.size() + workers * SHARDS_PER_WORKER - 1) / (workers * SHARDS_PER_WORKER));
+        return build(catalog, shardSize, MIN_SHARD_SIZE);
+    }
+
+    /**
+     * Builds an index over the given catalog with shards of the given size.
+     *
+     * @param catalog the catalog to index.
+     * @param shardSize the number of records per shard; the last shard may be smaller.
+     * @param parallelThreshold the candidate count from which queries are searched in parallel.
+     * @return a new immutable index.
+     */
+    static ShardedTrigramIndex build(PlantCatalog catalog, int shardSize, int parallelThreshold) {
+        int size = catalog.size();
+        int shardCount = Math.max(1, (int) (((long) size + shardSize - 1) / shardSize));
+        IntStream shardNumbers = IntStream.range(0, shardCount);
+        if (shardCount > 1) {
+            shardNumbers = shardNumbers.parallel();
+        }
+        TrigramIndex[] shards = shardNumbers
+                .mapToObj(shard -> TrigramIndex.build(catalog, (int) Math.min((long) shard * shardSize, size),
+                        (int) Math.min((long) (shard + 1) * shardSize, size)))
+                .toArray(TrigramIndex[]::new);
+        return new ShardedTrigramIndex(catalog, shards, parallelThreshold);
+    }
+
+    /**
+     * Returns the number of indexed records.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return catalog.size();
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count.
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the shard sizes, for diagnostics.
+     *
+     * @return the number of records in each shard.
+     */
+    int[] shardSizes() {
+        return Arrays.stream(shards).mapToInt(TrigramIndex::size).toArray();
+    }
+
+    /**
+     * Returns the ordinals of all records matching the encoded query, ranked by match score
+     * (best first) and then by ordinal.
+     *
+     * @param query the encoded, non-empty query.
+     * @return the ranked ordinals of all matching records.
+     */
+    public int[] search(byte[] query) {
+        return TrigramIndex.ordinals(rank(query, Integer.MAX_VALUE), 0);
+    }
+
+    /**
+     * Returns one page of the ranked matches for the encoded query. Each shard keeps only its best
+     * {@code offset + limit} matches.
+     *
+     * @param query the encoded, non-empty query.
+     * @param offset the number of best matches to skip.
+     * @param limit the maximum number of ordinals to return.
+     * @return the ranked ordinals of the requested page.
+     */
+    public int[] search(byte[] query, int offset, int limit) {
+        return TrigramIndex.ordinals(rank(query, (int) Math.min((long) offset + limit, Integer.MAX_VALUE)), offset);
+    }
+
+    /**
+     * Counts the records matching the encoded query without ranking them.
+     *
+     * @param query the encoded, non-empty query.
+     * @return the number of matching records.
+     */
+    public int count(byte[] query) {
+        IntStream shardNumbers = IntStream.range(0, shards.length);
+        if (isParallel(query)) {
+            shardNumbers = shardNumbers.parallel();
+        }
+        return shardNumbers.map(shard -> shards[shard].count(query)).sum();
+    }
+
+    /**
+     * Returns the ordinals of all records that may contain the encoded query, in ascending order.
+     *
+     * @param query the encoded, non-empty query.
+     * @return the candidate ordinals.
+     * @see TrigramIndex#candidates(byte[])
+     */
+    public int[] candidates(byte[] query) {
+        if (shards.length == 1) {
+            return shards[0].candidates(query);
+        }
+        int[][] parts = new int[shards.length][];
+        int total = 0;
+        for (int shard = 0; shard < shards.length; shard++) {
+            parts[shard] = shards[shard].candidates(query);
+            total += parts[shard].length;
+        }
+        int[] candidates = new int[total];
+        int position = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, candidates, position, part.length);
+            position += part.length;
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns an upper bound of the number of candidates for the encoded query: the sum of the shortest
+     * posting list of every shard.
+     *
+     * @param query the encoded, non-empty query.
+     * @return an upper bound of {@code candidates(query).length}.
+     */
+    public int candidateBound(byte[] query) {
+        long bound = 0;
+        for (TrigramIndex shard : shards) {
+            bound += shard.candidateBound(query);
+        }
+        return (int) Math.min(bound, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Scores the record with the given ordinal against the encoded query.
+     *
+     * @param ordinal the ordinal of the record.
+     * @param query the encoded query.
+     * @return the match score, or {@link PlantCatalog#NO_MATCH} if no name contains the query.
+     */
+    public int score(int ordinal, byte[] query) {
+        return catalog.matchScore(ordinal, query);
+    }
+
+    private boolean isParallel(byte[] query) {
+        return shards.length > 1 && candidateBound(query) >= parallelThreshold;
+    }
+
+    private long[] rank(byte[] query, int k) {
+        if (shards.length == 1) {
+            return shards[0].rank(query, k);
+        }
+        if (isParallel(query)) {
+            return ForkJoinPool.commonPool().invoke(new RankTask(query, k, 0, shards.length));
+        }
+        long[] ranks = shards[0].rank(query, k);
+        for (int shard = 1; shard < shards.length; shard++) {
+            ranks = merge(ranks, shards[shard].rank(query, k), k);
+        }
+        return ranks;
+    }
+
+    /**
+     * Merges two sorted rank arrays, keeping the best {@code k}.
+     */
+    static long[] merge(long[] a, long[] b, int k) {
+        if (b.length == 0 && a.length <= k) {
+            return a;
+        }
+        if (a.length == 0 && b.length <= k) {
+            return b;
+        }
+        long[] merged = new long[(int) Math.min((long) a.length + b.length, k)];
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < merged.length; n++) {
+            merged[n] = j >= b.length || (i < a.length && a[i] < b[j]) ? a[i++] : b[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * Ranks a range of shards by splitting it in halves until a single shard remains, then merges the
+     * sorted results of both halves.
+     */
+    private final class RankTask extends RecursiveTask<long[]> {
+
+        private final byte[] query;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        RankTask(byte[] query, int k, int from, int to) {
+            this.query = query;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from == 1) {
+                return shards[from].rank(query, k);
+            }
+            int middle = (from + to) >>> 1;
+            RankTask left = new RankTask(query, k, from, middle);
+            left.fork();
+            long[] right = new RankTask(query, k, middle, to).compute();
+            return merge(left.join(), right, k);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable table of the most similar plants of every plant, precomputed from their attributes.
+ *
+ * <p>Plants are encoded into {@link PlantFeatures} and compared pairwise. For each plant, the positions of
+ * its {@code k} nearest neighbours, nearest first, are stored as an {@code int[]}, so looking up the similar
+ * plants of a plant is a hash lookup of its id and an array read. Neighbours with equal dissimilarity are
+ * ordered by position, and plants that are not comparable are never neighbours.</p>
+ *
+ * <p>{@link #build(List, int, ObjectMapper)} compares every pair of plants, which takes quadratic time, and
+ * spreads the plants over the common fork/join pool. {@link #update(List, ObjectMapper)} handles plants whose
+ * attributes changed or that are new without a full rebuild: the changed plants are compared with all plants,
+ * and every other plant only with the changed ones, unless one of its neighbours changed, in which case its
+ * neighbours are recomputed. The result is the same as a full rebuild.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class SimilarPlantsIndex {
+
+    private static final float DISTANCE_SCALE = 1 << 24;
+
+    private final int k;
+    private final List<PlantAttributes> plants;
+    private final Map<Long, Integer> positions;
+    private final int[][] neighbours;
+
+    private SimilarPlantsIndex(int k, List<PlantAttributes> plants, Map<Long, Integer> positions,
+                               int[][] neighbours) {
+        this.k = k;
+        this.plants = plants;
+        this.positions = positions;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Returns an index without plants.
+     *
+     * @param k the number of neighbours per plant.
+     * @return an empty index.
+     */
+    public static SimilarPlantsIndex empty(int k) {
+        return build(List.of(), k, null);
+    }
+
+    /**
+     * Computes the neighbours of all given plants. Plants without an id are ignored, and of several plants
+     * with the same id the last one is kept.
+     *
+     * @param attributes the attributes of the plants.
+     * @param k the number of neighbours per plant.
+     * @param objectMapper the mapper that reads the JSON-encoded attributes.
+     * @return a new immutable index.
+     */
+    public static SimilarPlantsIndex build(List<PlantAttributes> attributes, int k, ObjectMapper objectMapper) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        List<PlantAttributes> plants = new ArrayList<>();
+        Map<Long, Integer> positions = new HashMap<>();
+        merge(plants, positions, attributes, new BitSet());
+        PlantFeatures features = PlantFeatures.encode(plants, objectMapper);
+        int[][] neighbours = new int[plants.size()][];
+        IntStream.range(0, plants.size()).parallel()
+                .forEach(position -> neighbours[position] = nearest(features, position, k));
+        return new SimilarPlantsIndex(k, plants, positions, neighbours);
+    }
+
+    /**
+     * Returns a new index in which the given plants are added or replace the plants with the same id.
+     *
+     * @param changed the attributes of the new or changed plants.
+     * @param objectMapper the mapper that reads the JSON-encoded attributes.
+     * @return a new immutable index; this index is not modified.
+     */
+    public SimilarPlantsIndex update(List<PlantAttributes> changed, ObjectMapper objectMapper) {
+        List<PlantAttributes> merged = new ArrayList<>(plants);
+        Map<Long, Integer> mergedPositions = new HashMap<>(positions);
+        BitSet changedPositions = new BitSet();
+        merge(merged, mergedPositions, changed, changedPositions);
+        if (changedPositions.isEmpty()) {
+            return this;
+        }
+        PlantFeatures mergedFeatures = PlantFeatures.encode(merged, objectMapper);
+        int[] changedList = changedPositions.stream().toArray();
+        int[][] updated = new int[merged.size()][];
+        IntStream.range(0, merged.size()).parallel().forEach(position -> {
+            int[] previous = position < neighbours.length ? neighbours[position] : null;
+            boolean rescan = previous == null || changedPositions.get(position);
+            for (int i = 0; !rescan && i < previous.length; i++) {
+                rescan = changedPositions.get(previous[i]);
+            }
+            updated[position] = rescan
+                    ? nearest(mergedFeatures, position, k)
+                    : nearest(mergedFeatures, position, k, previous, changedList);
+        });
+        return new SimilarPlantsIndex(k, merged, mergedPositions, updated);
+    }
+
+    /**
+     * Returns the number of plants.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return plants.size();
+    }
+
+    /**
+     * Returns the number of neighbours kept per plant.
+     *
+     * @return k.
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Returns the ids of the plants most similar to the given plant, most similar first.
+     *
+     * @param id the plant id.
+     * @return up to {@code k} ids; empty if the plant is unknown or has no comparable plants.
+     */
+    public long[] similarIds(long id) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            return new long[0];
+        }
+        int[] nearest = neighbours[position];
+        long[] ids = new long[nearest.length];
+        for (int i = 0; i < nearest.length; i++) {
+            ids[i] = plants.get(nearest[i]).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the plants to the list, replacing plants with the same id, and marks their positions.
+     */
+    private static void merge(List<PlantAttributes> plants, Map<Long, Integer> positions,
+                              List<PlantAttributes> changed, BitSet changedPositions) {
+        for (PlantAttributes plant : changed) {
+            if (plant.getId() == null) {
+                continue;
+            }
+            Integer position = positions.get(plant.getId());
+            if (position == null) {
+                position = plants.size();
+                plants.add(plant);
+                positions.put(plant.getId(), position);
+            } else {
+                plants.set(position, plant);
+            }
+            changedPositions.set(position);
+        }
+    }
+
+    /**
+     * Finds the nearest neighbours of a plant among all plants.
+     */
+    private static int[] nearest(PlantFeatures features, int position, int k) {
+        TopK top = new TopK(k);
+        for (int other = 0; other < features.size(); other++) {
+            offer(top, features, position, other);
+        }
+        return top.toSortedOrdinals(0);
+    }
+
+    /**
+     * Finds the nearest neighbours of a plant among its previous neighbours and the changed plants.
+     */
+    private static int[] nearest(PlantFeatures features, int position, int k, int[] previous, int[] changed) {
+        TopK top = new TopK(k);
+        for (int other : previous) {
+            offer(top, features, position, other);
+        }
+        for (int other : changed) {
+            offer(top, features, position, other);
+        }
+        return top.toSortedOrdinals(0);
+    }
+
+    private static void offer(TopK top, PlantFeatures features, int position, int other) {
+        if (other == position) {
+            return;
+        }
+        float distance = features.distance(position, other);
+        if (!Float.isNaN(distance)) {
+            top.offer((int) (distance * DISTANCE_SCALE), other);
+        }
+    }
+}
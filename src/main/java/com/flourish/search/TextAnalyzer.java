@@ -0,0 +1,174 @@
+package com.flourish.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits free text such as plant descriptions into the terms of a {@link Bm25Index}.
+ *
+ * <p>Text is normalized with {@link PlantCatalog#normalize(String)}, which folds accents and case, and
+ * split into runs of letters and digits. Terms shorter than two characters and common English stop words
+ * are dropped. The remaining terms are stemmed with step 1 of the Porter stemmer, which removes plural
+ * endings, "-ed" and "-ing" and turns a final "y" into "i", so "shaded", "shading" and "shades" all become
+ * "shade". Documents and queries are analyzed the same way.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class TextAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "can", "for", "from", "has", "have",
+            "if", "in", "into", "is", "it", "its", "may", "no", "not", "of", "on", "or", "such", "that", "the",
+            "their", "them", "then", "there", "these", "they", "this", "to", "was", "were", "when", "which",
+            "while", "will", "with");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Returns the terms of the given text in order of occurrence, including repeated terms.
+     *
+     * @param text the text; may be null.
+     * @return the stemmed terms.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = PlantCatalog.normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = normalized.substring(start, i);
+                if (word.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Applies steps 1a, 1b and 1c of the Porter stemmer to a lower-case word.
+     *
+     * @param word the word.
+     * @return the stem.
+     */
+    static String stem(String word) {
+        StringBuilder stem = new StringBuilder(word);
+        if (stem.length() <= 2) {
+            return word;
+        }
+
+        if (endsWith(stem, "sses") || endsWith(stem, "ies")) {
+            stem.setLength(stem.length() - 2);
+        } else if (!endsWith(stem, "ss") && endsWith(stem, "s")) {
+            stem.setLength(stem.length() - 1);
+        }
+
+        if (endsWith(stem, "eed")) {
+            if (measure(stem, stem.length() - 3) > 0) {
+                stem.setLength(stem.length() - 1);
+            }
+        } else if ((endsWith(stem, "ed") && hasVowel(stem, stem.length() - 2))
+                || (endsWith(stem, "ing") && hasVowel(stem, stem.length() - 3))) {
+            stem.setLength(stem.length() - (endsWith(stem, "ed") ? 2 : 3));
+            if (endsWith(stem, "at") || endsWith(stem, "bl") || endsWith(stem, "iz")) {
+                stem.append('e');
+            } else if (endsWithDoubleConsonant(stem)) {
+                char last = stem.charAt(stem.length() - 1);
+                if (last != 'l' && last != 's' && last != 'z') {
+                    stem.setLength(stem.length() - 1);
+                }
+            } else if (measure(stem, stem.length()) == 1 && endsWithCvc(stem)) {
+                stem.append('e');
+            }
+        }
+
+        if (endsWith(stem, "y") && hasVowel(stem, stem.length() - 1)) {
+            stem.setCharAt(stem.length() - 1, 'i');
+        }
+        return stem.toString();
+    }
+
+    private static boolean endsWith(StringBuilder word, String suffix) {
+        int offset = word.length() - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (word.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether the character at the given position is a consonant in the sense of Porter: any letter
+     * other than a, e, i, o and u, where y is a consonant only at the start or after a vowel.
+     */
+    private static boolean isConsonant(StringBuilder word, int index) {
+        return switch (word.charAt(index)) {
+            case 'a', 'e', 'i', 'o', 'u' -> false;
+            case 'y' -> index == 0 || !isConsonant(word, index - 1);
+            default -> true;
+        };
+    }
+
+    /**
+     * Counts the vowel-consonant sequences in the first {@code length} characters.
+     */
+    private static int measure(StringBuilder word, int length) {
+        int measure = 0;
+        boolean vowelSeen = false;
+        for (int i = 0; i < length; i++) {
+            if (!isConsonant(word, i)) {
+                vowelSeen = true;
+            } else if (vowelSeen) {
+                measure++;
+                vowelSeen = false;
+            }
+        }
+        return measure;
+    }
+
+    private static boolean hasVowel(StringBuilder word, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!isConsonant(word, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithDoubleConsonant(StringBuilder word) {
+        int last = word.length() - 1;
+        return last >= 1 && word.charAt(last) == word.charAt(last - 1) && isConsonant(word, last);
+    }
+
+    /**
+     * Tests whether the word ends consonant-vowel-consonant, where the last consonant is not w, x or y.
+     */
+    private static boolean endsWithCvc(StringBuilder word) {
+        int last = word.length() - 1;
+        if (last < 2 || !isConsonant(word, last) || isConsonant(word, last - 1) || !isConsonant(word, last - 2)) {
+            return false;
+        }
+        char c = word.charAt(last);
+        return c != 'w' && c != 'x' && c != 'y';
+    }
+}
@@ -0,0 +1,151 @@
+package com.flourish.search;
+
+import java.util.Arrays;
+
+/**
+ * Bounded selection of the {@code k} best ranked ordinals.
+ *
+ * <p>Entries are packed into a single {@code long} as {@code (score << 32) | ordinal}, so that the natural
+ * order of the packed value is "lowest score first, then lowest ordinal". The structure keeps a binary
+ * max-heap of at most {@code k} entries; an offered entry only enters the heap when it is better than the
+ * current worst entry. Selecting the top {@code k} of {@code n} matches therefore costs
+ * {@code O(n log k)} time and {@code O(k)} memory instead of a full sort of all matches.</p>
+ *
+ * <p>Instances are not thread-safe and are meant to be used for a single query.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class TopK {
+
+    private final long[] heap;
+    private int size;
+
+    /**
+     * Creates a selection that keeps at most {@code k} entries.
+     *
+     * @param k the maximum number of entries to keep; must not be negative.
+     */
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.heap = new long[k];
+    }
+
+    /**
+     * Packs a score and an ordinal into a single rank value.
+     *
+     * @param score the non-negative match score, lower is better.
+     * @param ordinal the non-negative ordinal.
+     * @return the packed rank.
+     */
+    public static long pack(int score, int ordinal) {
+        return ((long) score << 32) | ordinal;
+    }
+
+    /**
+     * Extracts the ordinal from a packed rank.
+     *
+     * @param rank the packed rank.
+     * @return the ordinal.
+     */
+    public static int ordinal(long rank) {
+        return (int) rank;
+    }
+
+    /**
+     * Offers a scored ordinal to the selection.
+     *
+     * @param score the non-negative match score, lower is better.
+     * @param ordinal the non-negative ordinal.
+     */
+    public void offer(int score, int ordinal) {
+        offer(pack(score, ordinal));
+    }
+
+    /**
+     * Offers a packed rank to the selection.
+     *
+     * @param rank the packed rank.
+     */
+    public void offer(long rank) {
+        if (size < heap.length) {
+            heap[size] = rank;
+            siftUp(size++);
+        } else if (size > 0 && rank < heap[0]) {
+            heap[0] = rank;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Returns the number of entries currently kept.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the kept ranks, best first.
+     *
+     * @return the sorted packed ranks.
+     */
+    public long[] toSortedRanks() {
+        long[] ranks = Arrays.copyOf(heap, size);
+        Arrays.sort(ranks);
+        return ranks;
+    }
+
+    /**
+     * Returns the ordinals of the kept entries, best first, skipping the first {@code offset} entries.
+     *
+     * @param offset the number of best entries to skip.
+     * @return the ordinals from position {@code offset} onwards.
+     */
+    public int[] toSortedOrdinals(int offset) {
+        long[] ranks = toSortedRanks();
+        int from = Math.min(offset, ranks.length);
+        int[] ordinals = new int[ranks.length - from];
+        for (int i = from; i < ranks.length; i++) {
+            ordinals[i - from] = ordinal(ranks[i]);
+        }
+        return ordinals;
+    }
+
+    private void siftUp(int index) {
+        long value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown(int index) {
+        long value = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (value >= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
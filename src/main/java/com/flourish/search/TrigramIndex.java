@@ -0,0 +1,284 @@
+package com.flourish.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory n-gram inverted index over the names held by a {@link PlantCatalog}.
+ *
+ * <p>The index is built once from a catalog, or from a range of its ordinals when it serves as one shard
+ * of a {@link ShardedTrigramIndex}. Every record is identified by its ordinal in the catalog.
+ * For each normalized name of a record (common name, scientific name and aliases) all byte grams of
+ * length one, two and three are extracted and the ordinal is appended to the posting list of each gram.
+ * Posting lists are therefore sorted in ascending ordinal order and free of duplicates.</p>
+ *
+ * <strong>Query evaluation</strong>
+ * <ul>
+ *   <li>Queries are encoded with {@link PlantCatalog#encodeQuery(String)}.</li>
+ *   <li>Queries of up to three bytes are a single gram; its posting list is the exact result set.</li>
+ *   <li>Longer queries intersect the posting lists of all their trigrams, smallest list first. The
+ *   surviving candidates are verified against the catalog, since trigrams may come from different
+ *   positions or different names.</li>
+ *   <li>Each match is scored exactly once with {@link PlantCatalog#matchScore(int, byte[])} and the result
+ *   is ordered by score and then by ordinal, which is the order of the original stable sort. Paged queries
+ *   keep only the requested top {@code offset + limit} matches in a {@link TopK} heap.</li>
+ * </ul>
+ *
+ * <p>The index is immutable after construction and can be shared between threads.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+public final class TrigramIndex {
+
+    private static final int MAX_GRAM = 3;
+    private static final int[] EMPTY = new int[0];
+
+    private final PlantCatalog catalog;
+    private final Map<Integer, int[]> postings;
+    private final int size;
+
+    private TrigramIndex(PlantCatalog catalog, Map<Integer, int[]> postings, int size) {
+        this.catalog = catalog;
+        this.postings = postings;
+        this.size = size;
+    }
+
+    /**
+     * Builds an index over the names of the given catalog.
+     *
+     * @param catalog the catalog to index.
+     * @return a new immutable index.
+     */
+    public static TrigramIndex build(PlantCatalog catalog) {
+        return build(catalog, 0, catalog.size());
+    }
+
+    /**
+     * Builds an index over the names of the records with ordinals from {@code from} up to, but not
+     * including, {@code to}. Results still carry catalog ordinals.
+     *
+     * @param catalog the catalog to index.
+     * @param from the first ordinal to index.
+     * @param to the end of the ordinal range.
+     * @return a new immutable index.
+     */
+    public static TrigramIndex build(PlantCatalog catalog, int from, int to) {
+        Map<Integer, IntList> building = new HashMap<>();
+        byte[] arena = catalog.arena();
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            for (int name = catalog.firstName(ordinal); name < catalog.firstName(ordinal + 1); name++) {
+                addGrams(building, arena, catalog.nameStart(name), catalog.nameStart(name + 1), ordinal);
+            }
+        }
+
+        Map<Integer, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((key, list) -> postings.put(key, list.toArray()));
+        return new TrigramIndex(catalog, postings, to - from);
+    }
+
+    /**
+     * Returns the number of indexed records.
+     *
+     * @return the number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ordinals of all records matching the encoded query, ranked by match score
+     * (best first) and then by ordinal.
+     *
+     * @param query the encoded, non-empty query.
+     * @return the ranked ordinals of all matching records.
+     */
+    public int[] search(byte[] query) {
+        return ordinals(rank(query, Integer.MAX_VALUE), 0);
+    }
+
+    /**
+     * Returns one page of the ranked matches for the encoded query.
+     *
+     * <p>Only the best {@code offset + limit} matches are kept in a bounded heap while the candidates are
+     * scored, so the cost of a page does not include sorting every match.</p>
+     *
+     * @param query the encoded, non-empty query.
+     * @param offset the number of best matches to skip.
+     * @param limit the maximum number of ordinals to return.
+     * @return the ranked ordinals of the requested page.
+     */
+    public int[] search(byte[] query, int offset, int limit) {
+        return ordinals(rank(query, (int) Math.min((long) offset + limit, Integer.MAX_VALUE)), offset);
+    }
+
+    /**
+     * Returns the packed ranks (see {@link TopK#pack(int, int)}) of the best {@code k} matches, best first.
+     * When {@code k} covers every candidate, all matches are sorted; otherwise a {@link TopK} heap keeps
+     * only the best {@code k}.
+     *
+     * @param query the encoded, non-empty query.
+     * @param k the maximum number of ranks to return.
+     * @return the sorted packed ranks.
+     */
+    long[] rank(byte[] query, int k) {
+        int[] candidates = candidates(query);
+        if (k < candidates.length) {
+            TopK topK = new TopK(k);
+            for (int ordinal : candidates) {
+                int score = score(ordinal, query);
+                if (score != PlantCatalog.NO_MATCH) {
+                    topK.offer(score, ordinal);
+                }
+            }
+            return topK.toSortedRanks();
+        }
+        long[] ranked = new long[candidates.length];
+        int count = 0;
+        for (int ordinal : candidates) {
+            int score = score(ordinal, query);
+            if (score != PlantCatalog.NO_MATCH) {
+                ranked[count++] = TopK.pack(score, ordinal);
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+        return count == ranked.length ? ranked : Arrays.copyOf(ranked, count);
+    }
+
+    /**
+     * Extracts the ordinals from sorted packed ranks, skipping the first {@code offset}.
+     */
+    static int[] ordinals(long[] ranks, int offset) {
+        int from = Math.min(offset, ranks.length);
+        int[] ordinals = new int[ranks.length - from];
+        for (int i = from; i < ranks.length; i++) {
+            ordinals[i - from] = TopK.ordinal(ranks[i]);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Counts the records matching the encoded query without ranking them.
+     *
+     * @param query the encoded, non-empty query.
+     * @return the number of matching records.
+     */
+    public int count(byte[] query) {
+        int[] candidates = candidates(query);
+        if (query.length <= MAX_GRAM) {
+            return candidates.length;
+        }
+        int count = 0;
+        for (int ordinal : candidates) {
+            if (score(ordinal, query) != PlantCatalog.NO_MATCH) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ordinals of all records that may contain the encoded query, in ascending order.
+     *
+     * <p>For queries of up to three bytes every candidate is a match. For longer queries the
+     * candidates are a superset of the matches and must be verified with {@link #score(int, byte[])}.</p>
+     *
+     * @param query the encoded, non-empty query.
+     * @return the candidate ordinals.
+     */
+    public int[] candidates(byte[] query) {
+        if (query.length <= MAX_GRAM) {
+            return postings.getOrDefault(gramKey(query, 0, query.length), EMPTY);
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM <= query.length; i++) {
+            int[] list = postings.get(gramKey(query, i, MAX_GRAM));
+            if (list == null) {
+                return EMPTY;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound of the number of candidates for the encoded query without intersecting any
+     * posting lists: the length of the shortest posting list the query needs.
+     *
+     * @param query the encoded, non-empty query.
+     * @return an upper bound of {@code candidates(query).length}.
+     */
+    public int candidateBound(byte[] query) {
+        if (query.length <= MAX_GRAM) {
+            return postings.getOrDefault(gramKey(query, 0, query.length), EMPTY).length;
+        }
+        int bound = Integer.MAX_VALUE;
+        for (int i = 0; i + MAX_GRAM <= query.length; i++) {
+            bound = Math.min(bound, postings.getOrDefault(gramKey(query, i, MAX_GRAM), EMPTY).length);
+        }
+        return bound;
+    }
+
+    /**
+     * Scores the record with the given ordinal against the encoded query.
+     *
+     * @param ordinal the ordinal of the record.
+     * @param query the encoded query.
+     * @return the match score, or {@link PlantCatalog#NO_MATCH} if no name contains the query.
+     */
+    public int score(int ordinal, byte[] query) {
+        return catalog.matchScore(ordinal, query);
+    }
+
+    private static void addGrams(Map<Integer, IntList> building, byte[] bytes, int from, int to, int ordinal) {
+        for (int start = from; start < to; start++) {
+            for (int length = 1; length <= MAX_GRAM && start + length <= to; length++) {
+                building.computeIfAbsent(gramKey(bytes, start, length), k -> new IntList()).addIfAbsent(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Packs up to three bytes and the gram length into a single key.
+     */
+    private static int gramKey(byte[] bytes, int start, int length) {
+        int key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 8) | (bytes[start + i] & 0xFF);
+        }
+        return key;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
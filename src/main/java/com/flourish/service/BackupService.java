@@ -1,10 +1,13 @@
 package com.flourish.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flourish.domain.PlantDetails;
+import com.flourish.repository.CatalogUpsertRepository;
 import com.flourish.repository.PlantDetailsRepository;
 import com.flourish.domain.PlantIndex;
 import com.flourish.repository.PlantIndexRepository;
+import com.flourish.search.PlantIndexFile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
@@ -19,7 +22,10 @@ import java.util.List;
  * tables to two separate .txt files in JSON format, ordered by ascending ID.
  *
  * <p>The JSON files are written using UTF-8 encoding, making it easy to reinstantiate the objects
- * later or insert the data into a database.</p>
+ * later or insert the data into a database. The restore methods write them back with batched upserts.</p>
+ *
+ * <p>The plant_index table can also be written in the compact binary format of {@link PlantIndexFile},
+ * which {@link PlantSearchService} memory-maps at startup instead of parsing the JSON file.</p>
  *
  * <strong>Behaviour & Usage</strong>
  * <ul>
@@ -41,6 +47,8 @@ public class BackupService {
 
     private final PlantIndexRepository plantIndexRepository;
     private final PlantDetailsRepository plantDetailsRepository;
+    private final CatalogUpsertRepository catalogUpsertRepository;
+    private final PlantDetailsService plantDetailsService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -48,12 +56,18 @@ public class BackupService {
      *
      * @param plantIndexRepository    the repository for PlantIndex entities.
      * @param plantDetailsRepository  the repository for PlantDetails entities.
+     * @param catalogUpsertRepository the repository that writes restored rows in batches.
+     * @param plantDetailsService     the service whose in-memory catalog and cache are updated with restored details.
      */
     @Autowired
     public BackupService(PlantIndexRepository plantIndexRepository,
-                         PlantDetailsRepository plantDetailsRepository) {
+                         PlantDetailsRepository plantDetailsRepository,
+                         CatalogUpsertRepository catalogUpsertRepository,
+                         PlantDetailsService plantDetailsService) {
         this.plantIndexRepository = plantIndexRepository;
         this.plantDetailsRepository = plantDetailsRepository;
+        this.catalogUpsertRepository = catalogUpsertRepository;
+        this.plantDetailsService = plantDetailsService;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -69,6 +83,7 @@ public class BackupService {
     //@Override
     public void run(String... args) throws Exception {
         //backupPlantIndexToFile("var/app/backups/plant_index_backup.txt");
+        //backupPlantIndexToBinaryFile("var/app/backups/plant_index_backup.bin");
         //backupPlantDetailsToFile("var/app/backups/plant_details_backup.txt");
     }
 
@@ -88,6 +103,22 @@ public class BackupService {
         System.out.println("Backup of plant_index completed. File: " + fileName);
     }
 
+    /**
+     * Backs up the PlantIndex records to a specified file in the binary format read by
+     * {@link PlantIndexFile}, sorted in ascending order by ID.
+     *
+     * @param fileName the name of the output file (e.g., "plant_index_backup.bin").
+     * @throws IOException if an error occurs while writing the file.
+     */
+    public void backupPlantIndexToBinaryFile(String fileName) throws IOException {
+        List<PlantIndex> indexList = plantIndexRepository.findAll(
+                Sort.by(Sort.Direction.ASC, "id")
+        );
+
+        PlantIndexFile.write(Path.of(fileName), indexList);
+        System.out.println("Binary backup of plant_index completed. File: " + fileName);
+    }
+
     /**
      * Backs up the PlantDetails records to a specified file in JSON format, sorted in ascending order by ID.
      *
@@ -103,4 +134,47 @@ public class BackupService {
         Files.writeString(Path.of(fileName), json);
         System.out.println("Backup of plant_details completed. File: " + fileName);
     }
+
+    /**
+     * Restores PlantIndex records from a JSON backup file written by {@link #backupPlantIndexToFile(String)}.
+     *
+     * <p>Rows are inserted or updated with the batched upserts of {@link CatalogUpsertRepository}, so
+     * records that exist are overwritten and others are left untouched.</p>
+     *
+     * @param fileName the name of the backup file (e.g., "plant_index_backup.txt").
+     * @return the number of restored records.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    public int restorePlantIndexFromFile(String fileName) throws IOException {
+        List<PlantIndex> indexList = objectMapper.readValue(Files.readString(Path.of(fileName)),
+                new TypeReference<List<PlantIndex>>() {});
+
+        int restored = catalogUpsertRepository.upsertPlantIndex(indexList);
+        System.out.println("Restore of plant_index completed. Records: " + restored);
+        return restored;
+    }
+
+    /**
+     * Restores PlantDetails records from a JSON backup file written by {@link #backupPlantDetailsToFile(String)}.
+     *
+     * <p>Rows are written in the same way as in {@link #restorePlantIndexFromFile(String)}. The restored
+     * records are then invalidated in the details cache of {@link PlantDetailsService}, which adds them to
+     * its known ids, and published in its in-memory catalog, so they can be looked up right away.</p>
+     *
+     * @param fileName the name of the backup file (e.g., "plant_details_backup.txt").
+     * @return the number of restored records.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    public int restorePlantDetailsFromFile(String fileName) throws IOException {
+        List<PlantDetails> detailsList = objectMapper.readValue(Files.readString(Path.of(fileName)),
+                new TypeReference<List<PlantDetails>>() {});
+
+        int restored = catalogUpsertRepository.upsertPlantDetails(detailsList);
+        for (PlantDetails details : detailsList) {
+            plantDetailsService.invalidate(details.getId());
+        }
+        plantDetailsService.update(detailsList);
+        System.out.println("Restore of plant_details completed. Records: " + restored);
+        return restored;
+    }
 }
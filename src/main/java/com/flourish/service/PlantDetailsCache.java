@@ -0,0 +1,581 @@
+package com.flourish.service;
+
+import com.flourish.domain.PlantDetails;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded, read-through cache of plant details with W-TinyLFU eviction.
+ *
+ * <p>Entries are weighed by the length of their large text columns, the JSON and URL columns mapped as
+ * LOBs, plus a fixed overhead per entry, so a few plants with long descriptions cannot crowd out many
+ * small ones unnoticed. Two limits bound the cache: {@code maxEntries} and {@code maxWeight}.</p>
+ *
+ * <strong>Eviction</strong>
+ * <ul>
+ *   <li>New entries enter a small least-recently-used window of one percent of the limits, so a burst
+ *       of new plants does not displace popular ones.</li>
+ *   <li>Entries leaving the window are candidates for the main region. A candidate is only admitted in
+ *       place of the least recently used entry of the main region if it was requested more often
+ *       recently, as estimated by a count-min sketch of 4-bit counters that are halved periodically so
+ *       old popularity fades.</li>
+ *   <li>The main region is a segmented LRU: entries hit again in its probation segment move to a
+ *       protected segment of 80 percent of the region, and victims are taken from probation first.</li>
+ * </ul>
+ *
+ * <p>Lookups that miss load the details outside the lock, and concurrent misses for the same id share one
+ * load. {@link #getAll(List, Function)} loads all ids it misses with one batch load instead, which is not
+ * shared with other lookups. An {@link #invalidate(long)} while a load is running keeps the loaded value
+ * out of the cache, so details saved during a load are read again on the next lookup. Ids without details
+ * are not cached.</p>
+ *
+ * <p>The cache is thread-safe. The cached entities are shared and must not be modified by callers.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class PlantDetailsCache {
+
+    /**
+     * The weight of an entry besides its large text columns, in characters.
+     */
+    static final int ENTRY_OVERHEAD = 1_000;
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final FrequencySketch sketch;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Segment window = new Segment();
+    private final Segment probation = new Segment();
+    private final Segment protectedSegment = new Segment();
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<PlantDetails>>> loading =
+            new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of cached plants; 0 disables caching.
+     * @param maxWeight the maximum total weight of the cached plants.
+     * @throws IllegalArgumentException if a limit is negative.
+     */
+    public PlantDetailsCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException("Cache limits must not be negative.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    /**
+     * Returns the weight of the given details: the length of their large text columns plus
+     * {@link #ENTRY_OVERHEAD}.
+     *
+     * @param details the details.
+     * @return the weight.
+     */
+    public static long weigh(PlantDetails details) {
+        return ENTRY_OVERHEAD
+                + length(details.getPruningCount()) + length(details.getAttracts())
+                + length(details.getPestSusceptibility()) + length(details.getPropagation())
+                + length(details.getDefaultImageOriginalUrl()) + length(details.getDefaultImageRegularUrl())
+                + length(details.getDefaultImageMediumUrl()) + length(details.getDefaultImageSmallUrl())
+                + length(details.getDefaultImageThumbnail()) + length(details.getOrigin())
+                + length(details.getDescription()) + length(details.getSoil())
+                + length(details.getHardinessLocationFullIframe()) + length(details.getPlantAnatomy())
+                + length(details.getPruningMonth()) + length(details.getSunlight())
+                + length(details.getDimensions());
+    }
+
+    /**
+     * Returns the cached details of a plant, loading and caching them on a miss.
+     *
+     * @param id the plant id.
+     * @param loader loads the details of an id that is not cached; exceptions it throws are rethrown.
+     * @return the details, or an empty Optional if the loader found none.
+     */
+    public Optional<PlantDetails> get(long id, LongFunction<Optional<PlantDetails>> loader) {
+        long generation;
+        synchronized (nodes) {
+            sketch.increment(id);
+            Node node = nodes.get(id);
+            if (node != null) {
+                onHit(node);
+                hits.increment();
+                return Optional.of(node.details);
+            }
+            generation = invalidations;
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<PlantDetails>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<PlantDetails>> running = loading.putIfAbsent(id, load);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            long start = System.nanoTime();
+            Optional<PlantDetails> details;
+            try {
+                details = loader.apply(id);
+            } finally {
+                loadNanos.add(System.nanoTime() - start);
+            }
+            loads.increment();
+            details.ifPresent(value -> put(id, value, generation));
+            load.complete(details);
+            return details;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, load);
+        }
+    }
+
+    /**
+     * Returns the cached details of several plants, loading all that are not cached with one call of the
+     * batch loader and caching them.
+     *
+     * @param ids the distinct plant ids.
+     * @param loader loads the details of the ids that are not cached, in any order, omitting ids without
+     *               details; exceptions it throws are rethrown.
+     * @return the details of the plants that have details, by id.
+     */
+    public Map<Long, PlantDetails> getAll(List<Long> ids, Function<List<Long>, List<PlantDetails>> loader) {
+        Map<Long, PlantDetails> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long generation;
+        synchronized (nodes) {
+            for (Long id : ids) {
+                sketch.increment(id);
+                Node node = nodes.get(id);
+                if (node != null) {
+                    onHit(node);
+                    found.put(id, node.details);
+                } else {
+                    missing.add(id);
+                }
+            }
+            generation = invalidations;
+        }
+        hits.add(ids.size() - missing.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long start = System.nanoTime();
+        List<PlantDetails> loaded;
+        try {
+            loaded = loader.apply(missing);
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            throw e;
+        } finally {
+            loadNanos.add(System.nanoTime() - start);
+        }
+        loads.increment();
+        for (PlantDetails details : loaded) {
+            if (details.getId() != null) {
+                found.put(details.getId(), details);
+                put(details.getId(), details, generation);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes the details of a plant, for example after they were saved.
+     *
+     * @param id the plant id.
+     */
+    public void invalidate(long id) {
+        synchronized (nodes) {
+            invalidations++;
+            Node node = nodes.remove(id);
+            if (node != null) {
+                node.segment.remove(node);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. The counters are kept.
+     */
+    public void invalidateAll() {
+        synchronized (nodes) {
+            invalidations++;
+            nodes.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current statistics.
+     */
+    public Stats stats() {
+        synchronized (nodes) {
+            return new Stats(hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), loadNanos.sum(),
+                    evictions.sum(), nodes.size(),
+                    window.weight + probation.weight + protectedSegment.weight);
+        }
+    }
+
+    private void put(long id, PlantDetails details, long generation) {
+        long weight = weigh(details);
+        if (maxEntries == 0 || weight > maxWeight) {
+            return;
+        }
+        synchronized (nodes) {
+            if (generation != invalidations || nodes.containsKey(id)) {
+                return;
+            }
+            Node node = new Node(id, details, weight);
+            nodes.put(id, node);
+            window.addLast(node);
+            evict();
+        }
+    }
+
+    private void onHit(Node node) {
+        if (node.segment == probation) {
+            probation.remove(node);
+            protectedSegment.addLast(node);
+            while (protectedSegment.size > percentOf(maxEntries, PROTECTED_PERCENT)
+                    || protectedSegment.weight > percentOf(maxWeight, PROTECTED_PERCENT)) {
+                Node demoted = protectedSegment.first;
+                protectedSegment.remove(demoted);
+                probation.addLast(demoted);
+            }
+        } else {
+            node.segment.moveToLast(node);
+        }
+    }
+
+    /**
+     * Moves entries beyond the window limits to the main region, admitting each only if it is requested
+     * more often than the victim it would displace, then evicts until both limits hold.
+     */
+    private void evict() {
+        while (window.size > Math.max(1, percentOf(maxEntries, WINDOW_PERCENT))
+                || window.weight > Math.max(1, percentOf(maxWeight, WINDOW_PERCENT))) {
+            Node candidate = window.first;
+            window.remove(candidate);
+            probation.addLast(candidate);
+            while (overLimits()) {
+                Node victim = probation.first != candidate ? probation.first : protectedSegment.first;
+                if (victim == null || sketch.frequency(candidate.id) <= sketch.frequency(victim.id)) {
+                    evict(candidate);
+                    break;
+                }
+                evict(victim);
+            }
+        }
+        while (overLimits()) {
+            evict(probation.first != null ? probation.first
+                    : protectedSegment.first != null ? protectedSegment.first : window.first);
+        }
+    }
+
+    private boolean overLimits() {
+        return nodes.size() > maxEntries
+                || window.weight + probation.weight + protectedSegment.weight > maxWeight;
+    }
+
+    private void evict(Node node) {
+        nodes.remove(node.id);
+        node.segment.remove(node);
+        evictions.increment();
+    }
+
+    private static long percentOf(long limit, int percent) {
+        return limit * percent / 100;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * A cached plant, linked into the segment it currently belongs to.
+     */
+    private static final class Node {
+
+        final long id;
+        final PlantDetails details;
+        final long weight;
+        Segment segment;
+        Node previous;
+        Node next;
+
+        Node(long id, PlantDetails details, long weight) {
+            this.id = id;
+            this.details = details;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes in least to most recently used order, with its size and weight.
+     */
+    private static final class Segment {
+
+        Node first;
+        Node last;
+        int size;
+        long weight;
+
+        void addLast(Node node) {
+            node.segment = this;
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+            weight += node.weight;
+        }
+
+        void remove(Node node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+            size = 0;
+            weight = 0;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, sixteen to a {@code long}, estimating how often each id was
+     * requested. After ten lookups per counter all counters are halved.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0x97cb3127c4ceb2b5L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long HALF_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int length = Integer.highestOneBit(Math.max(16, Math.min(1 << 24, expectedEntries)) - 1) << 1;
+            table = new long[length];
+            sampleSize = 10 * length;
+        }
+
+        void increment(long id) {
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                long hash = hash(id, row);
+                int index = (int) (hash >>> 32) & (table.length - 1);
+                int shift = ((int) hash & 15) << 2;
+                if (((table[index] >>> shift) & 15) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & HALF_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(long id) {
+            int frequency = 15;
+            for (int row = 0; row < SEEDS.length; row++) {
+                long hash = hash(id, row);
+                int index = (int) (hash >>> 32) & (table.length - 1);
+                int shift = ((int) hash & 15) << 2;
+                frequency = Math.min(frequency, (int) ((table[index] >>> shift) & 15));
+            }
+            return frequency;
+        }
+
+        private static long hash(long id, int row) {
+            long hash = (id + SEEDS[row]) * SEEDS[row];
+            return hash ^ (hash >>> 29);
+        }
+    }
+
+    /**
+     * Point-in-time statistics of a {@link PlantDetailsCache}.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final long loadFailures;
+        private final long loadNanos;
+        private final long evictions;
+        private final int size;
+        private final long weight;
+
+        Stats(long hits, long misses, long loads, long loadFailures, long loadNanos, long evictions, int size,
+              long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.loadNanos = loadNanos;
+            this.evictions = evictions;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the number of lookups that found cached details.
+         *
+         * @return the hit count.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Returns the number of lookups that found no cached details.
+         *
+         * @return the miss count.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Returns the number of completed loads. A batch load counts once, and misses that shared the load
+         * of another lookup are not counted.
+         *
+         * @return the load count.
+         */
+        public long getLoads() {
+            return loads;
+        }
+
+        /**
+         * Returns the number of loads that threw an exception.
+         *
+         * @return the failed load count.
+         */
+        public long getLoadFailures() {
+            return loadFailures;
+        }
+
+        /**
+         * Returns the number of entries evicted to respect the limits, including candidates that were not
+         * admitted. Invalidated entries are not counted.
+         *
+         * @return the eviction count.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Returns the number of cached plants.
+         *
+         * @return the entry count.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the total weight of the cached plants.
+         *
+         * @return the weight.
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the share of lookups that were hits.
+         *
+         * @return the hit rate between 0 and 1, or 0 if there were no lookups.
+         */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        /**
+         * Returns the mean time of a load, batch and failed loads included.
+         *
+         * @return the mean load time in milliseconds, or 0 if nothing was loaded.
+         */
+        public double getAverageLoadMillis() {
+            long attempts = loads + loadFailures;
+            return attempts == 0 ? 0 : loadNanos / 1e6 / attempts;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", loads=" + loads + ", loadFailures=" + loadFailures
+                    + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.flourish.service;
+
+import com.flourish.domain.PlantDetails;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, versioned in-memory copy of the plant_details table.
+ *
+ * <p>The details are held as detached entities in an array sorted by id, next to a {@code long[]} of the
+ * ids, so a lookup is a binary search over primitive longs. A catalog is never modified: changed details
+ * produce a new catalog through {@link #with(long, List)}, which shares the unchanged entities with this
+ * one. The entities must be treated as read-only by everyone who gets them from a catalog, since they are
+ * shared by all readers.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class PlantDetailsCatalog {
+
+    private final long version;
+    private final long[] ids;
+    private final PlantDetails[] details;
+
+    private PlantDetailsCatalog(long version, long[] ids, PlantDetails[] details) {
+        this.version = version;
+        this.ids = ids;
+        this.details = details;
+    }
+
+    /**
+     * Creates a catalog of the given details. Details without an id are ignored, and of several details
+     * with the same id the last one is kept.
+     *
+     * @param version the version of the catalog.
+     * @param details the details, in any order.
+     * @return a new catalog.
+     */
+    public static PlantDetailsCatalog of(long version, List<PlantDetails> details) {
+        return new PlantDetailsCatalog(version, new long[0], new PlantDetails[0]).with(version, details);
+    }
+
+    /**
+     * Returns a new catalog in which the given details are added or replace the details with the same id.
+     *
+     * @param version the version of the new catalog.
+     * @param changed the new or changed details; details without an id are ignored.
+     * @return a new catalog; this catalog is not modified.
+     */
+    public PlantDetailsCatalog with(long version, List<PlantDetails> changed) {
+        PlantDetails[] sorted = changed.stream()
+                .filter(plant -> plant.getId() != null)
+                .toArray(PlantDetails[]::new);
+        // A stable sort keeps the last of several details with the same id last.
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+
+        long[] mergedIds = new long[ids.length + sorted.length];
+        PlantDetails[] merged = new PlantDetails[mergedIds.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < sorted.length) {
+            long id;
+            PlantDetails plant;
+            if (j == sorted.length || (i < ids.length && ids[i] < sorted[j].getId())) {
+                id = ids[i];
+                plant = details[i++];
+            } else {
+                id = sorted[j].getId();
+                plant = sorted[j++];
+                if (i < ids.length && ids[i] == id) {
+                    i++;
+                }
+            }
+            if (count > 0 && mergedIds[count - 1] == id) {
+                merged[count - 1] = plant;
+            } else {
+                mergedIds[count] = id;
+                merged[count++] = plant;
+            }
+        }
+        return new PlantDetailsCatalog(version, Arrays.copyOf(mergedIds, count), Arrays.copyOf(merged, count));
+    }
+
+    /**
+     * Returns the version of this catalog.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of plants.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Looks up the details of a plant.
+     *
+     * @param id the plant id.
+     * @return the details, or an empty Optional if the catalog has none for the id.
+     */
+    public Optional<PlantDetails> get(long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position < 0 ? Optional.empty() : Optional.of(details[position]);
+    }
+}
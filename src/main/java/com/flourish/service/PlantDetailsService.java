@@ -1,12 +1,27 @@
 package com.flourish.service;
 
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.PlantDetails;
 import com.flourish.repository.PlantDetailsRepository;
 import com.flourish.domain.PlantIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Service layer for retrieving detailed plant information.
@@ -15,6 +30,30 @@ import java.util.Optional;
  * based on a given plant ID or a {@code PlantIndex} object. It encapsulates the repository logic
  * so that other layers (such as the UI) do not have to access repositories directly.</p>
  *
+ * <p>Plant details are reference data that only change when {@code PlantDataService} ingests new details,
+ * so all of them are held in memory in an immutable {@link PlantDetailsCatalog}. The catalog is loaded at
+ * startup page by page in id order and published through an {@link AtomicReference}; after an ingestion,
+ * {@link #update(List)} publishes a new catalog with the saved details. Lookups read the reference once and
+ * never query the database. The database remains the source of truth, and {@link #reload()} rebuilds the
+ * catalog from it.</p>
+ *
+ * <p>Deployments whose catalog is too large to hold in memory disable it with
+ * {@code plant.details.catalog.enabled=false}. Lookups then read through a bounded
+ * {@link PlantDetailsCache}, which keeps the most frequently requested details within
+ * {@code plant.details.cache.max-entries} and {@code plant.details.cache.max-weight}. The cache also serves
+ * lookups until a catalog has been loaded, for example when the database was unavailable at startup.
+ * {@link #invalidate(Long)} drops the cached details of a plant once they are saved.</p>
+ *
+ * <p>The ids of all plants with details are kept in a {@link PlantIdSet}, built with the catalog, or read
+ * on their own when the catalog is disabled, and extended as details are saved. Lookups of ids that are
+ * not in the set, such as unknown ids requested from the REST API, return empty without touching the
+ * catalog, the cache or the database.</p>
+ *
+ * <p>Other instances that share the database also save details. Every
+ * {@code plant.details.reload.db-check-seconds}, the row count and highest id of the plant_details table
+ * are compared with the previous check, and when they differ the catalog, or without it the known ids, is
+ * reloaded, so plants stored elsewhere become visible without a restart.</p>
+ *
  * @author
  *   Joar Eliasson
  * @version
@@ -25,21 +64,331 @@ import java.util.Optional;
 @Service
 public class PlantDetailsService {
 
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final int ID_CHUNK_SIZE = 1000;
+
     private final PlantDetailsRepository plantDetailsRepository;
+    private final AtomicReference<PlantDetailsCatalog> catalog = new AtomicReference<>();
+    private final AtomicReference<PlantIdSet> knownIds = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    private ScheduledExecutorService executor;
+    private volatile String lastDatabaseFingerprint;
+
+    @Value("${plant.details.catalog.enabled:true}")
+    boolean catalogEnabled = true;
+
+    @Value("${plant.details.reload.db-check-seconds:0}")
+    long databaseCheckSeconds;
 
+    private final PlantDetailsCache cache;
+
+    /**
+     * Creates the service with a details cache of the configured size.
+     *
+     * @param plantDetailsRepository the repository the details are read from.
+     * @param cacheMaxEntries the maximum number of details the cache holds.
+     * @param cacheMaxWeight the maximum estimated size of the cached details, in bytes.
+     */
     @Autowired
-    public PlantDetailsService(PlantDetailsRepository plantDetailsRepository) {
+    public PlantDetailsService(PlantDetailsRepository plantDetailsRepository,
+                               @Value("${plant.details.cache.max-entries:10000}") int cacheMaxEntries,
+                               @Value("${plant.details.cache.max-weight:20000000}") long cacheMaxWeight) {
         this.plantDetailsRepository = plantDetailsRepository;
+        this.cache = new PlantDetailsCache(cacheMaxEntries, cacheMaxWeight);
+    }
+
+    /**
+     * Unless disabled, loads the catalog of all plant details at startup. Without the catalog, only the ids
+     * of the plants are loaded. Then starts the periodic database check, if configured.
+     */
+    @PostConstruct
+    public void init() {
+        if (databaseCheckSeconds > 0) {
+            lastDatabaseFingerprint = databaseFingerprint();
+        }
+        if (catalogEnabled) {
+            reload();
+        } else {
+            System.out.println("Plant details catalog disabled; reading details through the cache.");
+            reloadKnownIds();
+        }
+        if (databaseCheckSeconds > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "plant-details-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::checkDatabase, databaseCheckSeconds, databaseCheckSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic database check.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compares the row count and highest id of the plant_details table with the previous check and reloads
+     * the catalog, or without it the known ids, if they differ or the previous check failed.
+     * <p>If the reload fails, the next check tries again.</p>
+     *
+     * @return true if the catalog or the known ids were reloaded.
+     */
+    boolean checkDatabase() {
+        String fingerprint = databaseFingerprint();
+        String previous = lastDatabaseFingerprint;
+        if (fingerprint == null || fingerprint.equals(previous)) {
+            return false;
+        }
+        boolean reloaded = catalogEnabled ? reload() : reloadKnownIds();
+        if (reloaded) {
+            lastDatabaseFingerprint = fingerprint;
+        }
+        return reloaded;
+    }
+
+    /**
+     * Reads the row count and highest id of the plant_details table.
+     *
+     * @return the two joined by a colon, or null if the table cannot be read.
+     */
+    private String databaseFingerprint() {
+        try {
+            return plantDetailsRepository.count() + ":" + plantDetailsRepository.findMaxId();
+        } catch (RuntimeException e) {
+            System.err.println("Error checking plant_details for changes: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads all plant details from the database, one page at a time, and publishes them as a new catalog,
+     * together with the set of their ids.
+     * <p>If a page cannot be read, the current catalog stays in place.</p>
+     *
+     * @return true if a new catalog was published.
+     */
+    public boolean reload() {
+        synchronized (writeLock) {
+            try {
+                List<PlantDetails> all = new ArrayList<>();
+                long afterId = 0;
+                List<PlantDetails> page;
+                do {
+                    page = plantDetailsRepository.findDetailsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                    for (PlantDetails details : page) {
+                        all.add(details);
+                        afterId = details.getId();
+                    }
+                } while (page.size() == LOAD_PAGE_SIZE);
+                PlantDetailsCatalog current = catalog.get();
+                catalog.set(PlantDetailsCatalog.of(current == null ? 1 : current.getVersion() + 1, all));
+                knownIds.set(PlantIdSet.of(all.stream().mapToLong(PlantDetails::getId).toArray()));
+                System.out.println("Loaded " + all.size() + " plant details into memory.");
+                return true;
+            } catch (RuntimeException e) {
+                System.err.println("Error loading plant details into memory: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the ids of all plants with details from the database and publishes them as the set of known
+     * ids, for use without a catalog.
+     * <p>If the ids cannot be read, the current set stays in place.</p>
+     *
+     * @return true if a new set was published.
+     */
+    public boolean reloadKnownIds() {
+        synchronized (writeLock) {
+            try {
+                long[] ids = plantDetailsRepository.findAllIds().stream().mapToLong(Long::longValue).toArray();
+                knownIds.set(PlantIdSet.of(ids));
+                System.out.println("Loaded " + ids.length + " plant ids into memory.");
+                return true;
+            } catch (RuntimeException e) {
+                System.err.println("Error loading plant ids into memory: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Publishes a new catalog in which the given details, just saved to the database, are added or replace
+     * the details with the same id, and adds their ids to the known ids. Does nothing until a catalog has
+     * been loaded.
+     *
+     * @param saved the saved details.
+     */
+    public void update(List<PlantDetails> saved) {
+        synchronized (writeLock) {
+            PlantDetailsCatalog current = catalog.get();
+            if (current != null && !saved.isEmpty()) {
+                catalog.set(current.with(current.getVersion() + 1, saved));
+                addKnownIds(saved.stream().filter(details -> details.getId() != null)
+                        .mapToLong(PlantDetails::getId).toArray());
+            }
+        }
+    }
+
+    /**
+     * Drops the cached details of a plant, so the next lookup reads them from the database, and adds its id
+     * to the known ids. Called when details are saved; the catalog is updated separately through
+     * {@link #update(List)}.
+     *
+     * @param id the plant ID; null is ignored.
+     */
+    public void invalidate(Long id) {
+        if (id != null) {
+            synchronized (writeLock) {
+                addKnownIds(new long[]{id});
+            }
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Adds ids to the known ids, if they have been loaded. Must be called holding the write lock.
+     */
+    private void addKnownIds(long[] ids) {
+        PlantIdSet current = knownIds.get();
+        if (current != null) {
+            knownIds.set(current.with(ids));
+        }
+    }
+
+    /**
+     * Tells whether a plant may have details. Only ids that are certainly unknown give false, so a lookup
+     * can be skipped; until the known ids have been loaded, every non-null id gives true.
+     *
+     * @param id the plant ID.
+     * @return false if the plant has no details.
+     */
+    public boolean isKnownPlantId(Long id) {
+        if (id == null) {
+            return false;
+        }
+        PlantIdSet current = knownIds.get();
+        return current == null || current.contains(id);
+    }
+
+    /**
+     * Tells whether the details of a plant are certainly stored, so that they need not be fetched again.
+     * Until the known ids have been loaded, every id gives false.
+     *
+     * @param id the plant ID.
+     * @return true if the plant has details.
+     */
+    public boolean isStoredPlantId(long id) {
+        PlantIdSet current = knownIds.get();
+        return current != null && current.contains(id);
     }
 
     /**
-     * Retrieves the PlantDetails for the given plant ID.
+     * Returns the hit, miss, load and eviction counters and the current size of the details cache.
+     *
+     * @return the cache statistics.
+     */
+    public PlantDetailsCache.Stats getDetailsCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the version of the current catalog.
+     *
+     * @return the version, or 0 if no catalog has been loaded.
+     */
+    public long getCatalogVersion() {
+        PlantDetailsCatalog current = catalog.get();
+        return current == null ? 0 : current.getVersion();
+    }
+
+    /**
+     * Retrieves the PlantDetails for the given plant ID, from the in-memory catalog once it is loaded and
+     * through the details cache otherwise. The returned entity is shared and must not be modified.
      *
      * @param id the plant ID
      * @return an Optional containing the PlantDetails if found, otherwise an empty Optional.
      */
     public Optional<PlantDetails> getPlantDetailsById(Long id) {
-        return plantDetailsRepository.findById(id);
+        if (!isKnownPlantId(id)) {
+            return Optional.empty();
+        }
+        PlantDetailsCatalog current = catalog.get();
+        return current != null ? current.get(id) : cache.get(id, plantDetailsRepository::findById);
+    }
+
+    /**
+     * Retrieves the PlantDetails of several plants at once: from the in-memory catalog once it is loaded,
+     * and otherwise through the details cache, which reads all plants it does not hold with one
+     * {@code IN} query per 1000 IDs. The returned entities are shared and must not be modified.
+     *
+     * @param ids the plant IDs; null, repeated and unknown IDs are ignored.
+     * @return the details of the plants that exist, by plant ID.
+     */
+    public Map<Long, PlantDetails> getPlantDetailsByIds(Collection<Long> ids) {
+        List<Long> wanted = knownDistinct(ids);
+        if (wanted.isEmpty()) {
+            return new HashMap<>();
+        }
+        PlantDetailsCatalog current = catalog.get();
+        if (current == null) {
+            return cache.getAll(wanted, missing -> inChunks(missing, plantDetailsRepository::findAllById));
+        }
+        Map<Long, PlantDetails> found = new HashMap<>();
+        for (Long id : wanted) {
+            current.get(id).ifPresent(details -> found.put(id, details));
+        }
+        return found;
+    }
+
+    /**
+     * Retrieves the cards of the given plants: from the in-memory catalog once it is loaded, and otherwise
+     * with one query per 1000 IDs that reads only the card columns.
+     *
+     * @param ids the plant IDs; null, repeated and unknown IDs are ignored.
+     * @return the cards of the plants that exist, by plant ID.
+     */
+    public Map<Long, PlantCard> getPlantCardsByIds(Collection<Long> ids) {
+        List<Long> wanted = knownDistinct(ids);
+        Map<Long, PlantCard> cards = new HashMap<>();
+        if (wanted.isEmpty()) {
+            return cards;
+        }
+        PlantDetailsCatalog current = catalog.get();
+        if (current != null) {
+            for (Long id : wanted) {
+                current.get(id).ifPresent(details -> cards.put(id, PlantCard.of(details)));
+            }
+        } else {
+            for (PlantCard card : inChunks(wanted, plantDetailsRepository::findCardsByIdIn)) {
+                cards.put(card.getId(), card);
+            }
+        }
+        return cards;
+    }
+
+    private List<Long> knownDistinct(Collection<Long> ids) {
+        return ids.stream().filter(this::isKnownPlantId).distinct().toList();
+    }
+
+    /**
+     * Runs an {@code IN} query once per chunk of at most {@link #ID_CHUNK_SIZE} IDs, so very large sets do
+     * not exceed the parameter limits of the database, and concatenates the results.
+     */
+    private static <T> List<T> inChunks(List<Long> ids, Function<List<Long>, List<T>> query) {
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            results.addAll(query.apply(ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE))));
+        }
+        return results;
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.flourish.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of the ids of the plants that have details, for answering "no such plant" without a
+ * lookup.
+ *
+ * <p>Plant ids are small and dense, so instead of a Bloom filter the set is an exact bitmap with one bit
+ * per id from 0 to the largest id, about 1.3 KB per 10,000 ids, and a membership test is a single array
+ * read without false positives. Ids that are negative or beyond {@link #MAX_DENSE_ID} are kept in a sorted
+ * {@code long[]} instead, so an outlier id cannot blow up the bitmap. New ids produce a new set through
+ * {@link #with(long[])}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+public final class PlantIdSet {
+
+    /**
+     * The largest id held in the bitmap; the bitmap takes at most 8 MB.
+     */
+    static final long MAX_DENSE_ID = (1L << 26) - 1;
+
+    private static final PlantIdSet EMPTY = new PlantIdSet(new long[0], new long[0], 0);
+
+    private final long[] words;
+    private final long[] sparse;
+    private final int size;
+
+    private PlantIdSet(long[] words, long[] sparse, int size) {
+        this.words = words;
+        this.sparse = sparse;
+        this.size = size;
+    }
+
+    /**
+     * Creates a set of the given ids.
+     *
+     * @param ids the ids, in any order and possibly repeated.
+     * @return a new set.
+     */
+    public static PlantIdSet of(long[] ids) {
+        return EMPTY.with(ids);
+    }
+
+    /**
+     * Returns a new set that also contains the given ids.
+     *
+     * @param ids the ids to add, in any order and possibly repeated.
+     * @return a new set; this set is not modified.
+     */
+    public PlantIdSet with(long[] ids) {
+        long maxDense = -1;
+        int sparseCount = 0;
+        for (long id : ids) {
+            if (isDense(id)) {
+                maxDense = Math.max(maxDense, id);
+            } else {
+                sparseCount++;
+            }
+        }
+        long[] newWords = Arrays.copyOf(words, Math.max(words.length, (int) (maxDense >> 6) + 1));
+        long[] newSparse = Arrays.copyOf(sparse, sparse.length + sparseCount);
+        int added = sparse.length;
+        for (long id : ids) {
+            if (isDense(id)) {
+                newWords[(int) (id >> 6)] |= 1L << id;
+            } else {
+                newSparse[added++] = id;
+            }
+        }
+        if (sparseCount > 0) {
+            newSparse = Arrays.stream(newSparse).sorted().distinct().toArray();
+        }
+        int count = newSparse.length;
+        for (long word : newWords) {
+            count += Long.bitCount(word);
+        }
+        return new PlantIdSet(newWords, newSparse, count);
+    }
+
+    /**
+     * Tells whether the set contains an id.
+     *
+     * @param id the plant id.
+     * @return true if the id is in the set.
+     */
+    public boolean contains(long id) {
+        if (isDense(id)) {
+            int word = (int) (id >> 6);
+            return word < words.length && (words[word] & (1L << id)) != 0;
+        }
+        return Arrays.binarySearch(sparse, id) >= 0;
+    }
+
+    /**
+     * Returns the number of ids.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean isDense(long id) {
+        return id >= 0 && id <= MAX_DENSE_ID;
+    }
+}
@@ -0,0 +1,217 @@
+package com.flourish.service;
+
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.PlantIndexRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service that keeps the search index of {@link PlantSearchService} up to date while the application runs.
+ *
+ * <p>Two independent triggers can request a reload:</p>
+ * <ul>
+ *   <li>a {@link WatchService} on the directories of the plant index backup files, which reloads the
+ *       files when one of them is created or modified,</li>
+ *   <li>a periodic check of the plant_index table, which reloads the index from the database when the
+ *       number of rows or the highest id changes, for example after {@code PlantDataService} has ingested
+ *       new plants.</li>
+ * </ul>
+ *
+ * <p>All reloads run on a single background thread, so the search service builds at most one snapshot at a
+ * time and readers are never blocked. File events are delayed by {@link #FILE_SETTLE_MILLIS} and coalesced,
+ * so a burst of writes to a backup file causes one reload.</p>
+ *
+ * <strong>Configuration</strong>
+ * <ul>
+ *   <li>{@code plant.index.reload.watch-files}: whether to watch the backup files (default true).</li>
+ *   <li>{@code plant.index.reload.db-check-seconds}: the interval of the database check, or 0 to disable
+ *       it (default 0).</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@Service
+public class PlantIndexReloadService {
+
+    /**
+     * The delay between a file event and the reload it triggers.
+     */
+    static final long FILE_SETTLE_MILLIS = 500;
+
+    private final PlantSearchService plantSearchService;
+    private final PlantIndexRepository plantIndexRepository;
+    private final AtomicBoolean fileReloadPending = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private String lastDatabaseFingerprint;
+
+    @Value("${plant.index.reload.watch-files:true}")
+    boolean watchFiles;
+
+    @Value("${plant.index.reload.db-check-seconds:0}")
+    long databaseCheckSeconds;
+
+    /**
+     * Constructs a new PlantIndexReloadService.
+     *
+     * @param plantSearchService the service whose index is reloaded.
+     * @param plantIndexRepository the repository used to check and load the plant_index table.
+     */
+    @Autowired
+    public PlantIndexReloadService(PlantSearchService plantSearchService,
+                                   PlantIndexRepository plantIndexRepository) {
+        this.plantSearchService = plantSearchService;
+        this.plantIndexRepository = plantIndexRepository;
+    }
+
+    /**
+     * Starts the background reload thread, the file watcher and the database check, as configured.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "plant-index-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (watchFiles) {
+            startFileWatcher();
+        }
+        if (databaseCheckSeconds > 0) {
+            executor.scheduleWithFixedDelay(this::checkDatabase, 0, databaseCheckSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the file watcher and the background reload thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                System.err.println("Error closing plant index file watcher: " + e.getMessage());
+            }
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules a reload of the backup files, unless one is already pending.
+     */
+    void requestFileReload() {
+        if (fileReloadPending.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                fileReloadPending.set(false);
+                plantSearchService.reloadFromBackupFiles();
+            }, FILE_SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Compares the row count and highest id of the plant_index table with the previous check and reloads
+     * the index from the database if they differ.
+     *
+     * <p>The first check only records the current state, so the index loaded from the backup files at
+     * startup is kept until the table actually changes. An empty table is never loaded.</p>
+     *
+     * @return true if the index was reloaded from the database.
+     */
+    boolean checkDatabase() {
+        try {
+            long count = plantIndexRepository.count();
+            String fingerprint = count + ":" + plantIndexRepository.findMaxId();
+            String previous = lastDatabaseFingerprint;
+            lastDatabaseFingerprint = fingerprint;
+            if (previous == null || previous.equals(fingerprint) || count == 0) {
+                return false;
+            }
+            List<PlantIndex> plants = plantIndexRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+            plantSearchService.setPlantIndexList(plants);
+            System.out.println("Reloaded " + plants.size() + " plant index records from the database.");
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error checking plant_index for changes: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void startFileWatcher() {
+        Set<Path> directories = new HashSet<>();
+        Set<Path> fileNames = new HashSet<>();
+        for (Path file : plantSearchService.getBackupFiles()) {
+            Path absolute = file.toAbsolutePath();
+            if (absolute.getParent() != null && Files.isDirectory(absolute.getParent())) {
+                directories.add(absolute.getParent());
+                fileNames.add(absolute.getFileName());
+            }
+        }
+        if (directories.isEmpty()) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            System.err.println("Error starting plant index file watcher: " + e.getMessage());
+            return;
+        }
+        watcherThread = new Thread(() -> watchFiles(fileNames), "plant-index-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchFiles(Set<Path> fileNames) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed
+                            && fileNames.stream().anyMatch(name -> Objects.equals(name, changed))) {
+                        requestFileReload();
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.flourish.service;
 
 import com.flourish.domain.LibraryEntry;
-import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantCard;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -52,14 +52,14 @@ public class PlantNotificationService {
             for (LibraryEntry entry : entries) {
                 Optional<Double> gaugeOpt = userPlantLibraryService.getWateringGaugePercentage(entry.getLibraryId());
                 if (gaugeOpt.isPresent() && gaugeOpt.get() < 20.0) {
-                    sendUserNotification(userId, "Your plant '" + entry.getPlantDetails().getCommonName() +
+                    sendUserNotification(userId, "Your plant '" + entry.getPlantCard().getCommonName() +
                             "' needs watering soon. Watering gauge: " + gaugeOpt.get() + "%");
                 }
 
-                String sunlightRequirement = entry.getPlantDetails().getSunlight();
+                String sunlightRequirement = entry.getPlantCard().getSunlight();
                 String currentSunlight = getCurrentSunlightConditionForUserPlant(userId, entry);
                 if (!isSunlightSufficient(sunlightRequirement, currentSunlight)) {
-                    sendUserNotification(userId, "Your plant '" + entry.getPlantDetails().getCommonName() +
+                    sendUserNotification(userId, "Your plant '" + entry.getPlantCard().getCommonName() +
                             "' may not be receiving sufficient sunlight. Required: " + sunlightRequirement +
                             ", current: " + currentSunlight);
                 }
@@ -134,8 +134,8 @@ public class PlantNotificationService {
         for (LibraryEntry entry : libraryEntries) {
             Optional<Double> gaugeOpt = userPlantLibraryService.getWateringGaugePercentage(entry.getLibraryId());
             if (gaugeOpt.isPresent() && gaugeOpt.get() < 20.0) {
-                PlantDetails details = entry.getPlantDetails();
-                notifications.add("Your plant '" + details.getCommonName() +
+                PlantCard card = entry.getPlantCard();
+                notifications.add("Your plant '" + card.getCommonName() +
                         "' needs watering soon. (" + String.format("%.0f", gaugeOpt.get()) + "% remaining)");
             }
         }
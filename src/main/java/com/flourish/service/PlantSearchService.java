@@ -2,29 +2,106 @@ package com.flourish.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
 import com.flourish.domain.PlantIndex;
+import com.flourish.domain.PlantSeasons;
+import com.flourish.domain.PlantText;
+import com.flourish.repository.PlantDetailsRepository;
+import com.flourish.search.Bm25Index;
+import com.flourish.search.FacetIndex;
+import com.flourish.search.FuzzyTokenIndex;
+import com.flourish.search.MonthIndex;
+import com.flourish.search.PlantCatalog;
+import com.flourish.search.PlantFacet;
+import com.flourish.search.PlantIndexFile;
+import com.flourish.search.PlantNameTrie;
+import com.flourish.search.SearchCursor;
+import com.flourish.search.SearchResultCache;
+import com.flourish.search.SearchSnapshot;
+import com.flourish.search.ShardedTrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Month;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
- * Service for searching PlantIndex data loaded from a local JSON backup file.
+ * Service for searching PlantIndex data loaded from a local binary or JSON backup file.
  *
  * <p>This service loads the plant_index backup file (a JSON array of PlantIndex objects)
  * into memory on startup and provides a search method. The search method looks for a query
  * (case-insensitive) across key fields (commonName, scientificName, and otherName) and returns
  * suggestions sorted by a match score (lower scores indicate better matches).
  *
- * <p>Since there are exactly 3000 entries a linear scan is sufficient; if the dataset was larger or increases in size
- * during later stages of development, consider using an inverted index or Trie.</p>
+ * <p>If a binary plant index file written by {@link BackupService} is present, it is memory-mapped
+ * through {@link PlantIndexFile} instead, which avoids parsing the JSON file and keeps the name data
+ * off-heap. The JSON file is only read when no usable binary file exists.</p>
+ *
+ * <p>Whenever the list is loaded or replaced, its names are normalized once into a columnar
+ * {@link PlantCatalog} and a {@link ShardedTrigramIndex} is built over the catalog. Queries are normalized
+ * the same way, so matching ignores case and accents and treats each alias in otherName as a name of its
+ * own. Queries intersect the n-gram posting lists of the index instead of scanning every record, and each
+ * match is scored once against the catalog. The list itself is only read to return the matching records.
+ * Large catalogs are split into shards that are searched in parallel on the fork/join pool; small ones
+ * are searched on the calling thread.</p>
+ *
+ * <p>A {@link PlantNameTrie} is built alongside the index and answers name autocompletion through
+ * {@link #suggest(String, int)} without touching the full result set. A {@link FuzzyTokenIndex} over the
+ * name tokens backs {@link #searchFuzzy(String, int)}, which tolerates small misspellings.</p>
+ *
+ * <p>The list, catalog and indexes are bundled into an immutable, versioned {@link SearchSnapshot} and
+ * published through an {@link AtomicReference}. A new snapshot is built completely before it replaces the
+ * old one, and every method reads the reference exactly once, so searches never block and never see a
+ * half-built index while {@link PlantIndexReloadService} reloads the data in the background.</p>
+ *
+ * <p>The complete ranking of recent queries is kept in a {@link SearchResultCache} as ordinals into the
+ * snapshot, keyed by the normalized query and the snapshot version. A complete ranking is computed and
+ * cached only where it is needed or will be reused: by {@link #search(String)}, by searches with a facet
+ * selection, and by {@link #facetCounts(SearchCursor, String, Map)}. {@link #search(String, int, int)} and
+ * {@link #count(String)} use a cached ranking when there is one; otherwise a page selects only its best
+ * {@code offset + limit} matches with a bounded heap, and a count counts the matches without ranking them.
+ * Publishing a new snapshot changes the version and thereby drops all cached results.</p>
+ *
+ * <p>Views that search on every keystroke can pass a {@link SearchCursor} to
+ * {@link #search(SearchCursor, String, int, int)}, {@link #count(SearchCursor, String)} and
+ * {@link #facetCounts(SearchCursor, String, Map)}. When a query extends the previous query of the same
+ * cursor and is not cached, it is ranked by filtering the previous result instead of searching the index.
+ * Searches and counts that can neither use the cache nor narrow the cursor take the bounded paths above.
+ * Facet counts need every match, so they rank the query, through the cursor when possible; a view that
+ * updates its facet counts first has the ranking cached for the pages and counts that follow.</p>
+ *
+ * <p>The filterable attributes of all plants are read from {@link PlantDetailsRepository} with each new
+ * snapshot and indexed into a {@link FacetIndex}. {@link #search(SearchCursor, String, Map, int, int)},
+ * {@link #count(SearchCursor, String, Map)} and {@link #facetCounts(SearchCursor, String, Map)} filter the
+ * ranked ordinals by facet bitmaps and count facet values by popcount, so filtering never queries the
+ * database.
+ * Changes to plant details become visible in the facets with the next snapshot.</p>
+ *
+ * <p>The plant descriptions are read page by page at the same time and indexed into a {@link Bm25Index}.
+ * {@link #searchFullText(String, Map, int)} combines its ranking with the name ranking by reciprocal rank
+ * fusion, so a query like "shade tolerant groundcover" finds plants by what their description says, while
+ * name matches still rank high.</p>
+ *
+ * <p>The pruning months and flowering and harvest seasons are decoded into a {@link MonthIndex} with the
+ * same snapshot. {@link #findInSeason(MonthIndex.Activity, Month, Map, int)} scans its month masks for the
+ * whole catalog, and {@link #filterInSeason(MonthIndex.Activity, Month, long[])} tests given plants, such
+ * as those in a user's library.</p>
  *
  * @author
  *   Joar Eliasson
@@ -36,110 +113,617 @@ import java.util.stream.Collectors;
 @Service
 public class PlantSearchService {
 
-    private List<PlantIndex> plantIndexList = new ArrayList<>();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int TEXT_PAGE_SIZE = 1000;
+    private static final int FUSION_DEPTH = 1000;
+    private static final int FUSION_RANK_CONSTANT = 60;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<SearchSnapshot> snapshot =
+            new AtomicReference<>(SearchSnapshot.build(0, new ArrayList<>()));
 
     @Value("${plant.index.backup.file:plant_index_backup.txt}")
     String plantIndexBackupFile;
 
+    @Value("${plant.index.binary.file:plant_index_backup.bin}")
+    String plantIndexBinaryFile;
+
+    private final PlantDetailsRepository plantDetailsRepository;
+    private final ObjectMapper objectMapper;
+    private final SearchResultCache searchCache;
+
+    /**
+     * Creates the service with a result cache of the configured size. Without a repository, the search runs
+     * on the plant index alone, without facets, descriptions or seasons.
+     *
+     * @param plantDetailsRepository the repository the attributes, descriptions and seasons are read from,
+     *                               if there is one.
+     * @param objectMapper the shared ObjectMapper that reads the JSON backup file and the JSON-encoded
+     *                     plant attributes.
+     * @param searchCacheMaxEntries the maximum number of rankings the result cache holds.
+     * @param searchCacheMaxWeight the maximum number of ordinals the result cache holds.
+     */
+    @Autowired
+    public PlantSearchService(Optional<PlantDetailsRepository> plantDetailsRepository, ObjectMapper objectMapper,
+                              @Value("${plant.search.cache.max-entries:1000}") int searchCacheMaxEntries,
+                              @Value("${plant.search.cache.max-weight:2000000}") long searchCacheMaxWeight) {
+        this.plantDetailsRepository = plantDetailsRepository.orElse(null);
+        this.objectMapper = objectMapper;
+        this.searchCache = new SearchResultCache(searchCacheMaxEntries, searchCacheMaxWeight);
+    }
+
     /**
-     * Loads the plant index backup file into memory at startup.
+     * Loads the plant index at startup, memory-mapping the binary file if present and falling back to the
+     * JSON backup file otherwise.
      */
     @PostConstruct
     public void init() {
+        reloadFromBackupFiles();
+    }
+
+    /**
+     * Loads the plant index backup files again and publishes a new snapshot built from them.
+     * <p>If neither file can be read, the current snapshot stays in place.</p>
+     *
+     * @return true if a new snapshot was published.
+     */
+    public boolean reloadFromBackupFiles() {
+        if (plantIndexBinaryFile != null && Files.isRegularFile(Path.of(plantIndexBinaryFile))) {
+            try {
+                setPlantIndexList(PlantIndexFile.open(Path.of(plantIndexBinaryFile)));
+                System.out.println("Mapped " + snapshot.get().getPlants().size()
+                        + " plant index records from binary backup.");
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error mapping binary plant index, falling back to JSON: " + e.getMessage());
+            }
+        }
         try {
             String json = Files.readString(Path.of(plantIndexBackupFile), StandardCharsets.UTF_8);
-            plantIndexList = objectMapper.readValue(json, new TypeReference<List<PlantIndex>>() {});
-            System.out.println("Loaded " + plantIndexList.size() + " plant index records from backup.");
+            setPlantIndexList(objectMapper.readValue(json, new TypeReference<List<PlantIndex>>() {}));
+            System.out.println("Loaded " + snapshot.get().getPlants().size() + " plant index records from backup.");
+            return true;
         } catch (IOException e) {
             System.err.println("Error loading plant index backup: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the backup files the plant index is loaded from, binary file first.
+     *
+     * @return the paths of the configured backup files.
+     */
+    List<Path> getBackupFiles() {
+        List<Path> files = new ArrayList<>(2);
+        if (plantIndexBinaryFile != null) {
+            files.add(Path.of(plantIndexBinaryFile));
         }
+        files.add(Path.of(plantIndexBackupFile));
+        return files;
+    }
+
+    /**
+     * Returns the currently published snapshot. Callers that need several consistent reads should take
+     * the snapshot once and use it for all of them.
+     *
+     * @return the current snapshot.
+     */
+    public SearchSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the version of the currently published snapshot. The version increases with every reload.
+     *
+     * @return the current index version.
+     */
+    public long getIndexVersion() {
+        return snapshot.get().getVersion();
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters and the current size of the search result cache.
+     *
+     * @return the cache statistics.
+     */
+    public SearchResultCache.Stats getSearchCacheStats() {
+        return searchCache.stats();
     }
 
     /**
      * Searches for plant index records matching the given query.
      *
-     * <p>The search is performed across the commonName, scientificName, and otherName fields,
-     * using a case-insensitive substring match. The results are sorted by a computed match score,
-     * where lower scores indicate a closer match.</p>
+     * <p>The search is performed across the commonName, scientificName, and the aliases in otherName,
+     * using a substring match that ignores case and accents. The results are sorted by a computed match score,
+     * where lower scores indicate a closer match, and records with equal scores keep their original order.</p>
      *
      * @param query the search query.
      * @return a list of PlantIndex records that match the query.
      */
     public List<PlantIndex> search(String query) {
+        SearchSnapshot current = snapshot.get();
         if (query == null || query.isEmpty()) {
-            return plantIndexList;
+            return current.getPlants();
         }
-        String lowerQuery = query.toLowerCase();
-        return plantIndexList.stream()
-                .filter(plant -> matches(plant, lowerQuery))
-                .sorted(Comparator.comparingInt(plant -> computeMatchScore(plant, lowerQuery)))
-                .collect(Collectors.toList());
+        return materialize(current, rank(current, query, null), 0, Integer.MAX_VALUE);
     }
 
     /**
-     * Checks whether the given plant record contains the query in any of its searchable fields.
+     * Returns one page of the plant index records matching the given query.
+     *
+     * <p>The ranking is identical to {@link #search(String)} and is taken from the result cache when
+     * possible. Otherwise only the best {@code offset + limit} matches are selected with a bounded heap, and
+     * nothing is cached. Only the requested page is materialized. An empty or null query pages through the
+     * full list in its original order.</p>
      *
-     * @param plant the PlantIndex record.
-     * @param lowerQuery the lower-cased query.
-     * @return true if any field contains the query; false otherwise.
+     * @param query the search query.
+     * @param offset the index of the first result to return.
+     * @param limit the maximum number of results to return.
+     * @return the requested page of matching PlantIndex records.
      */
-    private boolean matches(PlantIndex plant, String lowerQuery) {
-        return (plant.getCommonName() != null && plant.getCommonName().toLowerCase().contains(lowerQuery))
-                || (plant.getScientificName() != null && plant.getScientificName().toLowerCase().contains(lowerQuery))
-                || (plant.getOtherName() != null && plant.getOtherName().toLowerCase().contains(lowerQuery));
+    public List<PlantIndex> search(String query, int offset, int limit) {
+        return search(null, query, offset, limit);
     }
 
     /**
-     * Computes a match score for the given {@link PlantIndex} record against a lower-cased query.
-     * <p>
-     * This version consolidates the repeated logic for each field:
-     * it collects non-null fields into a list, converts them to lower-case,
-     * and then finds the earliest substring position among all fields.
+     * Returns one page of the plant index records matching the given query, narrowing the previous result
+     * of the given cursor when possible. The results are the same as for {@link #search(String, int, int)},
+     * which this falls back to when the cursor cannot be narrowed to the query.
      *
-     * <ul>
-     *   <li>If the query appears as a prefix (position = 0) in any field, returns 0 immediately.</li>
-     *   <li>If only mid-substring matches occur, returns the smallest positive position found.</li>
-     *   <li>If no matches, returns 100.</li>
-     * </ul>
-     * </p>
+     * @param cursor the cursor of the calling view, or null to search without one.
+     * @param query the search query.
+     * @param offset the index of the first result to return.
+     * @param limit the maximum number of results to return.
+     * @return the requested page of matching PlantIndex records.
+     */
+    public List<PlantIndex> search(SearchCursor cursor, String query, int offset, int limit) {
+        return search(cursor, query, Map.of(), offset, limit);
+    }
+
+    /**
+     * Returns one page of the plant index records matching the given query and facet selection.
      *
-     * @param plant The {@link PlantIndex} record to score.
-     * @param lowerQuery The already-lowercased query string.
-     * @return The computed match score, where 0 is best (prefix match) and 100 means no matches.
+     * <p>Records are ranked as by {@link #search(String, int, int)}, and those that do not match the
+     * selection are left out. Values chosen for the same facet are alternatives; every facet with chosen
+     * values must match. An empty query with a selection returns the matching records in list order.</p>
+     *
+     * @param cursor the cursor of the calling view, or null to search without one.
+     * @param query the search query.
+     * @param facets the normalized values chosen per facet; facets without values do not filter.
+     * @param offset the index of the first result to return.
+     * @param limit the maximum number of results to return.
+     * @return the requested page of matching PlantIndex records.
      */
-    private int computeMatchScore(PlantIndex plant, String lowerQuery) {
-        List<String> fields = new ArrayList<>();
-        if (plant.getCommonName() != null) {
-            fields.add(plant.getCommonName().toLowerCase());
+    public List<PlantIndex> search(SearchCursor cursor, String query, Map<PlantFacet, ? extends Set<String>> facets,
+                                   int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative.");
         }
-        if (plant.getScientificName() != null) {
-            fields.add(plant.getScientificName().toLowerCase());
+        SearchSnapshot current = snapshot.get();
+        List<PlantIndex> source = current.getPlants();
+        long[] filter = current.getFacetIndex().filter(facets);
+        if (filter == null && (query == null || query.isEmpty())) {
+            int from = Math.min(offset, source.size());
+            int to = (int) Math.min((long) from + limit, source.size());
+            return new ArrayList<>(source.subList(from, to));
         }
-        if (plant.getOtherName() != null) {
-            fields.add(plant.getOtherName().toLowerCase());
+        if (filter == null) {
+            int[] ranked = rank(current, query, cursor, false);
+            if (ranked == null) {
+                return materialize(current, current.getSearchIndex().search(encode(query), offset, limit), 0, limit);
+            }
+            return materialize(current, ranked, offset, limit);
         }
+        return materialize(current, filtered(current, query, cursor, filter), offset, limit);
+    }
+
+    /**
+     * Counts the plant index records matching the given query.
+     *
+     * @param query the search query.
+     * @return the number of matching records; the size of the full list for an empty or null query.
+     */
+    public int count(String query) {
+        return count(null, query);
+    }
+
+    /**
+     * Counts the plant index records matching the given query, narrowing the previous result of the given
+     * cursor when possible, and otherwise as {@link #count(String)}.
+     *
+     * @param cursor the cursor of the calling view, or null to count without one.
+     * @param query the search query.
+     * @return the number of matching records; the size of the full list for an empty or null query.
+     */
+    public int count(SearchCursor cursor, String query) {
+        return count(cursor, query, Map.of());
+    }
 
-        int score = Integer.MAX_VALUE;
-        for (String field : fields) {
-            int pos = field.indexOf(lowerQuery);
-            if (pos == 0) {
-                return 0;
+    /**
+     * Counts the plant index records matching the given query and facet selection.
+     *
+     * @param cursor the cursor of the calling view, or null to count without one.
+     * @param query the search query.
+     * @param facets the normalized values chosen per facet; facets without values do not filter.
+     * @return the number of matching records.
+     */
+    public int count(SearchCursor cursor, String query, Map<PlantFacet, ? extends Set<String>> facets) {
+        SearchSnapshot current = snapshot.get();
+        long[] filter = current.getFacetIndex().filter(facets);
+        if (filter == null && (query == null || query.isEmpty())) {
+            return current.getPlants().size();
+        }
+        if (filter == null) {
+            int[] ranked = rank(current, query, cursor, false);
+            return ranked != null ? ranked.length : current.getSearchIndex().count(encode(query));
+        }
+        return filtered(current, query, cursor, filter).length;
+    }
+
+    /**
+     * Returns the values that occur in the given facet.
+     *
+     * @param facet the facet.
+     * @return the normalized values, in the order of the facet.
+     */
+    public List<String> getFacetValues(PlantFacet facet) {
+        return snapshot.get().getFacetIndex().values(facet);
+    }
+
+    /**
+     * Counts, for every value of every facet, the records that match the query and the selection of all
+     * other facets, which is the number of results selecting that value in addition would give.
+     *
+     * @param query the search query; empty or null counts over all records.
+     * @param facets the normalized values chosen per facet.
+     * @return the counts per value, by facet, with values in the order of their facet.
+     */
+    public Map<PlantFacet, Map<String, Integer>> facetCounts(String query,
+                                                             Map<PlantFacet, ? extends Set<String>> facets) {
+        return facetCounts(null, query, facets);
+    }
+
+    /**
+     * Counts facet values as {@link #facetCounts(String, Map)}, ranking the query by narrowing the previous
+     * result of the given cursor when possible. The cursor then remembers the ranking, and it is cached, so
+     * pages and counts of the same query do not rank it again.
+     *
+     * @param cursor the cursor of the calling view, or null to count without one.
+     * @param query the search query; empty or null counts over all records.
+     * @param facets the normalized values chosen per facet.
+     * @return the counts per value, by facet, with values in the order of their facet.
+     */
+    public Map<PlantFacet, Map<String, Integer>> facetCounts(SearchCursor cursor, String query,
+                                                             Map<PlantFacet, ? extends Set<String>> facets) {
+        SearchSnapshot current = snapshot.get();
+        FacetIndex facetIndex = current.getFacetIndex();
+        long[] base = query == null || query.isEmpty() ? null : facetIndex.bitmapOf(rank(current, query, cursor));
+        return facetIndex.counts(facets, base);
+    }
+
+    /**
+     * Searches for plant index records matching the given query, tolerating misspellings.
+     *
+     * <p>Exact substring matches come first, ranked exactly as by {@link #search(String)}. The remaining
+     * places are filled with records where every word of the query is within a small edit distance of a
+     * word in one of the name fields (see {@link FuzzyTokenIndex#maxDistanceFor(int)}), ranked by total
+     * edit distance.</p>
+     *
+     * @param query the search query.
+     * @param limit the maximum number of results to return.
+     * @return up to {@code limit} matching PlantIndex records; empty for an empty or null query.
+     */
+    public List<PlantIndex> searchFuzzy(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        SearchSnapshot current = snapshot.get();
+        List<PlantIndex> source = current.getPlants();
+        int[] ranked = cached(current, query);
+        int[] exact;
+        if (ranked == null) {
+            exact = current.getSearchIndex().search(encode(query), 0, limit);
+        } else {
+            exact = ranked.length > limit ? Arrays.copyOf(ranked, limit) : ranked;
+        }
+        List<PlantIndex> results = new ArrayList<>(exact.length);
+        Set<Integer> seen = new HashSet<>();
+        for (int ordinal : exact) {
+            results.add(source.get(ordinal));
+            seen.add(ordinal);
+        }
+        int fuzzyLimit = (int) Math.min(Integer.MAX_VALUE, (long) limit + exact.length);
+        for (int ordinal : current.getFuzzyIndex().search(PlantCatalog.normalize(query), fuzzyLimit)) {
+            if (results.size() >= limit) {
+                break;
+            }
+            if (seen.add(ordinal)) {
+                results.add(source.get(ordinal));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Searches the plant names and descriptions, ranking records by both.
+     *
+     * <p>The best 1000 records of the name ranking of {@link #search(String)} and of the
+     * BM25 ranking of the descriptions are merged by reciprocal rank fusion: each record scores
+     * {@code 1 / (60 + rank)} in each ranking it appears in, with ranks starting at 1, and records are
+     * sorted by the sum. Records found by both rank above records found by one. Both rankings are limited
+     * to the records that match the facet selection.</p>
+     *
+     * @param query the search query.
+     * @param facets the normalized values chosen per facet; facets without values do not filter.
+     * @param limit the maximum number of results to return.
+     * @return up to {@code limit} matching PlantIndex records; empty for an empty or null query.
+     */
+    public List<PlantIndex> searchFullText(String query, Map<PlantFacet, ? extends Set<String>> facets, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        SearchSnapshot current = snapshot.get();
+        long[] filter = current.getFacetIndex().filter(facets);
+        int depth = Math.max(limit, FUSION_DEPTH);
+        int[] byName = filtered(current, query, null, filter);
+        int[] byText = current.getTextIndex().search(query, depth, filter);
+
+        Map<Integer, Double> fused = new HashMap<>();
+        for (int rank = 0; rank < Math.min(depth, byName.length); rank++) {
+            fused.merge(byName[rank], 1.0 / (FUSION_RANK_CONSTANT + rank + 1), Double::sum);
+        }
+        for (int rank = 0; rank < byText.length; rank++) {
+            fused.merge(byText[rank], 1.0 / (FUSION_RANK_CONSTANT + rank + 1), Double::sum);
+        }
+        return fused.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> current.getPlants().get(entry.getKey()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Returns the plants whose pruning, flowering or harvest falls in the given month and that match the
+     * facet selection, in catalog order.
+     *
+     * @param activity the seasonal activity.
+     * @param month the month.
+     * @param facets the normalized values chosen per facet; facets without values do not filter.
+     * @param limit the maximum number of results to return.
+     * @return up to {@code limit} PlantIndex records.
+     */
+    public List<PlantIndex> findInSeason(MonthIndex.Activity activity, Month month,
+                                         Map<PlantFacet, ? extends Set<String>> facets, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        SearchSnapshot current = snapshot.get();
+        int[] ordinals = current.getMonthIndex().ordinals(activity, MonthIndex.maskOf(month),
+                current.getFacetIndex().filter(facets));
+        return materialize(current, ordinals, 0, limit);
+    }
+
+    /**
+     * Returns the given plant ids whose pruning, flowering or harvest falls in the given month, in the
+     * order of the ids. Ids that are not in the index are left out.
+     *
+     * @param activity the seasonal activity.
+     * @param month the month.
+     * @param plantIds the plant ids to test, such as the plants of a user's library.
+     * @return the ids of the plants in season.
+     */
+    public long[] filterInSeason(MonthIndex.Activity activity, Month month, long[] plantIds) {
+        SearchSnapshot current = snapshot.get();
+        MonthIndex months = current.getMonthIndex();
+        int mask = MonthIndex.maskOf(month);
+        return Arrays.stream(plantIds)
+                .filter(id -> {
+                    int ordinal = current.getCatalog().ordinalOf(id);
+                    return ordinal != PlantCatalog.NO_MATCH && (months.months(activity, ordinal) & mask) != 0;
+                })
+                .toArray();
+    }
+
+    /**
+     * Returns the plant index records with the given ids from the current snapshot, in the order of the ids.
+     * Ids that are not in the index are skipped.
+     *
+     * @param ids the plant ids.
+     * @return the records.
+     */
+    public List<PlantIndex> getPlantsByIds(long[] ids) {
+        SearchSnapshot current = snapshot.get();
+        List<PlantIndex> results = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            int ordinal = current.getCatalog().ordinalOf(id);
+            if (ordinal != PlantCatalog.NO_MATCH) {
+                results.add(current.getPlants().get(ordinal));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns up to {@code k} name completions for the given prefix.
+     *
+     * <p>Completions are drawn from common names, scientific names and aliases, and are ranked with common
+     * names first and shorter names before longer ones. The lookup only walks the prefix in the name trie,
+     * so its cost does not depend on the number of plants.</p>
+     *
+     * @param prefix the prefix typed by the user.
+     * @param k the maximum number of completions (at most {@link PlantNameTrie#MAX_SUGGESTIONS}).
+     * @return the completions, best first; empty for an empty or null prefix.
+     */
+    public List<String> suggest(String prefix, int k) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return snapshot.get().getNameTrie().suggest(prefix.stripLeading(), k);
+    }
+
+    /**
+     * Returns the complete ranking of a non-empty query in the given snapshot: from the result cache if
+     * present, else by narrowing the previous result of the cursor, else from the search index. The cursor,
+     * if any, then remembers the ranking. The returned array is shared and must not be modified.
+     */
+    private int[] rank(SearchSnapshot current, String query, SearchCursor cursor) {
+        return rank(current, query, cursor, true);
+    }
+
+    /**
+     * Returns the complete ranking of a non-empty query as {@link #rank(SearchSnapshot, String, SearchCursor)}
+     * does, or, if {@code searchIndex} is false, null instead of searching the index when neither the
+     * result cache nor the cursor has it.
+     */
+    private int[] rank(SearchSnapshot current, String query, SearchCursor cursor, boolean searchIndex) {
+        String normalized = PlantCatalog.normalize(query);
+        int[] ordinals = searchCache.get(current.getVersion(), normalized);
+        if (ordinals == null) {
+            ordinals = cursor == null ? null : cursor.narrow(current, normalized);
+            if (ordinals == null) {
+                if (!searchIndex) {
+                    return null;
+                }
+                ordinals = current.getSearchIndex().search(normalized.getBytes(StandardCharsets.UTF_8));
+            }
+            searchCache.put(current.getVersion(), normalized, ordinals);
+        }
+        if (cursor != null) {
+            cursor.update(current, normalized, ordinals);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Returns the cached complete ranking of a non-empty query in the given snapshot, or null if it is not
+     * cached. The returned array is shared and must not be modified.
+     */
+    private int[] cached(SearchSnapshot current, String query) {
+        return searchCache.get(current.getVersion(), PlantCatalog.normalize(query));
+    }
+
+    /**
+     * Normalizes and encodes a query for the search index.
+     */
+    private static byte[] encode(String query) {
+        return PlantCatalog.normalize(query).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the ordinals matching the query and the facet filter: the ranking of the query without the
+     * ordinals the filter excludes, or, for an empty query, all ordinals in the filter in ascending order.
+     */
+    private int[] filtered(SearchSnapshot current, String query, SearchCursor cursor, long[] filter) {
+        if (query == null || query.isEmpty()) {
+            int[] ordinals = new int[current.getPlants().size()];
+            int count = 0;
+            for (int word = 0; word < filter.length; word++) {
+                for (long bits = filter[word]; bits != 0; bits &= bits - 1) {
+                    ordinals[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
             }
-            if (pos > 0 && pos < score) {
-                score = pos;
+            return Arrays.copyOf(ordinals, count);
+        }
+        int[] ranked = rank(current, query, cursor);
+        if (filter == null) {
+            return ranked;
+        }
+        int[] ordinals = new int[ranked.length];
+        int count = 0;
+        for (int ordinal : ranked) {
+            if (FacetIndex.matches(filter, ordinal)) {
+                ordinals[count++] = ordinal;
             }
         }
-        return score == Integer.MAX_VALUE ? 100 : score;
+        return Arrays.copyOf(ordinals, count);
     }
 
     /**
-     * Sets the plant index list to use for testing.
-     * <p>This method is intended for testing purposes only.</p>
+     * Resolves the ordinals from {@code offset} up to {@code offset + limit} to their records.
+     */
+    private static List<PlantIndex> materialize(SearchSnapshot current, int[] ordinals, int offset, int limit) {
+        int from = Math.min(offset, ordinals.length);
+        int to = (int) Math.min((long) from + limit, ordinals.length);
+        List<PlantIndex> results = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            results.add(current.getPlants().get(ordinals[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Builds a new snapshot over the given plant index list and publishes it.
+     * <p>Called when the index is loaded or reloaded, and by tests that supply mock data. Building happens
+     * on the calling thread while readers keep using the current snapshot. If two builds overlap, the one
+     * that started last wins, even if it finishes first.</p>
+     * <p>The facet attributes, the descriptions and the seasons are loaded from the plant details table at
+     * the same time. If any of them cannot be loaded, the snapshot is published without facet values, text
+     * index or months respectively.</p>
      *
-     * @param mockData the mock plant index list.
+     * @param plants the plant index list; it must not be modified afterwards.
+     */
+    public void setPlantIndexList(List<PlantIndex> plants) {
+        SearchSnapshot built = SearchSnapshot.build(versions.incrementAndGet(), plants, loadAttributes(), objectMapper,
+                loadTexts(), loadSeasons());
+        snapshot.accumulateAndGet(built, (current, next) -> next.getVersion() > current.getVersion() ? next : current);
+    }
+
+    /**
+     * Reads the filterable attributes of all plants, or returns an empty list if there is no repository or
+     * the query fails.
      */
-    public void setPlantIndexList(List<PlantIndex> mockData) {
-        plantIndexList = mockData;
+    private List<PlantAttributes> loadAttributes() {
+        if (plantDetailsRepository == null) {
+            return List.of();
+        }
+        try {
+            return plantDetailsRepository.findAllAttributes();
+        } catch (RuntimeException e) {
+            System.err.println("Error loading plant attributes for facets: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Streams the descriptions of all plants into a text index builder, one page at a time. Returns an
+     * empty builder if there is no repository or a page cannot be read.
+     */
+    private Bm25Index.Builder loadTexts() {
+        Bm25Index.Builder texts = new Bm25Index.Builder();
+        if (plantDetailsRepository == null) {
+            return texts;
+        }
+        try {
+            long afterId = 0;
+            List<PlantText> page;
+            do {
+                page = plantDetailsRepository.findTextsAfter(afterId, PageRequest.of(0, TEXT_PAGE_SIZE));
+                for (PlantText text : page) {
+                    texts.add(text.getId(), text.getDescription());
+                    afterId = text.getId();
+                }
+            } while (page.size() == TEXT_PAGE_SIZE);
+            return texts;
+        } catch (RuntimeException e) {
+            System.err.println("Error loading plant descriptions for full-text search: " + e.getMessage());
+            return new Bm25Index.Builder();
+        }
+    }
+
+    /**
+     * Reads the pruning, flowering and harvest seasons of all plants, or returns an empty list if there is
+     * no repository or the query fails.
+     */
+    private List<PlantSeasons> loadSeasons() {
+        if (plantDetailsRepository == null) {
+            return List.of();
+        }
+        try {
+            return plantDetailsRepository.findAllSeasons();
+        } catch (RuntimeException e) {
+            System.err.println("Error loading plant seasons: " + e.getMessage());
+            return List.of();
+        }
     }
 }
@@ -0,0 +1,151 @@
+package com.flourish.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.PlantDetailsRepository;
+import com.flourish.search.SimilarPlantsIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service that recommends plants similar to a given plant.
+ *
+ * <p>The neighbours of every plant are precomputed into a {@link SimilarPlantsIndex} from the attributes in
+ * the plant_details table, so {@link #findSimilar(Long, int)} never compares plants itself. The full
+ * computation runs once at startup on a background thread and spreads its work over the fork/join pool.
+ * When {@code PlantDataService} saves new or changed plant details, it passes them to
+ * {@link #update(List)}, which recomputes only the neighbours the change can affect.</p>
+ *
+ * <p>All computations run one after another on the background thread and publish a new index when done;
+ * lookups always read the last published index and never block.</p>
+ *
+ * <strong>Configuration</strong>
+ * <ul>
+ *   <li>{@code plant.similar.neighbours}: the number of neighbours kept per plant (default 10).</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@Service
+public class SimilarPlantsService {
+
+    private final PlantDetailsRepository plantDetailsRepository;
+    private final PlantSearchService plantSearchService;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<SimilarPlantsIndex> index = new AtomicReference<>(SimilarPlantsIndex.empty(0));
+    private ExecutorService executor;
+
+    @Value("${plant.similar.neighbours:10}")
+    int neighbourCount = 10;
+
+    /**
+     * Constructs a new SimilarPlantsService.
+     *
+     * @param plantDetailsRepository the repository the plant attributes are loaded from.
+     * @param plantSearchService the service used to resolve plant ids to plant index records.
+     * @param objectMapper the shared ObjectMapper that reads the JSON-encoded plant attributes.
+     */
+    @Autowired
+    public SimilarPlantsService(PlantDetailsRepository plantDetailsRepository,
+                                PlantSearchService plantSearchService, ObjectMapper objectMapper) {
+        this.plantDetailsRepository = plantDetailsRepository;
+        this.plantSearchService = plantSearchService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts the background thread and schedules the initial computation.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "similar-plants");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.submit(this::recompute);
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Computes the neighbours of all plants from the database and publishes them. Runs on the calling
+     * thread; if the attributes cannot be loaded, the current index stays in place.
+     *
+     * @return true if a new index was published.
+     */
+    boolean recompute() {
+        try {
+            long start = System.nanoTime();
+            SimilarPlantsIndex built = SimilarPlantsIndex.build(plantDetailsRepository.findAllAttributes(), neighbourCount,
+                    objectMapper);
+            index.set(built);
+            System.out.println("Computed similar plants for " + built.size() + " plants in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error computing similar plants: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Schedules an incremental update for plant details that were saved.
+     *
+     * @param changed the new or changed plant details.
+     * @return a future that completes when the updated index is published.
+     */
+    public Future<?> update(List<PlantDetails> changed) {
+        List<PlantAttributes> attributes = changed.stream().map(PlantAttributes::of).toList();
+        return executor.submit(() -> index.set(index.get().update(attributes, objectMapper)));
+    }
+
+    /**
+     * Returns the plants most similar to the given plant, most similar first.
+     *
+     * @param id the plant id.
+     * @param limit the maximum number of plants to return.
+     * @return the similar plants that are in the plant index; empty if the plant is unknown.
+     */
+    public List<PlantIndex> findSimilar(Long id, int limit) {
+        if (id == null || limit <= 0) {
+            return List.of();
+        }
+        long[] ids = index.get().similarIds(id);
+        return plantSearchService.getPlantsByIds(ids.length > limit ? Arrays.copyOf(ids, limit) : ids);
+    }
+
+    /**
+     * Returns the currently published index.
+     *
+     * @return the index.
+     */
+    SimilarPlantsIndex getIndex() {
+        return index.get();
+    }
+}
@@ -1,10 +1,12 @@
 package com.flourish.service;
 
 import com.flourish.domain.LibraryEntry;
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.PlantDetails;
 import com.flourish.domain.PlantIndex;
 import com.flourish.domain.UserPlantLibrary;
 import com.flourish.repository.UserPlantLibraryRepository;
+import com.flourish.search.MonthIndex;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +38,9 @@ import java.util.List;
  * </ul>
  * </p>
  *
+ * <p>Which library plants are due for pruning, in flower or ready for harvest in a month is answered from
+ * the month masks of the search snapshot in {@link PlantSearchService}, without loading plant details.</p>
+ *
  * ----------------------------------------------------------------
  * @MartinFrick 250317
  * Added methods to add, remove and read hashtags from a users plantlibrary.
@@ -58,15 +66,18 @@ public class UserPlantLibraryService {
 
     private final UserPlantLibraryRepository libraryRepository;
     private final PlantDetailsService plantDetailsService;
+    private final PlantSearchService plantSearchService;
 
     @PersistenceContext
     private EntityManager entityManager;
 
 
     @Autowired
-    public UserPlantLibraryService(UserPlantLibraryRepository libraryRepository, PlantDetailsService plantDetailsService) {
+    public UserPlantLibraryService(UserPlantLibraryRepository libraryRepository, PlantDetailsService plantDetailsService,
+                                   PlantSearchService plantSearchService) {
         this.libraryRepository = libraryRepository;
         this.plantDetailsService = plantDetailsService;
+        this.plantSearchService = plantSearchService;
     }
 
     /**
@@ -230,34 +241,65 @@ public class UserPlantLibraryService {
      * Retrieves all public PlantDetails for the plants in a user's library.
      *
      * @param userId the user ID.
-     * @return a List of PlantDetails for all plants in the user's library.
+     * @return a List of PlantDetails for all plants in the user's library, in library order.
      */
     public List<PlantDetails> getAllPlantDetailsForUser(Long userId) {
         List<UserPlantLibrary> libraryEntries = libraryRepository.findByUserId(userId);
+        Map<Long, PlantDetails> details = plantDetailsService.getPlantDetailsByIds(
+                libraryEntries.stream().map(UserPlantLibrary::getPlantId).toList());
         List<PlantDetails> detailsList = new ArrayList<>();
         for (UserPlantLibrary entry : libraryEntries) {
-            plantDetailsService.getPlantDetailsById(entry.getPlantId()).ifPresent(detailsList::add);
+            PlantDetails plant = details.get(entry.getPlantId());
+            if (plant != null) {
+                detailsList.add(plant);
+            }
         }
         return detailsList;
     }
 
     /**
-     * Retrieves all library entries for a user, including the associated PlantDetails.
+     * Retrieves all library entries for a user, including the card of each plant. The cards of all plants
+     * are read at once; the full PlantDetails are not loaded.
      *
      * @param userId the user ID.
-     * @return a List of LibraryEntry objects.
+     * @return a List of LibraryEntry objects, in library order, for the plants that exist.
      */
     public List<LibraryEntry> getAllLibraryEntriesForUser(Long userId) {
         List<UserPlantLibrary> libraryEntries = libraryRepository.findByUserId(userId);
+        Map<Long, PlantCard> cards = plantDetailsService.getPlantCardsByIds(
+                libraryEntries.stream().map(UserPlantLibrary::getPlantId).toList());
         List<LibraryEntry> entries = new ArrayList<>();
         for (UserPlantLibrary libraryEntry : libraryEntries) {
-            plantDetailsService.getPlantDetailsById(libraryEntry.getPlantId()).ifPresent(details -> {
-                entries.add(new LibraryEntry(details, libraryEntry));
-            });
+            PlantCard card = cards.get(libraryEntry.getPlantId());
+            if (card != null) {
+                entries.add(new LibraryEntry(card, libraryEntry));
+            }
         }
         return entries;
     }
 
+    /**
+     * Retrieves the library entries of a user whose plants are pruned, flower or are harvested in the given
+     * month, such as the plants that need pruning this month.
+     *
+     * @param userId the user ID.
+     * @param activity the seasonal activity.
+     * @param month the month.
+     * @return the matching library entries, in library order.
+     */
+    public List<UserPlantLibrary> getLibraryPlantsInSeason(Long userId, MonthIndex.Activity activity, Month month) {
+        List<UserPlantLibrary> libraryEntries = libraryRepository.findByUserId(userId);
+        long[] plantIds = libraryEntries.stream()
+                .filter(entry -> entry.getPlantId() != null)
+                .mapToLong(UserPlantLibrary::getPlantId)
+                .toArray();
+        long[] inSeason = plantSearchService.filterInSeason(activity, month, plantIds);
+        Arrays.sort(inSeason);
+        return libraryEntries.stream()
+                .filter(entry -> entry.getPlantId() != null && Arrays.binarySearch(inSeason, entry.getPlantId()) >= 0)
+                .toList();
+    }
+
     /**
      * Method to Add a hashtag to database.
      * Functionality to find plant, potential douplicate hashtag is also here.
@@ -3,29 +3,64 @@ package com.flourish.views;
 import com.flourish.domain.PlantDetails;
 import com.flourish.domain.PlantIndex;
 import com.flourish.domain.User;
+import com.flourish.search.PlantFacet;
+import com.flourish.search.SearchCursor;
 import com.flourish.service.PlantDetailsService;
 import com.flourish.service.PlantSearchService;
+import com.flourish.service.SimilarPlantsService;
 import com.flourish.service.UserPlantLibraryService;
 import com.vaadin.flow.component.Composite;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.combobox.MultiSelectComboBox;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Provides a view for displaying all available plants with a search function.
  * Users can search, view descriptions, and add plants to their personal library.
  *
+ * <p>The grid is bound to a lazy data provider whose filter is the search text. Only the rows the grid
+ * requests are sent to the browser; the search service is asked for one page at a time. The view keeps a
+ * {@link SearchCursor}, so while the user keeps typing, each query only filters the results of the one
+ * before. The facet counts are updated first and rank the query once through the cursor; the grid's count
+ * and pages then reuse that ranking.</p>
+ *
+ * <p>While the user types, name completions from the search service are shown below the search field.
+ * Selecting a completion fills in the search field with the full name. When a query has no exact
+ * matches, the grid falls back to typo-tolerant results and a hint says so.</p>
+ *
+ * <p>Facet boxes above the grid narrow the results by watering, sunlight, cycle, care level, the hardiness
+ * zone a plant must survive in and plant properties such as indoor, edible or poisonous. Every option shows
+ * how many plants matching the search and the other facets it would leave; the counts are recomputed from
+ * the in-memory facet index whenever the search or the selection changes.</p>
+ *
+ * <p>With "Search descriptions" checked, the grid instead shows the best matches of the search text in the
+ * plant names and descriptions together, so users can search for traits like "shade tolerant".</p>
+ *
+ * <p>The details of a plant list up to five similar plants; clicking one searches for it.</p>
+ *
  * <p>Redirects to the login view if no authenticated user is found in the session.</p>
  *
  * @author
@@ -40,10 +75,30 @@ import java.util.Optional;
 @RolesAllowed("USER")
 public class AllPlantsView extends Composite<VerticalLayout> {
 
+    private static final int SUGGESTION_COUNT = 5;
+    private static final int FUZZY_RESULT_LIMIT = 50;
+    private static final int FULL_TEXT_RESULT_LIMIT = 100;
+    private static final int SIMILAR_PLANT_COUNT = 5;
+    private static final List<PlantFacet> VALUE_FACETS =
+            List.of(PlantFacet.WATERING, PlantFacet.SUNLIGHT, PlantFacet.CYCLE, PlantFacet.CARE_LEVEL,
+                    PlantFacet.HARDINESS_ZONE);
+
     private final PlantSearchService plantSearchService;
     private final PlantDetailsService plantDetailsService;
     private final UserPlantLibraryService userPlantLibraryService;
+    private final SimilarPlantsService similarPlantsService;
+
     private Grid<PlantIndex> plantGrid;
+    private TextField searchField;
+    private FlexLayout suggestionBar;
+    private Span fuzzyHint;
+    private Checkbox descriptionSearch;
+    private final Map<PlantFacet, MultiSelectComboBox<String>> facetBoxes = new EnumMap<>(PlantFacet.class);
+    private MultiSelectComboBox<PlantFacet> propertyBox;
+    private Map<PlantFacet, Map<String, Integer>> facetCounts = Map.of();
+    private List<PlantIndex> listResults = List.of();
+    private final SearchCursor searchCursor = new SearchCursor();
+    private ConfigurableFilterDataProvider<PlantIndex, Void, String> plantDataProvider;
     private final Long userId;
 
     /**
@@ -52,15 +107,18 @@ public class AllPlantsView extends Composite<VerticalLayout> {
      * @param plantSearchService      service handling plant search queries
      * @param plantDetailsService     service retrieving detailed plant data
      * @param userPlantLibraryService service managing the user's plant library
+     * @param similarPlantsService    service recommending similar plants
      */
     public AllPlantsView(
             PlantSearchService plantSearchService,
             PlantDetailsService plantDetailsService,
-            UserPlantLibraryService userPlantLibraryService
+            UserPlantLibraryService userPlantLibraryService,
+            SimilarPlantsService similarPlantsService
     ) {
         this.plantSearchService = plantSearchService;
         this.plantDetailsService = plantDetailsService;
         this.userPlantLibraryService = userPlantLibraryService;
+        this.similarPlantsService = similarPlantsService;
 
         User user = (User) VaadinSession.getCurrent().getAttribute("user");
         if (user == null) {
@@ -76,9 +134,42 @@ public class AllPlantsView extends Composite<VerticalLayout> {
         H2 title = new H2("All Plants");
         title.addClassName("all-plants-title");
 
-        TextField searchField = new TextField("Search Plants");
+        searchField = new TextField("Search Plants");
         searchField.addClassName("all-plants-search");
-        searchField.addValueChangeListener(event -> updatePlantList(event.getValue()));
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(event -> {
+            updatePlantList(event.getValue());
+            updateSuggestions(event.getValue());
+        });
+
+        descriptionSearch = new Checkbox("Search descriptions");
+        descriptionSearch.addClassName("all-plants-description-search");
+        descriptionSearch.addValueChangeListener(event -> updatePlantList(searchField.getValue()));
+
+        suggestionBar = new FlexLayout();
+        suggestionBar.addClassName("all-plants-suggestions");
+
+        fuzzyHint = new Span("No exact matches. Showing plants with similar names.");
+        fuzzyHint.addClassName("all-plants-fuzzy-hint");
+        fuzzyHint.setVisible(false);
+
+        FlexLayout facetBar = new FlexLayout();
+        facetBar.addClassName("all-plants-facets");
+        for (PlantFacet facet : VALUE_FACETS) {
+            MultiSelectComboBox<String> box = new MultiSelectComboBox<>(facet.getLabel());
+            box.addClassName("all-plants-facet");
+            box.setItems(plantSearchService.getFacetValues(facet));
+            box.setItemLabelGenerator(value -> value + " (" + facetCount(facet, value) + ")");
+            box.addValueChangeListener(event -> updatePlantList(searchField.getValue()));
+            facetBoxes.put(facet, box);
+            facetBar.add(box);
+        }
+        propertyBox = new MultiSelectComboBox<>("Properties");
+        propertyBox.addClassName("all-plants-facet");
+        propertyBox.setItems(Stream.of(PlantFacet.values()).filter(PlantFacet::isFlag).toList());
+        propertyBox.setItemLabelGenerator(facet -> facet.getLabel() + " (" + facetCount(facet, PlantFacet.YES) + ")");
+        propertyBox.addValueChangeListener(event -> updatePlantList(searchField.getValue()));
+        facetBar.add(propertyBox);
 
         plantGrid = new Grid<>(PlantIndex.class, false);
         plantGrid.addClassName("all-plants-grid");
@@ -92,25 +183,122 @@ public class AllPlantsView extends Composite<VerticalLayout> {
                     details -> detailsLayout.add("Description: " + details.getDescription()),
                     () -> detailsLayout.add("Description not available.")
             );
+            List<PlantIndex> similarPlants = similarPlantsService.findSimilar(plant.getId(), SIMILAR_PLANT_COUNT);
+            if (!similarPlants.isEmpty()) {
+                FlexLayout similarBar = new FlexLayout(new Span("Similar plants:"));
+                similarBar.addClassName("all-plants-similar");
+                for (PlantIndex similar : similarPlants) {
+                    String name = similar.getCommonName() != null ? similar.getCommonName() : similar.getScientificName();
+                    Button similarButton = new Button(name, e -> searchField.setValue(name));
+                    similarButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+                    similarBar.add(similarButton);
+                }
+                detailsLayout.add(similarBar);
+            }
             Button addButton = new Button("Add to My Plants", e -> addToMyPlants(plant));
             addButton.addClassName("all-plants-add-button");
             detailsLayout.add(addButton);
             return detailsLayout;
         }));
 
-        updatePlantList("");
+        plantDataProvider = new CallbackDataProvider<PlantIndex, String>(
+                query -> listResults.isEmpty()
+                        ? plantSearchService.search(searchCursor, query.getFilter().orElse(""),
+                                selectedFacets(), query.getOffset(), query.getLimit()).stream()
+                        : listResults.stream().skip(query.getOffset()).limit(query.getLimit()),
+                query -> listResults.isEmpty()
+                        ? plantSearchService.count(searchCursor, query.getFilter().orElse(""), selectedFacets())
+                        : listResults.size(),
+                PlantIndex::getId
+        ).withConfigurableFilter();
+        plantGrid.setItems(plantDataProvider);
 
-        getContent().add(title, searchField, plantGrid);
+        getContent().add(title, searchField, descriptionSearch, suggestionBar, facetBar, fuzzyHint, plantGrid);
+        updateFacetCounts("");
     }
 
     /**
-     * Updates the grid items based on the provided search query.
+     * Updates the facet counts and the grid filter based on the provided search query and the selected
+     * facets. The grid then fetches the first visible page of the new result set lazily. If descriptions are searched, a bounded
+     * list of name and description matches is shown instead. Otherwise, if the query has no exact matches
+     * and no facet is selected, a bounded list of typo-tolerant matches is shown.
      *
      * @param query the text to filter plants by name or scientific name
      */
     private void updatePlantList(String query) {
-        List<PlantIndex> plants = plantSearchService.search(query);
-        plantGrid.setItems(plants);
+        updateFacetCounts(query);
+        Map<PlantFacet, Set<String>> facets = selectedFacets();
+        boolean fullText = descriptionSearch.getValue() && !query.isBlank();
+        if (fullText) {
+            listResults = plantSearchService.searchFullText(query, facets, FULL_TEXT_RESULT_LIMIT);
+        } else {
+            listResults = facets.isEmpty() && plantSearchService.count(searchCursor, query) == 0
+                    ? plantSearchService.searchFuzzy(query, FUZZY_RESULT_LIMIT)
+                    : List.of();
+        }
+        fuzzyHint.setVisible(!fullText && !listResults.isEmpty());
+        plantDataProvider.setFilter(query);
+        plantDataProvider.refreshAll();
+    }
+
+    /**
+     * Returns the facet values selected in the facet boxes. A selected property stands for the value
+     * {@link PlantFacet#YES} of its flag facet.
+     *
+     * @return the selected values by facet; facets without a selection are left out
+     */
+    private Map<PlantFacet, Set<String>> selectedFacets() {
+        Map<PlantFacet, Set<String>> facets = new EnumMap<>(PlantFacet.class);
+        facetBoxes.forEach((facet, box) -> {
+            if (!box.getSelectedItems().isEmpty()) {
+                facets.put(facet, box.getSelectedItems());
+            }
+        });
+        for (PlantFacet facet : propertyBox.getSelectedItems()) {
+            facets.put(facet, Set.of(PlantFacet.YES));
+        }
+        return facets;
+    }
+
+    /**
+     * Recomputes the counts shown next to each facet option for the given query and the current selection.
+     *
+     * @param query the current search text
+     */
+    private void updateFacetCounts(String query) {
+        facetCounts = plantSearchService.facetCounts(searchCursor, query, selectedFacets());
+        facetBoxes.values().forEach(box -> box.getListDataView().refreshAll());
+        propertyBox.getListDataView().refreshAll();
+    }
+
+    /**
+     * Returns the number of plants that selecting the given value would leave.
+     *
+     * @param facet the facet of the value
+     * @param value the facet value
+     * @return the count from the last facet count update, or 0 if the value did not occur
+     */
+    private int facetCount(PlantFacet facet, String value) {
+        return facetCounts.getOrDefault(facet, Map.of()).getOrDefault(value, 0);
+    }
+
+    /**
+     * Replaces the suggestion bar with name completions for the current search text. A completion
+     * that equals the search text is not shown, so the bar empties once a completion has been chosen.
+     *
+     * @param prefix the current search text
+     */
+    private void updateSuggestions(String prefix) {
+        suggestionBar.removeAll();
+        for (String suggestion : plantSearchService.suggest(prefix, SUGGESTION_COUNT)) {
+            if (suggestion.equalsIgnoreCase(prefix.strip())) {
+                continue;
+            }
+            Button suggestionButton = new Button(suggestion, e -> searchField.setValue(suggestion));
+            suggestionButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+            suggestionButton.addClassName("all-plants-suggestion");
+            suggestionBar.add(suggestionButton);
+        }
     }
 
     /**
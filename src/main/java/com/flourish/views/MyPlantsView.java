@@ -1,6 +1,9 @@
 package com.flourish.views;
 
 import com.flourish.domain.LibraryEntry;
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.UserPlantLibrary;
+import com.flourish.search.MonthIndex;
 import com.flourish.service.UserSessionData;
 import com.flourish.service.UserPlantLibraryService;
 import com.flourish.views.components.WaterGauge;
@@ -8,6 +11,7 @@ import com.vaadin.flow.component.Composite;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
@@ -35,9 +39,13 @@ import jakarta.annotation.security.RolesAllowed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.time.LocalDate;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -61,7 +69,8 @@ import java.util.stream.Collectors;
  *
  * <p><strong>Key Layout Sections:</strong>
  * <ul>
- *   <li><em>Top Bar:</em> Page title and search field.</li>
+ *   <li><em>Top Bar:</em> Page title, search field and a filter for the plants that need pruning, flower
+ *       or can be harvested this month.</li>
  *   <li><em>Center Area:</em> A FlexLayout containing plant cards.</li>
  *   <li><em>Detail Panel:</em> A hidden panel that appears upon clicking a plant,
  *       showing more information and actions.</li>
@@ -93,6 +102,7 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
     private final Div emptyLibraryNotice = new Div();
     private final Div selectedPlantDetails = new Div();
     private final TextField searchField = new TextField("Search Plants");
+    private final ComboBox<MonthIndex.Activity> seasonFilter = new ComboBox<>();
 
     private final Span hashtagSectionHeader = new Span("Hashtag Filters");
     private final Div mainViewHashtagFilterField = new Div();
@@ -126,12 +136,12 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
      *
      * <p>The record provides direct access to data for populating and filtering
      * in this view. Each object corresponds to one {@code LibraryEntry}
-     * from the backend.</p>
+     * from the backend and holds only the fields of its {@code PlantCard};
+     * the description is loaded when the detail panel is opened.</p>
      *
      * @param libraryId         the unique ID of this user's library entry
      * @param plantId           the public plant ID
      * @param name              the plant's display name
-     * @param description       textual description of the plant
      * @param imageUrl          a URL referencing the default/representative plant image
      * @param watering          the watering frequency category (e.g., "Frequent", "Average", "Minimum")
      * @param sunlight          a summary of the plant's sunlight needs
@@ -146,7 +156,6 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
             long libraryId,
             long plantId,
             String name,
-            String description,
             String imageUrl,
             String watering,
             String sunlight,
@@ -191,7 +200,15 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
         searchField.addClassName("my-plants-search");
         searchField.addValueChangeListener(e -> refreshPlantList());
 
-        HorizontalLayout topBar = new HorizontalLayout(title, searchField);
+        String currentMonth = LocalDate.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        seasonFilter.setLabel("This month (" + currentMonth + ")");
+        seasonFilter.addClassName("my-plants-season-filter");
+        seasonFilter.setItems(MonthIndex.Activity.values());
+        seasonFilter.setItemLabelGenerator(MonthIndex.Activity::getLabel);
+        seasonFilter.setClearButtonVisible(true);
+        seasonFilter.addValueChangeListener(e -> refreshPlantList());
+
+        HorizontalLayout topBar = new HorizontalLayout(title, searchField, seasonFilter);
         topBar.setWidthFull();
         topBar.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
 
@@ -240,8 +257,9 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
 
     /**
      * Retrieves all the user's library entries, converts them to {@link Plant}
-     * records, filters them by both the search query and selected hashtags,
-     * then updates the display accordingly.
+     * records, filters them by the search query, the selected hashtags and
+     * the selected seasonal activity of the current month, then updates the
+     * display accordingly.
      */
     private void refreshPlantList() {
         List<LibraryEntry> entries = userPlantLibraryService.getAllLibraryEntriesForUser(userSessionData.getUserId());
@@ -260,6 +278,17 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
                     .collect(Collectors.toList());
         }
 
+        if (seasonFilter.getValue() != null) {
+            Month month = LocalDate.now().getMonth();
+            Set<Long> inSeason = userPlantLibraryService
+                    .getLibraryPlantsInSeason(userSessionData.getUserId(), seasonFilter.getValue(), month).stream()
+                    .map(UserPlantLibrary::getId)
+                    .collect(Collectors.toSet());
+            filtered = filtered.stream()
+                    .filter(p -> inSeason.contains(p.libraryId()))
+                    .collect(Collectors.toList());
+        }
+
         updatePlantLayout(filtered);
         populateRightBarHashtags();
     }
@@ -275,17 +304,16 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
         return entries.stream()
                 .map(entry -> new Plant(
                         entry.getUserPlantLibrary().getId(),
-                        entry.getPlantDetails().getId(),
-                        entry.getPlantDetails().getCommonName(),
-                        entry.getPlantDetails().getDescription(),
-                        entry.getPlantDetails().getDefaultImageOriginalUrl(),
-                        entry.getPlantDetails().getWatering(),
-                        entry.getPlantDetails().getSunlight(),
-                        entry.getPlantDetails().getType(),
-                        entry.getPlantDetails().getEdibleFruit(),
-                        entry.getPlantDetails().getPoisonousToHumans(),
-                        entry.getPlantDetails().getPoisonousToPets(),
-                        entry.getPlantDetails().getMedicinal(),
+                        entry.getPlantCard().getId(),
+                        entry.getPlantCard().getCommonName(),
+                        entry.getPlantCard().getImageUrl(),
+                        entry.getPlantCard().getWatering(),
+                        entry.getPlantCard().getSunlight(),
+                        entry.getPlantCard().getType(),
+                        entry.getPlantCard().getEdibleFruit(),
+                        entry.getPlantCard().getPoisonousToHumans(),
+                        entry.getPlantCard().getPoisonousToPets(),
+                        entry.getPlantCard().getMedicinal(),
                         entry.getUserPlantLibrary().getHashtags()
                 ))
                 .collect(Collectors.toList());
@@ -473,7 +501,9 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
 
     /**
      * Reveals a detail panel containing the selected plant's larger image,
-     * description, watering gauge, and hashtag management fields.
+     * description, watering gauge, and hashtag management fields. The
+     * description is read from the full plant details, which are only
+     * loaded here.
      *
      * @param plant the {@link Plant} whose details are shown
      */
@@ -499,7 +529,9 @@ public class MyPlantsView extends Composite<VerticalLayout> implements BeforeEnt
 
         H3 title = new H3(plant.name());
         Paragraph description = new Paragraph(
-                plant.description() != null ? plant.description() : "(No Description)"
+                userPlantLibraryService.getPlantDetailsForLibraryEntry(plant.libraryId())
+                        .map(PlantDetails::getDescription)
+                        .orElse("(No Description)")
         );
 
         WaterGauge gauge = new WaterGauge();
@@ -37,6 +37,7 @@ import org.junit.platform.suite.api.Suite;
         "com.flourish.repository",
         "com.flourish.domain",
         "com.flourish.integration.plantdata",
+        "com.flourish.search",
         "com.flourish.security"
 })
 @ConfigurationParameter(key = "junit.jupiter.extensions.autodetection.enabled", value = "true")
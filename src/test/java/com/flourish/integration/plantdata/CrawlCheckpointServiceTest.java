@@ -0,0 +1,136 @@
+package com.flourish.integration.plantdata;
+
+import com.flourish.domain.CrawlCheckpoint;
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import com.flourish.repository.CrawlCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link CrawlCheckpointService}.
+ *
+ * <p>Uses {@link DataJpaTest} and an in-memory H2 database, so the conditional updates of
+ * {@link CrawlCheckpointRepository} run as real SQL. Two workers are simulated by switching the worker
+ * name of the service.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@DataJpaTest
+@Import(CrawlCheckpointService.class)
+@ActiveProfiles("test")
+class CrawlCheckpointServiceTest {
+
+    @Autowired
+    private CrawlCheckpointService crawlCheckpointService;
+
+    @Autowired
+    private CrawlCheckpointRepository crawlCheckpointRepository;
+
+    /**
+     * Uses small ranges and a first worker.
+     */
+    @BeforeEach
+    void setUp() {
+        crawlCheckpointService.detailsRangeSize = 100;
+        crawlCheckpointService.leaseMinutes = 30;
+        crawlCheckpointService.workerId = "worker-a";
+    }
+
+    /**
+     * Verifies that two workers get disjoint ranges, that ranges are not created beyond the given maximum,
+     * and that the last range is cut at the maximum.
+     */
+    @Test
+    @DisplayName("claim(): hands out disjoint ranges up to the maximum")
+    void testDisjointClaims() {
+        CrawlCheckpoint first = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 250).orElseThrow();
+        crawlCheckpointService.workerId = "worker-b";
+        CrawlCheckpoint second = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 250).orElseThrow();
+        CrawlCheckpoint third = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 250).orElseThrow();
+
+        assertEquals(1, first.getRangeStart());
+        assertEquals(100, first.getRangeEnd());
+        assertEquals("worker-a", first.getOwner());
+        assertEquals(101, second.getRangeStart());
+        assertEquals(201, third.getRangeStart());
+        assertEquals(250, third.getRangeEnd());
+        assertTrue(crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 250).isEmpty());
+        assertTrue(crawlCheckpointService.claim(Crawl.PLANT_LIST, 5).isPresent());
+    }
+
+    /**
+     * Verifies that a released range is resumed at its recorded position and that a finished range is not
+     * claimed again.
+     */
+    @Test
+    @DisplayName("release(): resumes a range at its checkpoint")
+    void testResume() {
+        CrawlCheckpoint checkpoint = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 1000).orElseThrow();
+        assertTrue(crawlCheckpointService.advance(checkpoint, 42));
+        crawlCheckpointService.release(checkpoint);
+
+        crawlCheckpointService.workerId = "worker-b";
+        CrawlCheckpoint resumed = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 1000).orElseThrow();
+        assertEquals(checkpoint.getId(), resumed.getId());
+        assertEquals(42, resumed.getNextPosition());
+
+        assertTrue(crawlCheckpointService.advance(resumed, 101));
+        crawlCheckpointService.release(resumed);
+        CrawlCheckpoint next = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 1000).orElseThrow();
+        assertEquals(101, next.getRangeStart());
+    }
+
+    /**
+     * Verifies that a range whose lease has expired is taken over, and that the previous owner can then no
+     * longer record progress or release it.
+     */
+    @Test
+    @DisplayName("claim(): takes over a range whose lease has expired")
+    void testExpiredLease() {
+        crawlCheckpointService.leaseMinutes = -1;
+        CrawlCheckpoint crashed = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 1000).orElseThrow();
+
+        crawlCheckpointService.leaseMinutes = 30;
+        crawlCheckpointService.workerId = "worker-b";
+        CrawlCheckpoint takenOver = crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 1000).orElseThrow();
+        assertEquals(crashed.getId(), takenOver.getId());
+        assertEquals("worker-b", takenOver.getOwner());
+
+        crawlCheckpointService.workerId = "worker-a";
+        assertFalse(crawlCheckpointService.advance(crashed, 50));
+        crawlCheckpointService.release(crashed);
+        assertEquals("worker-b", crawlCheckpointRepository.findById(crashed.getId()).orElseThrow().getOwner());
+    }
+
+    /**
+     * Verifies that finishing a crawl cuts its range at the last position and stops new ranges.
+     */
+    @Test
+    @DisplayName("finish(): ends the crawl at the last position")
+    void testFinish() {
+        crawlCheckpointService.listRangeSize = 20;
+        CrawlCheckpoint checkpoint = crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE).orElseThrow();
+        assertTrue(crawlCheckpointService.finish(checkpoint, 7));
+
+        Optional<CrawlCheckpoint> finished = crawlCheckpointRepository.findById(checkpoint.getId());
+        assertTrue(finished.orElseThrow().isDone());
+        assertTrue(finished.get().isFinalRange());
+        assertEquals(7, finished.get().getRangeEnd());
+        assertNull(finished.get().getOwner());
+        assertTrue(crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE).isEmpty());
+    }
+}
@@ -0,0 +1,361 @@
+package com.flourish.integration.plantdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.CrawlCheckpoint;
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.CatalogUpsertRepository;
+import com.flourish.repository.PlantIndexRepository;
+import com.flourish.service.PlantDetailsService;
+import com.flourish.service.SimilarPlantsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the plant details ingestion of {@link PlantDataService}.
+ *
+ * <p>The Perenual API is replaced by a WebClient whose exchange function answers after a short delay and
+ * records how many requests are in flight. Repositories and services are mocked, and responses are
+ * archived in a temporary directory.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@ActiveProfiles("test")
+class PlantDataServiceTest {
+
+    private final Map<Long, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final List<Long> listPages = new CopyOnWriteArrayList<>();
+    private volatile long missingListPage;
+    private volatile long quotaFromId = Long.MAX_VALUE;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    @TempDir
+    Path archiveDirectory;
+    private PlantIndexRepository plantIndexRepository;
+    private CatalogUpsertRepository catalogUpsertRepository;
+    private CrawlCheckpointService crawlCheckpointService;
+    private PlantDetailsService plantDetailsService;
+    private SimilarPlantsService similarPlantsService;
+    private PlantDataService plantDataService;
+
+    /**
+     * Creates the service over a fake API in which plant 3 fails once with a server error, plant 4 does not
+     * exist, plant 6 returns a non-JSON body, and every other plant returns its details. Plant 2 is stored.
+     * The species list has three pages of one plant each; page 3 fails once with a server error, and
+     * {@code missingListPage}, if set, does not exist. Plants from {@code quotaFromId} on get 429 Too Many
+     * Requests, as when the daily quota is used up.
+     */
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath();
+                    if (path.endsWith("/list")) {
+                        return Mono.just(listResponse(request.url().getQuery()));
+                    }
+                    long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+                    int call = calls.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(5))
+                            .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                            .doOnNext(t -> inFlight.decrementAndGet())
+                            .map(t -> id >= quotaFromId
+                                    ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()
+                                    : response(id, call));
+                })
+                .build();
+        catalogUpsertRepository = mock(CatalogUpsertRepository.class);
+        plantDetailsService = mock(PlantDetailsService.class);
+        when(plantDetailsService.isStoredPlantId(2L)).thenReturn(true);
+        similarPlantsService = mock(SimilarPlantsService.class);
+        plantIndexRepository = mock(PlantIndexRepository.class);
+        crawlCheckpointService = mock(CrawlCheckpointService.class);
+        when(crawlCheckpointService.advance(any(), anyLong())).thenReturn(true);
+        when(crawlCheckpointService.finish(any(), anyLong())).thenReturn(true);
+        ResponseArchive responseArchive = new ResponseArchive();
+        responseArchive.directory = archiveDirectory.toString();
+        ObjectMapper objectMapper = new ObjectMapper();
+        plantDataService = new PlantDataService(webClient, plantIndexRepository, similarPlantsService,
+                plantDetailsService, crawlCheckpointService, catalogUpsertRepository,
+                new PlantDetailsReader(objectMapper), responseArchive, objectMapper);
+        ReflectionTestUtils.setField(plantDataService, "plantDetailsUrl", "http://perenual.test/details");
+        ReflectionTestUtils.setField(plantDataService, "speciesListUrl", "http://perenual.test/list");
+        plantDataService.concurrency = 2;
+        plantDataService.requestsPerSecond = 1000;
+        plantDataService.burst = 10;
+        plantDataService.batchSize = 2;
+        plantDataService.maxRequests = 6;
+        plantDataService.retryBackoffMs = 1;
+    }
+
+    /**
+     * Verifies that stored ids are skipped, requests stop at the limit and never exceed the concurrency,
+     * server errors are retried, and the mapped details are saved in batches and published.
+     */
+    @Test
+    @DisplayName("ingestPlantDetails(): fetches concurrently, retries and saves in batches")
+    @SuppressWarnings("unchecked")
+    void testIngest() {
+        IngestionStats stats = plantDataService.fetchAndStorePlantDetailsLimited(1, 100);
+
+        assertEquals(6, stats.getRequests());
+        assertEquals(1, stats.getSkipped());
+        assertEquals(1, stats.getRetries());
+        assertEquals(1, stats.getFailedRequests());
+        assertEquals(1, stats.getEmptyResponses());
+        assertEquals(4, stats.getMapped());
+        assertEquals(4, stats.getSaved());
+        assertEquals(7, stats.getLastId());
+        assertTrue(stats.getBatches() >= 2);
+        assertEquals(2, calls.get(3L).get());
+        assertFalse(calls.containsKey(2L));
+        assertFalse(calls.containsKey(8L));
+        assertTrue(maxInFlight.get() <= 2, "In flight: " + maxInFlight.get());
+
+        ArgumentCaptor<List<PlantDetails>> saved = ArgumentCaptor.forClass(List.class);
+        verify(plantDetailsService).update(saved.capture());
+        assertEquals(List.of(1L, 3L, 5L, 7L), saved.getValue().stream().map(PlantDetails::getId).sorted().toList());
+        verify(similarPlantsService).update(saved.getValue());
+        verify(plantDetailsService, times(4)).invalidate(anyLong());
+    }
+
+    /**
+     * Verifies that a failing write is counted, publishes nothing, and leaves the next run to start at the
+     * plant that was not saved.
+     */
+    @Test
+    @DisplayName("ingestPlantDetails(): counts failed writes")
+    void testWriteFailure() {
+        doThrow(new RuntimeException("Database down")).when(catalogUpsertRepository).upsertPlantDetails(any());
+
+        IngestionStats stats = plantDataService.ingestPlantDetails(5, 5).block();
+
+        assertNotNull(stats);
+        assertEquals(1, stats.getRequests());
+        assertEquals(0, stats.getSaved());
+        assertEquals(1, stats.getWriteFailures());
+        assertEquals(5, stats.getFirstUnstoredId());
+        assertEquals(5, stats.getNextId());
+        verify(plantDetailsService, never()).update(any());
+        verify(similarPlantsService, never()).update(any());
+    }
+
+    /**
+     * Verifies that the details crawl resumes its claimed range at the recorded id, records where the next
+     * run continues, and releases the range.
+     */
+    @Test
+    @DisplayName("fetchAndStorePlantDetailsFromCheckpoint(): resumes and records the next id")
+    void testDetailsCheckpoint() {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(Crawl.PLANT_DETAILS, 3, 500);
+        when(plantIndexRepository.findMaxId()).thenReturn(100L);
+        when(crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 100L)).thenReturn(Optional.of(checkpoint));
+
+        List<IngestionStats> runs = plantDataService.fetchAndStorePlantDetailsFromCheckpoint();
+
+        assertEquals(1, runs.size());
+        assertEquals(6, runs.get(0).getRequests());
+        assertEquals(9, runs.get(0).getNextId());
+        assertFalse(calls.containsKey(1L));
+        assertFalse(calls.containsKey(9L));
+        verify(crawlCheckpointService).advance(checkpoint, 9);
+        verify(crawlCheckpointService).release(checkpoint);
+    }
+
+    /**
+     * Verifies that a worker whose range was taken over while it ingested stops without recording its
+     * progress or releasing the range.
+     */
+    @Test
+    @DisplayName("fetchAndStorePlantDetailsFromCheckpoint(): stops when the range was taken over")
+    void testDetailsCheckpointTakenOver() {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(Crawl.PLANT_DETAILS, 3, 5);
+        when(plantIndexRepository.findMaxId()).thenReturn(100L);
+        when(crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 100L)).thenReturn(Optional.of(checkpoint));
+        when(crawlCheckpointService.advance(checkpoint, 6)).thenReturn(false);
+
+        List<IngestionStats> runs = plantDataService.fetchAndStorePlantDetailsFromCheckpoint();
+
+        assertEquals(1, runs.size());
+        assertEquals(3, runs.get(0).getRequests());
+        verify(crawlCheckpointService, times(1)).claim(Crawl.PLANT_DETAILS, 100L);
+        verify(crawlCheckpointService, never()).release(any());
+    }
+
+    /**
+     * Verifies that when the quota runs out, the run stops, the checkpoint is kept at the first plant that
+     * got 429, and the next run fetches the plants that were not stored.
+     */
+    @Test
+    @DisplayName("fetchAndStorePlantDetailsFromCheckpoint(): stops at the quota and resumes at the first unstored id")
+    @SuppressWarnings("unchecked")
+    void testDetailsQuotaExhausted() {
+        quotaFromId = 5;
+        CrawlCheckpoint first = new CrawlCheckpoint(Crawl.PLANT_DETAILS, 3, 500);
+        CrawlCheckpoint second = new CrawlCheckpoint(Crawl.PLANT_DETAILS, 5, 500);
+        when(plantIndexRepository.findMaxId()).thenReturn(100L);
+        when(crawlCheckpointService.claim(Crawl.PLANT_DETAILS, 100L))
+                .thenReturn(Optional.of(first), Optional.of(second));
+
+        List<IngestionStats> runs = plantDataService.fetchAndStorePlantDetailsFromCheckpoint();
+
+        assertEquals(1, runs.size());
+        assertEquals(5, runs.get(0).getFirstUnstoredId());
+        assertEquals(5, runs.get(0).getNextId());
+        assertTrue(runs.get(0).getRequests() < 6, "Requests: " + runs.get(0).getRequests());
+        verify(crawlCheckpointService).advance(first, 5);
+        verify(crawlCheckpointService).release(first);
+        verify(crawlCheckpointService, times(1)).claim(Crawl.PLANT_DETAILS, 100L);
+
+        quotaFromId = Long.MAX_VALUE;
+        clearInvocations(plantDetailsService);
+        runs = plantDataService.fetchAndStorePlantDetailsFromCheckpoint();
+
+        assertEquals(1, runs.size());
+        assertEquals(0, runs.get(0).getFirstUnstoredId());
+        assertEquals(11, runs.get(0).getNextId());
+        verify(crawlCheckpointService).advance(second, 11);
+        ArgumentCaptor<List<PlantDetails>> saved = ArgumentCaptor.forClass(List.class);
+        verify(plantDetailsService).update(saved.capture());
+        assertEquals(List.of(5L, 7L, 8L, 9L, 10L),
+                saved.getValue().stream().map(PlantDetails::getId).sorted().toList());
+    }
+
+    /**
+     * Verifies that the list crawl starts at the recorded page, retries a server error, records every
+     * following page, and marks the crawl as finished at the last page instead of releasing it.
+     */
+    @Test
+    @DisplayName("fetchAndStorePlantListLimited(): resumes at the checkpoint and finishes at the last page")
+    void testListCheckpoint() {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(Crawl.PLANT_LIST, 2, 20);
+        when(crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE)).thenReturn(Optional.of(checkpoint));
+
+        plantDataService.fetchAndStorePlantListLimited();
+
+        assertEquals(List.of(2L, 3L, 3L), listPages);
+        verify(catalogUpsertRepository, times(2)).upsertPlantIndex(any());
+        verify(crawlCheckpointService).advance(checkpoint, 3);
+        verify(crawlCheckpointService).finish(checkpoint, 3);
+        verify(crawlCheckpointService, never()).release(any());
+    }
+
+    /**
+     * Verifies that a page that cannot be fetched ends the run without being recorded, and that its range
+     * is released at that page so that the next run starts with it.
+     */
+    @Test
+    @DisplayName("fetchAndStorePlantListLimited(): stops at a failed page and releases its range there")
+    void testListFailedPage() {
+        missingListPage = 3;
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(Crawl.PLANT_LIST, 2, 20);
+        when(crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE)).thenReturn(Optional.of(checkpoint));
+
+        plantDataService.fetchAndStorePlantListLimited();
+
+        assertEquals(List.of(2L, 3L), listPages);
+        verify(catalogUpsertRepository).upsertPlantIndex(any());
+        verify(crawlCheckpointService).advance(checkpoint, 3);
+        verify(crawlCheckpointService, never()).advance(checkpoint, 4);
+        verify(crawlCheckpointService, never()).finish(any(), anyLong());
+        verify(crawlCheckpointService).release(checkpoint);
+    }
+
+    /**
+     * Verifies that the responses of both crawls are archived, and that replaying the archive maps and saves
+     * them again without sending a request.
+     */
+    @Test
+    @DisplayName("replayArchive(): rebuilds the plant index and details from archived responses")
+    @SuppressWarnings("unchecked")
+    void testReplayArchive() throws IOException {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(Crawl.PLANT_LIST, 2, 20);
+        when(crawlCheckpointService.claim(Crawl.PLANT_LIST, Long.MAX_VALUE)).thenReturn(Optional.of(checkpoint));
+        plantDataService.fetchAndStorePlantListLimited();
+        plantDataService.fetchAndStorePlantDetailsLimited(1, 7);
+        int requests = calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        clearInvocations(catalogUpsertRepository, plantDetailsService, similarPlantsService);
+        plantDataService.replayBatchSize = 3;
+
+        Map<Crawl, IngestionStats> stats = plantDataService.replayArchive();
+
+        assertEquals(requests, calls.values().stream().mapToInt(AtomicInteger::get).sum());
+        assertEquals(List.of(2L, 3L, 3L), listPages);
+        assertEquals(0, stats.get(Crawl.PLANT_LIST).getRequests());
+        assertEquals(2, stats.get(Crawl.PLANT_LIST).getSaved());
+        assertEquals(4, stats.get(Crawl.PLANT_DETAILS).getMapped());
+        assertEquals(4, stats.get(Crawl.PLANT_DETAILS).getSaved());
+        assertEquals(2, stats.get(Crawl.PLANT_DETAILS).getBatches());
+
+        ArgumentCaptor<List<PlantIndex>> plants = ArgumentCaptor.forClass(List.class);
+        verify(catalogUpsertRepository).upsertPlantIndex(plants.capture());
+        assertEquals(List.of(2L, 3L), plants.getValue().stream().map(PlantIndex::getId).toList());
+        ArgumentCaptor<List<PlantDetails>> details = ArgumentCaptor.forClass(List.class);
+        verify(catalogUpsertRepository, times(2)).upsertPlantDetails(details.capture());
+        assertEquals(List.of(1L, 3L, 5L, 7L), details.getAllValues().stream().flatMap(List::stream)
+                .map(PlantDetails::getId).sorted().toList());
+        verify(plantDetailsService, times(2)).update(any());
+        verify(similarPlantsService, times(2)).update(any());
+    }
+
+    private ClientResponse listResponse(String query) {
+        long page = Long.parseLong(query.substring(query.lastIndexOf('=') + 1));
+        listPages.add(page);
+        if (page == missingListPage) {
+            return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+        }
+        if (page == 3 && listPages.indexOf(page) == listPages.size() - 1) {
+            return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", "application/json")
+                .body("{\"data\": [{\"id\": " + page + ", \"common_name\": \"Plant " + page + "\"}], "
+                        + "\"current_page\": " + page + ", \"last_page\": 3}")
+                .build();
+    }
+
+    private static ClientResponse response(long id, int call) {
+        if (id == 3 && call == 1) {
+            return ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if (id == 4) {
+            return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+        }
+        if (id == 6) {
+            return ClientResponse.create(HttpStatus.OK).header("Content-Type", "text/plain").body("Upgrade").build();
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", "application/json")
+                .body("{\"id\": " + id + ", \"common_name\": \"Plant " + id + "\"}")
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.flourish.integration.plantdata;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput and allocation benchmark comparing {@link PlantDetailsReader} with the original mapping, which
+ * parsed each response into a {@code Map}, converted the values with {@code toString()} and serialized
+ * nested values back to JSON.
+ *
+ * <p>Both mappers read the recorded species details response for {@link #ROUNDS} rounds of
+ * {@link #ITERATIONS} calls after a warm-up round, with logging switched off. The original mapping starts
+ * from the UTF-8 body decoded to a String, as the response was fetched before; the reader is measured both
+ * on that String and on the UTF-8 bytes it now receives. The average time and the bytes allocated by the
+ * thread per call are printed. All must produce the same entity. The benchmark is
+ * skipped unless the {@code benchmark} system property is set to {@code true}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlantDetailsReaderBenchmark {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Runs both mappers over the same response and prints the time and allocation per call.
+     */
+    @Test
+    @DisplayName("streaming reader vs map-based mapping")
+    void benchmarkRead() throws Exception {
+        String json = PlantDetailsReaderTest.sampleResponse();
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        PlantDetailsReader reader = new PlantDetailsReader(objectMapper);
+        Function<byte[], PlantDetails> baseline = bytes -> readThroughMap(new String(bytes, StandardCharsets.UTF_8));
+        Function<String, PlantDetails> fromString = reader::read;
+        Function<byte[], PlantDetails> fromBytes = reader::read;
+        PrintStream out = System.out;
+        String expected = objectMapper.writeValueAsString(baseline.apply(body));
+        assertEquals(expected, objectMapper.writeValueAsString(fromString.apply(json)));
+        assertEquals(expected, objectMapper.writeValueAsString(fromBytes.apply(body)));
+
+        long[] mapResult;
+        long[] stringResult;
+        long[] bytesResult;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            measure(baseline, body);
+            measure(fromString, json);
+            measure(fromBytes, body);
+            mapResult = measure(baseline, body);
+            stringResult = measure(fromString, json);
+            bytesResult = measure(fromBytes, body);
+        } finally {
+            System.setOut(out);
+        }
+        System.out.printf("map-based: %.2f us/op, %d B/op; streaming from String: %.2f us/op, %d B/op; "
+                        + "streaming from bytes: %.2f us/op, %d B/op%n",
+                mapResult[0] / 1000.0, mapResult[1], stringResult[0] / 1000.0, stringResult[1],
+                bytesResult[0] / 1000.0, bytesResult[1]);
+    }
+
+    /**
+     * Returns the average nanoseconds and allocated bytes per call.
+     */
+    private static <T> long[] measure(Function<T, PlantDetails> mapper, T json) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long calls = (long) ITERATIONS * ROUNDS;
+        long bytesBefore = threads.getThreadAllocatedBytes(id);
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                assertNotNull(mapper.apply(json));
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(id) - bytesBefore;
+        return new long[]{nanos / calls, bytes / calls};
+    }
+
+    /**
+     * The original mapping of PlantDataService, kept as the baseline.
+     */
+    @SuppressWarnings("unchecked")
+    private PlantDetails readThroughMap(String json) {
+        try {
+            Map<String, Object> map = objectMapper.readValue(json, new TypeReference<>() {
+            });
+
+            Long id = map.get("id") != null ? ((Number) map.get("id")).longValue() : null;
+            String commonName = map.get("common_name") != null ? map.get("common_name").toString() : null;
+            String type = map.get("type") != null ? map.get("type").toString() : null;
+            String pruningCount = map.get("pruning_count") != null ? objectMapper.writeValueAsString(map.get("pruning_count")) : null;
+            Boolean saltTolerant = map.get("salt_tolerant") != null ? Boolean.valueOf(map.get("salt_tolerant").toString()) : null;
+            String careGuides = map.get("care_guides") != null ? map.get("care_guides").toString() : null;
+            String growthRate = map.get("growth_rate") != null ? map.get("growth_rate").toString() : null;
+            String harvestSeason = map.get("harvest_season") != null ? map.get("harvest_season").toString() : null;
+            Boolean cones = map.get("cones") != null ? Boolean.valueOf(map.get("cones").toString()) : null;
+            String attracts = map.get("attracts") != null ? objectMapper.writeValueAsString(map.get("attracts")) : null;
+            String pestSusceptibility = map.get("pest_susceptibility") != null ? objectMapper.writeValueAsString(map.get("pest_susceptibility")) : null;
+            Boolean flowers = map.get("flowers") != null ? Boolean.valueOf(map.get("flowers").toString()) : null;
+            Boolean invasive = map.get("invasive") != null ? Boolean.valueOf(map.get("invasive").toString()) : null;
+            Boolean seeds = map.get("seeds") != null ? Boolean.valueOf(map.get("seeds").toString()) : null;
+            Boolean poisonousToHumans = map.get("poisonous_to_humans") != null ? Boolean.valueOf(map.get("poisonous_to_humans").toString()) : null;
+            String propagation = map.get("propagation") != null ? objectMapper.writeValueAsString(map.get("propagation")) : null;
+            String genus = map.get("genus") != null ? map.get("genus").toString() : null;
+            Boolean indoor = map.get("indoor") != null ? Boolean.valueOf(map.get("indoor").toString()) : null;
+            String speciesEpithet = map.get("species_epithet") != null ? map.get("species_epithet").toString() : null;
+            String defaultImageLicenseName = null;
+            String defaultImageLicenseUrl = null;
+            String defaultImageOriginalUrl = null;
+            String defaultImageRegularUrl = null;
+            String defaultImageMediumUrl = null;
+            String defaultImageSmallUrl = null;
+            String defaultImageThumbnail = null;
+            if (map.get("default_image") != null) {
+                try {
+                    Map<String, Object> defImg = (Map<String, Object>) map.get("default_image");
+                    defaultImageLicenseName = defImg.get("license_name") != null ? defImg.get("license_name").toString() : null;
+                    defaultImageLicenseUrl = defImg.get("license_url") != null ? defImg.get("license_url").toString() : null;
+                    defaultImageOriginalUrl = defImg.get("original_url") != null ? defImg.get("original_url").toString() : null;
+                    defaultImageRegularUrl = defImg.get("regular_url") != null ? defImg.get("regular_url").toString() : null;
+                    defaultImageMediumUrl = defImg.get("medium_url") != null ? defImg.get("medium_url").toString() : null;
+                    defaultImageSmallUrl = defImg.get("small_url") != null ? defImg.get("small_url").toString() : null;
+                    defaultImageThumbnail = defImg.get("thumbnail") != null ? defImg.get("thumbnail").toString() : null;
+                } catch (Exception e) {
+                    System.out.println("Error extracting default image: " + e.getMessage());
+                }
+            }
+            Boolean thorny = map.get("thorny") != null ? Boolean.valueOf(map.get("thorny").toString()) : null;
+            String floweringSeason = map.get("flowering_season") != null ? map.get("flowering_season").toString() : null;
+            String origin = map.get("origin") != null ? objectMapper.writeValueAsString(map.get("origin")) : null;
+            Boolean edibleFruit = map.get("edible_fruit") != null ? Boolean.valueOf(map.get("edible_fruit").toString()) : null;
+            String description = map.get("description") != null ? map.get("description").toString() : null;
+            String soil = map.get("soil") != null ? objectMapper.writeValueAsString(map.get("soil")) : null;
+            Boolean medicinal = map.get("medicinal") != null ? Boolean.valueOf(map.get("medicinal").toString()) : null;
+            String cycle = map.get("cycle") != null ? map.get("cycle").toString() : null;
+            Boolean fruits = map.get("fruits") != null ? Boolean.valueOf(map.get("fruits").toString()) : null;
+            // Removed: variety
+            Boolean droughtTolerant = map.get("drought_tolerant") != null ? Boolean.valueOf(map.get("drought_tolerant").toString()) : null;
+            Boolean cuisine = map.get("cuisine") != null ? Boolean.valueOf(map.get("cuisine").toString()) : null;
+            String hardinessLocationFullUrl = null;
+            String hardinessLocationFullIframe = null;
+            if (map.get("hardiness_location") != null) {
+                try {
+                    Map<String, Object> hl = (Map<String, Object>) map.get("hardiness_location");
+                    hardinessLocationFullUrl = hl.get("full_url") != null ? hl.get("full_url").toString() : null;
+                    hardinessLocationFullIframe = hl.get("full_iframe") != null ? hl.get("full_iframe").toString() : null;
+                } catch (Exception e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+            String plantAnatomy = map.get("plant_anatomy") != null ? objectMapper.writeValueAsString(map.get("plant_anatomy")) : null;
+            Boolean leaf = map.get("leaf") != null ? Boolean.valueOf(map.get("leaf").toString()) : null;
+            String pruningMonth = map.get("pruning_month") != null ? objectMapper.writeValueAsString(map.get("pruning_month")) : null;
+            String hardinessMin = null;
+            String hardinessMax = null;
+            if (map.get("hardiness") != null) {
+                try {
+                    Map<String, Object> h = (Map<String, Object>) map.get("hardiness");
+                    hardinessMin = h.get("min") != null ? h.get("min").toString() : null;
+                    hardinessMax = h.get("max") != null ? h.get("max").toString() : null;
+                } catch (Exception e) {
+                    System.out.println(e.getMessage());
+                }
+            }
+            Boolean tropical = map.get("tropical") != null ? Boolean.valueOf(map.get("tropical").toString()) : null;
+            String sunlight = map.get("sunlight") != null ? objectMapper.writeValueAsString(map.get("sunlight")) : null;
+            String watering = map.get("watering") != null ? map.get("watering").toString() : null;
+            Boolean poisonousToPets = map.get("poisonous_to_pets") != null ? Boolean.valueOf(map.get("poisonous_to_pets").toString()) : null;
+            String careLevel = map.get("care_level") != null ? map.get("care_level").toString() : null;
+            Boolean edibleLeaf = map.get("edible_leaf") != null ? Boolean.valueOf(map.get("edible_leaf").toString()) : null;
+            String family = map.get("family") != null ? map.get("family").toString() : null;
+            String maintenance = map.get("maintenance") != null ? map.get("maintenance").toString() : null;
+            String dimensions = map.get("dimensions") != null ? objectMapper.writeValueAsString(map.get("dimensions")) : null;
+
+            return new PlantDetails(
+                    id,
+                    commonName,
+                    type,
+                    pruningCount,
+                    saltTolerant,
+                    careGuides,
+                    growthRate,
+                    harvestSeason,
+                    cones,
+                    attracts,
+                    pestSusceptibility,
+                    flowers,
+                    invasive,
+                    seeds,
+                    poisonousToHumans,
+                    propagation,
+                    genus,
+                    indoor,
+                    speciesEpithet,
+                    defaultImageLicenseName,
+                    defaultImageLicenseUrl,
+                    defaultImageOriginalUrl,
+                    defaultImageRegularUrl,
+                    defaultImageMediumUrl,
+                    defaultImageSmallUrl,
+                    defaultImageThumbnail,
+                    thorny,
+                    floweringSeason,
+                    origin,
+                    edibleFruit,
+                    description,
+                    soil,
+                    medicinal,
+                    cycle,
+                    fruits,
+                    droughtTolerant,
+                    cuisine,
+                    hardinessLocationFullUrl,
+                    hardinessLocationFullIframe,
+                    plantAnatomy,
+                    leaf,
+                    pruningMonth,
+                    hardinessMin,
+                    hardinessMax,
+                    tropical,
+                    sunlight,
+                    watering,
+                    poisonousToPets,
+                    careLevel,
+                    edibleLeaf,
+                    family,
+                    maintenance,
+                    dimensions
+            );
+        } catch (Exception e) {
+            System.out.println("Error mapping plant details: " + e.getMessage());
+            return null;
+        }
+    }
+}
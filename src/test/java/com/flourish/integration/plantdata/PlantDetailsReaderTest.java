@@ -0,0 +1,139 @@
+package com.flourish.integration.plantdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PlantDetailsReader}.
+ *
+ * <p>Maps a recorded species details response and small hand-written responses, covering text, boolean and
+ * JSON fields, nested objects, unknown fields, and responses that cannot be mapped.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class PlantDetailsReaderTest {
+
+    private final PlantDetailsReader reader = new PlantDetailsReader(new ObjectMapper());
+
+    /**
+     * Reads a recorded species details response from the test resources.
+     *
+     * @return the response.
+     * @throws IOException if the resource cannot be read.
+     */
+    static String sampleResponse() throws IOException {
+        try (InputStream in = PlantDetailsReaderTest.class.getResourceAsStream("/perenual/species_details_1.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Verifies that every kind of field of a full response is mapped, and that fields that are not stored
+     * are skipped.
+     */
+    @Test
+    @DisplayName("read(): maps a full response")
+    void testRead() throws IOException {
+        PlantDetails details = reader.read(sampleResponse());
+
+        assertNotNull(details);
+        assertEquals(1L, details.getId());
+        assertEquals("European Silver Fir", details.getCommonName());
+        assertEquals("tree", details.getType());
+        assertEquals("Pinaceae", details.getFamily());
+        assertEquals("Frequent", details.getWatering());
+        assertNull(details.getFloweringSeason());
+        assertTrue(details.getDescription().startsWith("Amazing garden plant"));
+        assertTrue(details.getDescription().contains("\"silvery\" needles and\ttall"));
+
+        assertEquals("[\"Austria\",\"Germany\",\"Switzerland\",\"France\",\"Italy\"]", details.getOrigin());
+        assertEquals("{\"type\":\"Height\",\"min_value\":60,\"max_value\":80,\"unit\":\"feet\"}", details.getDimensions());
+        assertEquals("[]", details.getSoil());
+        assertEquals("{\"amount\":1,\"interval\":\"yearly\"}", details.getPruningCount());
+        assertEquals("[{\"part\":\"leaves\",\"color\":[\"green\"]},{\"part\":\"cones\",\"color\":[\"brown\"]}]",
+                details.getPlantAnatomy());
+        assertEquals("[\"full sun\"]", details.getSunlight());
+
+        assertEquals(Boolean.TRUE, details.getCones());
+        assertEquals(Boolean.TRUE, details.getMedicinal());
+        assertEquals(Boolean.FALSE, details.getEdibleFruit());
+        assertEquals(Boolean.FALSE, details.getSeeds());
+
+        assertEquals("7", details.getHardinessMin());
+        assertEquals("7", details.getHardinessMax());
+        assertNotNull(details.getHardinessMinZone());
+        assertTrue(details.getHardinessLocationFullIframe().startsWith("<iframe"));
+        assertEquals("Attribution-ShareAlike 3.0 Unported (CC BY-SA 3.0)", details.getDefaultImageLicenseName());
+        assertTrue(details.getDefaultImageThumbnail().contains("/thumbnail/"));
+    }
+
+    /**
+     * Verifies the conversions of values whose type differs from the stored type.
+     */
+    @Test
+    @DisplayName("read(): converts values as the stored type")
+    void testConversions() {
+        PlantDetails details = reader.read("{\"id\": 7.0, \"common_name\": 12, \"cycle\": [\"Annual\"], "
+                + "\"indoor\": \"true\", \"leaf\": \"yes\", \"thorny\": null, \"sunlight\": \"full sun\", "
+                + "\"soil\": 3.5, \"default_image\": [], \"hardiness\": {\"min\": 4, \"extra\": {\"a\": [1]}}}");
+
+        assertNotNull(details);
+        assertEquals(7L, details.getId());
+        assertEquals("12", details.getCommonName());
+        assertEquals("[\"Annual\"]", details.getCycle());
+        assertEquals(Boolean.TRUE, details.getIndoor());
+        assertEquals(Boolean.FALSE, details.getLeaf());
+        assertNull(details.getThorny());
+        assertEquals("\"full sun\"", details.getSunlight());
+        assertEquals("3.5", details.getSoil());
+        assertNull(details.getDefaultImageOriginalUrl());
+        assertEquals("4", details.getHardinessMin());
+        assertNull(details.getHardinessMax());
+    }
+
+    /**
+     * Verifies that a response read as UTF-8 bytes, as the ingestion pipeline receives it, maps to the same
+     * entity as the decoded String, and that only bytes starting with an object count as a JSON object.
+     */
+    @Test
+    @DisplayName("read(byte[]): maps UTF-8 responses like Strings")
+    void testReadBytes() throws IOException {
+        String json = sampleResponse().replace("European Silver Fir", "Sapin pectin\u00e9");
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        PlantDetails details = reader.read(json.getBytes(StandardCharsets.UTF_8));
+
+        assertNotNull(details);
+        assertEquals("Sapin pectin\u00e9", details.getCommonName());
+        assertEquals(objectMapper.writeValueAsString(reader.read(json)), objectMapper.writeValueAsString(details));
+        assertTrue(PlantDetailsReader.isJsonObject(" \n{}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(PlantDetailsReader.isJsonObject("[]".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(PlantDetailsReader.isJsonObject(new byte[0]));
+    }
+
+    /**
+     * Verifies that responses that are not a JSON object, are malformed, or have an id that is not a number
+     * are not mapped.
+     */
+    @Test
+    @DisplayName("read(): returns null for responses that cannot be mapped")
+    void testInvalid() {
+        assertNull(reader.read("[]"));
+        assertNull(reader.read("Upgrade"));
+        assertNull(reader.read("{\"id\": 1, \"common_name\": "));
+        assertNull(reader.read("{\"id\": \"one\"}"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.flourish.integration.plantdata;
+
+import com.flourish.domain.CrawlCheckpoint.Crawl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResponseArchive}.
+ *
+ * <p>Appends responses to an archive in a temporary directory and reads them back, covering compression,
+ * segment rollover, torn records after a crash, and a disabled archive.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class ResponseArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private ResponseArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = newArchive();
+    }
+
+    /**
+     * Verifies that responses are read back in the order they were appended, with their crawl, key and
+     * fetch time, and that they are stored compressed.
+     */
+    @Test
+    @DisplayName("append() and forEach(): round trip in append order")
+    void testRoundTrip() throws IOException {
+        long before = System.currentTimeMillis();
+        String details = PlantDetailsReaderTest.sampleResponse();
+        archive.append(Crawl.PLANT_LIST, 3, bytes("{\"data\": [], \"current_page\": 3}"));
+        archive.append(Crawl.PLANT_DETAILS, 1, bytes(details));
+        archive.append(Crawl.PLANT_DETAILS, 1, bytes("{\"id\": 1}"));
+        archive.append(Crawl.PLANT_DETAILS, 2, new byte[0]);
+
+        List<String> records = new ArrayList<>();
+        long count = archive.forEach((crawl, key, fetchedAt, body) -> {
+            assertTrue(fetchedAt >= before);
+            records.add(crawl + " " + key + " " + new String(body, StandardCharsets.UTF_8));
+        });
+
+        assertEquals(4, count);
+        assertEquals(List.of("PLANT_LIST 3 {\"data\": [], \"current_page\": 3}", "PLANT_DETAILS 1 " + details,
+                "PLANT_DETAILS 1 {\"id\": 1}", "PLANT_DETAILS 2 "), records);
+        assertEquals(1, segments().size());
+        assertTrue(Files.size(segments().get(0)) < details.length() / 2);
+    }
+
+    /**
+     * Verifies that a new segment is started when the current one is full, and that a new archive over the
+     * same directory appends to the last segment and reads all of them in order.
+     */
+    @Test
+    @DisplayName("append(): rolls over to new segments and resumes after a restart")
+    void testSegments() throws IOException {
+        archive.segmentMaxBytes = 100;
+        for (int key = 1; key <= 5; key++) {
+            archive.append(Crawl.PLANT_DETAILS, key, bytes("{\"id\": " + key + "}"));
+        }
+        archive.close();
+        assertEquals(3, segments().size());
+
+        ResponseArchive reopened = newArchive();
+        reopened.append(Crawl.PLANT_DETAILS, 6, bytes("{\"id\": 6}"));
+        reopened.flush();
+
+        assertEquals(3, segments().size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), keys(reopened));
+    }
+
+    /**
+     * Verifies that a record torn by a crash ends its segment when reading and is cut off before the next
+     * append, and that a corrupt record is not read.
+     */
+    @Test
+    @DisplayName("forEach() and append(): skip and cut off torn records")
+    void testTornRecord() throws IOException {
+        archive.append(Crawl.PLANT_DETAILS, 1, bytes("{\"id\": 1}"));
+        archive.append(Crawl.PLANT_DETAILS, 2, bytes("{\"id\": 2}"));
+        archive.close();
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        ResponseArchive reopened = newArchive();
+        assertEquals(List.of(1L), keys(reopened));
+
+        reopened.append(Crawl.PLANT_DETAILS, 3, bytes("{\"id\": 3}"));
+        reopened.close();
+        assertEquals(List.of(1L, 3L), keys(reopened));
+
+        byte[] content = Files.readAllBytes(segment);
+        content[content.length - 1] ^= 0x5A;
+        Files.write(segment, content);
+        assertEquals(List.of(1L), keys(newArchive()));
+    }
+
+    /**
+     * Verifies that a disabled archive writes nothing and that reading an empty directory finds nothing.
+     */
+    @Test
+    @DisplayName("append(): does nothing when disabled")
+    void testDisabled() throws IOException {
+        archive.enabled = false;
+        archive.append(Crawl.PLANT_DETAILS, 1, bytes("{\"id\": 1}"));
+
+        assertTrue(segments().isEmpty());
+        assertEquals(0, archive.forEach((crawl, key, fetchedAt, body) -> fail("No records expected")));
+    }
+
+    private ResponseArchive newArchive() {
+        ResponseArchive created = new ResponseArchive();
+        created.directory = directory.toString();
+        return created;
+    }
+
+    private static List<Long> keys(ResponseArchive archive) throws IOException {
+        List<Long> keys = new ArrayList<>();
+        archive.forEach((crawl, key, fetchedAt, body) -> keys.add(key));
+        return keys;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.flourish.integration.plantdata;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TokenBucket}.
+ *
+ * <p>Uses a fake clock to cover bursts, the spacing of requests once the bucket is empty, refilling up to
+ * the burst size, and the non-blocking delay of {@link TokenBucket#acquire()}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class TokenBucketTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    /**
+     * Verifies that a full bucket lets a burst through at once, spaces further requests by the rate, and
+     * refills no further than the burst size.
+     */
+    @Test
+    @DisplayName("reserve(): bursts, then spaces requests by the rate")
+    void testReserve() {
+        AtomicLong now = new AtomicLong(5_000 * MILLIS);
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(100 * MILLIS, bucket.reserve());
+        assertEquals(200 * MILLIS, bucket.reserve());
+
+        now.addAndGet(150 * MILLIS);
+        assertEquals(150 * MILLIS, bucket.reserve());
+
+        now.addAndGet(10_000 * MILLIS);
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(100 * MILLIS, bucket.reserve());
+    }
+
+    /**
+     * Verifies that acquire() lets the second request through only after the reserved wait.
+     */
+    @Test
+    @DisplayName("acquire(): delays without blocking when the bucket is empty")
+    void testAcquire() {
+        TokenBucket bucket = new TokenBucket(20, 1);
+
+        long start = System.nanoTime();
+        bucket.acquire().block();
+        bucket.acquire().block();
+        assertTrue(System.nanoTime() - start >= 45 * MILLIS);
+    }
+
+    /**
+     * Verifies that a rate or burst that would never let a request through is rejected.
+     */
+    @Test
+    @DisplayName("constructor: rejects invalid settings")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,128 @@
+package com.flourish.repository;
+
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark comparing the batched upserts of {@link CatalogUpsertRepository} with saving the same
+ * rows through {@code saveAll} of the JPA repositories.
+ *
+ * <p>Each path writes {@link #ROWS} new rows and then overwrites them, into emptied tables, and the rows
+ * written per second are printed for both passes. It runs on the H2 test database, so the numbers show
+ * the statements saved rather than MariaDB network round trips. The benchmark is skipped unless the
+ * {@code benchmark} system property is set to {@code true}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@DataJpaTest
+@Import(CatalogUpsertRepository.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CatalogUpsertBenchmark {
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @Autowired
+    private PlantIndexRepository plantIndexRepository;
+
+    @Autowired
+    private PlantDetailsRepository plantDetailsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Writes plant index rows both ways and prints the rows per second.
+     */
+    @Test
+    @DisplayName("plant index: upsert vs saveAll")
+    void benchmarkPlantIndex() {
+        IntFunction<List<PlantIndex>> rows = pass -> {
+            List<PlantIndex> plants = new ArrayList<>(ROWS);
+            for (long id = 1; id <= ROWS; id++) {
+                plants.add(new PlantIndex(id, "Plant " + id + " " + pass, "Genus species " + id, null));
+            }
+            return plants;
+        };
+        compare("plant_index", rows, plantIndexRepository::saveAll, catalogUpsertRepository::upsertPlantIndex,
+                plantIndexRepository::deleteAllInBatch);
+        assertEquals(ROWS, plantIndexRepository.count());
+    }
+
+    /**
+     * Writes plant details rows both ways and prints the rows per second.
+     */
+    @Test
+    @DisplayName("plant details: upsert vs saveAll")
+    void benchmarkPlantDetails() {
+        IntFunction<List<PlantDetails>> rows = pass -> {
+            List<PlantDetails> details = new ArrayList<>(ROWS);
+            for (long id = 1; id <= ROWS; id++) {
+                details.add(new PlantDetails(id, "Plant " + id, "Tree", null, false, null, "High", null, false,
+                        "[\"bees\"]", null, true, false, true, false, "[\"seed\"]", "Genus", false, "species",
+                        null, null, "https://example.org/" + id + ".jpg", null, null, null, null, false, "Spring",
+                        "[\"Europe\"]", false, "Pass " + pass + ". " + "A plant. ".repeat(40), "[\"loam\"]", false,
+                        "Perennial", false, true, false, null, null, null, false, "[\"March\"]", "5", "9", false,
+                        "[\"full sun\"]", "Average", false, "Low", false, "Family", "Low", null));
+            }
+            return details;
+        };
+        compare("plant_details", rows, plantDetailsRepository::saveAll, catalogUpsertRepository::upsertPlantDetails,
+                plantDetailsRepository::deleteAllInBatch);
+        assertEquals(ROWS, plantDetailsRepository.count());
+    }
+
+    private <T> void compare(String table, IntFunction<List<T>> rows, Consumer<List<T>> saveAll,
+                             Consumer<List<T>> upsert, Runnable deleteAll) {
+        time(rows, saveAll, deleteAll);
+        time(rows, upsert, deleteAll);
+        long[] saveAllNanos = time(rows, saveAll, deleteAll);
+        long[] upsertNanos = time(rows, upsert, deleteAll);
+        System.out.printf("%s: saveAll %.0f inserts/s, %.0f updates/s; upsert %.0f inserts/s, %.0f updates/s%n",
+                table, perSecond(saveAllNanos[0]), perSecond(saveAllNanos[1]), perSecond(upsertNanos[0]),
+                perSecond(upsertNanos[1]));
+    }
+
+    private <T> long[] time(IntFunction<List<T>> rows, Consumer<List<T>> write, Runnable deleteAll) {
+        deleteAll.run();
+        entityManager.flush();
+        entityManager.clear();
+        long[] nanos = new long[2];
+        for (int pass = 0; pass < 2; pass++) {
+            List<T> batch = rows.apply(pass);
+            long start = System.nanoTime();
+            write.accept(batch);
+            entityManager.flush();
+            nanos[pass] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return nanos;
+    }
+
+    private static double perSecond(long nanos) {
+        return ROWS / (nanos / 1e9);
+    }
+}
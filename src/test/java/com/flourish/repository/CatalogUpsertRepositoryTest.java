@@ -0,0 +1,130 @@
+package com.flourish.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link CatalogUpsertRepository}.
+ *
+ * <p>Uses {@link DataJpaTest} and an in-memory H2 database, where the upsert is a {@code MERGE}. Rows are
+ * written in batches smaller than the number of rows and read back through the JPA repositories.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@DataJpaTest
+@Import(CatalogUpsertRepository.class)
+@ActiveProfiles("test")
+class CatalogUpsertRepositoryTest {
+
+    @Autowired
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @Autowired
+    private PlantIndexRepository plantIndexRepository;
+
+    @Autowired
+    private PlantDetailsRepository plantDetailsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Verifies that new plant index rows are inserted, existing rows are overwritten, and other rows are
+     * left alone.
+     */
+    @Test
+    @DisplayName("upsertPlantIndex(): inserts new rows and updates existing ones")
+    void testUpsertPlantIndex() {
+        plantIndexRepository.saveAndFlush(new PlantIndex(1L, "Mint", "Mentha", null));
+        plantIndexRepository.saveAndFlush(new PlantIndex(9L, "Sage", "Salvia", null));
+        entityManager.clear();
+        catalogUpsertRepository.batchSize = 2;
+
+        int written = catalogUpsertRepository.upsertPlantIndex(List.of(
+                new PlantIndex(1L, "Spearmint", "Mentha spicata", "Garden mint"),
+                new PlantIndex(2L, "Basil", "Ocimum basilicum", null),
+                new PlantIndex(3L, "Rose", "Rosa", null)));
+        entityManager.clear();
+
+        assertEquals(3, written);
+        assertEquals(4, plantIndexRepository.count());
+        PlantIndex updated = plantIndexRepository.findById(1L).orElseThrow();
+        assertEquals("Spearmint", updated.getCommonName());
+        assertEquals("Garden mint", updated.getOtherName());
+        assertEquals("Basil", plantIndexRepository.findById(2L).orElseThrow().getCommonName());
+        assertEquals("Sage", plantIndexRepository.findById(9L).orElseThrow().getCommonName());
+        assertEquals(0, catalogUpsertRepository.upsertPlantIndex(List.of()));
+    }
+
+    /**
+     * Verifies that every plant details column is written, including text columns, booleans and the
+     * derived hardiness zones, and that an update overwrites the whole row.
+     */
+    @Test
+    @DisplayName("upsertPlantDetails(): writes every column")
+    void testUpsertPlantDetails() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PlantDetails first = objectMapper.readValue("{\"id\": 5, \"commonName\": \"Fern\", \"type\": \"Fern\", "
+                + "\"description\": \"" + "Green. ".repeat(500) + "\", \"sunlight\": \"[\\\"part shade\\\"]\", "
+                + "\"edibleFruit\": false, \"medicinal\": true, \"hardinessMin\": \"4\", \"hardinessMax\": \"8\"}",
+                PlantDetails.class);
+        catalogUpsertRepository.upsertPlantDetails(List.of(first));
+        entityManager.clear();
+
+        PlantDetails stored = plantDetailsRepository.findById(5L).orElseThrow();
+        assertEquals("Fern", stored.getCommonName());
+        assertEquals(first.getDescription(), stored.getDescription());
+        assertEquals("[\"part shade\"]", stored.getSunlight());
+        assertEquals(Boolean.FALSE, stored.getEdibleFruit());
+        assertEquals(Boolean.TRUE, stored.getMedicinal());
+        assertEquals(first.getHardinessMinZone(), stored.getHardinessMinZone());
+        assertEquals(first.getHardinessMaxZone(), stored.getHardinessMaxZone());
+
+        PlantDetails second = objectMapper.readValue("{\"id\": 5, \"commonName\": \"Lady Fern\"}", PlantDetails.class);
+        catalogUpsertRepository.upsertPlantDetails(List.of(second));
+        entityManager.clear();
+
+        PlantDetails updated = plantDetailsRepository.findById(5L).orElseThrow();
+        assertEquals("Lady Fern", updated.getCommonName());
+        assertNull(updated.getDescription());
+        assertNull(updated.getMedicinal());
+        assertEquals(1, plantDetailsRepository.count());
+    }
+
+    /**
+     * Verifies the MariaDB statement and that the id is the first column.
+     */
+    @Test
+    @DisplayName("UpsertStatement: builds INSERT ... ON DUPLICATE KEY UPDATE from the mapping")
+    void testStatement() {
+        UpsertStatement<PlantIndex> statement = new UpsertStatement<>(PlantIndex.class);
+
+        assertEquals(List.of("id", "common_name", "scientific_name", "other_name"), statement.columns());
+        assertEquals("INSERT INTO plant_index (id, common_name, scientific_name, other_name) VALUES (?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE common_name = VALUES(common_name), "
+                        + "scientific_name = VALUES(scientific_name), other_name = VALUES(other_name)",
+                statement.sql(UpsertStatement.Dialect.MARIADB));
+        assertArrayEquals(new Object[]{4L, "Mint", "Mentha", null},
+                statement.values(new PlantIndex(4L, "Mint", "Mentha", null)));
+        assertEquals(UpsertStatement.Dialect.MARIADB, UpsertStatement.Dialect.of("MariaDB"));
+        assertEquals(UpsertStatement.Dialect.H2, UpsertStatement.Dialect.of("H2"));
+        assertThrows(IllegalStateException.class, () -> UpsertStatement.Dialect.of("Oracle"));
+    }
+}
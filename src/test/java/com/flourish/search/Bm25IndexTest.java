@@ -0,0 +1,112 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Bm25Index}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link Bm25Index.Builder} - ids mapped to ordinals, unknown and duplicate ids, text without terms</li>
+ *   <li>{@link Bm25Index#search(String, int, long[])} - term frequency, rarity and length, several terms,
+ *       limits, filters, queries without known terms</li>
+ *   <li>{@link Bm25Index#scores(String)} - the BM25 formula on a known document</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    /**
+     * Builds an index over five plants, one without text, with one text for an unknown id and one
+     * duplicate id.
+     */
+    @BeforeEach
+    void setUp() {
+        PlantCatalog catalog = PlantCatalog.build(List.of(
+                new PlantIndex(1L, "Hosta", null, null),
+                new PlantIndex(2L, "Ajuga", null, null),
+                new PlantIndex(3L, "Lavender", null, null),
+                new PlantIndex(4L, "Fern", null, null),
+                new PlantIndex(5L, "Cactus", null, null)));
+        index = new Bm25Index.Builder()
+                .add(2L, "A shade tolerant groundcover with blue flowers.")
+                .add(1L, "Hosta thrives in shade and partial shade, with large leaves.")
+                .add(3L, "Lavender needs full sun and well drained soil; drought tolerant once established.")
+                .add(4L, "A fern for deep shade, moist soil and humid corners of the garden in spring.")
+                .add(5L, "The of and")
+                .add(9L, "Shade groundcover groundcover shade")
+                .add(2L, "Sun sun sun")
+                .build(catalog);
+    }
+
+    /**
+     * Verifies the document and term counts: texts of unknown ids, repeated ids and texts without terms
+     * are left out.
+     */
+    @Test
+    @DisplayName("build(): unknown, duplicate and empty texts left out")
+    void testBuild() {
+        assertEquals(5, index.size());
+        assertEquals(4, index.documentCount());
+        assertArrayEquals(new int[]{2}, index.search("sun", 10, null));
+        assertArrayEquals(new int[]{0}, index.search("hosta", 10, null));
+    }
+
+    /**
+     * Verifies that repeated, rarer and more concentrated terms rank higher and that every query term
+     * contributes.
+     */
+    @Test
+    @DisplayName("search(): ranking by frequency, rarity and length")
+    void testSearch() {
+        assertArrayEquals(new int[]{0, 1, 3}, index.search("shade", 10, null));
+        assertArrayEquals(new int[]{1, 2, 0, 3}, index.search("shade tolerant groundcover", 10, null));
+        assertArrayEquals(new int[]{1, 0}, index.search("Shaded groundcovers", 2, null));
+        assertArrayEquals(new int[]{3, 2}, index.search("soil", 10, null));
+        assertArrayEquals(new int[0], index.search("cactus", 10, null));
+        assertArrayEquals(new int[0], index.search("the", 10, null));
+        assertArrayEquals(new int[0], index.search("shade", 0, null));
+        assertArrayEquals(new int[]{0, 1, 3}, index.search("shade", Integer.MAX_VALUE, null));
+    }
+
+    /**
+     * Verifies that only ordinals in the filter are returned.
+     */
+    @Test
+    @DisplayName("search(): filter")
+    void testSearch_Filter() {
+        long[] filter = new long[OrdinalSet.wordCount(5)];
+        filter[0] = 1L << 3 | 1L << 2;
+        assertArrayEquals(new int[]{3}, index.search("shade", 10, filter));
+    }
+
+    /**
+     * Verifies a score against the formula: "groundcover" occurs once in one of four documents, in a
+     * document of five terms where the average length is 8.
+     */
+    @Test
+    @DisplayName("scores(): BM25 formula")
+    void testScores() {
+        float[] scores = index.scores("groundcover");
+        double idf = Math.log(1 + (4 - 1 + 0.5) / (1 + 0.5));
+        double expected = idf * (Bm25Index.K1 + 1) / (1 + Bm25Index.K1 * (1 - Bm25Index.B + Bm25Index.B * 5 / 8.0));
+        assertEquals(expected, scores[1], 1e-5);
+        assertEquals(0, scores[0]);
+        assertNull(index.scores("unknown words"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.HardinessZone;
+import com.flourish.domain.PlantAttributes;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FacetIndex}, {@link OrdinalSet} and the value extraction of {@link PlantFacet}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link FacetIndex#build(PlantCatalog, List, ObjectMapper)} - normalized values, JSON sunlight, flags, missing
+ *       attributes, ids outside the catalog</li>
+ *   <li>{@link FacetIndex#filter(Map)} - OR within a facet, AND across facets, unknown values, no selection</li>
+ *   <li>{@link FacetIndex#counts(Map, long[])} - counts ignoring the own facet, limited by a base bitmap</li>
+ *   <li>{@link PlantFacet#HARDINESS_ZONE} - zone parsing, stabbing by zone, cold-to-warm order</li>
+ *   <li>{@link OrdinalSet} - sparse and dense form, membership, union and intersection counts</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    /**
+     * Builds an index over five plants whose ids are not in catalog order, one of them without attributes,
+     * plus attributes for an id that is not in the catalog.
+     */
+    @BeforeEach
+    void setUp() {
+        PlantCatalog catalog = PlantCatalog.build(List.of(
+                new PlantIndex(10L, "Rose", null, null),
+                new PlantIndex(2L, "Basil", null, null),
+                new PlantIndex(7L, "Cactus", null, null),
+                new PlantIndex(4L, "Fern", null, null),
+                new PlantIndex(5L, "Unknown", null, null)));
+        List<PlantAttributes> attributes = new ArrayList<>();
+        attributes.add(attributes(10L, "Average", "[\"full sun\",\"part shade\"]", true, false));
+        attributes.add(attributes(2L, "Frequent", "[\"Full sun\"]", true, true));
+        attributes.add(attributes(7L, "Minimum", "full sun", false, false));
+        attributes.add(attributes(4L, " average ", "[\"full shade\"]", null, true));
+        attributes.add(attributes(99L, "Average", "[\"full sun\"]", true, true));
+        index = FacetIndex.build(catalog, attributes, new ObjectMapper());
+    }
+
+    /**
+     * Verifies the normalized values of each facet and the members of their sets.
+     */
+    @Test
+    @DisplayName("build(): normalized values, JSON arrays, flags and unknown ids")
+    void testBuild() {
+        assertEquals(5, index.size());
+        assertEquals(List.of("average", "frequent", "minimum"), index.values(PlantFacet.WATERING));
+        assertEquals(List.of("full shade", "full sun", "part shade"), index.values(PlantFacet.SUNLIGHT));
+        assertEquals(List.of(PlantFacet.NO, PlantFacet.YES), index.values(PlantFacet.EDIBLE_LEAF));
+        assertEquals(List.of(), index.values(PlantFacet.CYCLE));
+        assertEquals(2, index.set(PlantFacet.WATERING, "average").cardinality());
+        assertTrue(index.set(PlantFacet.WATERING, "average").contains(3));
+        assertEquals(3, index.set(PlantFacet.SUNLIGHT, "full sun").cardinality());
+        assertEquals(2, index.set(PlantFacet.INDOOR, PlantFacet.YES).cardinality());
+        assertFalse(index.set(PlantFacet.INDOOR, PlantFacet.YES).contains(3));
+        assertNull(index.set(PlantFacet.WATERING, "none"));
+    }
+
+    /**
+     * Verifies that values of one facet are alternatives and that all selected facets must match.
+     */
+    @Test
+    @DisplayName("filter(): OR within a facet, AND across facets")
+    void testFilter() {
+        assertNull(index.filter(Map.of()));
+        assertNull(index.filter(Map.of(PlantFacet.CYCLE, Set.of())));
+        assertEquals(List.of(0, 1), members(index.filter(Map.of(PlantFacet.INDOOR, Set.of(PlantFacet.YES)))));
+        assertEquals(List.of(0, 1, 3), members(index.filter(
+                Map.of(PlantFacet.WATERING, Set.of("average", "frequent")))));
+        assertEquals(List.of(0), members(index.filter(Map.of(
+                PlantFacet.WATERING, Set.of("average", "frequent"),
+                PlantFacet.SUNLIGHT, Set.of("part shade")))));
+        assertEquals(List.of(), members(index.filter(Map.of(PlantFacet.WATERING, Set.of("none")))));
+    }
+
+    /**
+     * Verifies that the counts of a facet ignore its own selection but apply the other facets and the base.
+     */
+    @Test
+    @DisplayName("counts(): own facet ignored, other facets and base applied")
+    void testCounts() {
+        Map<PlantFacet, Map<String, Integer>> all = index.counts(Map.of(), null);
+        assertEquals(Map.of("average", 2, "frequent", 1, "minimum", 1), all.get(PlantFacet.WATERING));
+
+        Map<PlantFacet, Map<String, Integer>> selected = index.counts(
+                Map.of(PlantFacet.WATERING, Set.of("average")), null);
+        assertEquals(Map.of("average", 2, "frequent", 1, "minimum", 1), selected.get(PlantFacet.WATERING));
+        assertEquals(Map.of("full shade", 1, "full sun", 1, "part shade", 1), selected.get(PlantFacet.SUNLIGHT));
+        assertEquals(Map.of(PlantFacet.NO, 1, PlantFacet.YES, 1), selected.get(PlantFacet.EDIBLE_LEAF));
+
+        Map<PlantFacet, Map<String, Integer>> based = index.counts(
+                Map.of(PlantFacet.WATERING, Set.of("average")), index.bitmapOf(new int[]{3, 1}));
+        assertEquals(Map.of("average", 1, "frequent", 1, "minimum", 0), based.get(PlantFacet.WATERING));
+        assertEquals(Map.of("full shade", 1, "full sun", 0, "part shade", 0), based.get(PlantFacet.SUNLIGHT));
+    }
+
+    /**
+     * Verifies that a zone selects exactly the plants whose hardiness range covers it, including ranges
+     * given with halves, reversed or with one end missing.
+     */
+    @Test
+    @DisplayName("HARDINESS_ZONE: stabbing query over hardiness ranges")
+    void testHardinessZone() {
+        assertEquals(8, HardinessZone.lowerBound("5"));
+        assertEquals(9, HardinessZone.upperBound(" 5 "));
+        assertEquals(13, HardinessZone.lowerBound("7b"));
+        assertEquals(25, HardinessZone.upperBound("14"));
+        assertNull(HardinessZone.lowerBound("n/a"));
+        assertEquals("7b", HardinessZone.format(13));
+
+        PlantCatalog catalog = PlantCatalog.build(List.of(
+                new PlantIndex(1L, "Lavender", null, null),
+                new PlantIndex(2L, "Olive", null, null),
+                new PlantIndex(3L, "Hosta", null, null),
+                new PlantIndex(4L, "Fig", null, null),
+                new PlantIndex(5L, "Basil", null, null)));
+        FacetIndex zones = FacetIndex.build(catalog, List.of(
+                zoned(1L, "5", "9"),
+                zoned(2L, "8b", "10"),
+                zoned(3L, "9", "3"),
+                zoned(4L, "7", null),
+                zoned(5L, null, null)), new ObjectMapper());
+
+        List<String> values = zones.values(PlantFacet.HARDINESS_ZONE);
+        assertEquals("3b", values.get(0));
+        assertEquals("10b", values.get(values.size() - 1));
+        assertEquals(15, values.size());
+        assertEquals(List.of(0, 2, 3), members(zones.filter(Map.of(PlantFacet.HARDINESS_ZONE, Set.of("7b")))));
+        assertEquals(List.of(0, 2), members(zones.filter(Map.of(PlantFacet.HARDINESS_ZONE, Set.of("8a")))));
+        assertEquals(List.of(0, 1), members(zones.filter(Map.of(PlantFacet.HARDINESS_ZONE, Set.of("9b")))));
+        assertEquals(List.of(1), members(zones.filter(Map.of(PlantFacet.HARDINESS_ZONE, Set.of("10a")))));
+        assertEquals(List.of(), members(zones.filter(Map.of(PlantFacet.HARDINESS_ZONE, Set.of("12a")))));
+        assertEquals(3, zones.counts(Map.of(), null).get(PlantFacet.HARDINESS_ZONE).get("7a"));
+    }
+
+    /**
+     * Verifies that sets take the sparse form below one member in 32 records and that both forms behave
+     * the same.
+     */
+    @Test
+    @DisplayName("OrdinalSet: sparse and dense form")
+    void testOrdinalSet() {
+        OrdinalSet sparse = OrdinalSet.of(new int[]{3, 70, 95, 0}, 3, 200);
+        OrdinalSet dense = OrdinalSet.of(new int[]{3, 70, 95, 0}, 3, 96);
+        assertFalse(sparse.isDense());
+        assertTrue(dense.isDense());
+
+        long[] filter = new long[OrdinalSet.wordCount(200)];
+        filter[1] = 1L << 6;
+        for (OrdinalSet set : List.of(sparse, dense)) {
+            assertEquals(3, set.cardinality());
+            assertTrue(set.contains(70));
+            assertFalse(set.contains(4));
+            assertEquals(1, set.countIn(filter));
+            assertEquals(3, set.countIn(null));
+            long[] union = new long[OrdinalSet.wordCount(200)];
+            set.orInto(union);
+            assertEquals(List.of(3, 70, 95), members(union));
+        }
+    }
+
+    private static PlantAttributes attributes(Long id, String watering, String sunlight,
+                                              Boolean indoor, Boolean edibleLeaf) {
+        return new PlantAttributes(id, watering, sunlight, null, null, indoor, null, null, null,
+                null, edibleLeaf, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static PlantAttributes zoned(Long id, String hardinessMin, String hardinessMax) {
+        return new PlantAttributes(id, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, hardinessMin, hardinessMax, null, null, null, null, null, null);
+    }
+
+    private static List<Integer> members(long[] bitmap) {
+        List<Integer> members = new ArrayList<>();
+        for (int ordinal = 0; ordinal < bitmap.length * 64; ordinal++) {
+            if (FacetIndex.matches(bitmap, ordinal)) {
+                members.add(ordinal);
+            }
+        }
+        return members;
+    }
+}
@@ -0,0 +1,85 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark for {@link FuzzyTokenIndex} on a synthetic catalog of one million records.
+ *
+ * <p>Names are built from random Latin-like syllables, so the vocabulary is far larger than that of the
+ * real plant index. Each query is an indexed name with one character replaced, and the p50 and p99
+ * latencies are printed. The benchmark is skipped unless the {@code benchmark} system property is set
+ * to {@code true}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FuzzySearchBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000_000;
+    private static final int QUERIES = 2_000;
+    private static final String[] SYLLABLES = {
+            "ab", "ac", "al", "an", "ar", "ba", "ca", "ce", "ci", "co", "da", "el", "er", "fi", "ga", "hi",
+            "ia", "la", "li", "lo", "ma", "mi", "na", "ni", "or", "pa", "ra", "ri", "ro", "sa", "ta", "us"
+    };
+
+    /**
+     * Builds the synthetic catalog, runs the misspelled queries and prints latency percentiles.
+     */
+    @Test
+    @DisplayName("searchFuzzy latency on 1M synthetic records")
+    void benchmarkFuzzySearch() {
+        Random random = new Random(42);
+        List<PlantIndex> plants = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            plants.add(new PlantIndex((long) i, word(random) + " " + word(random),
+                    word(random) + " " + word(random), word(random)));
+        }
+        long buildStart = System.nanoTime();
+        FuzzyTokenIndex index = FuzzyTokenIndex.build(PlantCatalog.build(plants));
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String name = plants.get(random.nextInt(CATALOG_SIZE)).getScientificName().toLowerCase();
+            char[] chars = name.toCharArray();
+            int position = random.nextInt(chars.length);
+            if (chars[position] != ' ') {
+                chars[position] = (char) ('a' + random.nextInt(26));
+            }
+            String query = new String(chars);
+            long start = System.nanoTime();
+            int[] result = index.search(query, 50);
+            latencies[i] = System.nanoTime() - start;
+            assertTrue(result.length > 0, "Query: " + query);
+        }
+        Arrays.sort(latencies);
+        System.out.println("Fuzzy index: " + CATALOG_SIZE + " records, " + index.vocabularySize()
+                + " tokens, built in " + buildMillis + " ms");
+        System.out.println("Fuzzy search p50: " + latencies[QUERIES / 2] / 1_000 + " us, p99: "
+                + latencies[QUERIES * 99 / 100] / 1_000 + " us, max: " + latencies[QUERIES - 1] / 1_000 + " us");
+    }
+
+    private static String word(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int syllables = 2 + random.nextInt(4);
+        for (int i = 0; i < syllables; i++) {
+            builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FuzzyTokenIndex}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link FuzzyTokenIndex#tokenize(String)} - punctuation, quotes, leading and trailing separators</li>
+ *   <li>{@link FuzzyTokenIndex#maxDistanceFor(int)} - tolerance boundaries at 3 and 7 characters</li>
+ *   <li>{@link FuzzyTokenIndex#search(String, int)} - misspellings, multi-word queries, ranking, limits</li>
+ *   <li>Trie pruning - identical results to a brute-force scan on the real backup file</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class FuzzyTokenIndexTest {
+
+    private List<PlantIndex> plants;
+    private FuzzyTokenIndex index;
+
+    /**
+     * Builds an index over a small mock data set.
+     */
+    @BeforeEach
+    void setUp() {
+        plants = new ArrayList<>();
+        plants.add(new PlantIndex(1L, "White Fir", "Abies concolor", "Silver Fir, Concolor Fir"));
+        plants.add(new PlantIndex(2L, "European Silver Fir", "Abies alba", "Common Silver Fir"));
+        plants.add(new PlantIndex(3L, "Candicans White Fir", "Abies concolor 'Candicans'", ""));
+        plants.add(new PlantIndex(4L, "Rose", "Rosa rubiginosa", null));
+        plants.add(new PlantIndex(5L, null, null, null));
+        index = FuzzyTokenIndex.build(PlantCatalog.build(plants));
+    }
+
+    /**
+     * Verifies tokenization on separators, quotes and surrounding whitespace.
+     */
+    @Test
+    @DisplayName("tokenize(): splits on non-alphanumerics")
+    void testTokenize() {
+        assertEquals(List.of("abies", "concolor", "candicans"), FuzzyTokenIndex.tokenize(" abies concolor 'candicans'"));
+        assertTrue(FuzzyTokenIndex.tokenize(" ,' ").isEmpty());
+    }
+
+    /**
+     * Verifies the tolerance boundaries.
+     */
+    @Test
+    @DisplayName("maxDistanceFor(): 0, 1 and 2 edits")
+    void testMaxDistanceFor() {
+        assertEquals(0, FuzzyTokenIndex.maxDistanceFor(3));
+        assertEquals(1, FuzzyTokenIndex.maxDistanceFor(4));
+        assertEquals(1, FuzzyTokenIndex.maxDistanceFor(7));
+        assertEquals(2, FuzzyTokenIndex.maxDistanceFor(8));
+    }
+
+    /**
+     * Verifies that a misspelled Latin name finds the plants, with the closest match first.
+     */
+    @Test
+    @DisplayName("search(): misspelled Latin name")
+    void testSearch_Misspelling() {
+        assertArrayEquals(new int[]{0, 2}, index.search("abies concolour", 10));
+        assertArrayEquals(new int[]{0, 2}, index.search("abis conkolor", 10));
+    }
+
+    /**
+     * Verifies that every query word has to match and that results are ranked by total distance.
+     */
+    @Test
+    @DisplayName("search(): all words must match, ranked by distance")
+    void testSearch_AllWordsRanked() {
+        assertArrayEquals(new int[]{1}, index.search("silver fir alba", 10));
+        assertArrayEquals(new int[]{0, 1, 2}, index.search("fir", 10));
+        assertArrayEquals(new int[]{3}, index.search("rosa", 10));
+        assertArrayEquals(new int[]{0, 2}, index.search("whyte fir concolr", 10));
+    }
+
+    /**
+     * Verifies that short words must match exactly, that a transposition counts as two edits,
+     * and that empty queries and limits are handled.
+     */
+    @Test
+    @DisplayName("search(): short words exact, limits")
+    void testSearch_Limits() {
+        assertEquals(0, index.search("fur", 10).length);
+        assertEquals(0, index.search("abeis", 10).length);
+        assertEquals(0, index.search("  ", 10).length);
+        assertEquals(0, index.search("fir", 0).length);
+        assertArrayEquals(new int[]{0}, index.search("fir", 1));
+    }
+
+    /**
+     * Verifies on the real backup file that the pruned trie walk returns exactly the records a brute-force scan
+     * over every record's tokens returns, in the same order.
+     */
+    @Test
+    @DisplayName("search(): identical to brute force on backup file")
+    void testSearch_MatchesBruteForceOnBackupFile() throws Exception {
+        List<PlantIndex> realPlants = new ObjectMapper().readValue(
+                Files.readString(Path.of("var/app/backups/plant_index_backup.txt"), StandardCharsets.UTF_8),
+                new TypeReference<List<PlantIndex>>() {});
+        FuzzyTokenIndex realIndex = FuzzyTokenIndex.build(PlantCatalog.build(realPlants));
+
+        for (String query : List.of("abies concolour", "japanes maple", "rhododendrom", "acer palmatun", "fir", "mapel")) {
+            assertArrayEquals(bruteForce(realPlants, query), realIndex.search(query, Integer.MAX_VALUE), "Query: " + query);
+        }
+    }
+
+    private static int[] bruteForce(List<PlantIndex> plants, String query) {
+        List<String> queryTokens = FuzzyTokenIndex.tokenize(query);
+        int[][] scratch = {new int[64], new int[64]};
+        List<long[]> ranked = new ArrayList<>();
+        for (int ordinal = 0; ordinal < plants.size(); ordinal++) {
+            List<String> tokens = new ArrayList<>();
+            for (String field : PlantCatalog.searchNames(plants.get(ordinal))) {
+                tokens.addAll(FuzzyTokenIndex.tokenize(field));
+            }
+            int total = 0;
+            for (String queryToken : queryTokens) {
+                int best = Integer.MAX_VALUE;
+                for (String token : tokens) {
+                    best = Math.min(best, FuzzyTokenIndex.distance(token, queryToken, scratch));
+                }
+                if (best > FuzzyTokenIndex.maxDistanceFor(queryToken.length())) {
+                    total = -1;
+                    break;
+                }
+                total += best;
+            }
+            if (total >= 0) {
+                ranked.add(new long[]{total, ordinal});
+            }
+        }
+        ranked.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        return ranked.stream().mapToInt(r -> (int) r[1]).toArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+import com.flourish.domain.PlantSeasons;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MonthIndex}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link MonthIndex#decode(String)} - JSON month arrays, abbreviations, ranges, seasons with and
+ *       without qualifiers, year round, text without months, "may" and abbreviations as ordinary words</li>
+ *   <li>{@link MonthIndex#build(PlantCatalog, Iterable)} - masks by ordinal, ids outside the catalog</li>
+ *   <li>{@link MonthIndex#ordinals(MonthIndex.Activity, int, long[])} - month scan with and without filter</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class MonthIndexTest {
+
+    /**
+     * Verifies the months decoded from the formats found in the pruning, flowering and harvest columns.
+     */
+    @Test
+    @DisplayName("decode(): months, ranges and seasons")
+    void testDecode() {
+        assertEquals(months(Month.FEBRUARY, Month.MARCH), MonthIndex.decode("[\"February\",\"March\"]"));
+        assertEquals(months(Month.JANUARY, Month.SEPTEMBER), MonthIndex.decode("jan, Sept"));
+        assertEquals(months(Month.MARCH, Month.APRIL, Month.MAY), MonthIndex.decode("March to May"));
+        assertEquals(months(Month.NOVEMBER, Month.DECEMBER, Month.JANUARY), MonthIndex.decode("Nov-Jan"));
+        assertEquals(months(Month.JUNE, Month.JULY, Month.AUGUST), MonthIndex.decode("Summer"));
+        assertEquals(months(Month.AUGUST), MonthIndex.decode("Late Summer"));
+        assertEquals(months(Month.JANUARY, Month.MARCH), MonthIndex.decode("mid-winter and early spring"));
+        assertEquals(months(Month.SEPTEMBER, Month.OCTOBER, Month.NOVEMBER), MonthIndex.decode("Autumn"));
+        assertEquals(MonthIndex.ALL_MONTHS, MonthIndex.decode("Year-round"));
+        assertEquals(0, MonthIndex.decode("after flowering"));
+        assertEquals(0, MonthIndex.decode(null));
+    }
+
+    /**
+     * Verifies that abbreviations and "may" in free text only count next to another month or a range word,
+     * or on their own, while JSON arrays and full month names always count.
+     */
+    @Test
+    @DisplayName("decode(): \"may\" and abbreviations in prose")
+    void testDecode_AmbiguousWords() {
+        assertEquals(0, MonthIndex.decode("may need pruning"));
+        assertEquals(months(Month.JUNE), MonthIndex.decode("prune as needed; may flower in June"));
+        assertEquals(0, MonthIndex.decode("prune as needed; may flower"));
+        assertEquals(0, MonthIndex.decode("Sun to part shade, mar free"));
+        assertEquals(months(Month.APRIL, Month.MAY), MonthIndex.decode("April, May"));
+        assertEquals(months(Month.MAY, Month.JUNE, Month.JULY), MonthIndex.decode("may to jul"));
+        assertEquals(months(Month.MAY), MonthIndex.decode("May"));
+        assertEquals(months(Month.MAY), MonthIndex.decode("[\"may\"]"));
+        assertEquals(months(Month.MARCH, Month.MAY), MonthIndex.decode("[\"Mar\", \"Sun\", \"May\"]"));
+    }
+
+    /**
+     * Verifies that masks are stored by catalog ordinal and that a month scan finds exactly the plants
+     * whose activity includes the month.
+     */
+    @Test
+    @DisplayName("build() and ordinals(): month scan by activity")
+    void testOrdinals() {
+        PlantCatalog catalog = PlantCatalog.build(List.of(
+                new PlantIndex(7L, "Apple", null, null),
+                new PlantIndex(3L, "Rose", null, null),
+                new PlantIndex(5L, "Fern", null, null)));
+        MonthIndex index = MonthIndex.build(catalog, List.of(
+                new PlantSeasons(7L, "[\"January\",\"February\"]", "Spring", "Late Summer"),
+                new PlantSeasons(3L, "[\"March\"]", "Summer", null),
+                new PlantSeasons(99L, "[\"May\"]", "May", "May")));
+
+        assertEquals(3, index.size());
+        assertEquals(months(Month.MARCH), index.months(MonthIndex.Activity.PRUNING, 1));
+        assertEquals(0, index.months(MonthIndex.Activity.FLOWERING, 2));
+        assertArrayEquals(new int[]{0}, index.ordinals(MonthIndex.Activity.PRUNING,
+                MonthIndex.maskOf(Month.FEBRUARY), null));
+        assertArrayEquals(new int[]{0, 1}, index.ordinals(MonthIndex.Activity.FLOWERING,
+                months(Month.MAY, Month.JUNE), null));
+        assertArrayEquals(new int[]{1}, index.ordinals(MonthIndex.Activity.FLOWERING,
+                months(Month.MAY, Month.JUNE), new long[]{0b110}));
+        assertArrayEquals(new int[0], index.ordinals(MonthIndex.Activity.HARVEST,
+                MonthIndex.maskOf(Month.MAY), null));
+        assertArrayEquals(new int[0], MonthIndex.empty(3).ordinals(MonthIndex.Activity.PRUNING,
+                MonthIndex.ALL_MONTHS, null));
+    }
+
+    private static int months(Month... months) {
+        int mask = 0;
+        for (Month month : months) {
+            mask |= MonthIndex.maskOf(month);
+        }
+        return mask;
+    }
+}
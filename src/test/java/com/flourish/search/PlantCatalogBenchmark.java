@@ -0,0 +1,126 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark comparing a full scan of {@link PlantCatalog} with the original scan over a
+ * {@code List<PlantIndex>} that lower-cases every field for every query.
+ *
+ * <p>The real backup file is repeated to {@link #COPIES} times its size. Both scans filter and rank the
+ * whole catalog for the same queries after a warm-up round, and the average time per query is printed.
+ * The benchmark is skipped unless the {@code benchmark} system property is set to {@code true}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlantCatalogBenchmark {
+
+    private static final int COPIES = 100;
+    private static final int ROUNDS = 5;
+    private static final List<String> QUERIES = List.of("rose", "fern", "mon", "a", "acer palmatum", "abies",
+            "japanese", "ia", "white", "magnolia", "xyz", "variegata");
+
+    /**
+     * Runs both scans over the same queries and prints the average time per query.
+     */
+    @Test
+    @DisplayName("catalog scan vs list scan")
+    void benchmarkScan() throws Exception {
+        List<PlantIndex> base = new ObjectMapper().readValue(
+                Files.readString(Path.of("var/app/backups/plant_index_backup.txt"), StandardCharsets.UTF_8),
+                new TypeReference<List<PlantIndex>>() {});
+        List<PlantIndex> plants = new ArrayList<>(base.size() * COPIES);
+        for (int copy = 0; copy < COPIES; copy++) {
+            for (PlantIndex plant : base) {
+                plants.add(new PlantIndex((long) plants.size(), plant.getCommonName(),
+                        plant.getScientificName(), plant.getOtherName()));
+            }
+        }
+        PlantCatalog catalog = PlantCatalog.build(plants);
+
+        long listNanos = 0;
+        long catalogNanos = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            for (String query : QUERIES) {
+                long start = System.nanoTime();
+                int listMatches = listScan(plants, query.toLowerCase()).size();
+                long middle = System.nanoTime();
+                int catalogMatches = catalogScan(catalog, PlantCatalog.encodeQuery(query)).length;
+                long end = System.nanoTime();
+                assertEquals(listMatches == 0, catalogMatches == 0, "Query: " + query);
+                if (round > 0) {
+                    listNanos += middle - start;
+                    catalogNanos += end - middle;
+                }
+            }
+        }
+        int measured = ROUNDS * QUERIES.size();
+        System.out.println("Catalog: " + catalog.size() + " records, " + catalog.nameCount() + " names");
+        System.out.println("List scan: " + listNanos / measured / 1_000 + " us/query, catalog scan: "
+                + catalogNanos / measured / 1_000 + " us/query");
+    }
+
+    /**
+     * The original scan: lower-case every field of every record, filter, then stable-sort by score.
+     */
+    private static List<PlantIndex> listScan(List<PlantIndex> plants, String lowerQuery) {
+        List<PlantIndex> matches = new ArrayList<>();
+        for (PlantIndex plant : plants) {
+            if (score(plant, lowerQuery) < Integer.MAX_VALUE) {
+                matches.add(plant);
+            }
+        }
+        matches.sort(Comparator.comparingInt(plant -> score(plant, lowerQuery)));
+        return matches;
+    }
+
+    private static int score(PlantIndex plant, String lowerQuery) {
+        int score = Integer.MAX_VALUE;
+        for (String field : new String[]{plant.getCommonName(), plant.getScientificName(), plant.getOtherName()}) {
+            if (field != null) {
+                int pos = field.toLowerCase().indexOf(lowerQuery);
+                if (pos >= 0 && pos < score) {
+                    score = pos;
+                }
+            }
+        }
+        return score;
+    }
+
+    private static int[] catalogScan(PlantCatalog catalog, byte[] query) {
+        long[] ranked = new long[catalog.size()];
+        int count = 0;
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            int score = catalog.matchScore(ordinal, query);
+            if (score != PlantCatalog.NO_MATCH) {
+                ranked[count++] = TopK.pack(score, ordinal);
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = TopK.ordinal(ranked[i]);
+        }
+        return result;
+    }
+}
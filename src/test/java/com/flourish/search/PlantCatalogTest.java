@@ -0,0 +1,156 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PlantCatalog}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link PlantCatalog#build(List)} - ids, name ranges, name kinds, alias splitting, null and blank names</li>
+ *   <li>{@link PlantCatalog#normalize(String)} - accents, case, surrounding whitespace</li>
+ *   <li>{@link PlantCatalog#matchScore(int, byte[])} - prefix, mid-substring, no match, byte positions</li>
+ *   <li>{@link PlantCatalog#matchScore(List, String)} - same rules on plain names, prefix, mid-substring,
+ *       smallest position across names, no names</li>
+ *   <li>{@link PlantCatalog#ordinalOf(long)} - ids in and out of order, unknown ids</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class PlantCatalogTest {
+
+    private PlantCatalog catalog;
+
+    /**
+     * Builds a catalog over a small mock data set with aliases, accents, blanks and null fields.
+     */
+    @BeforeEach
+    void setUp() {
+        List<PlantIndex> plants = new ArrayList<>();
+        plants.add(new PlantIndex(7L, "Rose", "Rosa rubiginosa", "Sweet Briar, rose hip"));
+        plants.add(new PlantIndex(3L, null, "Clematis 'Edouard Desfossé'", " , "));
+        plants.add(new PlantIndex(9L, null, null, null));
+        plants.add(new PlantIndex(4L, "Myrose", "Primrose", "Anotherrose"));
+        catalog = PlantCatalog.build(plants);
+    }
+
+    /**
+     * Verifies the ids, the names of each record in catalog order and their kinds.
+     */
+    @Test
+    @DisplayName("build(): ids, names and kinds")
+    void testBuild() {
+        assertEquals(4, catalog.size());
+        assertEquals(3L, catalog.id(1));
+        assertEquals(List.of("rose", "rosa rubiginosa", "sweet briar", "rose hip"), names(0));
+        assertEquals(List.of("clematis 'edouard desfosse'"), names(1));
+        assertEquals(List.of(), names(2));
+        assertEquals(PlantCatalog.COMMON_NAME, catalog.nameKind(catalog.firstName(0)));
+        assertEquals(PlantCatalog.SCIENTIFIC_NAME, catalog.nameKind(catalog.firstName(1)));
+        assertEquals(PlantCatalog.ALIAS, catalog.nameKind(catalog.firstName(0) + 3));
+        assertEquals(8, catalog.nameCount());
+    }
+
+    /**
+     * Verifies that normalization folds accents, lower-cases and strips surrounding whitespace.
+     */
+    @Test
+    @DisplayName("normalize(): accents, case, whitespace")
+    void testNormalize() {
+        assertEquals("konigin charlotte", PlantCatalog.normalize(" Königin CHARLOTTE "));
+        assertEquals("desfosse", PlantCatalog.normalize("Desfossé"));
+        assertEquals("red sunset® maple", PlantCatalog.normalize("Red Sunset® Maple"));
+        assertEquals("", PlantCatalog.normalize("  "));
+    }
+
+    /**
+     * Verifies the outcomes of the match score: a prefix of any name (including an alias) is 0, otherwise
+     * the smallest positive position wins, and a record without names never matches.
+     */
+    @Test
+    @DisplayName("matchScore(): prefix, mid-substring and no match")
+    void testMatchScore() {
+        assertEquals(0, catalog.matchScore(0, PlantCatalog.encodeQuery("Rose")));
+        assertEquals(6, catalog.matchScore(0, PlantCatalog.encodeQuery("briar")));
+        assertEquals(0, catalog.matchScore(0, PlantCatalog.encodeQuery("rose h")));
+        assertEquals(1, catalog.matchScore(0, PlantCatalog.encodeQuery("osa")));
+        assertEquals(2, catalog.matchScore(3, PlantCatalog.encodeQuery("rose")));
+        assertEquals(18, catalog.matchScore(1, PlantCatalog.encodeQuery("DESFOSSÉ")));
+        assertEquals(PlantCatalog.NO_MATCH, catalog.matchScore(0, PlantCatalog.encodeQuery("xyz")));
+        assertEquals(PlantCatalog.NO_MATCH, catalog.matchScore(2, PlantCatalog.encodeQuery("rose")));
+    }
+
+    /**
+     * Verifies that the list-based match score agrees with the catalog on the same names.
+     */
+    @Test
+    @DisplayName("matchScore(List, String): same rules on plain names")
+    void testMatchScore_Names() {
+        List<String> names = PlantCatalog.searchNames(new PlantIndex(4L, "Myrose", "Primrose", "Anotherrose"));
+        assertEquals(List.of("myrose", "primrose", "anotherrose"), names);
+        for (String query : List.of("myr", "rose", "rim", "e", "xyz")) {
+            assertEquals(catalog.matchScore(3, PlantCatalog.encodeQuery(query)),
+                    PlantCatalog.matchScore(names, PlantCatalog.normalize(query)), "Query: " + query);
+        }
+    }
+
+    /**
+     * Verifies each outcome of the list-based match score on single records: a prefix is 0, a
+     * mid-substring is its position, the smallest position over all names wins, and a record without
+     * names or without a matching name does not match.
+     */
+    @Test
+    @DisplayName("matchScore(List, String): prefix, mid-substring, several names and no match")
+    void testMatchScore_Records() {
+        PlantIndex rose = new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Briar");
+        assertEquals(0, matchScore(rose, "rose"));
+        assertEquals(1, matchScore(rose, "osa"));
+        assertEquals(PlantCatalog.NO_MATCH, matchScore(rose, "xyz"));
+        assertEquals(2, matchScore(new PlantIndex(1L, "Myrose", "Rosa rubiginosa", "Anotherrose"), "rose"));
+        assertEquals(PlantCatalog.NO_MATCH, matchScore(new PlantIndex(1L, null, null, null), "rose"));
+    }
+
+    /**
+     * Verifies that ids map back to their ordinals whether or not the records are sorted by id.
+     */
+    @Test
+    @DisplayName("ordinalOf(): sorted and unsorted ids, unknown ids")
+    void testOrdinalOf() {
+        assertEquals(0, catalog.ordinalOf(7L));
+        assertEquals(1, catalog.ordinalOf(3L));
+        assertEquals(2, catalog.ordinalOf(9L));
+        assertEquals(3, catalog.ordinalOf(4L));
+        assertEquals(PlantCatalog.NO_MATCH, catalog.ordinalOf(5L));
+
+        PlantCatalog sorted = PlantCatalog.build(List.of(
+                new PlantIndex(2L, "Basil", null, null), new PlantIndex(5L, "Sage", null, null)));
+        assertEquals(1, sorted.ordinalOf(5L));
+        assertEquals(PlantCatalog.NO_MATCH, sorted.ordinalOf(1L));
+        assertEquals(PlantCatalog.NO_MATCH, sorted.ordinalOf(6L));
+    }
+
+    private List<String> names(int ordinal) {
+        List<String> names = new ArrayList<>();
+        for (int name = catalog.firstName(ordinal); name < catalog.firstName(ordinal + 1); name++) {
+            names.add(catalog.name(name));
+        }
+        return names;
+    }
+
+    private static int matchScore(PlantIndex plant, String query) {
+        return PlantCatalog.matchScore(PlantCatalog.searchNames(plant), PlantCatalog.normalize(query));
+    }
+}
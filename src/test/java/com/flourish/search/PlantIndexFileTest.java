@@ -0,0 +1,141 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PlantIndexFile}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link PlantIndexFile#write(Path, List)} and {@link PlantIndexFile#open(Path)} - round trip of ids,
+ *       null, empty and non-ASCII names, empty lists, replacing an existing file</li>
+ *   <li>{@link PlantIndexFile#open(Path)} - rejecting foreign, truncated and unsupported files</li>
+ *   <li>{@link PlantIndexFile#get(int)} - bounds checks</li>
+ *   <li>Round trip of the real backup file</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class PlantIndexFileTest {
+
+    /**
+     * Verifies that every field is read back as written, including null, empty and non-ASCII names.
+     */
+    @Test
+    @DisplayName("write()/open(): round trip")
+    void testRoundTrip(@TempDir Path tempDir) throws IOException {
+        List<PlantIndex> plants = new ArrayList<>();
+        plants.add(new PlantIndex(7L, "Rose", "Rosa rubiginosa", "Sweet Briar"));
+        plants.add(new PlantIndex(3L, "Søtkirsebær", "Prunus avium 'Kordia'", ""));
+        plants.add(new PlantIndex(Long.MAX_VALUE, null, "Rosa rubiginosa", null));
+        Path file = tempDir.resolve("index.bin");
+        PlantIndexFile.write(file, plants);
+
+        PlantIndexFile mapped = PlantIndexFile.open(file);
+        assertEquals(3, mapped.size());
+        for (int i = 0; i < plants.size(); i++) {
+            assertEquals(plants.get(i).getId(), mapped.id(i));
+            assertEquals(plants.get(i).getCommonName(), mapped.get(i).getCommonName());
+            assertEquals(plants.get(i).getScientificName(), mapped.get(i).getScientificName());
+            assertEquals(plants.get(i).getOtherName(), mapped.get(i).getOtherName());
+        }
+    }
+
+    /**
+     * Verifies that an empty list round trips and that writing replaces an existing file
+     * without leaving temporary files behind.
+     */
+    @Test
+    @DisplayName("write(): empty list, replaces existing file")
+    void testWrite_EmptyAndReplace(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("index.bin");
+        PlantIndexFile.write(file, List.of(new PlantIndex(1L, "Basil", "Ocimum basilicum", null)));
+        PlantIndexFile.write(file, List.of());
+
+        assertEquals(0, PlantIndexFile.open(file).size());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    /**
+     * Verifies that files that are not binary plant index files of this version are rejected.
+     */
+    @Test
+    @DisplayName("open(): rejects foreign, truncated and unsupported files")
+    void testOpen_InvalidFiles(@TempDir Path tempDir) throws IOException {
+        Path json = tempDir.resolve("index.txt");
+        Files.writeString(json, "[ ]", StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> PlantIndexFile.open(json));
+
+        Path file = tempDir.resolve("index.bin");
+        PlantIndexFile.write(file, List.of(new PlantIndex(1L, "Basil", "Ocimum basilicum", null)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = tempDir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, 16));
+        assertThrows(IOException.class, () -> PlantIndexFile.open(truncated));
+
+        bytes[7] = 99;
+        Path unsupported = tempDir.resolve("unsupported.bin");
+        Files.write(unsupported, bytes);
+        assertThrows(IOException.class, () -> PlantIndexFile.open(unsupported));
+    }
+
+    /**
+     * Verifies that reading outside the records throws.
+     */
+    @Test
+    @DisplayName("get(): out of bounds")
+    void testGet_OutOfBounds(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("index.bin");
+        PlantIndexFile.write(file, List.of(new PlantIndex(1L, "Basil", "Ocimum basilicum", null)));
+        PlantIndexFile mapped = PlantIndexFile.open(file);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.id(-1));
+    }
+
+    /**
+     * Verifies that the real backup file round trips and that the binary file is smaller than the JSON file.
+     */
+    @Test
+    @DisplayName("write()/open(): round trip of backup file")
+    void testRoundTrip_BackupFile(@TempDir Path tempDir) throws IOException {
+        Path json = Path.of("var/app/backups/plant_index_backup.txt");
+        List<PlantIndex> plants = new ObjectMapper().readValue(
+                Files.readString(json, StandardCharsets.UTF_8), new TypeReference<List<PlantIndex>>() {});
+        Path file = tempDir.resolve("index.bin");
+        PlantIndexFile.write(file, plants);
+
+        PlantIndexFile mapped = PlantIndexFile.open(file);
+        assertEquals(plants.size(), mapped.size());
+        for (int i = 0; i < plants.size(); i++) {
+            assertEquals(plants.get(i).getId(), mapped.id(i));
+            assertEquals(plants.get(i).getCommonName(), mapped.commonName(i));
+            assertEquals(plants.get(i).getScientificName(), mapped.scientificName(i));
+            assertEquals(plants.get(i).getOtherName(), mapped.otherName(i));
+        }
+        assertTrue(Files.size(file) < Files.size(json));
+    }
+}
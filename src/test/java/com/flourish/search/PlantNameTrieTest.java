@@ -0,0 +1,113 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PlantNameTrie}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link PlantNameTrie#build(List)} - common, scientific and alias terms, de-duplication, null fields</li>
+ *   <li>{@link PlantNameTrie#suggest(String, int)} - ranking, case-insensitivity, unknown prefix, k limits</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class PlantNameTrieTest {
+
+    private PlantNameTrie trie;
+
+    /**
+     * Builds a trie over a small mock data set with overlapping names and a record with null fields.
+     */
+    @BeforeEach
+    void setUp() {
+        List<PlantIndex> plants = new ArrayList<>();
+        plants.add(new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Sweet Briar, rose hip"));
+        plants.add(new PlantIndex(2L, "Rosemary", "Salvia rosmarinus", null));
+        plants.add(new PlantIndex(3L, "Basil", "Ocimum basilicum", "Thai Basil"));
+        plants.add(new PlantIndex(4L, "Thai basil", "Ocimum basilicum var. thyrsiflora", ""));
+        plants.add(new PlantIndex(5L, null, null, null));
+        trie = PlantNameTrie.build(plants);
+    }
+
+    /**
+     * Verifies that common names rank before scientific names and aliases,
+     * and shorter names before longer ones.
+     */
+    @Test
+    @DisplayName("suggest(): common names first, then shorter names")
+    void testSuggest_Ranking() {
+        assertEquals(List.of("Rose", "Rosemary", "Rosa rubiginosa", "rose hip"), trie.suggest("ros", 10));
+    }
+
+    /**
+     * Verifies that lookups are case-insensitive and names are returned in their original casing,
+     * with a name that is both common name and alias listed once, as the common name.
+     */
+    @Test
+    @DisplayName("suggest(): case-insensitive, de-duplicated")
+    void testSuggest_CaseInsensitiveAndDeduplicated() {
+        assertEquals(List.of("Thai basil"), trie.suggest("THAI", 10));
+    }
+
+    /**
+     * Verifies that an unknown prefix and a non-positive k return no completions,
+     * and that k limits the number of completions.
+     */
+    @Test
+    @DisplayName("suggest(): unknown prefix, k limits")
+    void testSuggest_Limits() {
+        assertTrue(trie.suggest("xyz", 10).isEmpty());
+        assertTrue(trie.suggest("ros", 0).isEmpty());
+        assertEquals(List.of("Rose"), trie.suggest("ros", 1));
+    }
+
+    /**
+     * Verifies on the real backup file that every prefix returns only names starting with it, and that
+     * prefixes with few completions return exactly the distinct names found by a brute-force scan.
+     */
+    @Test
+    @DisplayName("suggest(): agrees with brute force on backup file")
+    void testSuggest_AgreesWithBruteForceOnBackupFile() throws Exception {
+        List<PlantIndex> plants = new ObjectMapper().readValue(
+                Files.readString(Path.of("var/app/backups/plant_index_backup.txt"), StandardCharsets.UTF_8),
+                new TypeReference<List<PlantIndex>>() {});
+        PlantNameTrie realTrie = PlantNameTrie.build(plants);
+        Set<String> distinctNames = new HashSet<>();
+        for (PlantIndex plant : plants) {
+            List<String> names = new ArrayList<>(List.of(plant.getCommonName(), plant.getScientificName()));
+            names.addAll(List.of(plant.getOtherName().split(",")));
+            names.stream().map(String::strip).filter(n -> !n.isEmpty()).map(String::toLowerCase).forEach(distinctNames::add);
+        }
+        assertEquals(distinctNames.size(), realTrie.size());
+
+        for (String prefix : List.of("a", "ab", "abies", "abies concolor", "rose", "p", "japanese m", "z", "qq")) {
+            List<String> expected = distinctNames.stream().filter(n -> n.startsWith(prefix)).sorted().toList();
+            List<String> actual = realTrie.suggest(prefix, PlantNameTrie.MAX_SUGGESTIONS).stream()
+                    .map(String::toLowerCase).toList();
+            assertEquals(Math.min(expected.size(), PlantNameTrie.MAX_SUGGESTIONS), actual.size(), "Prefix: " + prefix);
+            assertTrue(expected.containsAll(actual), "Prefix: " + prefix);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SearchCursor}.
+ *
+ * <p>Covers narrowing while typing on the real backup file, and the cases where the cursor must fall
+ * back to the index: deleted characters, a reloaded snapshot and a reset cursor.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class SearchCursorTest {
+
+    private static final List<PlantIndex> PLANTS = List.of(
+            new PlantIndex(1L, "Monstera", "Monstera deliciosa", "Swiss cheese plant"),
+            new PlantIndex(2L, "Lemon Balm", "Melissa officinalis", null),
+            new PlantIndex(3L, "Moneywort", "Lysimachia nummularia", "Creeping Jenny"),
+            new PlantIndex(4L, "Rose", "Rosa", null));
+
+    /**
+     * Verifies on the real backup file that every keystroke the cursor narrows gets exactly the ranking of
+     * a full index search, and that the longer keystrokes are narrowed.
+     */
+    @Test
+    @DisplayName("narrow(): identical to index search while typing on backup file")
+    void testNarrowMatchesIndexOnBackupFile() throws Exception {
+        List<PlantIndex> plants = new ObjectMapper().readValue(
+                Files.readString(Path.of("var/app/backups/plant_index_backup.txt"), StandardCharsets.UTF_8),
+                new TypeReference<List<PlantIndex>>() {});
+        SearchSnapshot snapshot = SearchSnapshot.build(1, plants);
+
+        for (String typed : List.of("monstera deliciosa", "acer palmatum", "japanese maple")) {
+            SearchCursor cursor = new SearchCursor();
+            int narrowedCount = 0;
+            for (int end = 1; end <= typed.length(); end++) {
+                String query = PlantCatalog.normalize(typed.substring(0, end));
+                if (query.isEmpty()) {
+                    continue;
+                }
+                int[] expected = snapshot.getSearchIndex().search(query.getBytes(StandardCharsets.UTF_8));
+                int[] narrowed = cursor.narrow(snapshot, query);
+                if (narrowed != null) {
+                    assertArrayEquals(expected, narrowed, "Query: " + query);
+                    narrowedCount++;
+                }
+                cursor.update(snapshot, query, expected);
+            }
+            assertTrue(narrowedCount > 0, "Expected narrowing while typing: " + typed);
+        }
+    }
+
+    /**
+     * Verifies that a query containing the previous one in the middle is narrowed too, that repeating the
+     * previous query returns the remembered result, and that the index is preferred when one of its
+     * posting lists is shorter than the remembered result.
+     */
+    @Test
+    @DisplayName("narrow(): contained and repeated queries, short posting lists")
+    void testNarrowContainedAndRepeated() {
+        SearchSnapshot snapshot = SearchSnapshot.build(1, PLANTS);
+        SearchCursor cursor = new SearchCursor();
+        int[] on = snapshot.getSearchIndex().search("on".getBytes(StandardCharsets.UTF_8));
+        cursor.update(snapshot, "on", on);
+
+        assertArrayEquals(new int[]{0, 2, 1}, cursor.narrow(snapshot, "mon"));
+        assertSame(on, cursor.narrow(snapshot, "on"));
+        assertNull(cursor.narrow(snapshot, "lemon"));
+    }
+
+    /**
+     * Verifies that deleting characters, a new snapshot version or a reset make the cursor fall back.
+     */
+    @Test
+    @DisplayName("narrow(): falls back after deletion, reload and reset")
+    void testNarrowFallsBack() {
+        SearchSnapshot snapshot = SearchSnapshot.build(1, PLANTS);
+        SearchCursor cursor = new SearchCursor();
+        assertNull(cursor.narrow(snapshot, "mo"));
+
+        cursor.update(snapshot, "mo", snapshot.getSearchIndex().search("mo".getBytes(StandardCharsets.UTF_8)));
+        assertNull(cursor.narrow(snapshot, "m"));
+        assertNull(cursor.narrow(SearchSnapshot.build(2, PLANTS), "mon"));
+        assertNotNull(cursor.narrow(snapshot, "mon"));
+
+        cursor.reset();
+        assertNull(cursor.narrow(snapshot, "mon"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.flourish.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SearchResultCache}.
+ *
+ * <p>Covers hits and misses, least-recently-used eviction by entry count and by weight, invalidation by
+ * a newer index version, and concurrent use.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class SearchResultCacheTest {
+
+    /**
+     * Verifies that a stored ranking is returned for the same version and query and that lookups are counted.
+     */
+    @Test
+    @DisplayName("get(): hit after put, miss otherwise")
+    void testHitsAndMisses() {
+        SearchResultCache cache = new SearchResultCache(10, 100);
+        int[] ranking = {3, 1, 2};
+
+        assertNull(cache.get(1, "rose"));
+        cache.put(1, "rose", ranking);
+        assertSame(ranking, cache.get(1, "rose"));
+        assertNull(cache.get(1, "fern"));
+
+        SearchResultCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getSize());
+        assertEquals(3, stats.getWeight());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    /**
+     * Verifies that the least recently used entry is evicted when the entry limit is exceeded.
+     */
+    @Test
+    @DisplayName("put(): evicts least recently used entry over entry limit")
+    void testEvictionByEntries() {
+        SearchResultCache cache = new SearchResultCache(2, 100);
+        cache.put(1, "a", new int[]{1});
+        cache.put(1, "b", new int[]{2});
+        cache.get(1, "a");
+        cache.put(1, "c", new int[]{3});
+
+        assertNotNull(cache.get(1, "a"));
+        assertNull(cache.get(1, "b"));
+        assertNotNull(cache.get(1, "c"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    /**
+     * Verifies that entries are evicted until the total weight fits, that replacing an entry updates the
+     * weight, and that a single result heavier than the limit is not cached.
+     */
+    @Test
+    @DisplayName("put(): evicts by weight, skips oversized results")
+    void testEvictionByWeight() {
+        SearchResultCache cache = new SearchResultCache(100, 5);
+        cache.put(1, "a", new int[]{1, 2});
+        cache.put(1, "b", new int[]{3, 4});
+        cache.put(1, "c", new int[]{5, 6});
+
+        assertNull(cache.get(1, "a"));
+        assertEquals(4, cache.stats().getWeight());
+
+        cache.put(1, "b", new int[]{3});
+        assertEquals(3, cache.stats().getWeight());
+
+        cache.put(1, "d", new int[]{1, 2, 3, 4, 5, 6});
+        assertNull(cache.get(1, "d"));
+        assertEquals(2, cache.stats().getSize());
+    }
+
+    /**
+     * Verifies that a newer version drops all entries and that results of an older version are neither
+     * returned nor stored.
+     */
+    @Test
+    @DisplayName("get()/put(): newer version invalidates, older version bypasses")
+    void testVersionInvalidation() {
+        SearchResultCache cache = new SearchResultCache(10, 100);
+        cache.put(1, "rose", new int[]{1});
+
+        assertNull(cache.get(2, "rose"));
+        assertEquals(0, cache.stats().getSize());
+
+        cache.put(1, "rose", new int[]{1});
+        assertNull(cache.get(1, "rose"));
+        assertEquals(0, cache.stats().getSize());
+
+        cache.put(2, "rose", new int[]{2});
+        cache.invalidateAll();
+        assertNull(cache.get(2, "rose"));
+    }
+
+    /**
+     * Verifies that a disabled cache stores nothing and that negative limits are rejected.
+     */
+    @Test
+    @DisplayName("constructor: zero entries disables, negative limits rejected")
+    void testLimits() {
+        SearchResultCache disabled = new SearchResultCache(0, 100);
+        disabled.put(1, "rose", new int[]{1});
+        assertNull(disabled.get(1, "rose"));
+
+        assertThrows(IllegalArgumentException.class, () -> new SearchResultCache(-1, 100));
+        assertThrows(IllegalArgumentException.class, () -> new SearchResultCache(10, -1));
+    }
+
+    /**
+     * Verifies that concurrent lookups and inserts keep the limits and the weight bookkeeping consistent.
+     */
+    @Test
+    @DisplayName("concurrent use keeps limits")
+    void testConcurrentUse() throws Exception {
+        SearchResultCache cache = new SearchResultCache(50, 200);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int seed = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        String query = "q" + ((i * 31 + seed) % 120);
+                        if (cache.get(1, query) == null) {
+                            cache.put(1, query, new int[i % 7]);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        SearchResultCache.Stats stats = cache.stats();
+        assertTrue(stats.getSize() <= 50);
+        assertTrue(stats.getWeight() <= 200);
+        assertEquals(40_000, stats.getHits() + stats.getMisses());
+    }
+}
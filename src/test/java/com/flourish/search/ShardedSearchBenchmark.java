@@ -0,0 +1,138 @@
+package com.flourish.search;
+
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scaling benchmark for {@link ShardedTrigramIndex} on synthetic catalogs of 10k to 5M records.
+ *
+ * <p>For every catalog size, the same queries are run against a single-shard index and against an index
+ * split into four shards per worker of the common fork/join pool. Each query ranks its full result and
+ * one page of 50, and the median time per query is printed together with the shard count and the
+ * parallelism of the pool. Records are generated on demand from their ordinal, so only the catalog and
+ * the indexes occupy the heap.</p>
+ *
+ * <p>The sizes can be overridden with {@code -Dbenchmark.sizes=10000,100000}, and the number of workers
+ * with {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}. The benchmark is skipped unless the
+ * {@code benchmark} system property is set to {@code true}.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ShardedSearchBenchmark {
+
+    private static final String DEFAULT_SIZES = "10000,100000,1000000,5000000";
+    private static final int ROUNDS = 7;
+    private static final List<String> QUERIES = List.of("a", "ro", "ros", "mari", "cabal", "lia", "zzz");
+    private static final String[] SYLLABLES = {
+            "ab", "ac", "al", "an", "ar", "ba", "ca", "ce", "ci", "co", "da", "el", "er", "fi", "ga", "hi",
+            "ia", "la", "li", "lo", "ma", "mi", "na", "ni", "or", "pa", "ra", "ri", "ro", "sa", "ta", "us"
+    };
+
+    /**
+     * Builds both indexes for every size and prints the median query times.
+     */
+    @Test
+    @DisplayName("sharded vs single-shard search from 10k to 5M records")
+    void benchmarkScaling() {
+        int workers = ForkJoinPool.getCommonPoolParallelism();
+        System.out.println("Common pool parallelism: " + workers);
+        for (String size : System.getProperty("benchmark.sizes", DEFAULT_SIZES).split(",")) {
+            PlantCatalog catalog = PlantCatalog.build(new SyntheticPlants(Integer.parseInt(size.strip())));
+            int shardSize = Math.max(1, (catalog.size() + 4 * workers - 1) / (4 * workers));
+
+            long start = System.nanoTime();
+            ShardedTrigramIndex single = ShardedTrigramIndex.build(catalog, Math.max(1, catalog.size()), Integer.MAX_VALUE);
+            long singleBuild = System.nanoTime() - start;
+            long[] singleTimes = run(single);
+            single = null;
+
+            start = System.nanoTime();
+            ShardedTrigramIndex sharded = ShardedTrigramIndex.build(catalog, shardSize, 0);
+            long shardedBuild = System.nanoTime() - start;
+            long[] shardedTimes = run(sharded);
+
+            System.out.println(catalog.size() + " records: build " + singleBuild / 1_000_000 + " ms -> "
+                    + shardedBuild / 1_000_000 + " ms (" + sharded.shardCount() + " shards); full ranking "
+                    + singleTimes[0] / 1_000 + " us -> " + shardedTimes[0] / 1_000 + " us; page of 50 "
+                    + singleTimes[1] / 1_000 + " us -> " + shardedTimes[1] / 1_000 + " us");
+        }
+    }
+
+    /**
+     * Returns the median nanoseconds per full ranking and per page over all queries and rounds,
+     * skipping a warm-up round.
+     */
+    private static long[] run(ShardedTrigramIndex index) {
+        long[] full = new long[ROUNDS * QUERIES.size()];
+        long[] page = new long[ROUNDS * QUERIES.size()];
+        int n = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            for (String text : QUERIES) {
+                byte[] query = text.getBytes(StandardCharsets.UTF_8);
+                long start = System.nanoTime();
+                int matches = index.search(query).length;
+                long middle = System.nanoTime();
+                int[] first = index.search(query, 0, 50);
+                long end = System.nanoTime();
+                assertEquals(Math.min(50, matches), first.length, "Query: " + text);
+                if (round > 0) {
+                    full[n] = middle - start;
+                    page[n++] = end - middle;
+                }
+            }
+        }
+        Arrays.sort(full);
+        Arrays.sort(page);
+        return new long[]{full[n / 2], page[n / 2]};
+    }
+
+    /**
+     * Synthetic records made of random Latin-like syllables, generated from the ordinal on every access.
+     */
+    private static final class SyntheticPlants extends AbstractList<PlantIndex> {
+
+        private final int size;
+
+        SyntheticPlants(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public PlantIndex get(int index) {
+            Random random = new Random(index);
+            return new PlantIndex((long) index, word(random) + " " + word(random),
+                    word(random) + " " + word(random), word(random));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private static String word(Random random) {
+            StringBuilder builder = new StringBuilder();
+            int syllables = 2 + random.nextInt(4);
+            for (int i = 0; i < syllables; i++) {
+                builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            return builder.toString();
+        }
+    }
+}
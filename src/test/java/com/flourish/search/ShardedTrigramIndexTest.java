@@ -0,0 +1,142 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ShardedTrigramIndex}.
+ *
+ * <p>The real backup file is split into small shards and every result is compared with a single
+ * {@link TrigramIndex} over the whole catalog, once with every query forked onto the fork/join pool and
+ * once with every query evaluated shard by shard on the calling thread.</p>
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link ShardedTrigramIndex#build(PlantCatalog)} - single shard for small catalogs</li>
+ *   <li>{@link ShardedTrigramIndex#search(byte[])}, {@link ShardedTrigramIndex#search(byte[], int, int)},
+ *       {@link ShardedTrigramIndex#count(byte[])} and {@link ShardedTrigramIndex#candidates(byte[])} -
+ *       identical to the unsharded index, sequential and parallel</li>
+ *   <li>{@link ShardedTrigramIndex#candidateBound(byte[])} - never below the candidate count</li>
+ *   <li>Merging of sorted shard results, bounded by k</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class ShardedTrigramIndexTest {
+
+    private static PlantCatalog catalog;
+    private static TrigramIndex reference;
+    private static List<String> queries;
+
+    /**
+     * Loads the backup file, builds the reference index and collects queries from the data itself.
+     */
+    @BeforeAll
+    static void setUp() throws Exception {
+        List<PlantIndex> plants = new ObjectMapper().readValue(
+                Files.readString(Path.of("var/app/backups/plant_index_backup.txt"), StandardCharsets.UTF_8),
+                new TypeReference<List<PlantIndex>>() {});
+        catalog = PlantCatalog.build(plants);
+        reference = TrigramIndex.build(catalog);
+        queries = new ArrayList<>(List.of("r", "ro", "rose", "fir", "abies alba", "konigin", "é", "xyz123"));
+        for (int i = 0; i < plants.size(); i += 211) {
+            String name = PlantCatalog.normalize(plants.get(i).getScientificName());
+            queries.add(name.substring(0, Math.min(4, name.length())));
+            queries.add(name.substring(name.length() / 2));
+        }
+    }
+
+    /**
+     * Verifies that catalogs below the sharding threshold get a single shard.
+     */
+    @Test
+    @DisplayName("build(): small catalog => single shard")
+    void testBuild_SmallCatalogSingleShard() {
+        ShardedTrigramIndex index = ShardedTrigramIndex.build(catalog);
+
+        assertEquals(1, index.shardCount());
+        assertEquals(catalog.size(), index.size());
+        assertEquals(1, ShardedTrigramIndex.build(PlantCatalog.build(List.of())).shardCount());
+    }
+
+    /**
+     * Verifies that the shards cover the catalog in order, with only the last shard smaller.
+     */
+    @Test
+    @DisplayName("build(shardSize): shards cover the catalog")
+    void testBuild_ShardSizes() {
+        int[] sizes = ShardedTrigramIndex.build(catalog, 1_000, 0).shardSizes();
+
+        assertEquals(catalog.size(), Arrays.stream(sizes).sum());
+        for (int shard = 0; shard < sizes.length - 1; shard++) {
+            assertEquals(1_000, sizes[shard]);
+        }
+    }
+
+    /**
+     * Verifies that forking every query across many shards gives the results of the unsharded index.
+     */
+    @Test
+    @DisplayName("parallel: identical to unsharded index")
+    void testParallel_MatchesUnsharded() {
+        assertMatchesReference(ShardedTrigramIndex.build(catalog, 97, 0));
+    }
+
+    /**
+     * Verifies that evaluating every query shard by shard gives the results of the unsharded index.
+     */
+    @Test
+    @DisplayName("sequential: identical to unsharded index")
+    void testSequential_MatchesUnsharded() {
+        assertMatchesReference(ShardedTrigramIndex.build(catalog, 97, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Verifies that merging keeps the sorted order and at most k ranks.
+     */
+    @Test
+    @DisplayName("merge(): sorted and bounded by k")
+    void testMerge() {
+        long[] a = {1, 4, 6};
+        long[] b = {2, 3, 7, 9};
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 6, 7, 9}, ShardedTrigramIndex.merge(a, b, Integer.MAX_VALUE));
+        assertArrayEquals(new long[]{1, 2, 3}, ShardedTrigramIndex.merge(a, b, 3));
+        assertSame(a, ShardedTrigramIndex.merge(a, new long[0], 5));
+        assertArrayEquals(new long[]{2}, ShardedTrigramIndex.merge(new long[0], b, 1));
+    }
+
+    private static void assertMatchesReference(ShardedTrigramIndex index) {
+        assertTrue(index.shardCount() > 1);
+        for (String text : queries) {
+            byte[] query = text.getBytes(StandardCharsets.UTF_8);
+            int[] full = reference.search(query);
+            assertArrayEquals(full, index.search(query), "Query: " + text);
+            assertEquals(full.length, index.count(query), "Count for: " + text);
+            assertArrayEquals(reference.candidates(query), index.candidates(query), "Candidates for: " + text);
+            assertTrue(index.candidateBound(query) >= index.candidates(query).length, "Bound for: " + text);
+            for (int offset : new int[]{0, 7, 50, full.length}) {
+                assertArrayEquals(reference.search(query, offset, 25), index.search(query, offset, 25),
+                        "Page at offset " + offset + " for: " + text);
+            }
+        }
+    }
+}
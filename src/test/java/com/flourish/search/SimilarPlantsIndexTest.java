@@ -0,0 +1,127 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SimilarPlantsIndex} and the dissimilarity of {@link PlantFeatures}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link PlantFeatures#distance(int, int)} - identical plants, numeric, categorical, sunlight and trait
+ *       differences, missing values, incomparable plants</li>
+ *   <li>{@link SimilarPlantsIndex#build(List, int, ObjectMapper)} - nearest first, k, unknown ids, incomparable plants</li>
+ *   <li>{@link SimilarPlantsIndex#update(List, ObjectMapper)} - same result as a full rebuild for changed and new plants</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class SimilarPlantsIndexTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final List<PlantAttributes> PLANTS = List.of(
+            plant(1L, "Average", "[\"full sun\"]", "Perennial", "5", "9", "Rosaceae", "Rosa", true),
+            plant(2L, "Average", "[\"full sun\"]", "Perennial", "5", "9", "Rosaceae", "Rosa", false),
+            plant(3L, "Average", "[\"full sun\",\"part shade\"]", "Perennial", "4", "8", "Rosaceae", "Malus", true),
+            plant(4L, "Frequent", "[\"full shade\"]", "Annual", "10", "12", "Araceae", "Monstera", false),
+            plant(5L, null, null, null, null, null, null, null, null));
+
+    /**
+     * Verifies the dissimilarity on hand-computed pairs.
+     */
+    @Test
+    @DisplayName("PlantFeatures.distance(): Gower dissimilarity")
+    void testDistance() {
+        PlantFeatures features = PlantFeatures.encode(PLANTS, OBJECT_MAPPER);
+        assertEquals(0, features.distance(0, 0));
+        assertEquals(0.5f / 8.5f, features.distance(0, 1), 1e-6);
+        float expected = (2 / 25f + 2 / 25f + 2 + 0.5f) / 8.5f;
+        assertEquals(expected, features.distance(0, 2), 1e-6);
+        assertTrue(features.distance(0, 3) > features.distance(0, 2));
+        assertTrue(Float.isNaN(features.distance(0, 4)));
+    }
+
+    /**
+     * Verifies that neighbours are ordered nearest first, limited to k, and never include the plant itself
+     * or incomparable plants.
+     */
+    @Test
+    @DisplayName("build(): nearest neighbours first")
+    void testBuild() {
+        SimilarPlantsIndex index = SimilarPlantsIndex.build(PLANTS, 2, OBJECT_MAPPER);
+        assertEquals(5, index.size());
+        assertArrayEquals(new long[]{2L, 3L}, index.similarIds(1L));
+        assertArrayEquals(new long[]{1L, 3L}, index.similarIds(2L));
+        assertArrayEquals(new long[0], index.similarIds(5L));
+        assertArrayEquals(new long[0], index.similarIds(99L));
+        assertArrayEquals(new long[]{2L, 3L, 4L}, SimilarPlantsIndex.build(PLANTS, 10, OBJECT_MAPPER).similarIds(1L));
+        assertEquals(0, SimilarPlantsIndex.empty(3).size());
+    }
+
+    /**
+     * Verifies that incremental updates of changed and new plants give the same neighbours as a full
+     * rebuild, on random plants where many neighbours change.
+     */
+    @Test
+    @DisplayName("update(): same as a full rebuild")
+    void testUpdate() {
+        Random random = new Random(42);
+        List<PlantAttributes> plants = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            plants.add(random(id, random));
+        }
+        SimilarPlantsIndex index = SimilarPlantsIndex.build(plants, 5, OBJECT_MAPPER);
+        for (int round = 0; round < 5; round++) {
+            List<PlantAttributes> changed = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                PlantAttributes plant;
+                if (random.nextInt(5) == 0) {
+                    plant = random(plants.size() + 1L, random);
+                    plants.add(plant);
+                } else {
+                    plant = random(1L + random.nextInt(plants.size()), random);
+                    plants.set(plant.getId().intValue() - 1, plant);
+                }
+                changed.add(plant);
+            }
+            index = index.update(changed, OBJECT_MAPPER);
+            SimilarPlantsIndex rebuilt = SimilarPlantsIndex.build(plants, 5, OBJECT_MAPPER);
+            for (PlantAttributes plant : plants) {
+                assertArrayEquals(rebuilt.similarIds(plant.getId()), index.similarIds(plant.getId()),
+                        "Round " + round + ", plant " + plant.getId());
+            }
+        }
+        assertSame(index, index.update(List.of(), OBJECT_MAPPER));
+    }
+
+    private static PlantAttributes random(long id, Random random) {
+        String[] watering = {"Minimum", "Average", "Frequent", null};
+        String[] sunlight = {"[\"full sun\"]", "[\"part shade\"]", "[\"full sun\",\"part shade\"]", null};
+        String[] genus = {"Rosa", "Acer", "Malus", null};
+        return plant(id, watering[random.nextInt(4)], sunlight[random.nextInt(4)],
+                random.nextBoolean() ? "Perennial" : "Annual", String.valueOf(1 + random.nextInt(13)),
+                String.valueOf(1 + random.nextInt(13)), random.nextBoolean() ? "Rosaceae" : "Sapindaceae",
+                genus[random.nextInt(4)], random.nextBoolean());
+    }
+
+    private static PlantAttributes plant(Long id, String watering, String sunlight, String cycle,
+                                         String hardinessMin, String hardinessMax, String family, String genus,
+                                         Boolean indoor) {
+        return new PlantAttributes(id, watering, sunlight, cycle, null, indoor, null, null, null, null, null,
+                null, null, null, hardinessMin, hardinessMax, null, null, null, null, family, genus);
+    }
+}
@@ -0,0 +1,65 @@
+package com.flourish.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TextAnalyzer}.
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link TextAnalyzer#terms(String)} - splitting, case and accent folding, stop words, short terms, null</li>
+ *   <li>{@link TextAnalyzer#stem(String)} - plurals, -ed and -ing with their repairs, final y, short words</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class TextAnalyzerTest {
+
+    /**
+     * Verifies that text is split on non-alphanumeric characters, folded, stemmed and stripped of stop words
+     * and single characters.
+     */
+    @Test
+    @DisplayName("terms(): splitting, folding, stop words")
+    void testTerms() {
+        assertEquals(List.of("shade", "tolerant", "groundcover", "zone", "10", "garden"),
+                TextAnalyzer.terms("Shade-tolerant groundcovers, for a Zone 10 garden!"));
+        assertEquals(List.of("creme", "flower", "flower"), TextAnalyzer.terms("Crème flowers. The FLOWERED x"));
+        assertEquals(List.of(), TextAnalyzer.terms("It is a the of"));
+        assertEquals(List.of(), TextAnalyzer.terms(null));
+    }
+
+    /**
+     * Verifies the rules of Porter step 1 on typical words.
+     */
+    @Test
+    @DisplayName("stem(): Porter step 1")
+    void testStem() {
+        assertEquals("caress", TextAnalyzer.stem("caresses"));
+        assertEquals("poni", TextAnalyzer.stem("ponies"));
+        assertEquals("leaf", TextAnalyzer.stem("leafs"));
+        assertEquals("grass", TextAnalyzer.stem("grass"));
+        assertEquals("agree", TextAnalyzer.stem("agreed"));
+        assertEquals("feed", TextAnalyzer.stem("feed"));
+        assertEquals("plant", TextAnalyzer.stem("planted"));
+        assertEquals("shade", TextAnalyzer.stem("shading"));
+        assertEquals("shade", TextAnalyzer.stem("shaded"));
+        assertEquals("hop", TextAnalyzer.stem("hopping"));
+        assertEquals("fall", TextAnalyzer.stem("falling"));
+        assertEquals("cultivate", TextAnalyzer.stem("cultivated"));
+        assertEquals("sing", TextAnalyzer.stem("sing"));
+        assertEquals("sunni", TextAnalyzer.stem("sunny"));
+        assertEquals("dry", TextAnalyzer.stem("dry"));
+        assertEquals("is", TextAnalyzer.stem("is"));
+    }
+}
@@ -0,0 +1,232 @@
+package com.flourish.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TrigramIndex}.
+ *
+ * <p>Besides the basic gram lookups, the results of the index are compared against a reference
+ * linear scan that reproduces the substring filter and stable score sort over accent-folded names and
+ * aliases, both on a small mock data set and on the real {@code plant_index_backup.txt}.</p>
+ *
+ * <strong>Coverage Goals:</strong>
+ * <ul>
+ *   <li>{@link TrigramIndex#candidates(byte[])} - short grams, trigram intersection, unknown trigram</li>
+ *   <li>{@link TrigramIndex#search(byte[])} - ranking by score and ordinal</li>
+ *   <li>{@link TrigramIndex#search(byte[], int, int)} and {@link TrigramIndex#count(byte[])} - pages equal
+ *       slices of the full ranking</li>
+ * </ul>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+class TrigramIndexTest {
+
+    private static final Path BACKUP_FILE = Path.of("var/app/backups/plant_index_backup.txt");
+
+    private List<PlantIndex> plants;
+    private TrigramIndex index;
+
+    /**
+     * Builds an index over a small mock data set, including a record with only null fields.
+     */
+    @BeforeEach
+    void setUp() {
+        plants = new ArrayList<>();
+        plants.add(new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Sweet Briar"));
+        plants.add(new PlantIndex(2L, "Basil", "Ocimum basilicum", "Thai Basil"));
+        plants.add(new PlantIndex(3L, "Sunflower", "Helianthus annuus", "Common Sunflower"));
+        plants.add(new PlantIndex(4L, "Rosemary", "Salvia rosmarinus", null));
+        plants.add(new PlantIndex(5L, null, null, null));
+        plants.add(new PlantIndex(6L, "Myrose", "Primrose", ""));
+        index = TrigramIndex.build(PlantCatalog.build(plants));
+    }
+
+    /**
+     * Verifies that a query of up to three characters returns its posting list directly.
+     */
+    @Test
+    @DisplayName("candidates(): short query => exact posting list")
+    void testCandidates_ShortQuery() {
+        assertArrayEquals(new int[]{0, 3, 5}, index.candidates(query("ros")));
+        assertArrayEquals(new int[0], index.candidates(query("zq")));
+    }
+
+    /**
+     * Verifies that a trigram missing from the index yields no candidates.
+     */
+    @Test
+    @DisplayName("candidates(): unknown trigram => empty")
+    void testCandidates_UnknownTrigram() {
+        assertEquals(0, index.candidates(query("rosxyz")).length);
+    }
+
+    /**
+     * Verifies that prefix matches rank before mid-substring matches and ties keep their ordinal order.
+     */
+    @Test
+    @DisplayName("search(): prefix first, ties by ordinal")
+    void testSearch_Ranking() {
+        assertArrayEquals(new int[]{0, 3, 5}, index.search(query("rose")));
+        assertArrayEquals(new int[]{1}, index.search(query("basil")));
+    }
+
+    /**
+     * Verifies that aliases are matched on their own, so a query at the start of an alias is a prefix
+     * match, and that accents are ignored.
+     */
+    @Test
+    @DisplayName("search(): aliases and accents")
+    void testSearch_AliasesAndAccents() {
+        List<PlantIndex> accented = List.of(
+                new PlantIndex(1L, "Queen Charlotte", "Anemone hybrida 'Königin Charlotte'", "Windflower, Anémone"),
+                new PlantIndex(2L, "Anemone", "Anemone nemorosa", null));
+        TrigramIndex accentedIndex = TrigramIndex.build(PlantCatalog.build(accented));
+
+        assertArrayEquals(new int[]{0}, accentedIndex.search(query("KONIGIN")));
+        assertArrayEquals(new int[]{0}, accentedIndex.search(query("königin")));
+        assertArrayEquals(new int[]{0, 1}, accentedIndex.search(query("anemone")));
+        assertArrayEquals(new int[]{0}, accentedIndex.search(query("windf")));
+        assertEquals(0, accentedIndex.search(query("flower, an")).length);
+    }
+
+    /**
+     * Compares the index with the reference scan for every one-, two- and three-character prefix and
+     * a set of longer queries on the mock data set.
+     */
+    @Test
+    @DisplayName("search(): identical to linear scan on mock data")
+    void testSearch_MatchesReferenceOnMockData() {
+        for (String query : List.of("r", "ro", "ros", "rose", "osa", "sun", "flower", "briar", "a", " ", "xyz")) {
+            assertEquals(referenceSearch(plants, query), ids(plants, index.search(query(query))), "Query: " + query);
+        }
+    }
+
+    /**
+     * Compares the index with the reference scan on the real backup file, using substrings taken from
+     * the data itself so that both short and long queries with many matches are covered.
+     */
+    @Test
+    @DisplayName("search(): identical to linear scan on backup file")
+    void testSearch_MatchesReferenceOnBackupFile() throws Exception {
+        List<PlantIndex> realPlants = new ObjectMapper().readValue(
+                Files.readString(BACKUP_FILE, StandardCharsets.UTF_8), new TypeReference<List<PlantIndex>>() {});
+        TrigramIndex realIndex = TrigramIndex.build(PlantCatalog.build(realPlants));
+
+        List<String> queries = new ArrayList<>(List.of("r", "ro", "rose", "fir", "macrophyllum", "'", "abies alba",
+                "konigin", "DESFOSSE", "é", "®", "spurge"));
+        for (int i = 0; i < realPlants.size(); i += 97) {
+            String name = realPlants.get(i).getScientificName().toLowerCase();
+            queries.add(name.substring(0, Math.min(5, name.length())));
+            queries.add(name.substring(name.length() / 2));
+        }
+        for (String query : queries) {
+            assertEquals(referenceSearch(realPlants, query), ids(realPlants, realIndex.search(query(query))),
+                    "Query: " + query);
+        }
+    }
+
+    /**
+     * Verifies that every page selected through the bounded heap equals the corresponding slice of the
+     * fully sorted result, and that the count equals the number of matches.
+     */
+    @Test
+    @DisplayName("search(offset, limit): pages equal slices of full ranking")
+    void testPagedSearch_EqualsSlicesOfFullRanking() throws Exception {
+        List<PlantIndex> realPlants = new ObjectMapper().readValue(
+                Files.readString(BACKUP_FILE, StandardCharsets.UTF_8), new TypeReference<List<PlantIndex>>() {});
+        TrigramIndex realIndex = TrigramIndex.build(PlantCatalog.build(realPlants));
+
+        for (String query : List.of("r", "fir", "rose", "alba", "xyz123")) {
+            int[] full = realIndex.search(query(query));
+            assertEquals(full.length, realIndex.count(query(query)), "Count for: " + query);
+            for (int offset = 0; offset < full.length + 50; offset += 50) {
+                int[] page = realIndex.search(query(query), offset, 50);
+                int from = Math.min(offset, full.length);
+                int to = Math.min(offset + 50, full.length);
+                assertArrayEquals(Arrays.copyOfRange(full, from, to), page,
+                        "Page at offset " + offset + " for: " + query);
+            }
+        }
+    }
+
+    private static byte[] query(String query) {
+        return PlantCatalog.encodeQuery(query);
+    }
+
+    private static List<Long> ids(List<PlantIndex> plants, int[] ordinals) {
+        List<Long> ids = new ArrayList<>();
+        for (int ordinal : ordinals) {
+            ids.add(plants.get(ordinal).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * The reference linear scan: substring filter over the folded names and aliases followed by a stable
+     * sort on the score, with positions counted in UTF-8 bytes.
+     */
+    private static List<Long> referenceSearch(List<PlantIndex> plants, String query) {
+        String foldedQuery = fold(query);
+        if (foldedQuery.isEmpty()) {
+            return List.of();
+        }
+        return plants.stream()
+                .filter(plant -> referenceScore(plant, foldedQuery) < Integer.MAX_VALUE)
+                .sorted(Comparator.comparingInt(plant -> referenceScore(plant, foldedQuery)))
+                .map(PlantIndex::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static int referenceScore(PlantIndex plant, String foldedQuery) {
+        List<String> names = new ArrayList<>();
+        names.add(plant.getCommonName());
+        names.add(plant.getScientificName());
+        if (plant.getOtherName() != null) {
+            names.addAll(Arrays.asList(plant.getOtherName().split(",")));
+        }
+        int score = Integer.MAX_VALUE;
+        for (String name : names) {
+            if (name == null || fold(name).isEmpty()) {
+                continue;
+            }
+            int pos = fold(name).indexOf(foldedQuery);
+            if (pos >= 0 && pos < score) {
+                score = pos;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Folds accents with a regular expression and maps every UTF-8 byte to one character, so that
+     * {@link String#indexOf(String)} returns byte positions.
+     */
+    private static String fold(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT).strip();
+        return new String(folded.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+    }
+}
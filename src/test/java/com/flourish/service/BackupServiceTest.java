@@ -4,21 +4,26 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flourish.domain.PlantDetails;
 import com.flourish.domain.PlantIndex;
+import com.flourish.repository.CatalogUpsertRepository;
 import com.flourish.repository.PlantDetailsRepository;
 import com.flourish.repository.PlantIndexRepository;
+import com.flourish.search.PlantIndexFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -40,6 +45,8 @@ class BackupServiceTest {
 
     private PlantIndexRepository plantIndexRepository;
     private PlantDetailsRepository plantDetailsRepository;
+    private CatalogUpsertRepository catalogUpsertRepository;
+    private PlantDetailsService plantDetailsService;
     private BackupService backupService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -48,7 +55,10 @@ class BackupServiceTest {
     void setUp() {
         plantIndexRepository = mock(PlantIndexRepository.class);
         plantDetailsRepository = mock(PlantDetailsRepository.class);
-        backupService = new BackupService(plantIndexRepository, plantDetailsRepository);
+        catalogUpsertRepository = mock(CatalogUpsertRepository.class);
+        plantDetailsService = new PlantDetailsService(plantDetailsRepository, 10_000, 20_000_000);
+        backupService = new BackupService(plantIndexRepository, plantDetailsRepository, catalogUpsertRepository,
+                plantDetailsService);
     }
 
     /**
@@ -89,6 +99,28 @@ class BackupServiceTest {
         assertEquals("[ ]", fileContent.trim());
     }
 
+    /**
+     * Tests backing up PlantIndex records to the binary format, ensuring the mapped file reads back
+     * the same records in the same order.
+     */
+    @Test
+    void testBackupPlantIndexToBinaryFile(@TempDir Path tempDir) throws IOException {
+        List<PlantIndex> indexList = List.of(
+                new PlantIndex(1L, "Basil", "Ocimum basilicum", "Thai Basil"),
+                new PlantIndex(2L, "Rose", "Rosa rubiginosa", null)
+        );
+        when(plantIndexRepository.findAll(any(org.springframework.data.domain.Sort.class))).thenReturn(indexList);
+
+        Path outputFile = tempDir.resolve("plant_index_backup_test.bin");
+        backupService.backupPlantIndexToBinaryFile(outputFile.toString());
+
+        PlantIndexFile mapped = PlantIndexFile.open(outputFile);
+        assertEquals(2, mapped.size());
+        assertEquals(1L, mapped.get(0).getId());
+        assertEquals("Rosa rubiginosa", mapped.get(1).getScientificName());
+        assertNull(mapped.get(1).getOtherName());
+    }
+
     /**
      * Tests backing up PlantDetails records with correct JSON and all constructor parameters.
      */
@@ -164,4 +196,56 @@ class BackupServiceTest {
             fail("BackupService run method should not throw an exception");
         }
     }
+
+    /**
+     * Tests that a PlantIndex backup is restored through the batched upsert with the same records.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRestorePlantIndexFromFile(@TempDir Path tempDir) throws IOException {
+        List<PlantIndex> indexList = List.of(
+                new PlantIndex(1L, "Basil", "Ocimum basilicum", "Thai Basil"),
+                new PlantIndex(2L, "Rose", "Rosa rubiginosa", null)
+        );
+        when(plantIndexRepository.findAll(any(org.springframework.data.domain.Sort.class))).thenReturn(indexList);
+        when(catalogUpsertRepository.upsertPlantIndex(any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        Path backupFile = tempDir.resolve("plant_index_backup_test.txt");
+        backupService.backupPlantIndexToFile(backupFile.toString());
+        assertEquals(2, backupService.restorePlantIndexFromFile(backupFile.toString()));
+
+        ArgumentCaptor<List<PlantIndex>> restored = ArgumentCaptor.forClass(List.class);
+        verify(catalogUpsertRepository).upsertPlantIndex(restored.capture());
+        assertEquals(2, restored.getValue().size());
+        assertEquals("Rose", restored.getValue().get(1).getCommonName());
+        assertNull(restored.getValue().get(1).getOtherName());
+    }
+
+    /**
+     * Tests that restored PlantDetails records can be looked up right away: from the in-memory catalog, and
+     * with the catalog disabled, through the details cache.
+     */
+    @Test
+    void testRestorePlantDetailsFromFile(@TempDir Path tempDir) throws IOException {
+        PlantDetails details = new PlantDetails();
+        details.setId(42L);
+        details.setCommonName("Lavender");
+        Path backupFile = tempDir.resolve("plant_details_backup_test.txt");
+        Files.writeString(backupFile, objectMapper.writeValueAsString(List.of(details)));
+        when(catalogUpsertRepository.upsertPlantDetails(any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        when(plantDetailsRepository.findById(42L)).thenReturn(Optional.of(details));
+
+        plantDetailsService.init();
+        assertTrue(plantDetailsService.getPlantDetailsById(42L).isEmpty());
+        assertEquals(1, backupService.restorePlantDetailsFromFile(backupFile.toString()));
+        assertEquals("Lavender", plantDetailsService.getPlantDetailsById(42L).map(PlantDetails::getCommonName).orElse(null));
+
+        PlantDetailsService withoutCatalog = new PlantDetailsService(plantDetailsRepository, 10_000, 20_000_000);
+        withoutCatalog.catalogEnabled = false;
+        withoutCatalog.init();
+        assertFalse(withoutCatalog.isKnownPlantId(42L));
+        new BackupService(plantIndexRepository, plantDetailsRepository, catalogUpsertRepository, withoutCatalog)
+                .restorePlantDetailsFromFile(backupFile.toString());
+        assertEquals("Lavender", withoutCatalog.getPlantDetailsById(42L).map(PlantDetails::getCommonName).orElse(null));
+    }
 }
@@ -0,0 +1,255 @@
+package com.flourish.service;
+
+import com.flourish.domain.PlantDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PlantDetailsCache}.
+ *
+ * <p>Covers read-through loading, batch loading and the counters, frequency-based admission under a scan of one-off
+ * lookups, eviction by weight, invalidation, including during a load, shared and failing loads, and the
+ * frequency sketch.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class PlantDetailsCacheTest {
+
+    /**
+     * Verifies that a loaded plant is served from the cache afterwards, that ids without details are not
+     * cached, and that lookups and loads are counted.
+     */
+    @Test
+    @DisplayName("get(): loads on a miss, hits afterwards")
+    void testReadThrough() {
+        PlantDetailsCache cache = new PlantDetailsCache(10, 100_000);
+        CountingLoader loader = new CountingLoader(0);
+
+        assertEquals(1L, cache.get(1, loader).orElseThrow().getId());
+        assertEquals(1L, cache.get(1, loader).orElseThrow().getId());
+        assertTrue(cache.get(-1, loader).isEmpty());
+        assertTrue(cache.get(-1, loader).isEmpty());
+
+        assertEquals(3, loader.calls.get());
+        PlantDetailsCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(3, stats.getLoads());
+        assertEquals(1, stats.getSize());
+        assertEquals(PlantDetailsCache.ENTRY_OVERHEAD, stats.getWeight());
+        assertEquals(0.25, stats.getHitRate(), 1e-9);
+        assertTrue(stats.getAverageLoadMillis() >= 0);
+    }
+
+    /**
+     * Verifies that a batch lookup returns cached plants and loads only the others, with one load.
+     */
+    @Test
+    @DisplayName("getAll(): loads only the misses, in one batch")
+    void testGetAll() {
+        PlantDetailsCache cache = new PlantDetailsCache(10, 100_000);
+        CountingLoader loader = new CountingLoader(0);
+        PlantDetails cached = cache.get(1, loader).orElseThrow();
+
+        List<List<Long>> batches = new ArrayList<>();
+        Map<Long, PlantDetails> found = cache.getAll(List.of(1L, 2L, -3L, 4L), missing -> {
+            batches.add(missing);
+            return missing.stream().map(loader::apply).flatMap(Optional::stream).toList();
+        });
+
+        assertEquals(List.of(List.of(2L, -3L, 4L)), batches);
+        assertEquals(3, found.size());
+        assertSame(cached, found.get(1L));
+        assertSame(found.get(2L), cache.get(2, loader).orElseThrow());
+        PlantDetailsCache.Stats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2, stats.getLoads());
+        assertTrue(cache.getAll(List.of(4L), missing -> fail("Nothing should be loaded")).containsKey(4L));
+    }
+
+    /**
+     * Verifies that frequently requested plants survive a long scan of plants requested once, which would
+     * flush a least-recently-used cache of the same size, since twenty other plants are requested between
+     * two requests of a frequent one.
+     */
+    @Test
+    @DisplayName("get(): frequent plants survive a scan")
+    void testScanResistance() {
+        PlantDetailsCache cache = new PlantDetailsCache(10, 1_000_000);
+        CountingLoader frequentLoader = new CountingLoader(0);
+        CountingLoader scanLoader = new CountingLoader(0);
+        for (long id = 100; id < 1100; id++) {
+            if (id % 20 == 0) {
+                for (long frequent = 1; frequent <= 5; frequent++) {
+                    cache.get(frequent, frequentLoader);
+                }
+            }
+            cache.get(id, scanLoader);
+        }
+
+        assertEquals(5, frequentLoader.calls.get());
+        assertEquals(1000, scanLoader.calls.get());
+        assertEquals(10, cache.stats().getSize());
+        assertEquals(995, cache.stats().getEvictions());
+    }
+
+    /**
+     * Verifies that plants are evicted until the total weight fits and that plants heavier than the limit
+     * are not cached.
+     */
+    @Test
+    @DisplayName("get(): evicts by weight, skips oversized plants")
+    void testWeight() {
+        long limit = 3 * PlantDetailsCache.ENTRY_OVERHEAD + 600;
+        PlantDetailsCache cache = new PlantDetailsCache(100, limit);
+        CountingLoader loader = new CountingLoader(300);
+
+        for (long id = 1; id <= 5; id++) {
+            cache.get(id, loader);
+            assertTrue(cache.stats().getWeight() <= limit);
+        }
+        assertEquals(2, cache.stats().getSize());
+        assertEquals(2 * (PlantDetailsCache.ENTRY_OVERHEAD + 300), cache.stats().getWeight());
+
+        PlantDetailsCache small = new PlantDetailsCache(100, PlantDetailsCache.ENTRY_OVERHEAD);
+        small.get(1, loader);
+        assertEquals(0, small.stats().getSize());
+    }
+
+    /**
+     * Verifies that an invalidated plant is loaded again, also when it was invalidated while being loaded.
+     */
+    @Test
+    @DisplayName("invalidate(): next lookup loads again")
+    void testInvalidate() {
+        PlantDetailsCache cache = new PlantDetailsCache(10, 100_000);
+        CountingLoader loader = new CountingLoader(0);
+        cache.get(1, loader);
+        cache.invalidate(1);
+        cache.get(1, loader);
+        assertEquals(2, loader.calls.get());
+
+        LongFunction<Optional<PlantDetails>> savedDuringLoad = id -> {
+            Optional<PlantDetails> details = loader.apply(id);
+            cache.invalidate(id);
+            return details;
+        };
+        assertTrue(cache.get(2, savedDuringLoad).isPresent());
+        cache.get(2, loader);
+        assertEquals(4, loader.calls.get());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    /**
+     * Verifies that concurrent misses for the same plant share one load and that a failing load is
+     * rethrown and counted.
+     */
+    @Test
+    @DisplayName("get(): concurrent misses share a load, failures are rethrown")
+    void testLoads() throws Exception {
+        PlantDetailsCache cache = new PlantDetailsCache(10, 100_000);
+        CountingLoader counting = new CountingLoader(0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LongFunction<Optional<PlantDetails>> slow = id -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return counting.apply(id);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<PlantDetails>> first = executor.submit(() -> cache.get(7, slow));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Optional<PlantDetails>> second = executor.submit(() -> cache.get(7, slow));
+            Thread.sleep(50);
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS).orElseThrow(), second.get(5, TimeUnit.SECONDS).orElseThrow());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, counting.calls.get());
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> cache.get(8, id -> {
+                    throw new IllegalStateException("Database unavailable");
+                }));
+        assertEquals("Database unavailable", failure.getMessage());
+        assertEquals(1, cache.stats().getLoadFailures());
+    }
+
+    /**
+     * Verifies that the sketch estimates how often ids were counted and halves its counters over time.
+     */
+    @Test
+    @DisplayName("FrequencySketch: counts and ages")
+    void testFrequencySketch() {
+        PlantDetailsCache.FrequencySketch sketch = new PlantDetailsCache.FrequencySketch(64);
+        for (int i = 0; i < 6; i++) {
+            sketch.increment(42);
+        }
+        sketch.increment(43);
+        assertEquals(6, sketch.frequency(42));
+        assertTrue(sketch.frequency(43) >= 1);
+        assertTrue(sketch.frequency(44) <= 1);
+
+        for (long id = 1000; id < 1640; id++) {
+            sketch.increment(id);
+        }
+        assertEquals(3, sketch.frequency(42));
+    }
+
+    /**
+     * Loads mocked details with the given description length for positive ids and nothing for others,
+     * counting the calls.
+     */
+    private static final class CountingLoader implements LongFunction<Optional<PlantDetails>> {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final int descriptionLength;
+
+        CountingLoader(int descriptionLength) {
+            this.descriptionLength = descriptionLength;
+        }
+
+        @Override
+        public Optional<PlantDetails> apply(long id) {
+            calls.incrementAndGet();
+            if (id < 0) {
+                return Optional.empty();
+            }
+            PlantDetails details = mock(PlantDetails.class);
+            when(details.getId()).thenReturn(id);
+            when(details.getDescription()).thenReturn("x".repeat(descriptionLength));
+            return Optional.of(details);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.flourish.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.PlantDetails;
 import com.flourish.domain.PlantIndex;
 import com.flourish.repository.PlantDetailsRepository;
@@ -13,6 +16,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +34,17 @@ import java.util.Optional;
  * <ul>
  *   <li>{@link PlantDetailsService#getPlantDetailsById(Long)} - found vs. not found, boundary ID examples</li>
  *   <li>{@link PlantDetailsService#getPlantDetailsByPlantIndex(PlantIndex)} - null index, null ID, valid ID</li>
+ *   <li>{@link PlantDetailsService#reload()} - paged load served from memory, failed load falls back to the
+ *       repository</li>
+ *   <li>{@link PlantDetailsService#update(List)} - saved details replace and extend the catalog</li>
+ *   <li>{@link PlantDetailsService#getPlantDetailsByIds(java.util.Collection)} - from the catalog, or with
+ *       chunked queries through the cache</li>
+ *   <li>{@link PlantDetailsService#getPlantCardsByIds(java.util.Collection)} - from the catalog, or with one
+ *       query before it is loaded</li>
+ *   <li>{@link PlantDetailsService#isKnownPlantId(Long)} - unknown ids answered without a lookup, saved ids
+ *       become known</li>
+ *   <li>{@link PlantDetailsService#invalidate(Long)} - without a catalog, details are read through the cache
+ *       until invalidated</li>
  * </ul>
  *
  * <p><strong>Test Scenarios:</strong>
@@ -59,7 +77,7 @@ class PlantDetailsServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        plantDetailsService = new PlantDetailsService(plantDetailsRepository);
+        plantDetailsService = new PlantDetailsService(plantDetailsRepository, 10_000, 20_000_000);
     }
 
     /**
@@ -156,4 +174,232 @@ class PlantDetailsServiceTest {
         assertTrue(result.isPresent(), "Expected a non-empty Optional for valid PlantIndex ID=200.");
         assertEquals(200L, result.get().getId(), "Expected ID=200 for the returned PlantDetails.");
     }
+
+    /**
+     * Verifies that the catalog is read page by page and that lookups are then answered from memory,
+     * including lookups of ids without details.
+     */
+    @Test
+    @DisplayName("reload: details served from memory")
+    void testReload() {
+        List<PlantDetails> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstPage.add(details(id * 2));
+        }
+        when(plantDetailsRepository.findDetailsAfter(eq(0L), any())).thenReturn(firstPage);
+        List<PlantDetails> lastPage = List.of(details(1001L));
+        when(plantDetailsRepository.findDetailsAfter(eq(1000L), any())).thenReturn(lastPage);
+
+        assertTrue(plantDetailsService.reload());
+        assertEquals(1, plantDetailsService.getCatalogVersion());
+        assertEquals(20L, plantDetailsService.getPlantDetailsById(20L).orElseThrow().getId());
+        assertEquals(1001L, plantDetailsService.getPlantDetailsById(1001L).orElseThrow().getId());
+        assertTrue(plantDetailsService.getPlantDetailsById(21L).isEmpty());
+        assertTrue(plantDetailsService.getPlantDetailsById(null).isEmpty());
+        verify(plantDetailsRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Verifies that saved details replace and extend the loaded catalog in a new version, and that updates
+     * before the first load are ignored.
+     */
+    @Test
+    @DisplayName("update: saved details published in a new catalog")
+    void testUpdate() {
+        plantDetailsService.update(List.of(details(5L)));
+        assertEquals(0, plantDetailsService.getCatalogVersion());
+
+        List<PlantDetails> stored = List.of(details(3L), details(5L));
+        when(plantDetailsRepository.findDetailsAfter(eq(0L), any())).thenReturn(stored);
+        plantDetailsService.reload();
+        PlantDetails changed = details(5L);
+        plantDetailsService.update(List.of(changed, details(4L), details(9L)));
+
+        assertEquals(2, plantDetailsService.getCatalogVersion());
+        assertSame(changed, plantDetailsService.getPlantDetailsById(5L).orElseThrow());
+        assertTrue(plantDetailsService.getPlantDetailsById(3L).isPresent());
+        assertTrue(plantDetailsService.getPlantDetailsById(4L).isPresent());
+        assertTrue(plantDetailsService.getPlantDetailsById(9L).isPresent());
+        assertEquals(4, PlantDetailsCatalog.of(1, List.of(details(9L), details(3L), details(9L), details(4L),
+                details(5L))).size());
+    }
+
+    /**
+     * Verifies that details saved by another instance are loaded once the table changes, that a failed
+     * reload is tried again on the next check, and that an unchanged table is not reloaded.
+     */
+    @Test
+    @DisplayName("checkDatabase: details saved elsewhere become visible")
+    void testCheckDatabase() {
+        List<PlantDetails> first = List.of(details(3L));
+        when(plantDetailsRepository.findDetailsAfter(eq(0L), any())).thenReturn(first);
+        when(plantDetailsRepository.count()).thenReturn(1L);
+        when(plantDetailsRepository.findMaxId()).thenReturn(3L);
+        plantDetailsService.databaseCheckSeconds = 3600;
+        plantDetailsService.init();
+        try {
+            assertFalse(plantDetailsService.checkDatabase());
+            assertTrue(plantDetailsService.getPlantDetailsById(8L).isEmpty());
+
+            List<PlantDetails> stored = List.of(details(3L), details(8L));
+            when(plantDetailsRepository.count()).thenReturn(2L);
+            when(plantDetailsRepository.findMaxId()).thenReturn(8L);
+            when(plantDetailsRepository.findDetailsAfter(eq(0L), any()))
+                    .thenThrow(new IllegalStateException("Database unavailable"))
+                    .thenReturn(stored);
+            assertFalse(plantDetailsService.checkDatabase());
+            assertTrue(plantDetailsService.checkDatabase());
+
+            assertEquals(2, plantDetailsService.getCatalogVersion());
+            assertTrue(plantDetailsService.getPlantDetailsById(8L).isPresent());
+            assertFalse(plantDetailsService.checkDatabase());
+        } finally {
+            plantDetailsService.stop();
+        }
+    }
+
+    /**
+     * Verifies that a failed load keeps serving lookups from the repository.
+     */
+    @Test
+    @DisplayName("reload: failed load falls back to the repository")
+    void testReloadFailure() {
+        when(plantDetailsRepository.findDetailsAfter(anyLong(), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+        PlantDetails stored = details(7L);
+        when(plantDetailsRepository.findById(7L)).thenReturn(Optional.of(stored));
+
+        assertFalse(plantDetailsService.reload());
+        assertEquals(0, plantDetailsService.getCatalogVersion());
+        assertSame(stored, plantDetailsService.getPlantDetailsById(7L).orElseThrow());
+    }
+
+    /**
+     * Verifies that with the catalog disabled, details are read from the repository once and then served
+     * from the cache until they are invalidated.
+     */
+    @Test
+    @DisplayName("init: catalog disabled, details read through the cache")
+    void testCatalogDisabled() {
+        plantDetailsService.catalogEnabled = false;
+        when(plantDetailsRepository.findAllIds()).thenReturn(List.of(11L));
+        plantDetailsService.init();
+        PlantDetails stored = details(11L);
+        when(plantDetailsRepository.findById(11L)).thenReturn(Optional.of(stored));
+
+        assertSame(stored, plantDetailsService.getPlantDetailsById(11L).orElseThrow());
+        assertSame(stored, plantDetailsService.getPlantDetailsById(11L).orElseThrow());
+        plantDetailsService.invalidate(11L);
+        plantDetailsService.invalidate(null);
+        assertSame(stored, plantDetailsService.getPlantDetailsById(11L).orElseThrow());
+
+        verify(plantDetailsRepository, times(2)).findById(11L);
+        verify(plantDetailsRepository, never()).findDetailsAfter(anyLong(), any());
+        assertEquals(1, plantDetailsService.getDetailsCacheStats().getHits());
+    }
+
+    /**
+     * Verifies that plant cards are read with a single projection query before the catalog is loaded and
+     * built from the catalog afterwards, ignoring null and duplicate ids.
+     */
+    @Test
+    @DisplayName("getPlantCardsByIds: one query, then from memory")
+    void testGetPlantCardsByIds() {
+        PlantCard card = new PlantCard(3L, "Rose", null, null, null, null, null, null, null, null);
+        when(plantDetailsRepository.findCardsByIdIn(List.of(3L, 4L))).thenReturn(List.of(card));
+
+        Map<Long, PlantCard> cards = plantDetailsService.getPlantCardsByIds(Arrays.asList(3L, null, 4L, 3L));
+        assertEquals(Map.of(3L, card), cards);
+        assertTrue(plantDetailsService.getPlantCardsByIds(List.of()).isEmpty());
+        verify(plantDetailsRepository, times(1)).findCardsByIdIn(any());
+
+        PlantDetails rose = details(3L);
+        when(rose.getCommonName()).thenReturn("Rose");
+        List<PlantDetails> stored = List.of(rose);
+        when(plantDetailsRepository.findDetailsAfter(eq(0L), any())).thenReturn(stored);
+        plantDetailsService.reload();
+
+        Map<Long, PlantCard> fromCatalog = plantDetailsService.getPlantCardsByIds(List.of(3L, 4L));
+        assertEquals(1, fromCatalog.size());
+        assertEquals("Rose", fromCatalog.get(3L).getCommonName());
+        verify(plantDetailsRepository, times(1)).findCardsByIdIn(any());
+    }
+
+    /**
+     * Verifies that, before the catalog is loaded, details of many plants are read with one query per 1000
+     * ids and then served from the cache, and that they are read from the catalog once it is loaded.
+     */
+    @Test
+    @DisplayName("getPlantDetailsByIds: chunked queries, then from memory")
+    void testGetPlantDetailsByIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        when(plantDetailsRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<PlantDetails> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (id % 2 == 0) {
+                    found.add(details(id));
+                }
+            }
+            return found;
+        });
+
+        Map<Long, PlantDetails> found = plantDetailsService.getPlantDetailsByIds(ids);
+        assertEquals(1250, found.size());
+        assertEquals(2500L, found.get(2500L).getId());
+        assertNull(found.get(1L));
+        verify(plantDetailsRepository, times(3)).findAllById(any());
+
+        assertEquals(3, plantDetailsService.getPlantDetailsByIds(Arrays.asList(2L, null, 4L, 2L, 6L)).size());
+        verify(plantDetailsRepository, times(3)).findAllById(any());
+        verify(plantDetailsRepository, never()).findById(anyLong());
+
+        List<PlantDetails> stored = List.of(details(8L));
+        when(plantDetailsRepository.findDetailsAfter(eq(0L), any())).thenReturn(stored);
+        plantDetailsService.reload();
+        assertEquals(Map.of(8L, stored.get(0)), plantDetailsService.getPlantDetailsByIds(List.of(8L, 9L)));
+        verify(plantDetailsRepository, times(3)).findAllById(any());
+    }
+
+    /**
+     * Verifies that, once the known ids are loaded, lookups of unknown ids return empty without querying
+     * the repository, and that an id becomes known when its details are saved.
+     */
+    @Test
+    @DisplayName("isKnownPlantId: unknown ids skip the lookup")
+    void testKnownIds() {
+        assertTrue(plantDetailsService.isKnownPlantId(5L));
+        assertFalse(plantDetailsService.isStoredPlantId(5L));
+
+        plantDetailsService.catalogEnabled = false;
+        when(plantDetailsRepository.findAllIds()).thenReturn(List.of(2L, 4L));
+        plantDetailsService.init();
+
+        assertTrue(plantDetailsService.isStoredPlantId(4L));
+        assertFalse(plantDetailsService.isKnownPlantId(5L));
+        assertFalse(plantDetailsService.isKnownPlantId(null));
+        assertTrue(plantDetailsService.getPlantDetailsById(5L).isEmpty());
+        assertTrue(plantDetailsService.getPlantDetailsByIds(List.of(5L, 7L)).isEmpty());
+        assertTrue(plantDetailsService.getPlantCardsByIds(List.of(5L)).isEmpty());
+        verify(plantDetailsRepository, never()).findById(anyLong());
+        verify(plantDetailsRepository, never()).findAllById(any());
+        verify(plantDetailsRepository, never()).findCardsByIdIn(any());
+
+        PlantDetails saved = details(5L);
+        when(plantDetailsRepository.findById(5L)).thenReturn(Optional.of(saved));
+        plantDetailsService.invalidate(5L);
+        assertSame(saved, plantDetailsService.getPlantDetailsById(5L).orElseThrow());
+
+        when(plantDetailsRepository.findAllIds()).thenThrow(new IllegalStateException("Database unavailable"));
+        assertFalse(plantDetailsService.reloadKnownIds());
+        assertTrue(plantDetailsService.isStoredPlantId(5L));
+    }
+
+    private static PlantDetails details(long id) {
+        PlantDetails details = mock(PlantDetails.class);
+        when(details.getId()).thenReturn(id);
+        return details;
+    }
 }
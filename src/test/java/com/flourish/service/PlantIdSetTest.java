@@ -0,0 +1,60 @@
+package com.flourish.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PlantIdSet}.
+ *
+ * <p>Covers membership of dense ids, of negative and very large ids kept outside the bitmap, repeated ids,
+ * and adding ids to an existing set.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+class PlantIdSetTest {
+
+    /**
+     * Verifies that exactly the given ids are contained, whether they fit the bitmap or not, and that
+     * repeated ids are counted once.
+     */
+    @Test
+    @DisplayName("of(): contains exactly the given ids")
+    void testContains() {
+        long large = PlantIdSet.MAX_DENSE_ID + 1;
+        PlantIdSet set = PlantIdSet.of(new long[]{64, 1, 63, 1, 10_000, large, -5, large});
+
+        assertEquals(6, set.size());
+        for (long id : new long[]{1, 63, 64, 10_000, large, -5}) {
+            assertTrue(set.contains(id), "Missing " + id);
+        }
+        for (long id : new long[]{0, 2, 62, 65, 9_999, 10_001, 1_000_000, large + 1, -4, Long.MAX_VALUE}) {
+            assertFalse(set.contains(id), "Unexpected " + id);
+        }
+        assertEquals(0, PlantIdSet.of(new long[0]).size());
+        assertFalse(PlantIdSet.of(new long[0]).contains(0));
+    }
+
+    /**
+     * Verifies that adding ids returns a new set with the old and new ids and leaves the original unchanged.
+     */
+    @Test
+    @DisplayName("with(): adds ids to a new set")
+    void testWith() {
+        PlantIdSet set = PlantIdSet.of(new long[]{3, 5});
+        PlantIdSet extended = set.with(new long[]{5, 500, Long.MAX_VALUE});
+
+        assertEquals(2, set.size());
+        assertFalse(set.contains(500));
+        assertEquals(4, extended.size());
+        assertTrue(extended.contains(3));
+        assertTrue(extended.contains(500));
+        assertTrue(extended.contains(Long.MAX_VALUE));
+    }
+}
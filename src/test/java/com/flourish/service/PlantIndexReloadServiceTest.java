@@ -0,0 +1,145 @@
+package com.flourish.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.PlantIndexRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PlantIndexReloadService}.
+ *
+ * <p>The database check is exercised against a mocked {@link PlantIndexRepository}, and the file watcher
+ * against a real {@link PlantSearchService} whose backup file lives in a temporary directory.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-16
+ */
+@ActiveProfiles("test")
+class PlantIndexReloadServiceTest {
+
+    private PlantSearchService plantSearchService;
+    private PlantIndexRepository plantIndexRepository;
+    private PlantIndexReloadService reloadService;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a search service backed by a JSON file in the temporary directory and a reload service
+     * with a mocked repository.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        Path jsonFile = tempDir.resolve("plant_index_backup.txt");
+        Files.writeString(jsonFile, """
+            [ {"id": 1, "commonName": "Rose", "scientificName": "Rosa", "otherName": null} ]
+            """, StandardCharsets.UTF_8);
+        plantSearchService = new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
+        plantSearchService.plantIndexBinaryFile = tempDir.resolve("plant_index_backup.bin").toString();
+        plantSearchService.plantIndexBackupFile = jsonFile.toString();
+        plantSearchService.init();
+
+        plantIndexRepository = mock(PlantIndexRepository.class);
+        reloadService = new PlantIndexReloadService(plantSearchService, plantIndexRepository);
+    }
+
+    /**
+     * Stops the background threads of the reload service.
+     */
+    @AfterEach
+    void tearDown() {
+        reloadService.stop();
+    }
+
+    /**
+     * Verifies that the first database check only records the state of the table, that an unchanged
+     * table causes no reload and that a changed table is loaded into the search service.
+     */
+    @Test
+    @DisplayName("checkDatabase(): reloads only when count or max id change")
+    void testCheckDatabase() {
+        when(plantIndexRepository.count()).thenReturn(1L);
+        when(plantIndexRepository.findMaxId()).thenReturn(1L);
+
+        assertFalse(reloadService.checkDatabase());
+        assertFalse(reloadService.checkDatabase());
+        verify(plantIndexRepository, never()).findAll(any(Sort.class));
+
+        when(plantIndexRepository.count()).thenReturn(2L);
+        when(plantIndexRepository.findMaxId()).thenReturn(2L);
+        when(plantIndexRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                new PlantIndex(1L, "Rose", "Rosa", null),
+                new PlantIndex(2L, "Thyme", "Thymus vulgaris", null)));
+        long version = plantSearchService.getIndexVersion();
+
+        assertTrue(reloadService.checkDatabase());
+        assertTrue(plantSearchService.getIndexVersion() > version);
+        assertEquals(List.of(2L), plantSearchService.search("thyme").stream().map(PlantIndex::getId).toList());
+    }
+
+    /**
+     * Verifies that an emptied table and repository errors never replace the current index.
+     */
+    @Test
+    @DisplayName("checkDatabase(): empty table and errors keep the current index")
+    void testCheckDatabase_EmptyTableAndErrors() {
+        when(plantIndexRepository.count()).thenReturn(1L);
+        when(plantIndexRepository.findMaxId()).thenReturn(1L);
+        reloadService.checkDatabase();
+
+        when(plantIndexRepository.count()).thenReturn(0L);
+        when(plantIndexRepository.findMaxId()).thenReturn(null);
+        assertFalse(reloadService.checkDatabase());
+
+        when(plantIndexRepository.count()).thenThrow(new RuntimeException("Connection refused"));
+        assertFalse(reloadService.checkDatabase());
+        assertEquals(1, plantSearchService.count(""));
+    }
+
+    /**
+     * Verifies that rewriting the JSON backup file is picked up by the file watcher and published as a
+     * new snapshot.
+     */
+    @Test
+    @DisplayName("file watcher: rewritten backup file => new snapshot")
+    void testFileWatcher_ReloadsRewrittenFile() throws Exception {
+        reloadService.watchFiles = true;
+        reloadService.start();
+        long version = plantSearchService.getIndexVersion();
+
+        Files.writeString(tempDir.resolve("plant_index_backup.txt"), """
+            [ {"id": 1, "commonName": "Rose", "scientificName": "Rosa", "otherName": null},
+              {"id": 2, "commonName": "Mint", "scientificName": "Mentha", "otherName": null} ]
+            """, StandardCharsets.UTF_8);
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (plantSearchService.getIndexVersion() == version && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(plantSearchService.getIndexVersion() > version, "Expected the file watcher to reload the index.");
+        assertEquals(List.of(2L), plantSearchService.search("mint").stream().map(PlantIndex::getId).toList());
+    }
+}
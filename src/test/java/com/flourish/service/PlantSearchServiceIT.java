@@ -1,5 +1,6 @@
 package com.flourish.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flourish.domain.PlantIndex;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,7 +62,7 @@ class PlantSearchServiceIT {
      */
     @BeforeAll
     static void init(@Value("${plant.index.backup.file:plant_index_backup.txt}") String filePath) {
-        plantSearchService = new PlantSearchService();
+        plantSearchService = new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
         plantSearchService.plantIndexBackupFile = filePath;
         plantSearchService.init();
 
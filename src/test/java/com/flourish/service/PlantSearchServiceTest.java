@@ -1,20 +1,39 @@
 package com.flourish.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
 import com.flourish.domain.PlantIndex;
+import com.flourish.domain.PlantSeasons;
+import com.flourish.domain.PlantText;
+import com.flourish.repository.PlantDetailsRepository;
+import com.flourish.search.MonthIndex;
+import com.flourish.search.PlantFacet;
+import com.flourish.search.PlantIndexFile;
+import com.flourish.search.SearchCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Month;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for {@link PlantSearchService}, ensuring 100% method, line, and branch coverage.
@@ -30,10 +49,22 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * <strong>Coverage Goals:</strong>
  * <ul>
- *   <li>{@link PlantSearchService#init()} - successful load vs. IOException path</li>
+ *   <li>{@link PlantSearchService#init()} - successful load vs. IOException path, binary file vs. JSON fallback</li>
+ *   <li>{@link PlantSearchService#reloadFromBackupFiles()} - failed reload keeps the snapshot, versions increase</li>
  *   <li>{@link PlantSearchService#search(String)} - null/empty query, partial matches, no matches, prefix matches</li>
- *   <li>{@link PlantSearchService#matches(PlantIndex, String)} and {@link PlantSearchService#computeMatchScore(PlantIndex, String)} -
- *       verifying all branches for null fields, substring in the middle, prefix=0, fallback=100</li>
+ *   <li>{@link PlantSearchService#search(String, int, int)} and {@link PlantSearchService#count(String)} -
+ *       paging through matches and through the full list, invalid bounds, narrowing with a {@link SearchCursor}</li>
+ *   <li>{@link PlantSearchService#getSearchCacheStats()} - cached rankings shared between calls, dropped on reload</li>
+ *   <li>{@link PlantSearchService#search(SearchCursor, String, Map, int, int)} and
+ *       {@link PlantSearchService#facetCounts(String, Map)} - facet filters with and without a query, counts,
+ *       failing attribute query</li>
+ *   <li>{@link PlantSearchService#searchFullText(String, Map, int)} - names and descriptions fused, paged
+ *       description loading, facet filter, failing description query</li>
+ *   <li>{@link PlantSearchService#findInSeason(MonthIndex.Activity, Month, Map, int)} and
+ *       {@link PlantSearchService#filterInSeason(MonthIndex.Activity, Month, long[])} - month scan, facet filter,
+ *       plant ids in and out of season</li>
+ *   <li>{@link PlantSearchService#suggest(String, int)} - completions, blank and null prefix</li>
+ *   <li>{@link PlantSearchService#searchFuzzy(String, int)} - exact matches first, misspellings, limits</li>
  * </ul>
  *
  * @author
@@ -55,7 +86,7 @@ class PlantSearchServiceTest {
      */
     @BeforeEach
     void setUp() {
-        plantSearchService = new PlantSearchService();
+        plantSearchService = new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
 
         List<PlantIndex> mockData = new ArrayList<>();
         mockData.add(new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Sweet Briar"));
@@ -84,7 +115,8 @@ class PlantSearchServiceTest {
             """;
         Files.writeString(tempFile, sampleJson, StandardCharsets.UTF_8);
 
-        PlantSearchService serviceWithFile = new PlantSearchService();
+        PlantSearchService serviceWithFile =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
         serviceWithFile.plantIndexBackupFile = tempFile.toString();
         serviceWithFile.init();
 
@@ -100,7 +132,8 @@ class PlantSearchServiceTest {
     @Test
     @DisplayName("init(): invalid file => catches IOException")
     void testInit_InvalidFile() {
-        PlantSearchService serviceWithBadPath = new PlantSearchService();
+        PlantSearchService serviceWithBadPath =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
         serviceWithBadPath.plantIndexBackupFile = "non_existent_backup.json";
         serviceWithBadPath.init();
 
@@ -108,6 +141,72 @@ class PlantSearchServiceTest {
         assertTrue(results.isEmpty(), "Expected an empty list if file load fails.");
     }
 
+    /**
+     * Verifies that {@link PlantSearchService#init()} memory-maps the binary file when present
+     * and does not need the JSON file.
+     */
+    @Test
+    @DisplayName("init(): binary file present => maps binary file")
+    void testInit_BinaryFile(@TempDir Path tempDir) throws Exception {
+        Path binaryFile = tempDir.resolve("plant_index_backup.bin");
+        PlantIndexFile.write(binaryFile, List.of(
+                new PlantIndex(10L, "Lavender", "Lavandula", "English Lavender"),
+                new PlantIndex(11L, "Mint", "Mentha", "Spearmint")));
+
+        PlantSearchService serviceWithFile =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
+        serviceWithFile.plantIndexBinaryFile = binaryFile.toString();
+        serviceWithFile.plantIndexBackupFile = "non_existent_backup.json";
+        serviceWithFile.init();
+
+        assertEquals(List.of(11L), serviceWithFile.search("mint").stream().map(PlantIndex::getId).toList());
+        assertEquals(2, serviceWithFile.count(""));
+    }
+
+    /**
+     * Verifies that {@link PlantSearchService#init()} falls back to the JSON file when the binary file
+     * is not a binary plant index file.
+     */
+    @Test
+    @DisplayName("init(): invalid binary file => falls back to JSON")
+    void testInit_InvalidBinaryFile_FallsBackToJson(@TempDir Path tempDir) throws Exception {
+        Path binaryFile = tempDir.resolve("plant_index_backup.bin");
+        Files.writeString(binaryFile, "not a binary index", StandardCharsets.UTF_8);
+        Path jsonFile = tempDir.resolve("plant_index_backup.txt");
+        Files.writeString(jsonFile, """
+            [ {"id": 12, "commonName": "Thyme", "scientificName": "Thymus vulgaris", "otherName": ""} ]
+            """, StandardCharsets.UTF_8);
+
+        PlantSearchService serviceWithFile =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
+        serviceWithFile.plantIndexBinaryFile = binaryFile.toString();
+        serviceWithFile.plantIndexBackupFile = jsonFile.toString();
+        serviceWithFile.init();
+
+        assertEquals(List.of(12L), serviceWithFile.search("thyme").stream().map(PlantIndex::getId).toList());
+    }
+
+    /**
+     * Verifies that a failed reload keeps the current snapshot and that every successful publication
+     * gets a higher version.
+     */
+    @Test
+    @DisplayName("reloadFromBackupFiles(): failure keeps snapshot, publications increase version")
+    void testReload_KeepsSnapshotOnFailure() {
+        long version = plantSearchService.getIndexVersion();
+        plantSearchService.plantIndexBackupFile = "non_existent_backup.json";
+
+        assertFalse(plantSearchService.reloadFromBackupFiles());
+        assertEquals(version, plantSearchService.getIndexVersion());
+        assertEquals(5, plantSearchService.count(""));
+
+        plantSearchService.setPlantIndexList(List.of(new PlantIndex(6L, "Thyme", "Thymus vulgaris", null)));
+        assertTrue(plantSearchService.getIndexVersion() > version);
+        assertEquals(1, plantSearchService.getSnapshot().getPlants().size());
+        assertEquals(1, plantSearchService.getSnapshot().getCatalog().size());
+        assertEquals(List.of(6L), plantSearchService.search("thyme").stream().map(PlantIndex::getId).toList());
+    }
+
     /**
      * Checks that an empty string query returns the plant index list,
      * covering the branch that bypasses matching logic.
@@ -205,108 +304,258 @@ class PlantSearchServiceTest {
     }
 
     /**
-     * Demonstrates 100% branch coverage of the
-     * {@code computeMatchScore(PlantIndex, String)} method
-     * by testing each outcome:
-     * <ul>
-     *   <li>No fields match => score=100</li>
-     *   <li>Prefix match => returns 0</li>
-     *   <li>Mid-substring match => returns positive position</li>
-     *   <li>Multiple fields => ensures lowest positive position if no prefix</li>
-     *   <li>Null fields => ensures they are skipped</li>
-     * </ul>
+     * Verifies that paging through the matches returns the same records, in the same order,
+     * as the unpaged search, and that the count agrees.
      */
-    @Nested
-    class PlantSearchServiceComputeMatchScoreTest {
-
-        private PlantSearchService plantSearchService;
-
-        /**
-         * Sets up a new instance of the service.
-         * We only need to access computeMatchScore(...) indirectly or directly,
-         * so you can either test it via search(...) or reflect if needed.
-         */
-        @BeforeEach
-        void setUp() {
-            plantSearchService = new PlantSearchService();
-        }
+    @Test
+    @DisplayName("search(offset, limit): pages follow the full ranking")
+    void testPagedSearch_FollowsFullRanking() {
+        List<PlantIndex> full = plantSearchService.search("ros");
+        assertEquals(full.size(), plantSearchService.count("ros"));
 
-        /**
-         * Ensures that if none of the fields contain the query, the score is 100.
-         */
-        @Test
-        @DisplayName("computeMatchScore: no matches => 100")
-        void testComputeMatchScore_NoMatches() {
-            PlantIndex noMatchPlant = new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Briar");
-            // Searching for something not contained
-            int score = callComputeMatchScore(noMatchPlant, "xyz");
-            assertEquals(100, score);
-        }
+        List<PlantIndex> paged = new ArrayList<>(plantSearchService.search("ros", 0, 2));
+        paged.addAll(plantSearchService.search("ros", 2, 2));
+        assertEquals(full, paged);
+        assertTrue(plantSearchService.search("ros", 10, 2).isEmpty());
+    }
 
-        /**
-         * Verifies a perfect prefix match (position=0) leads to immediate return of 0.
-         */
-        @Test
-        @DisplayName("computeMatchScore: prefix => 0")
-        void testComputeMatchScore_Prefix() {
-            PlantIndex prefixPlant = new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Briar");
-            int score = callComputeMatchScore(prefixPlant, "rose");
-            assertEquals(0, score);
-        }
+    /**
+     * Verifies that an empty or null query pages through the full list in its original order.
+     */
+    @Test
+    @DisplayName("search(offset, limit): empty query => slice of full list")
+    void testPagedSearch_EmptyQuery() {
+        List<PlantIndex> page = plantSearchService.search("", 1, 2);
+        assertEquals(2, page.size());
+        assertEquals(2L, page.get(0).getId());
+        assertEquals(3L, page.get(1).getId());
+        assertEquals(5, plantSearchService.count(null));
+        assertEquals(1, plantSearchService.search(null, 4, 10).size());
+    }
 
-        /**
-         * Verifies a mid-substring match (position>0) yields a positive position less than 100.
-         */
-        @Test
-        @DisplayName("computeMatchScore: mid-substring => positive position")
-        void testComputeMatchScore_MidSubstring() {
-            PlantIndex partialPlant = new PlantIndex(1L, "Rose", "Rosa rubiginosa", "Briar");
-            int score = callComputeMatchScore(partialPlant, "osa");
-            assertEquals(1, score);
-        }
+    /**
+     * Verifies that negative paging bounds are rejected.
+     */
+    @Test
+    @DisplayName("search(offset, limit): negative bounds => IllegalArgumentException")
+    void testPagedSearch_NegativeBounds() {
+        assertThrows(IllegalArgumentException.class, () -> plantSearchService.search("rose", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> plantSearchService.search("rose", 0, -1));
+    }
 
-        /**
-         * Ensures the method returns the smallest positive index if multiple fields match.
-         */
-        @Test
-        @DisplayName("computeMatchScore: multiple fields => smallest positive index wins")
-        void testComputeMatchScore_MultipleFields() {
-            PlantIndex multiFieldPlant = new PlantIndex(1L, "Myrose", "Rosa rubiginosa", "Anotherrose");
-            int score = callComputeMatchScore(multiFieldPlant, "rose");
-            assertEquals(2, score);
-        }
+    /**
+     * Verifies that uncached counts and pages do not rank and cache the full result, that a full ranking is
+     * cached and then shared by counts and pages of the same normalized query, and that publishing a new
+     * snapshot drops the cached results.
+     */
+    @Test
+    @DisplayName("result cache: filled by full rankings, shared by count and pages, dropped on reload")
+    void testSearchCache() {
+        assertEquals(2, plantSearchService.count("ROSE"));
+        assertEquals(List.of(4L), plantSearchService.search(" rose", 1, 10).stream().map(PlantIndex::getId).toList());
+        assertEquals(List.of(1L), plantSearchService.searchFuzzy("rose", 1).stream().map(PlantIndex::getId).toList());
+        assertEquals(0, plantSearchService.getSearchCacheStats().getSize());
 
-        /**
-         * Verifies that null fields do not cause errors and are simply skipped.
-         * If all fields are null or do not match, result is 100.
-         */
-        @Test
-        @DisplayName("computeMatchScore: all null fields => 100")
-        void testComputeMatchScore_AllNullFields() {
-            PlantIndex nullFields = new PlantIndex(1L, null, null, null);
-            int score = callComputeMatchScore(nullFields, "rose");
-            assertEquals(100, score);
+        assertEquals(List.of(1L, 4L), plantSearchService.search("Rose").stream().map(PlantIndex::getId).toList());
+        assertEquals(2, plantSearchService.count("rose "));
+        assertEquals(List.of(4L), plantSearchService.search("ROSE", 1, 10).stream().map(PlantIndex::getId).toList());
+        assertEquals(2, plantSearchService.getSearchCacheStats().getHits());
+        assertEquals(4, plantSearchService.getSearchCacheStats().getMisses());
+        assertEquals(1, plantSearchService.getSearchCacheStats().getSize());
+
+        plantSearchService.setPlantIndexList(List.of(new PlantIndex(6L, "Wild Rose", "Rosa acicularis", null)));
+        assertEquals(List.of(6L), plantSearchService.search("rose").stream().map(PlantIndex::getId).toList());
+        assertEquals(5, plantSearchService.getSearchCacheStats().getMisses());
+        assertEquals(1, plantSearchService.getSearchCacheStats().getSize());
+    }
+
+    /**
+     * Verifies that searching with a cursor while typing gives the same pages and counts as searching
+     * without one, including after characters are deleted.
+     */
+    @Test
+    @DisplayName("search()/count() with cursor: same results while typing and deleting")
+    void testSearchWithCursor() {
+        PlantSearchService reference =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
+        reference.setPlantIndexList(plantSearchService.search(""));
+        SearchCursor cursor = new SearchCursor();
+        for (String query : List.of("r", "ro", "ros", "rose", "rosem", "ros", "s", "su")) {
+            assertEquals(reference.count(query), plantSearchService.count(cursor, query), query);
+            assertEquals(reference.search(query, 0, 10), plantSearchService.search(cursor, query, 0, 10), query);
         }
+    }
+
+    /**
+     * Verifies that pages and counts with a cursor that cannot be narrowed take the bounded paths without
+     * ranking, and that once facet counts have ranked a query through the cursor, the next query narrows it.
+     */
+    @Test
+    @DisplayName("search()/count()/facetCounts() with cursor: bounded until the cursor can be narrowed")
+    void testSearchWithCursorBounded() {
+        SearchCursor cursor = new SearchCursor();
+        assertEquals(2, plantSearchService.count(cursor, "rose"));
+        assertEquals(List.of(4L), plantSearchService.search(cursor, "rose", 1, 10).stream()
+                .map(PlantIndex::getId).toList());
+        assertEquals(0, plantSearchService.getSearchCacheStats().getSize());
+
+        plantSearchService.facetCounts(cursor, "ros", Map.of());
+        assertEquals(1, plantSearchService.getSearchCacheStats().getSize());
+        assertEquals(List.of(1L, 4L), plantSearchService.search(cursor, "rose", 0, 10).stream()
+                .map(PlantIndex::getId).toList());
+        assertEquals(2, plantSearchService.count(cursor, "rose"));
+        assertEquals(2, plantSearchService.getSearchCacheStats().getSize());
+        assertEquals(1, plantSearchService.getSearchCacheStats().getHits());
+    }
+
+    /**
+     * Verifies that facet filters apply to ranked and unranked results, that facet counts follow the query,
+     * and that a failing attribute query leaves the search working without facets.
+     */
+    @Test
+    @DisplayName("search()/count()/facetCounts() with facets: filtered results and counts")
+    void testSearchWithFacets() {
+        PlantDetailsRepository repository = mock(PlantDetailsRepository.class);
+        when(repository.findAllAttributes()).thenReturn(List.of(
+                attributes(1L, "Average", true), attributes(2L, "Frequent", true),
+                attributes(3L, "Average", false), attributes(4L, "Minimum", true)));
+        List<PlantIndex> plants = plantSearchService.search("");
+        plantSearchService = new PlantSearchService(Optional.of(repository), new ObjectMapper(), 1000, 2_000_000);
+        plantSearchService.setPlantIndexList(plants);
 
-        /**
-         * Utility method to invoke computeMatchScore(...)
-         * since it's private in PlantSearchService.
-         *
-         * In a real scenario, you might test this logic via
-         * the public search(...) method. If reflection is disallowed,
-         * you can simulate these tests by searching specific queries
-         * and verifying the order of results.
-         */
-        private int callComputeMatchScore(PlantIndex plant, String query) {
-            try {
-                var method = PlantSearchService.class.getDeclaredMethod(
-                        "computeMatchScore", PlantIndex.class, String.class);
-                method.setAccessible(true);
-                return (int) method.invoke(plantSearchService, plant, query.toLowerCase());
-            } catch (Exception e) {
-                throw new RuntimeException("Error calling computeMatchScore via reflection", e);
-            }
+        Map<PlantFacet, Set<String>> indoor = Map.of(PlantFacet.INDOOR, Set.of(PlantFacet.YES));
+        assertEquals(List.of("average", "frequent", "minimum"), plantSearchService.getFacetValues(PlantFacet.WATERING));
+        assertEquals(List.of(1L, 2L, 4L), ids(plantSearchService.search(null, "", indoor, 0, 10)));
+        assertEquals(List.of(4L), ids(plantSearchService.search(null, "", indoor, 2, 10)));
+        assertEquals(List.of(1L, 4L), ids(plantSearchService.search(null, "r", indoor, 0, 10)));
+        assertEquals(2, plantSearchService.count(null, "r", indoor));
+        assertEquals(1, plantSearchService.count(null, "r", Map.of(
+                PlantFacet.INDOOR, Set.of(PlantFacet.YES), PlantFacet.WATERING, Set.of("average"))));
+        assertEquals(3, plantSearchService.count(null, "r", Map.of()));
+
+        Map<PlantFacet, Map<String, Integer>> counts = plantSearchService.facetCounts("r", indoor);
+        assertEquals(Map.of("average", 1, "frequent", 0, "minimum", 1), counts.get(PlantFacet.WATERING));
+        assertEquals(Map.of(PlantFacet.NO, 1, PlantFacet.YES, 2), counts.get(PlantFacet.INDOOR));
+        assertEquals(4, plantSearchService.facetCounts("", Map.of()).get(PlantFacet.WATERING).values().stream()
+                .mapToInt(Integer::intValue).sum());
+
+        when(repository.findAllAttributes()).thenThrow(new IllegalStateException("Database unavailable"));
+        plantSearchService.setPlantIndexList(plantSearchService.search(""));
+        assertTrue(plantSearchService.getFacetValues(PlantFacet.WATERING).isEmpty());
+        assertEquals(0, plantSearchService.count(null, "r", indoor));
+        assertEquals(3, plantSearchService.count(null, "r", Map.of()));
+    }
+
+    /**
+     * Verifies that full-text search ranks records found by name and description first, reads the
+     * descriptions page by page, applies the facet filter, and falls back to names alone if the
+     * descriptions cannot be read.
+     */
+    @Test
+    @DisplayName("searchFullText(): names and descriptions fused")
+    void testSearchFullText() {
+        List<PlantText> page = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            page.add(new PlantText(id, id == 2 ? "Warm weather herb for full sun"
+                    : id == 3 ? "Tall annual that follows the sun" : "Hardy perennial"));
         }
+        PlantDetailsRepository repository = mock(PlantDetailsRepository.class);
+        when(repository.findAllAttributes()).thenReturn(List.of(
+                attributes(2L, "Frequent", true), attributes(3L, "Average", false)));
+        when(repository.findTextsAfter(eq(0L), any())).thenReturn(page);
+        List<PlantIndex> plants = plantSearchService.search("");
+        plantSearchService = new PlantSearchService(Optional.of(repository), new ObjectMapper(), 1000, 2_000_000);
+        plantSearchService.setPlantIndexList(plants);
+        verify(repository).findTextsAfter(eq(1000L), any());
+
+        assertEquals(List.of(3L, 2L), ids(plantSearchService.searchFullText("sun", Map.of(), 10)));
+        assertEquals(List.of(2L, 3L), ids(plantSearchService.searchFullText("full sun herbs", Map.of(), 10)));
+        assertEquals(List.of(2L), ids(plantSearchService.searchFullText("sun", Map.of(
+                PlantFacet.INDOOR, Set.of(PlantFacet.YES)), 10)));
+        assertEquals(List.of(3L), ids(plantSearchService.searchFullText("sun", Map.of(), 1)));
+        assertTrue(plantSearchService.searchFullText(" ", Map.of(), 10).isEmpty());
+
+        when(repository.findTextsAfter(anyLong(), any())).thenThrow(new IllegalStateException("Database unavailable"));
+        plantSearchService.setPlantIndexList(plantSearchService.search(""));
+        assertEquals(List.of(3L), ids(plantSearchService.searchFullText("sun", Map.of(), 10)));
+    }
+
+    /**
+     * Verifies that the seasons are loaded with the snapshot, that the whole catalog can be scanned for a
+     * month with a facet filter, and that given plant ids are tested against their months.
+     */
+    @Test
+    @DisplayName("findInSeason() and filterInSeason(): month masks by activity")
+    void testSeasons() {
+        PlantDetailsRepository repository = mock(PlantDetailsRepository.class);
+        when(repository.findAllAttributes()).thenReturn(List.of(
+                attributes(2L, "Frequent", true), attributes(3L, "Average", false)));
+        when(repository.findAllSeasons()).thenReturn(List.of(
+                new PlantSeasons(2L, "[\"March\",\"April\"]", "Summer", null),
+                new PlantSeasons(3L, "[\"March\"]", "Late Spring", "Fall")));
+        List<PlantIndex> plants = plantSearchService.search("");
+        plantSearchService = new PlantSearchService(Optional.of(repository), new ObjectMapper(), 1000, 2_000_000);
+        plantSearchService.setPlantIndexList(plants);
+
+        assertEquals(List.of(2L, 3L), ids(plantSearchService.findInSeason(
+                MonthIndex.Activity.PRUNING, Month.MARCH, Map.of(), 10)));
+        assertEquals(List.of(3L), ids(plantSearchService.findInSeason(
+                MonthIndex.Activity.PRUNING, Month.MARCH, Map.of(PlantFacet.INDOOR, Set.of(PlantFacet.NO)), 10)));
+        assertEquals(List.of(3L), ids(plantSearchService.findInSeason(
+                MonthIndex.Activity.FLOWERING, Month.MAY, Map.of(), 10)));
+        assertTrue(plantSearchService.findInSeason(MonthIndex.Activity.HARVEST, Month.MAY, Map.of(), 10).isEmpty());
+        assertTrue(plantSearchService.findInSeason(MonthIndex.Activity.PRUNING, Month.MARCH, Map.of(), 0).isEmpty());
+
+        assertArrayEquals(new long[]{3L, 2L}, plantSearchService.filterInSeason(
+                MonthIndex.Activity.PRUNING, Month.MARCH, new long[]{3L, 99L, 2L}));
+        assertArrayEquals(new long[]{2L}, plantSearchService.filterInSeason(
+                MonthIndex.Activity.PRUNING, Month.APRIL, new long[]{3L, 2L}));
+    }
+
+    /**
+     * Verifies that name completions are returned for a prefix, ignoring leading whitespace,
+     * and that a blank or null prefix yields no completions.
+     */
+    @Test
+    @DisplayName("suggest(): completions for prefix, none for blank")
+    void testSuggest() {
+        assertEquals(List.of("Rose", "Rosemary"), plantSearchService.suggest("  Rose", 2));
+        assertTrue(plantSearchService.suggest(" ", 5).isEmpty());
+        assertTrue(plantSearchService.suggest(null, 5).isEmpty());
     }
 
+    /**
+     * Verifies that a misspelled query still finds the plant, and that exact substring matches
+     * are listed before fuzzy matches.
+     */
+    @Test
+    @DisplayName("searchFuzzy(): exact matches first, then misspellings")
+    void testSearchFuzzy() {
+        assertEquals(List.of(3L), plantSearchService.searchFuzzy("Sunflowr", 10).stream().map(PlantIndex::getId).toList());
+        assertEquals(List.of(1L, 4L), plantSearchService.searchFuzzy("rose", 10).stream().map(PlantIndex::getId).toList());
+        assertEquals(List.of(4L), plantSearchService.searchFuzzy("rosmary", 10).stream().map(PlantIndex::getId).toList());
+    }
+
+    /**
+     * Verifies that the limit is respected and that blank, null or unmatched queries return no results.
+     */
+    @Test
+    @DisplayName("searchFuzzy(): limits, blank and null query")
+    void testSearchFuzzy_Limits() {
+        assertEquals(1, plantSearchService.searchFuzzy("rose", 1).size());
+        assertEquals(2, plantSearchService.searchFuzzy("rose", Integer.MAX_VALUE).size());
+        assertTrue(plantSearchService.searchFuzzy("rose", 0).isEmpty());
+        assertTrue(plantSearchService.searchFuzzy(" ", 10).isEmpty());
+        assertTrue(plantSearchService.searchFuzzy(null, 10).isEmpty());
+        assertTrue(plantSearchService.searchFuzzy("xyz123", 10).isEmpty());
+    }
+
+    private static PlantAttributes attributes(Long id, String watering, Boolean indoor) {
+        return new PlantAttributes(id, watering, null, null, null, indoor, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static List<Long> ids(List<PlantIndex> plants) {
+        return plants.stream().map(PlantIndex::getId).toList();
+    }
 }
@@ -0,0 +1,116 @@
+package com.flourish.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flourish.domain.PlantAttributes;
+import com.flourish.domain.PlantDetails;
+import com.flourish.domain.PlantIndex;
+import com.flourish.repository.PlantDetailsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SimilarPlantsService}.
+ *
+ * <p>Attributes come from a mocked {@link PlantDetailsRepository}, and similar plants are resolved through a
+ * real {@link PlantSearchService} holding mock data.</p>
+ *
+ * @author
+ *   Joar Eliasson
+ * @version
+ *   1.1.0
+ * @since
+ *   2026-10-17
+ */
+@ActiveProfiles("test")
+class SimilarPlantsServiceTest {
+
+    private PlantDetailsRepository plantDetailsRepository;
+    private SimilarPlantsService similarPlantsService;
+
+    /**
+     * Creates the service over three plants, two of which are alike.
+     */
+    @BeforeEach
+    void setUp() {
+        PlantSearchService plantSearchService =
+                new PlantSearchService(Optional.empty(), new ObjectMapper(), 1000, 2_000_000);
+        plantSearchService.setPlantIndexList(List.of(
+                new PlantIndex(1L, "Rose", "Rosa rubiginosa", null),
+                new PlantIndex(2L, "Dog Rose", "Rosa canina", null),
+                new PlantIndex(3L, "Monstera", "Monstera deliciosa", null),
+                new PlantIndex(4L, "Apple", "Malus domestica", null)));
+        plantDetailsRepository = mock(PlantDetailsRepository.class);
+        when(plantDetailsRepository.findAllAttributes()).thenReturn(List.of(
+                attributes(1L, "Average", "Rosa"), attributes(2L, "Average", "Rosa"),
+                attributes(3L, "Frequent", "Monstera")));
+        similarPlantsService = new SimilarPlantsService(plantDetailsRepository, plantSearchService, new ObjectMapper());
+        similarPlantsService.neighbourCount = 2;
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @AfterEach
+    void tearDown() {
+        similarPlantsService.stop();
+    }
+
+    /**
+     * Verifies that the computed neighbours are resolved to plant index records and limited, and that a
+     * failing computation keeps the previous neighbours.
+     */
+    @Test
+    @DisplayName("recompute()/findSimilar(): nearest plants first, kept on failure")
+    void testFindSimilar() {
+        assertTrue(similarPlantsService.findSimilar(1L, 5).isEmpty());
+        assertTrue(similarPlantsService.recompute());
+        assertEquals(List.of("Dog Rose", "Monstera"), names(similarPlantsService.findSimilar(1L, 5)));
+        assertEquals(List.of("Dog Rose"), names(similarPlantsService.findSimilar(1L, 1)));
+        assertTrue(similarPlantsService.findSimilar(99L, 5).isEmpty());
+        assertTrue(similarPlantsService.findSimilar(null, 5).isEmpty());
+
+        when(plantDetailsRepository.findAllAttributes()).thenThrow(new IllegalStateException("Database unavailable"));
+        assertFalse(similarPlantsService.recompute());
+        assertEquals(List.of("Dog Rose", "Monstera"), names(similarPlantsService.findSimilar(1L, 5)));
+    }
+
+    /**
+     * Verifies that saved details are added to the neighbours on the background thread.
+     */
+    @Test
+    @DisplayName("update(): saved details become neighbours")
+    void testUpdate() throws Exception {
+        similarPlantsService.start();
+        PlantDetails apple = mock(PlantDetails.class);
+        when(apple.getId()).thenReturn(4L);
+        when(apple.getWatering()).thenReturn("Average");
+        when(apple.getCycle()).thenReturn("Perennial");
+        when(apple.getFamily()).thenReturn("Rosaceae");
+        when(apple.getGenus()).thenReturn("Malus");
+        when(apple.getSunlight()).thenReturn("[\"full sun\"]");
+        similarPlantsService.update(List.of(apple)).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("Dog Rose", "Apple"), names(similarPlantsService.findSimilar(1L, 5)));
+        assertEquals(List.of("Rose", "Dog Rose"), names(similarPlantsService.findSimilar(4L, 5)));
+    }
+
+    private static PlantAttributes attributes(Long id, String watering, String genus) {
+        return new PlantAttributes(id, watering, "[\"full sun\"]", "Perennial", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null,
+                genus.equals("Monstera") ? "Araceae" : "Rosaceae", genus);
+    }
+
+    private static List<String> names(List<PlantIndex> plants) {
+        return plants.stream().map(PlantIndex::getCommonName).toList();
+    }
+}
@@ -3,10 +3,13 @@ package com.flourish.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.flourish.domain.LibraryEntry;
+import com.flourish.domain.PlantCard;
 import com.flourish.domain.PlantDetails;
 import com.flourish.domain.PlantIndex;
 import com.flourish.domain.UserPlantLibrary;
 import com.flourish.repository.UserPlantLibraryRepository;
+import com.flourish.search.MonthIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,6 +35,9 @@ import java.util.Optional;
  *   <li>{@code removePlantFromLibrary(Long)} - repository deletion path</li>
  *   <li>{@code waterPlant(Long)} - missing vs. present library entry, verifying updates</li>
  *   <li>{@code getWateringGaugePercentage(Long)} - missing entry vs. fraction=0 => 100, fraction>1 => -100 clamp</li>
+ *   <li>{@code getLibraryPlantsInSeason(Long, MonthIndex.Activity, Month)} - entries kept by plant id</li>
+ *   <li>{@code getAllPlantDetailsForUser(Long)} - details read at once, kept in library order</li>
+ *   <li>{@code getAllLibraryEntriesForUser(Long)} - cards read at once, entries without a card dropped</li>
  * </ul>
  *
  * @author
@@ -48,13 +57,16 @@ class UserPlantLibraryServiceTest {
     @Mock
     private PlantDetailsService plantDetailsService;
 
+    @Mock
+    private PlantSearchService plantSearchService;
+
     /**
      * Initializes Mockito mocks and creates the service instance.
      */
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userPlantLibraryService = new UserPlantLibraryService(libraryRepository, plantDetailsService);
+        userPlantLibraryService = new UserPlantLibraryService(libraryRepository, plantDetailsService, plantSearchService);
     }
 
     /**
@@ -284,4 +296,68 @@ class UserPlantLibraryServiceTest {
         assertTrue(gaugeOpt.isPresent());
         assertEquals(-100.0, gaugeOpt.get(), 0.01);
     }
+
+    /**
+     * Tests {@link UserPlantLibraryService#getLibraryPlantsInSeason(Long, MonthIndex.Activity, Month)}:
+     * the library entries whose plants the search service reports in season are kept in library order,
+     * including several entries of the same plant.
+     */
+    @Test
+    @DisplayName("getLibraryPlantsInSeason: keeps entries of plants in season")
+    void testGetLibraryPlantsInSeason() {
+        UserPlantLibrary rose = new UserPlantLibrary(1L, 10L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary fern = new UserPlantLibrary(1L, 20L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary secondRose = new UserPlantLibrary(1L, 10L, 7, LocalDateTime.now(), LocalDateTime.now());
+        when(libraryRepository.findByUserId(1L)).thenReturn(List.of(rose, fern, secondRose));
+        when(plantSearchService.filterInSeason(MonthIndex.Activity.PRUNING, Month.MARCH, new long[]{10L, 20L, 10L}))
+                .thenReturn(new long[]{10L, 10L});
+
+        assertEquals(List.of(rose, secondRose),
+                userPlantLibraryService.getLibraryPlantsInSeason(1L, MonthIndex.Activity.PRUNING, Month.MARCH));
+    }
+
+    /**
+     * Tests {@link UserPlantLibraryService#getAllLibraryEntriesForUser(Long)}: the cards of all plants are
+     * requested at once, entries keep library order, and entries of plants without a card are dropped.
+     */
+    @Test
+    @DisplayName("getAllLibraryEntriesForUser: builds entries from plant cards")
+    void testGetAllLibraryEntriesForUser() {
+        UserPlantLibrary rose = new UserPlantLibrary(1L, 10L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary missing = new UserPlantLibrary(1L, 30L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary fern = new UserPlantLibrary(1L, 20L, 10, LocalDateTime.now(), LocalDateTime.now());
+        when(libraryRepository.findByUserId(1L)).thenReturn(List.of(rose, missing, fern));
+        PlantCard roseCard = new PlantCard(10L, "Rose", "Shrub", null, "Average", null, null, null, null, null);
+        PlantCard fernCard = new PlantCard(20L, "Fern", "Fern", null, "Frequent", null, null, null, null, null);
+        when(plantDetailsService.getPlantCardsByIds(List.of(10L, 30L, 20L)))
+                .thenReturn(Map.of(10L, roseCard, 20L, fernCard));
+
+        List<LibraryEntry> entries = userPlantLibraryService.getAllLibraryEntriesForUser(1L);
+
+        assertEquals(2, entries.size());
+        assertSame(roseCard, entries.get(0).getPlantCard());
+        assertSame(rose, entries.get(0).getUserPlantLibrary());
+        assertSame(fernCard, entries.get(1).getPlantCard());
+        verify(plantDetailsService, never()).getPlantDetailsById(any());
+    }
+
+    /**
+     * Tests {@link UserPlantLibraryService#getAllPlantDetailsForUser(Long)}: the details of all plants are
+     * requested at once and returned in library order, without the plants that have no details.
+     */
+    @Test
+    @DisplayName("getAllPlantDetailsForUser: reads all details at once")
+    void testGetAllPlantDetailsForUser() {
+        UserPlantLibrary rose = new UserPlantLibrary(1L, 10L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary missing = new UserPlantLibrary(1L, 30L, 10, LocalDateTime.now(), LocalDateTime.now());
+        UserPlantLibrary fern = new UserPlantLibrary(1L, 20L, 10, LocalDateTime.now(), LocalDateTime.now());
+        when(libraryRepository.findByUserId(1L)).thenReturn(List.of(fern, missing, rose));
+        PlantDetails roseDetails = mock(PlantDetails.class);
+        PlantDetails fernDetails = mock(PlantDetails.class);
+        when(plantDetailsService.getPlantDetailsByIds(List.of(20L, 30L, 10L)))
+                .thenReturn(Map.of(10L, roseDetails, 20L, fernDetails));
+
+        assertEquals(List.of(fernDetails, roseDetails), userPlantLibraryService.getAllPlantDetailsForUser(1L));
+        verify(plantDetailsService, never()).getPlantDetailsById(any());
+    }
 }